@@ -0,0 +1,104 @@
+package com.smcd.congress.service;
+
+import ch.qos.logback.classic.Level;
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.model.enums.TypeCommunication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Document Word d'un abstract : modèle DOCX écrit partie par partie (DocxTemplateService)
+ * contre la construction XWPF de POI (WordGeneratorService), pour un abstract court et un abstract long.
+ * modeleFlux écrit dans un flux qui ignore les octets (cas du téléchargement), les deux autres
+ * produisent le document complet en mémoire
+ *
+ * mvn -P jmh test-compile exec:exec -Djmh.args="AbstractDocumentBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AbstractDocumentBenchmark {
+
+    private static final String PARAGRAPHE = "Entre 2018 et 2024, 120 patients consécutifs ont été opérés pour tumeur " +
+            "hépatique (CHC, métastases colorectales) par voie laparoscopique ou ouverte. Les critères principaux " +
+            "étaient la morbidité à 90 jours selon Clavien-Dindo et la durée d'hospitalisation ; la survie sans " +
+            "récidive à un an était un critère secondaire.\n";
+
+    // Nombre de paragraphes par section : 1 pour un abstract court, 20 pour un abstract long
+    @Param({"1", "20"})
+    private int paragraphes;
+
+    private DocxTemplateService docxTemplateService;
+    private WordGeneratorService wordGeneratorService;
+    private Abstract abstractEntity;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Sans configuration Spring, logback journalise tout en DEBUG : le log par document fausserait la mesure
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        docxTemplateService = new DocxTemplateService();
+        docxTemplateService.init();
+        // Le stockage ne sert qu'à l'upload, pas à la génération en mémoire
+        wordGeneratorService = new WordGeneratorService(null);
+
+        String texte = PARAGRAPHE.repeat(paragraphes);
+        abstractEntity = Abstract.builder()
+                .nom("Alaoui")
+                .prenom("Sara")
+                .email("sara.alaoui@example.org")
+                .telephone("+212600000000")
+                .auteurs("S. Alaoui, K. Bennani, M. El Idrissi")
+                .affiliation("CHU Ibn Rochd, Casablanca")
+                .type(TypeCommunication.COMMUNICATION_ORALE)
+                .rubrique(Rubrique.CHIRURGIE_HEPATO_BILIAIRE)
+                .titre("Hépatectomie laparoscopique versus ouverte : résultats à un an d'une série de 120 patients")
+                .motsCles("hépatectomie, laparoscopie, morbidité")
+                .introduction(texte)
+                .materielMethodes(texte)
+                .resultats(texte)
+                .discussion(texte)
+                .conclusion(texte)
+                .references("1. Buell JF et al. Ann Surg 2009.\n2. Ciria R et al. Ann Surg 2016.")
+                .statut(StatutSoumission.ACCEPTE)
+                .numeroReference("SMCD2026-042")
+                .dateSoumission(LocalDateTime.of(2026, 3, 12, 14, 30))
+                .build();
+    }
+
+    @Benchmark
+    public void modeleFlux() throws IOException {
+        docxTemplateService.genererAbstract(abstractEntity, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] modeleBytes() {
+        return docxTemplateService.genererAbstractBytes(abstractEntity);
+    }
+
+    @Benchmark
+    public byte[] xwpf() {
+        return wordGeneratorService.generateAbstractDocumentBytes(abstractEntity);
+    }
+}
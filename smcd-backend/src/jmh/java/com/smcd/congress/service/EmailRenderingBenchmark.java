@@ -0,0 +1,284 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.Langue;
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.model.enums.TypeCommunication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.smcd.congress.service.EmailTemplateEngine.variables;
+
+/**
+ * Rendu des emails d'abstract : modèles précompilés (EmailTemplateEngine) contre l'ancien
+ * String.format sur blocs de texte (code d'EmailService avant les modèles, recopié tel quel).
+ * L'ancien code n'échappait rien : les modèles font plus de travail à chaque rendu
+ *
+ * mvn -P jmh test-compile exec:exec -Djmh.args="EmailRenderingBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EmailRenderingBenchmark {
+
+    private EmailTemplateEngine engine;
+    private Abstract abstractEntity;
+
+    @Setup
+    public void setUp() throws IOException {
+        engine = new EmailTemplateEngine();
+        engine.init();
+        abstractEntity = Abstract.builder()
+                .nom("Alaoui")
+                .prenom("Sara")
+                .email("sara.alaoui@example.org")
+                .auteurs("S. Alaoui, K. Bennani, M. El Idrissi")
+                .affiliation("CHU Ibn Rochd, Casablanca")
+                .type(TypeCommunication.COMMUNICATION_ORALE)
+                .rubrique(Rubrique.CHIRURGIE_HEPATO_BILIAIRE)
+                .titre("Hépatectomie laparoscopique versus ouverte : résultats à un an d'une série de 120 patients")
+                .statut(StatutSoumission.ACCEPTE)
+                .numeroReference("SMCD2026-042")
+                .commentairesComite("Travail intéressant.\nMerci de préciser les critères d'inclusion <CHC> & métastases.")
+                .dateSoumission(LocalDateTime.of(2026, 3, 12, 14, 30))
+                .build();
+    }
+
+    @Benchmark
+    public void confirmationModele(Blackhole blackhole) {
+        blackhole.consume(engine.rendre("abstract-confirmation", Langue.FR, variables(
+                "nom", abstractEntity.getNom(),
+                "prenom", abstractEntity.getPrenom(),
+                "reference", abstractEntity.getNumeroReference(),
+                "titre", abstractEntity.getTitre(),
+                "rubrique", abstractEntity.getRubrique().getLabel(),
+                "type", abstractEntity.getType().getLabel(),
+                "dateSoumission", abstractEntity.getDateSoumission())));
+    }
+
+    @Benchmark
+    public void confirmationStringFormat(Blackhole blackhole) {
+        Ancien.confirmation(abstractEntity, blackhole);
+    }
+
+    @Benchmark
+    public void statutModele(Blackhole blackhole) {
+        StatutSoumission statut = abstractEntity.getStatut();
+        boolean accepte = statut == StatutSoumission.ACCEPTE;
+        boolean refuse = statut == StatutSoumission.REFUSE;
+        boolean enRevision = statut == StatutSoumission.EN_REVISION;
+        blackhole.consume(engine.rendre("abstract-statut", Langue.FR, variables(
+                "nom", abstractEntity.getNom(),
+                "prenom", abstractEntity.getPrenom(),
+                "reference", abstractEntity.getNumeroReference(),
+                "titre", abstractEntity.getTitre(),
+                "accepte", accepte,
+                "refuse", refuse,
+                "enRevision", enRevision,
+                "enAttente", !accepte && !refuse && !enRevision,
+                "commentaires", abstractEntity.getCommentairesComite())));
+    }
+
+    @Benchmark
+    public void statutStringFormat(Blackhole blackhole) {
+        Ancien.statut(abstractEntity, blackhole);
+    }
+
+    /**
+     * EmailService avant les modèles : sujet et corps au lieu de la mise en file
+     */
+    private static final class Ancien {
+
+        static void confirmation(Abstract abstractEntity, Blackhole blackhole) {
+            String subject = String.format("Confirmation de soumission - Réf. %s", abstractEntity.getNumeroReference());
+
+            String dateSoumission = abstractEntity.getDateSoumission() != null 
+                    ? abstractEntity.getDateSoumission().format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm"))
+                    : "N/A";
+
+            String htmlContent = String.format("""
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <meta charset="UTF-8">
+                    <style>
+                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                        .header { background: linear-gradient(135deg, #1E40AF, #0D9488); padding: 30px; text-align: center; color: white; border-radius: 10px 10px 0 0; }
+                        .content { background: #f9fafb; padding: 30px; border: 1px solid #e5e7eb; }
+                        .details { background: white; padding: 20px; border-radius: 8px; margin: 20px 0; }
+                        .details-row { display: flex; padding: 10px 0; border-bottom: 1px solid #f3f4f6; }
+                        .label { font-weight: bold; color: #6b7280; width: 150px; }
+                        .value { color: #111827; }
+                        .footer { text-align: center; padding: 20px; color: #6b7280; font-size: 12px; }
+                        .reference { font-size: 24px; font-weight: bold; color: #1E40AF; text-align: center; padding: 20px; background: #EFF6FF; border-radius: 8px; margin: 20px 0; }
+                    </style>
+                </head>
+                <body>
+                    <div class="container">
+                        <div class="header">
+                            <h1 style="margin:0;">SMCD 2026</h1>
+                            <p style="margin:10px 0 0 0;">Congrès National de Chirurgie Digestive</p>
+                        </div>
+                        <div class="content">
+                            <h2>Cher(e) Dr. %s %s,</h2>
+                            <p>Nous accusons réception de votre soumission pour le Congrès National de Chirurgie Digestive 2026.</p>
+
+                            <div class="reference">
+                                Numéro de référence : %s
+                            </div>
+
+                            <div class="details">
+                                <h3 style="margin-top:0;">Détails de votre soumission</h3>
+                                <p><strong>Titre :</strong> %s</p>
+                                <p><strong>Rubrique :</strong> %s</p>
+                                <p><strong>Type :</strong> %s</p>
+                                <p><strong>Date de soumission :</strong> %s</p>
+                            </div>
+
+                            <p>Votre soumission sera examinée par le comité scientifique dans un délai de <strong>4 semaines</strong>. Vous recevrez une notification par email concernant la décision.</p>
+
+                            <p>Cordialement,<br>
+                            <strong>Le Comité d'Organisation</strong><br>
+                            SMCD 2026</p>
+                        </div>
+                        <div class="footer">
+                            <p>Cet email est envoyé automatiquement, merci de ne pas y répondre.</p>
+                            <p>© 2026 Société Marocaine de Chirurgie Digestive</p>
+                        </div>
+                    </div>
+                </body>
+                </html>
+                """,
+                abstractEntity.getNom(),
+                abstractEntity.getPrenom(),
+                abstractEntity.getNumeroReference(),
+                abstractEntity.getTitre(),
+                abstractEntity.getRubrique().getLabel(),
+                abstractEntity.getType().getLabel(),
+                dateSoumission
+            );
+
+
+            blackhole.consume(subject);
+            blackhole.consume(htmlContent);
+        }
+
+        static void statut(Abstract abstractEntity, Blackhole blackhole) {
+            String subject = String.format("Mise à jour de votre soumission - Réf. %s", abstractEntity.getNumeroReference());
+
+            String statutText;
+            String statutColor;
+            String message;
+
+            switch (abstractEntity.getStatut()) {
+                case ACCEPTE:
+                    statutText = "ACCEPTÉ";
+                    statutColor = "#10B981";
+                    message = "Félicitations ! Votre abstract a été accepté par le comité scientifique. Vous recevrez prochainement les informations concernant la présentation.";
+                    break;
+                case REFUSE:
+                    statutText = "REFUSÉ";
+                    statutColor = "#EF4444";
+                    message = "Nous regrettons de vous informer que votre abstract n'a pas été retenu par le comité scientifique.";
+                    break;
+                case EN_REVISION:
+                    statutText = "En cours de révision";
+                    statutColor = "#F59E0B";
+                    message = "Votre abstract est actuellement en cours d'examen par le comité scientifique.";
+                    break;
+                default:
+                    statutText = "En attente";
+                    statutColor = "#6B7280";
+                    message = "Votre abstract est en attente de révision.";
+            }
+
+            String commentaires = "";
+            if (abstractEntity.getCommentairesComite() != null && !abstractEntity.getCommentairesComite().isEmpty()) {
+                commentaires = String.format("""
+                    <div style="background: #FEF3C7; padding: 15px; border-radius: 8px; margin: 20px 0; border-left: 4px solid #F59E0B;">
+                        <strong>Commentaires du comité :</strong><br>
+                        %s
+                    </div>
+                    """, abstractEntity.getCommentairesComite());
+            }
+
+            String htmlContent = String.format("""
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <meta charset="UTF-8">
+                    <style>
+                        body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                        .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                        .header { background: linear-gradient(135deg, #1E40AF, #0D9488); padding: 30px; text-align: center; color: white; border-radius: 10px 10px 0 0; }
+                        .content { background: #f9fafb; padding: 30px; border: 1px solid #e5e7eb; }
+                        .status { font-size: 24px; font-weight: bold; text-align: center; padding: 20px; background: white; border-radius: 8px; margin: 20px 0; }
+                        .footer { text-align: center; padding: 20px; color: #6b7280; font-size: 12px; }
+                    </style>
+                </head>
+                <body>
+                    <div class="container">
+                        <div class="header">
+                            <h1 style="margin:0;">SMCD 2026</h1>
+                            <p style="margin:10px 0 0 0;">Mise à jour de votre soumission</p>
+                        </div>
+                        <div class="content">
+                            <h2>Cher(e) Dr. %s %s,</h2>
+
+                            <p>Le statut de votre soumission <strong>%s</strong> a été mis à jour.</p>
+
+                            <div class="status" style="color: %s;">
+                                %s
+                            </div>
+
+                            <p><strong>Titre :</strong> %s</p>
+
+                            <p>%s</p>
+
+                            %s
+
+                            <p>Cordialement,<br>
+                            <strong>Le Comité Scientifique</strong><br>
+                            SMCD 2026</p>
+                        </div>
+                        <div class="footer">
+                            <p>© 2026 Société Marocaine de Chirurgie Digestive</p>
+                        </div>
+                    </div>
+                </body>
+                </html>
+                """,
+                abstractEntity.getNom(),
+                abstractEntity.getPrenom(),
+                abstractEntity.getNumeroReference(),
+                statutColor,
+                statutText,
+                abstractEntity.getTitre(),
+                message,
+                commentaires
+            );
+
+
+            blackhole.consume(subject);
+            blackhole.consume(htmlContent);
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.smcd.congress;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principale de l'application SMCD Congress
  * Point d'entrée de l'API backend Spring Boot
  */
 @SpringBootApplication
+@EnableScheduling
 public class SmcdCongressApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,236 @@
+package com.smcd.congress.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration des pools de threads pour les traitements en arrière-plan
+ * Chaque pool est borné (threads + file d'attente) pour protéger le serveur
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${app.ingest.workers:2}")
+    private int ingestWorkers;
+
+    @Value("${app.ingest.queue-capacity:20}")
+    private int ingestQueueCapacity;
+
+    @Value("${app.upload.parallel-workers:4}")
+    private int uploadWorkers;
+
+    @Value("${app.abstract.document.workers:2}")
+    private int documentWorkers;
+
+    @Value("${app.abstract.document.queue-capacity:200}")
+    private int documentQueueCapacity;
+
+    @Value("${app.abstract.export.workers:4}")
+    private int exportWorkers;
+
+    @Value("${app.mail.outbox.workers:2}")
+    private int mailWorkers;
+
+    @Value("${app.mvc.async.workers:4}")
+    private int mvcAsyncWorkers;
+
+    @Value("${app.mvc.async.queue-capacity:16}")
+    private int mvcAsyncQueueCapacity;
+
+    @Value("${spring.mvc.async.request-timeout:1800000}")
+    private long mvcAsyncTimeoutMs;
+
+    /**
+     * Réponses asynchrones de Spring MVC (exports ZIP, Excel, NDJSON) sur un pool borné
+     * Sans cela, Spring MVC utiliserait un SimpleAsyncTaskExecutor (un nouveau thread par requête)
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+        configurer.setDefaultTimeout(mvcAsyncTimeoutMs);
+    }
+
+    /**
+     * Pool des réponses écrites au fil de l'eau : certains exports gardent une connexion JDBC
+     * pendant tout le téléchargement, le nombre de threads borne donc aussi les connexions prises
+     * File pleine : TaskRejectedException (réponse 503)
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mvcAsyncWorkers);
+        executor.setMaxPoolSize(mvcAsyncWorkers);
+        executor.setQueueCapacity(mvcAsyncQueueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool dédié à l'ingestion des médias (upload Cloudinary puis enregistrement)
+     * Une file pleine provoque une TaskRejectedException (réponse 503)
+     */
+    @Bean(name = "mediaIngestExecutor")
+    public ThreadPoolTaskExecutor mediaIngestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ingestWorkers);
+        executor.setMaxPoolSize(ingestWorkers);
+        executor.setQueueCapacity(ingestQueueCapacity);
+        executor.setThreadNamePrefix("media-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool des envois parallèles d'une même opération (vidéo et miniature, photo et CV)
+     * File pleine : l'envoi est exécuté par le thread appelant (pas de rejet, pas de thread supplémentaire)
+     */
+    @Bean(name = "mediaUploadExecutor")
+    public ThreadPoolTaskExecutor mediaUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadWorkers);
+        executor.setMaxPoolSize(uploadWorkers);
+        executor.setQueueCapacity(uploadWorkers * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("media-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool des suppressions de fichiers (outbox) : un seul passage à la fois,
+     * une seule demande en attente suffit pour prendre en compte les nouvelles suppressions
+     */
+    @Bean(name = "fileDeletionExecutor")
+    public ThreadPoolTaskExecutor fileDeletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("file-deletion-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool de la réconciliation du stockage : une seule réconciliation à la fois, aucune en attente
+     */
+    @Bean(name = "storageReconciliationExecutor")
+    public ThreadPoolTaskExecutor storageReconciliationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("storage-reconciliation-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool du passage de l'outbox des emails : un seul passage à la fois, une seule demande en attente
+     */
+    @Bean(name = "emailOutboxExecutor")
+    public ThreadPoolTaskExecutor emailOutboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("email-outbox-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool des envois SMTP : chaque thread envoie un lot d'emails sur une connexion
+     * Le nombre de threads borne les connexions simultanées au serveur SMTP
+     */
+    @Bean(name = "emailSendExecutor")
+    public ThreadPoolTaskExecutor emailSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailWorkers);
+        executor.setMaxPoolSize(mailWorkers);
+        executor.setQueueCapacity(mailWorkers * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("email-send-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread d'envoi des campagnes newsletter : une campagne à la fois, une seule demande en attente
+     * Pas d'attente à l'arrêt : l'envoi reprend au démarrage suivant depuis le dernier point de reprise
+     */
+    @Bean(name = "newsletterCampaignExecutor")
+    public ThreadPoolTaskExecutor newsletterCampaignExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("newsletter-campaign-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool de génération des documents Word des abstracts (POI puis envoi au stockage)
+     * File pleine : le document reste en attente et est repris par le passage planifié
+     */
+    @Bean(name = "abstractDocumentExecutor")
+    public ThreadPoolTaskExecutor abstractDocumentExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(documentWorkers);
+        executor.setMaxPoolSize(documentWorkers);
+        executor.setQueueCapacity(documentQueueCapacity);
+        executor.setThreadNamePrefix("abstract-document-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool de génération des documents des exports ZIP (partagé par les exports simultanés)
+     * File pleine : le document est généré par le thread de l'export, qui ralentit d'autant
+     */
+    @Bean(name = "abstractExportExecutor")
+    public ThreadPoolTaskExecutor abstractExportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportWorkers);
+        executor.setMaxPoolSize(exportWorkers);
+        executor.setQueueCapacity(exportWorkers * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("abstract-export-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread de génération du livre des abstracts : une seule génération à la fois, aucune en attente
+     */
+    @Bean(name = "bookOfAbstractsExecutor")
+    public ThreadPoolTaskExecutor bookOfAbstractsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("book-of-abstracts-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,6 +2,7 @@ package com.smcd.congress.config;
 
 import com.cloudinary.Cloudinary;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,8 +12,10 @@ import java.util.Map;
 /**
  * Configuration Cloudinary
  * Initialise le client Cloudinary avec les credentials
+ * (inutile lorsque le stockage local est sélectionné : app.storage.backend=local)
  */
 @Configuration
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryConfig {
 
     @Value("${cloudinary.cloud-name}")
@@ -24,6 +27,10 @@ public class CloudinaryConfig {
     @Value("${cloudinary.api-secret}")
     private String apiSecret;
 
+    // Délai maximal des appels à l'API d'administration (en secondes)
+    @Value("${app.storage.guard.admin-timeout-seconds:30}")
+    private int adminTimeoutSeconds;
+
     /**
      * Bean Cloudinary configuré avec les credentials
      * Disponible pour injection dans les services
@@ -35,6 +42,7 @@ public class CloudinaryConfig {
         config.put("api_key", apiKey);
         config.put("api_secret", apiSecret);
         config.put("secure", "true"); // Utiliser HTTPS
+        config.put("timeout", String.valueOf(adminTimeoutSeconds));
         
         return new Cloudinary(config);
     }
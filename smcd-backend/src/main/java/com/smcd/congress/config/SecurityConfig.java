@@ -109,6 +109,21 @@ public class SecurityConfig {
                         .requestMatchers("/api/videos/*/incrementer-vues").permitAll()
                         .requestMatchers("/api/videos/*/incrementer-telechargements").permitAll()
                         
+                        // Endpoints publics - Fichiers du stockage local
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/files/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.HEAD, "/api/files/**").permitAll()
+                        
+                        // Endpoints publics - Sessions d'upload reprenable (identifiant UUID)
+                        .requestMatchers("/api/uploads/sessions").permitAll()
+                        .requestMatchers("/api/uploads/sessions/**").permitAll()
+                        
+                        // Endpoints publics - Uploads directs signés (identifiant UUID)
+                        .requestMatchers("/api/uploads/direct").permitAll()
+                        .requestMatchers("/api/uploads/direct/*/confirmer").permitAll()
+                        
+                        // Endpoints publics - Suivi des tâches d'ingestion (identifiant UUID)
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/ingest/jobs/*").permitAll()
+                        
                         // Endpoints publics - Speakers
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/speakers").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/speakers/**").permitAll()
@@ -166,15 +181,16 @@ public class SecurityConfig {
         
         // Méthodes HTTP autorisées
         configuration.setAllowedMethods(Arrays.asList(
-                "GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"
+                "GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "HEAD"
         ));
         
         // Headers autorisés
         configuration.setAllowedHeaders(List.of("*"));
         
         // Exposer le header Authorization pour le frontend
+        // (et les offsets des sessions d'upload reprenable)
         configuration.setExposedHeaders(Arrays.asList(
-                "Authorization", "Content-Disposition"
+                "Authorization", "Content-Disposition", "Upload-Offset", "Upload-Length"
         ));
         
         // Autoriser les credentials (cookies, authorization headers)
@@ -4,7 +4,12 @@ import com.smcd.congress.dto.*;
 import com.smcd.congress.model.Abstract;
 import com.smcd.congress.model.enums.Rubrique;
 import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.service.AbstractDocumentService;
+import com.smcd.congress.service.AbstractExportService;
 import com.smcd.congress.service.AbstractService;
+import com.smcd.congress.service.BookOfAbstractsService;
+import com.smcd.congress.service.DocxTemplateService;
+import com.smcd.congress.service.NdjsonWriter;
 import com.smcd.congress.service.WordGeneratorService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,12 +19,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +47,10 @@ public class AbstractController {
 
     private final AbstractService abstractService;
     private final WordGeneratorService wordGeneratorService;
+    private final AbstractDocumentService abstractDocumentService;
+    private final DocxTemplateService docxTemplateService;
+    private final AbstractExportService abstractExportService;
+    private final BookOfAbstractsService bookOfAbstractsService;
 
     /**
      * Soumettre un nouvel abstract (accès public)
@@ -149,22 +163,110 @@ public class AbstractController {
         return ResponseEntity.ok(abstracts);
     }
 
+    /**
+     * Exporter les abstracts au format NDJSON (un abstract par ligne, mêmes filtres que /export)
+     * Les abstracts sont lus et écrits au fil de l'eau, sans liste en mémoire
+     */
+    @GetMapping(value = "/export/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<StreamingResponseBody> exportAbstractsStream(
+            @RequestParam(required = false) StatutSoumission statut,
+            @RequestParam(required = false) Rubrique rubrique
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(out -> abstractService.exporterNdjson(statut, rubrique, out));
+    }
+
+    /**
+     * Exporter les documents Word des abstracts dans une archive ZIP (mêmes filtres que /export)
+     * L'archive est envoyée au fil de la génération des documents
+     */
+    @GetMapping("/export/word")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<StreamingResponseBody> exportWord(
+            @RequestParam(required = false) StatutSoumission statut,
+            @RequestParam(required = false) Rubrique rubrique,
+            @RequestParam(defaultValue = "poi") String moteur
+    ) {
+        List<Long> ids = abstractExportService.getIdsForExport(statut, rubrique);
+        boolean modele = "modele".equalsIgnoreCase(moteur);
+        log.info("Export Word de {} abstract(s) (statut={}, rubrique={})", ids.size(), statut, rubrique);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"SMCD2026_abstracts.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(out -> abstractExportService.exporterWord(ids, modele, out));
+    }
+
+    /**
+     * Lancer la génération du livre des abstracts (abstracts acceptés) en arrière-plan
+     */
+    @PostMapping("/livre")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> genererLivre() {
+        Map<String, Object> response = new HashMap<>();
+        if (!bookOfAbstractsService.lancer()) {
+            response.put("success", false);
+            response.put("message", "Une génération du livre est déjà en cours");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("success", true);
+        response.put("message", "Génération du livre des abstracts lancée");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * État de la dernière génération du livre des abstracts (progression, taille, erreur)
+     */
+    @GetMapping("/livre")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<BookOfAbstractsDTO> getLivre() {
+        BookOfAbstractsDTO rapport = bookOfAbstractsService.getDernierRapport();
+        return rapport != null ? ResponseEntity.ok(rapport) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Télécharger le dernier livre des abstracts généré
+     */
+    @GetMapping("/livre/download")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<Resource> downloadLivre() {
+        Path fichier = bookOfAbstractsService.getFichier();
+        if (fichier == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"SMCD2026_livre_des_abstracts.docx\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new FileSystemResource(fichier));
+    }
+
     /**
      * Télécharger le document Word d'un abstract
+     * moteur=poi (par défaut) : WordGeneratorService ; moteur=modele : modèle templates/word/abstract.docx,
+     * écrit directement dans la réponse
      */
     @GetMapping("/{id}/download-word")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
-    public ResponseEntity<byte[]> downloadWord(@PathVariable Long id) {
+    public ResponseEntity<?> downloadWord(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "poi") String moteur) {
         try {
             Abstract abstractEntity = abstractService.getAbstractEntity(id);
-            byte[] wordBytes = wordGeneratorService.generateAbstractDocumentBytes(abstractEntity);
 
             String fileName = String.format("SMCD2026_%s.docx",
                     abstractEntity.getNumeroReference().replace("SMCD2026-", ""));
-
-            return ResponseEntity.ok()
+            ResponseEntity.BodyBuilder reponse = ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM);
+
+            if ("modele".equalsIgnoreCase(moteur)) {
+                StreamingResponseBody corps = out -> docxTemplateService.genererAbstract(abstractEntity, out);
+                return reponse.body(corps);
+            }
+
+            byte[] wordBytes = wordGeneratorService.generateAbstractDocumentBytes(abstractEntity);
+            return reponse
                     .contentLength(wordBytes.length)
                     .body(wordBytes);
         } catch (Exception e) {
@@ -173,6 +275,16 @@ public class AbstractController {
         }
     }
 
+    /**
+     * Relancer la génération du document Word (après un échec)
+     */
+    @PostMapping("/{id}/document/regenerer")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<AbstractResponseDTO> regenererDocument(@PathVariable Long id) {
+        log.info("Nouvelle génération du document Word de l'abstract {}", id);
+        return ResponseEntity.accepted().body(abstractDocumentService.regenerer(id));
+    }
+
     /**
      * Supprimer un abstract (super admin uniquement)
      */
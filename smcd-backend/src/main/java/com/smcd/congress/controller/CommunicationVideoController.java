@@ -1,16 +1,22 @@
 package com.smcd.congress.controller;
 
 import com.smcd.congress.dto.CommunicationVideoUploadDTO;
+import com.smcd.congress.exception.StorageUnavailableException;
 import com.smcd.congress.model.CommunicationVideo;
 import com.smcd.congress.service.CommunicationVideoService;
+import com.smcd.congress.service.IngestJob;
+import com.smcd.congress.service.MediaIngestService;
+import com.smcd.congress.service.NdjsonWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -26,10 +32,12 @@ import java.util.Map;
 public class CommunicationVideoController {
 
     private final CommunicationVideoService service;
+    private final MediaIngestService mediaIngestService;
 
     /**
      * POST /api/videos/upload
-     * Upload une nouvelle communication vidéo (public)
+     * Upload une nouvelle communication vidéo (public, traitement asynchrone)
+     * Retourne 202 avec l'identifiant de la tâche à suivre via GET /api/ingest/jobs/{jobId}
      */
     @PostMapping(value = "/videos/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadVideo(
@@ -51,12 +59,12 @@ public class CommunicationVideoController {
                     .rubrique(rubrique != null ? com.smcd.congress.model.enums.Rubrique.valueOf(rubrique) : null)
                     .build();
 
-            CommunicationVideo video = service.uploadVideo(file, dto);
+            IngestJob job = mediaIngestService.soumettreCommunicationVideo(file, dto);
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
                     "success", true,
-                    "message", "Vidéo uploadée avec succès. Vous recevrez un email de confirmation.",
-                    "id", video.getId()
+                    "message", "Vidéo reçue, elle est en cours de traitement.",
+                    "jobId", job.getId()
             ));
 
         } catch (IllegalArgumentException e) {
@@ -65,6 +73,13 @@ public class CommunicationVideoController {
                     "success", false,
                     "message", e.getMessage()
             ));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "success", false,
+                    "message", "Trop d'uploads en cours, veuillez réessayer dans quelques minutes"
+            ));
+        } catch (StorageUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erreur lors de l'upload de la vidéo: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
@@ -186,6 +201,18 @@ public class CommunicationVideoController {
         }
     }
 
+    /**
+     * GET /api/videos/admin/all/stream
+     * Toutes les vidéos au format NDJSON, écrites au fil de la lecture (ADMIN)
+     */
+    @GetMapping(value = "/videos/admin/all/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<StreamingResponseBody> getAllVideosAdminStream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(service::exporterNdjson);
+    }
+
     /**
      * GET /api/admin/communications-videos/{id}
      * Récupère une vidéo par ID (ADMIN)
@@ -0,0 +1,72 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.dto.DirectUploadConfirmDTO;
+import com.smcd.congress.dto.DirectUploadDTO;
+import com.smcd.congress.dto.UploadSessionCreateDTO;
+import com.smcd.congress.model.enums.TypeUpload;
+import com.smcd.congress.service.DirectUploadService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contrôleur des uploads directs signés (le fichier est envoyé par le navigateur directement au stockage)
+ * 1. POST /api/uploads/direct renvoie l'URL d'envoi et les paramètres signés
+ *    (POST /api/admin/uploads/direct pour les vidéos chirurgicales et les documents)
+ * 2. Le navigateur envoie le fichier au stockage
+ * 3. POST /api/uploads/direct/{id}/confirmer transmet la réponse du stockage et crée l'entité
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class DirectUploadController {
+
+    private final DirectUploadService directUploadService;
+
+    /**
+     * POST /api/uploads/direct
+     * Prépare l'envoi d'une communication vidéo ou d'un E-Poster (public)
+     */
+    @PostMapping("/uploads/direct")
+    public ResponseEntity<DirectUploadDTO> preparer(@Valid @RequestBody UploadSessionCreateDTO dto) {
+        if (dto.getType() == TypeUpload.VIDEO || dto.getType() == TypeUpload.DOCUMENT) {
+            throw new IllegalArgumentException("Les vidéos chirurgicales et les documents passent par /api/admin/uploads/direct");
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(directUploadService.preparer(dto));
+    }
+
+    /**
+     * POST /api/admin/uploads/direct
+     * Prépare l'envoi de tout type de média (admin)
+     */
+    @PostMapping("/admin/uploads/direct")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'MODERATEUR')")
+    public ResponseEntity<DirectUploadDTO> preparerAdmin(@Valid @RequestBody UploadSessionCreateDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(directUploadService.preparer(dto));
+    }
+
+    /**
+     * POST /api/uploads/direct/{id}/confirmer
+     * Vérifie la réponse signée du stockage et crée l'entité
+     */
+    @PostMapping("/uploads/direct/{id}/confirmer")
+    public ResponseEntity<Map<String, Object>> confirmer(
+            @PathVariable String id,
+            @Valid @RequestBody DirectUploadConfirmDTO dto) throws IOException {
+        Long entiteId = directUploadService.confirmer(id, dto);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Fichier enregistré avec succès");
+        response.put("id", entiteId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -4,11 +4,14 @@ import com.smcd.congress.dto.DocumentDTO;
 import com.smcd.congress.model.Document;
 import com.smcd.congress.model.enums.TypeDocument;
 import com.smcd.congress.service.DocumentService;
+import com.smcd.congress.service.NdjsonWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -60,6 +63,16 @@ public class DocumentController {
         return ResponseEntity.ok(documentService.getAll());
     }
 
+    /**
+     * Tous les documents au format NDJSON, écrits au fil de la lecture
+     */
+    @GetMapping(value = "/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> getAllDocumentsStream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(documentService::exporterNdjson);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Document> getDocument(@PathVariable Long id) {
         return ResponseEntity.ok(documentService.getById(id));
@@ -2,6 +2,7 @@ package com.smcd.congress.controller;
 
 import com.smcd.congress.dto.*;
 import com.smcd.congress.model.EPoster;
+import com.smcd.congress.model.enums.Langue;
 import com.smcd.congress.service.EPosterService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -43,7 +44,8 @@ public class EPosterController {
             @RequestParam("prenomAuteur") String prenomAuteur,
             @RequestParam("emailAuteur") String emailAuteur,
             @RequestParam("titre") String titre,
-            @RequestParam(value = "rubrique", required = false) String rubrique
+            @RequestParam(value = "rubrique", required = false) String rubrique,
+            @RequestParam(value = "langue", required = false) Langue langue
     ) {
         try {
             EPosterUploadDTO dto = EPosterUploadDTO.builder()
@@ -52,6 +54,7 @@ public class EPosterController {
                     .emailAuteur(emailAuteur)
                     .titre(titre)
                     .rubrique(rubrique)
+                    .langue(langue)
                     .build();
 
             EPoster ePoster = ePosterService.uploadEPoster(file, dto);
@@ -0,0 +1,74 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.dto.EmailOutboxDTO;
+import com.smcd.congress.model.enums.StatutEmail;
+import com.smcd.congress.service.EmailDispatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contrôleur de supervision de l'outbox des emails
+ */
+@RestController
+@RequestMapping("/api/admin/emails")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+public class EmailOutboxController {
+
+    private final EmailDispatchService emailDispatchService;
+
+    /**
+     * GET /api/admin/emails/stats
+     * Nombre d'emails en attente, envoyés et en échec
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Long>> getStatistiques() {
+        return ResponseEntity.ok(emailDispatchService.getStatistiques());
+    }
+
+    /**
+     * GET /api/admin/emails?statut=ECHEC&page=0&size=20
+     * Emails d'un statut, du plus récent au plus ancien
+     */
+    @GetMapping
+    public ResponseEntity<Page<EmailOutboxDTO>> getEmails(
+            @RequestParam(defaultValue = "ECHEC") StatutEmail statut,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(emailDispatchService.getEmails(statut, PageRequest.of(page, size)));
+    }
+
+    /**
+     * POST /api/admin/emails/{id}/renvoyer
+     * Remet un email en attente ou en échec dans la file d'envoi
+     */
+    @PostMapping("/{id}/renvoyer")
+    public ResponseEntity<Map<String, Object>> renvoyer(@PathVariable Long id) {
+        EmailOutboxDTO email = emailDispatchService.renvoyer(id);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Email remis en file d'envoi");
+        response.put("email", email);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * DELETE /api/admin/emails/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> supprimer(@PathVariable Long id) {
+        emailDispatchService.supprimer(id);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Email supprimé de l'outbox");
+        return ResponseEntity.ok(response);
+    }
+}
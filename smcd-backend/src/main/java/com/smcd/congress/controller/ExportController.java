@@ -0,0 +1,75 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.service.XlsxExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Contrôleur des exports Excel (.xlsx) générés côté serveur
+ * Le classeur est écrit directement dans la réponse
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/exports")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final XlsxExportService xlsxExportService;
+
+    /**
+     * GET /api/admin/exports/abstracts.xlsx?statut=&rubrique=
+     * Mêmes filtres que /api/abstracts/export
+     */
+    @GetMapping("/abstracts.xlsx")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<StreamingResponseBody> exporterAbstracts(
+            @RequestParam(required = false) StatutSoumission statut,
+            @RequestParam(required = false) Rubrique rubrique
+    ) {
+        log.info("Export Excel des abstracts (statut={}, rubrique={})", statut, rubrique);
+        return xlsx("SMCD2026_abstracts.xlsx", out -> xlsxExportService.exporterAbstracts(statut, rubrique, out));
+    }
+
+    @GetMapping("/eposters.xlsx")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<StreamingResponseBody> exporterEPosters() {
+        return xlsx("SMCD2026_eposters.xlsx", xlsxExportService::exporterEPosters);
+    }
+
+    @GetMapping("/communications-videos.xlsx")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN', 'MODERATEUR')")
+    public ResponseEntity<StreamingResponseBody> exporterCommunicationsVideos() {
+        return xlsx("SMCD2026_communications_videos.xlsx", xlsxExportService::exporterCommunicationsVideos);
+    }
+
+    @GetMapping("/speakers.xlsx")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exporterSpeakers() {
+        return xlsx("SMCD2026_intervenants.xlsx", xlsxExportService::exporterSpeakers);
+    }
+
+    @GetMapping("/newsletter-subscribers.xlsx")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exporterAbonnes() {
+        return xlsx("SMCD2026_abonnes_newsletter.xlsx", xlsxExportService::exporterAbonnes);
+    }
+
+    private ResponseEntity<StreamingResponseBody> xlsx(String fileName, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(XLSX)
+                .body(body);
+    }
+}
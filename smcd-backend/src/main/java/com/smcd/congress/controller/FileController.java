@@ -0,0 +1,163 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.service.LocalStorageBackend;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Contrôleur de diffusion des fichiers du stockage local (app.storage.backend=local)
+ * Les fichiers sont envoyés sans recopie en mémoire : sendfile de Tomcat lorsqu'il est disponible,
+ * sinon FileChannel.transferTo. Les requêtes Range sont supportées (lecture vidéo)
+ * Les fichiers autres qu'images et vidéos sont servis en téléchargement (Content-Disposition: attachment)
+ * Cache : un identifiant généré n'est jamais réécrit (cache d'un an, immutable) ; un identifiant choisi
+ * (documents Word régénérés) est revalidé à chaque usage par ETag / Last-Modified (réponse 304 si inchangé)
+ */
+@RestController
+@RequestMapping("/api/files")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class FileController {
+
+    private final LocalStorageBackend localStorageBackend;
+
+    /**
+     * GET /api/files/{publicId}
+     * Sert un fichier (entier ou une plage d'octets)
+     */
+    @RequestMapping(value = "/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void servir(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String prefixe = request.getContextPath() + LocalStorageBackend.URL_PREFIX;
+        String publicId = URLDecoder.decode(request.getRequestURI().substring(prefixe.length()), StandardCharsets.UTF_8);
+        // Le navigateur s'en tient au type annoncé (jamais de détection de HTML dans un fichier téléversé)
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        Path path;
+        try {
+            path = localStorageBackend.resolve(publicId);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        if (!Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long taille = Files.size(path);
+        long modification = Files.getLastModifiedTime(path).toMillis();
+        String etag = "\"" + Long.toHexString(taille) + "-" + Long.toHexString(modification) + "\"";
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", modification);
+        response.setHeader("Cache-Control", localStorageBackend.identifiantGenere(publicId)
+                ? "public, max-age=31536000, immutable"
+                : "no-cache");
+        if (inchange(request, etag, modification)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long debut = 0;
+        long fin = taille - 1;
+
+        String range = request.getHeader("Range");
+        // If-Range : une plage d'une version précédente du fichier est ignorée, le fichier entier est renvoyé
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange != null && !ifRange.equals(etag)) {
+            range = null;
+        }
+        if (range != null && range.startsWith("bytes=") && !range.contains(",")) {
+            String[] bornes = range.substring(6).split("-", -1);
+            try {
+                if (bornes.length != 2) {
+                    // En-tête mal formé (bytes=5, bytes=) : plage non satisfaisable
+                    debut = -1;
+                } else if (bornes[0].isEmpty()) {
+                    // Suffixe : les N derniers octets
+                    debut = Math.max(0, taille - Long.parseLong(bornes[1]));
+                } else {
+                    debut = Long.parseLong(bornes[0]);
+                    if (!bornes[1].isEmpty()) {
+                        fin = Math.min(Long.parseLong(bornes[1]), taille - 1);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                debut = -1;
+            }
+            if (debut < 0 || debut > fin) {
+                response.setHeader("Content-Range", "bytes */" + taille);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + debut + "-" + fin + "/" + taille);
+        }
+
+        long longueur = fin - debut + 1;
+        // Type déduit de l'extension (liste blanche) : seules les images et vidéos s'affichent dans le navigateur
+        String contentType = localStorageBackend.contentType(publicId);
+        response.setContentType(contentType);
+        if (!contentType.startsWith("image/") && !contentType.startsWith("video/")) {
+            response.setHeader("Content-Disposition", "attachment");
+        }
+        response.setContentLengthLong(longueur);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        if ("HEAD".equals(request.getMethod()) || longueur == 0) {
+            return;
+        }
+
+        // Envoi par sendfile (zéro copie) géré par Tomcat après la fin de la requête
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", path.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", debut);
+            request.setAttribute("org.apache.tomcat.sendfile.end", debut + longueur);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel sortie = Channels.newChannel(response.getOutputStream());
+            long position = debut;
+            long limite = debut + longueur;
+            while (position < limite) {
+                position += channel.transferTo(position, limite - position, sortie);
+            }
+        }
+    }
+
+    /**
+     * Requête conditionnelle satisfaite par la version en cache du client (If-None-Match prioritaire)
+     */
+    private static boolean inchange(HttpServletRequest request, String etag, long modification) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String valeur : ifNoneMatch.split(",")) {
+                String candidat = valeur.trim();
+                if (candidat.equals("*") || candidat.equals(etag) || candidat.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            // Les dates HTTP sont à la seconde près
+            return ifModifiedSince >= 0 && modification / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
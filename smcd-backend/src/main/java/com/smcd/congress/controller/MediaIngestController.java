@@ -0,0 +1,28 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.dto.IngestJobDTO;
+import com.smcd.congress.service.MediaIngestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Contrôleur de suivi des tâches d'ingestion de médias
+ */
+@RestController
+@RequestMapping("/api/ingest")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class MediaIngestController {
+
+    private final MediaIngestService mediaIngestService;
+
+    /**
+     * GET /api/ingest/jobs/{jobId}
+     * Retourne l'état et la progression d'une tâche d'ingestion
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestJobDTO> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(IngestJobDTO.fromJob(mediaIngestService.getJob(jobId)));
+    }
+}
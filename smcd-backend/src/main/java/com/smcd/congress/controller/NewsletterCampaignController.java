@@ -0,0 +1,92 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.dto.NewsletterCampaignCreateDTO;
+import com.smcd.congress.dto.NewsletterCampaignDTO;
+import com.smcd.congress.service.NewsletterCampaignService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contrôleur des campagnes newsletter (rédaction, lancement et suivi de l'envoi)
+ */
+@RestController
+@RequestMapping("/api/admin/newsletter/campagnes")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+public class NewsletterCampaignController {
+
+    private final NewsletterCampaignService campaignService;
+
+    @GetMapping
+    public ResponseEntity<Page<NewsletterCampaignDTO>> getCampagnes(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(campaignService.getCampagnes(PageRequest.of(page, size)));
+    }
+
+    /**
+     * GET /api/admin/newsletter/campagnes/{id}
+     * Campagne avec l'avancement de l'envoi (envoyés, échecs, progression)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<NewsletterCampaignDTO> getCampagne(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.getCampagneDTO(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<NewsletterCampaignDTO> creer(@Valid @RequestBody NewsletterCampaignCreateDTO dto,
+                                                       Authentication authentication) {
+        String creePar = authentication != null ? authentication.getName() : "admin";
+        return ResponseEntity.status(HttpStatus.CREATED).body(campaignService.creer(dto, creePar));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<NewsletterCampaignDTO> modifier(@PathVariable Long id,
+                                                          @Valid @RequestBody NewsletterCampaignCreateDTO dto) {
+        return ResponseEntity.ok(campaignService.modifier(id, dto));
+    }
+
+    /**
+     * POST /api/admin/newsletter/campagnes/{id}/lancer
+     * Lance l'envoi en arrière-plan à tous les abonnés actifs
+     */
+    @PostMapping("/{id}/lancer")
+    public ResponseEntity<NewsletterCampaignDTO> lancer(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.lancer(id));
+    }
+
+    @PostMapping("/{id}/suspendre")
+    public ResponseEntity<NewsletterCampaignDTO> suspendre(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.suspendre(id));
+    }
+
+    @PostMapping("/{id}/reprendre")
+    public ResponseEntity<NewsletterCampaignDTO> reprendre(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(campaignService.reprendre(id));
+    }
+
+    @PostMapping("/{id}/annuler")
+    public ResponseEntity<NewsletterCampaignDTO> annuler(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.annuler(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> supprimer(@PathVariable Long id) {
+        campaignService.supprimer(id);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Campagne supprimée");
+        return ResponseEntity.ok(response);
+    }
+}
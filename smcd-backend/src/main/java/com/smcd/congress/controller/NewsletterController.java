@@ -1,12 +1,16 @@
 package com.smcd.congress.controller;
 
 import com.smcd.congress.dto.NewsletterDTO;
+import com.smcd.congress.dto.NewsletterSubscriberDTO;
 import com.smcd.congress.model.NewsletterSubscriber;
+import com.smcd.congress.service.NdjsonWriter;
 import com.smcd.congress.service.NewsletterService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -53,10 +57,20 @@ public class NewsletterController {
     }
 
     @GetMapping("/subscribers")
-    public ResponseEntity<List<NewsletterSubscriber>> getSubscribers() {
+    public ResponseEntity<List<NewsletterSubscriberDTO>> getSubscribers() {
         return ResponseEntity.ok(newsletterService.getAbonnesActifs());
     }
 
+    /**
+     * Abonnés actifs au format NDJSON, écrits au fil de la lecture
+     */
+    @GetMapping(value = "/subscribers/stream", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> getSubscribersStream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.MEDIA_TYPE))
+                .body(newsletterService::exporterNdjson);
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStats() {
         return ResponseEntity.ok(newsletterService.getStats());
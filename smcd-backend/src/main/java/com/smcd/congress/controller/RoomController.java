@@ -3,6 +3,7 @@ package com.smcd.congress.controller;
 import com.smcd.congress.dto.ApiResponse;
 import com.smcd.congress.dto.RoomDTO;
 import com.smcd.congress.dto.RoomResponseDTO;
+import com.smcd.congress.exception.StorageUnavailableException;
 import com.smcd.congress.model.Room;
 import com.smcd.congress.service.RoomService;
 import org.slf4j.Logger;
@@ -131,6 +132,8 @@ public class RoomController {
             Room room = roomService.creerRoom(dto, image);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(RoomResponseDTO.fromRoom(room));
+        } catch (StorageUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Erreur création salle: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -168,6 +171,8 @@ public class RoomController {
 
             Room room = roomService.modifierRoom(id, dto, image);
             return ResponseEntity.ok(RoomResponseDTO.fromRoom(room));
+        } catch (StorageUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Erreur mise à jour salle {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,79 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.dto.StorageReconciliationDTO;
+import com.smcd.congress.service.StorageGuard;
+import com.smcd.congress.service.StorageReconciliationService;
+import com.smcd.congress.service.UploadAdmissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contrôleur de supervision du stockage des médias
+ */
+@RestController
+@RequestMapping("/api/admin/storage")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class StorageController {
+
+    private final StorageGuard storageGuard;
+    private final StorageReconciliationService storageReconciliationService;
+    private final UploadAdmissionService uploadAdmissionService;
+
+    /**
+     * GET /api/admin/storage/metrics
+     * État du disjoncteur et, par type d'opération : appels en cours, en attente, échecs et rejets
+     */
+    @GetMapping("/metrics")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return ResponseEntity.ok(storageGuard.getMetriques());
+    }
+
+    /**
+     * GET /api/admin/storage/admission
+     * Octets en cours de réception, uploads en attente et refus du contrôle d'admission
+     */
+    @GetMapping("/admission")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAdmission() {
+        return ResponseEntity.ok(uploadAdmissionService.getMetriques());
+    }
+
+    /**
+     * POST /api/admin/storage/reconciliation?purge=false
+     * Lance en arrière-plan la recherche des fichiers du stockage référencés par aucune entité
+     * (purge=true : les fichiers orphelins sont supprimés)
+     */
+    @PostMapping("/reconciliation")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> lancerReconciliation(
+            @RequestParam(defaultValue = "false") boolean purge) {
+        Map<String, Object> response = new HashMap<>();
+        if (!storageReconciliationService.lancer(purge)) {
+            response.put("success", false);
+            response.put("message", "Une réconciliation est déjà en cours");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("success", true);
+        response.put("message", purge ? "Réconciliation avec purge lancée" : "Réconciliation lancée (rapport seul)");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * GET /api/admin/storage/reconciliation
+     * Rapport de la dernière réconciliation (ou de celle en cours)
+     */
+    @GetMapping("/reconciliation")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'ADMIN')")
+    public ResponseEntity<StorageReconciliationDTO> getReconciliation() {
+        StorageReconciliationDTO rapport = storageReconciliationService.getDernierRapport();
+        return rapport != null ? ResponseEntity.ok(rapport) : ResponseEntity.noContent().build();
+    }
+}
@@ -1,7 +1,7 @@
 package com.smcd.congress.controller;
 
 import com.smcd.congress.dto.ApiResponse;
-import com.smcd.congress.service.CloudinaryService;
+import com.smcd.congress.service.StorageBackend;
 import com.smcd.congress.service.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,7 +22,7 @@ import java.util.Map;
 public class TestController {
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private StorageBackend storageBackend;
 
     @Autowired
     private EmailService emailService;
@@ -58,7 +58,7 @@ public class TestController {
             @RequestParam(value = "folder", defaultValue = "test") String folder) {
         
         try {
-            Map<String, String> uploadResult = cloudinaryService.uploadFile(file, folder);
+            Map<String, String> uploadResult = storageBackend.uploadFile(file, folder);
             String url = uploadResult.get("url");
             
             Map<String, Object> response = new HashMap<>();
@@ -98,7 +98,7 @@ public class TestController {
         
         try {
             emailService.sendSimpleEmail(to, subject, body);
-            return ResponseEntity.ok(ApiResponse.success("Email envoyé avec succès à " + to));
+            return ResponseEntity.ok(ApiResponse.success("Email mis en file d'envoi pour " + to));
             
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -115,7 +115,7 @@ public class TestController {
      */
     @DeleteMapping("/delete-file")
     public ResponseEntity<ApiResponse> testDeleteFile(@RequestParam("publicId") String publicId) {
-        boolean success = cloudinaryService.deleteFile(publicId);
+        boolean success = storageBackend.deleteFile(publicId);
         
         if (success) {
             return ResponseEntity.ok(ApiResponse.success("Fichier supprimé avec succès"));
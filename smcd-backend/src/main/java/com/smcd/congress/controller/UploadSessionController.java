@@ -0,0 +1,149 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.dto.ApiResponse;
+import com.smcd.congress.dto.UploadSessionCreateDTO;
+import com.smcd.congress.dto.UploadSessionDTO;
+import com.smcd.congress.model.enums.TypeUpload;
+import com.smcd.congress.service.UploadSession;
+import com.smcd.congress.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Contrôleur des sessions d'upload reprenable
+ * 1. POST /api/uploads/sessions ouvre une session (POST /api/admin/uploads/sessions pour les vidéos chirurgicales)
+ * 2. PUT /api/uploads/sessions/{id} avec l'en-tête "Content-Range: bytes debut-fin/total" envoie une plage
+ * 3. HEAD /api/uploads/sessions/{id} renvoie l'offset reçu (en-tête Upload-Offset) pour reprendre après une coupure
+ * Une fois complet, le fichier est traité par le pipeline d'ingestion (suivi via GET /api/ingest/jobs/{jobId})
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    private final UploadSessionService uploadSessionService;
+
+    /**
+     * POST /api/uploads/sessions
+     * Ouvre une session pour une communication vidéo ou un E-Poster (public)
+     */
+    @PostMapping("/uploads/sessions")
+    public ResponseEntity<UploadSessionDTO> creerSession(@Valid @RequestBody UploadSessionCreateDTO dto) throws IOException {
+        if (dto.getType() == TypeUpload.VIDEO) {
+            throw new IllegalArgumentException("Les vidéos chirurgicales passent par /api/admin/uploads/sessions");
+        }
+        return creer(dto);
+    }
+
+    /**
+     * POST /api/admin/uploads/sessions
+     * Ouvre une session pour tout type de média (admin)
+     */
+    @PostMapping("/admin/uploads/sessions")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'MODERATEUR')")
+    public ResponseEntity<UploadSessionDTO> creerSessionAdmin(@Valid @RequestBody UploadSessionCreateDTO dto) throws IOException {
+        return creer(dto);
+    }
+
+    /**
+     * HEAD /api/uploads/sessions/{id}
+     * Offset déjà reçu par le serveur
+     */
+    @RequestMapping(value = "/uploads/sessions/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getOffset(@PathVariable String id) {
+        UploadSession session = uploadSessionService.getSession(id);
+        return ResponseEntity.ok()
+                .header("Upload-Offset", String.valueOf(session.getOffset()))
+                .header("Upload-Length", String.valueOf(session.getTaille()))
+                .header("Cache-Control", "no-store")
+                .build();
+    }
+
+    /**
+     * GET /api/uploads/sessions/{id}
+     * État de la session
+     */
+    @GetMapping("/uploads/sessions/{id}")
+    public ResponseEntity<UploadSessionDTO> getSession(@PathVariable String id) {
+        return withOffset(uploadSessionService.getSession(id), HttpStatus.OK);
+    }
+
+    /**
+     * PUT /api/uploads/sessions/{id}
+     * Envoie une plage d'octets (corps binaire, en-tête Content-Range obligatoire)
+     */
+    @PutMapping("/uploads/sessions/{id}")
+    public ResponseEntity<?> envoyerPlage(
+            @PathVariable String id,
+            @RequestHeader("Content-Range") String contentRange,
+            HttpServletRequest request) throws IOException {
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("En-tête Content-Range invalide (attendu : bytes debut-fin/total)");
+        }
+
+        try {
+            UploadSession session = uploadSessionService.ecrire(id,
+                    Long.parseLong(matcher.group(1)),
+                    Long.parseLong(matcher.group(2)),
+                    Long.parseLong(matcher.group(3)),
+                    request.getInputStream());
+            return withOffset(session, HttpStatus.OK);
+        } catch (TaskRejectedException e) {
+            return fileSaturee();
+        }
+    }
+
+    /**
+     * POST /api/uploads/sessions/{id}/finaliser
+     * Relance le traitement d'un fichier complet refusé faute de place dans la file d'ingestion
+     */
+    @PostMapping("/uploads/sessions/{id}/finaliser")
+    public ResponseEntity<?> finaliser(@PathVariable String id) {
+        try {
+            return withOffset(uploadSessionService.finaliser(id), HttpStatus.OK);
+        } catch (TaskRejectedException e) {
+            return fileSaturee();
+        }
+    }
+
+    /**
+     * DELETE /api/uploads/sessions/{id}
+     * Abandonne la session
+     */
+    @DeleteMapping("/uploads/sessions/{id}")
+    public ResponseEntity<Void> annuler(@PathVariable String id) {
+        uploadSessionService.annuler(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<UploadSessionDTO> creer(UploadSessionCreateDTO dto) throws IOException {
+        return withOffset(uploadSessionService.creer(dto), HttpStatus.CREATED);
+    }
+
+    private ResponseEntity<UploadSessionDTO> withOffset(UploadSession session, HttpStatus status) {
+        return ResponseEntity.status(status)
+                .header("Upload-Offset", String.valueOf(session.getOffset()))
+                .header("Upload-Length", String.valueOf(session.getTaille()))
+                .body(UploadSessionDTO.fromSession(session));
+    }
+
+    private ResponseEntity<ApiResponse> fileSaturee() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "60")
+                .body(ApiResponse.error("Fichier reçu, mais trop d'uploads en cours : relancez /finaliser dans quelques minutes"));
+    }
+}
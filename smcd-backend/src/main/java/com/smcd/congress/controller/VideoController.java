@@ -1,16 +1,21 @@
 package com.smcd.congress.controller;
 
 import com.smcd.congress.dto.ApiResponse;
+import com.smcd.congress.dto.IngestJobDTO;
 import com.smcd.congress.dto.VideoDTO;
 import com.smcd.congress.dto.VideoResponseDTO;
 import com.smcd.congress.dto.VideoStatsDTO;
+import com.smcd.congress.exception.StorageUnavailableException;
 import com.smcd.congress.model.Video;
 import com.smcd.congress.model.enums.VisibiliteVideo;
 import com.smcd.congress.service.ChapterService;
+import com.smcd.congress.service.IngestJob;
+import com.smcd.congress.service.MediaIngestService;
 import com.smcd.congress.service.VideoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -37,6 +42,9 @@ public class VideoController {
     @Autowired
     private ChapterService chapterService;
 
+    @Autowired
+    private MediaIngestService mediaIngestService;
+
     // ================= ENDPOINTS PUBLICS =================
 
     /**
@@ -158,8 +166,9 @@ public class VideoController {
     }
 
     /**
-     * Upload une nouvelle vidéo
+     * Upload une nouvelle vidéo (traitement asynchrone)
      * POST /api/admin/videos
+     * Retourne 202 avec l'identifiant de la tâche à suivre via GET /api/ingest/jobs/{jobId}
      */
     @PostMapping(value = "/admin/videos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'MODERATEUR')")
@@ -190,9 +199,14 @@ public class VideoController {
             dto.setLangue(langue);
             dto.setVisibilite(VisibiliteVideo.valueOf(visibilite));
 
-            Video video = videoService.uploadVideo(videoFile, thumbnail, dto);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(VideoResponseDTO.fromVideo(video));
+            IngestJob job = mediaIngestService.soumettreVideo(videoFile, thumbnail, dto);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(IngestJobDTO.fromJob(job));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("Trop d'uploads en cours, veuillez réessayer dans quelques minutes"));
+        } catch (StorageUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Erreur upload vidéo: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -232,6 +246,8 @@ public class VideoController {
             VideoDTO dto = new VideoDTO();
             Video video = videoService.modifierVideo(id, dto, thumbnail);
             return ResponseEntity.ok(VideoResponseDTO.fromVideo(video));
+        } catch (StorageUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Erreur mise à jour thumbnail {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -2,6 +2,7 @@ package com.smcd.congress.dto;
 
 import com.smcd.congress.model.Abstract;
 import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutDocument;
 import com.smcd.congress.model.enums.StatutSoumission;
 import com.smcd.congress.model.enums.TypeCommunication;
 import lombok.AllArgsConstructor;
@@ -44,10 +45,17 @@ public class AbstractResponseDTO {
     private String statutLabel;
     private String numeroReference;
     private String wordFileUrl;
+    private StatutDocument statutDocument;
+    private String statutDocumentLabel;
+    private String erreurDocument;
     private String commentairesComite;
     private LocalDateTime dateSoumission;
     private LocalDateTime dateRevision;
 
+    // Recherche plein texte : score de pertinence et extrait surligné (balises <mark>, texte échappé)
+    private Double pertinence;
+    private String extrait;
+
     /**
      * Convertit une entité Abstract en DTO de réponse
      */
@@ -77,6 +85,9 @@ public class AbstractResponseDTO {
                 .statutLabel(entity.getStatut() != null ? entity.getStatut().getLabel() : null)
                 .numeroReference(entity.getNumeroReference())
                 .wordFileUrl(entity.getWordFileUrl())
+                .statutDocument(entity.getStatutDocument())
+                .statutDocumentLabel(entity.getStatutDocument() != null ? entity.getStatutDocument().getLabel() : null)
+                .erreurDocument(entity.getErreurDocument())
                 .commentairesComite(entity.getCommentairesComite())
                 .dateSoumission(entity.getDateSoumission())
                 .dateRevision(entity.getDateRevision())
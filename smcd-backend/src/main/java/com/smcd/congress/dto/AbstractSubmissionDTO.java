@@ -1,5 +1,6 @@
 package com.smcd.congress.dto;
 
+import com.smcd.congress.model.enums.Langue;
 import com.smcd.congress.model.enums.Rubrique;
 import com.smcd.congress.model.enums.TypeCommunication;
 import jakarta.validation.constraints.*;
@@ -30,6 +31,8 @@ public class AbstractSubmissionDTO {
     @Email(message = "L'email doit être valide")
     private String email;
 
+    private Langue langue; // Optionnel, FR par défaut
+
     @Size(max = 20)
     private String telephone;
 
@@ -0,0 +1,32 @@
+package com.smcd.congress.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * État de la génération du livre des abstracts
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookOfAbstractsDTO {
+
+    // EN_COURS, TERMINEE ou ECHEC
+    private String statut;
+    private LocalDateTime dateDebut;
+    private LocalDateTime dateFin;
+
+    private long total;
+    private long traites;
+    private Integer progression;
+    private long auteursIndexes;
+
+    // Taille du document (génération terminée)
+    private Long tailleFichier;
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.smcd.congress.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de confirmation d'un upload direct : champs signés de la réponse du stockage (Cloudinary)
+ * public_id, version et signature sont vérifiés par le serveur ; la taille, le format et la durée
+ * sont relus sur le stockage (les autres champs de la réponse ne sont pas pris en compte)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadConfirmDTO {
+
+    @NotBlank(message = "Le public_id est obligatoire")
+    private String publicId;
+
+    @NotBlank(message = "La version est obligatoire")
+    private String version;
+
+    @NotBlank(message = "La signature est obligatoire")
+    private String signature;
+}
@@ -0,0 +1,29 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.model.enums.TypeUpload;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO d'un upload direct signé
+ * Le navigateur envoie le fichier sur uploadUrl avec les paramètres fournis (champ "file" en plus),
+ * puis transmet la réponse du stockage à POST /api/uploads/direct/{id}/confirmer
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadDTO {
+
+    private String id;
+    private TypeUpload type;
+    private String publicId;
+    private String uploadUrl;
+    private Map<String, Object> parametres;
+    private LocalDateTime dateExpiration;
+}
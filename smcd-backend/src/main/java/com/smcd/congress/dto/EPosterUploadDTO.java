@@ -1,5 +1,6 @@
 package com.smcd.congress.dto;
 
+import com.smcd.congress.model.enums.Langue;
 import com.smcd.congress.model.enums.Rubrique;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -33,4 +34,6 @@ public class EPosterUploadDTO {
     private String titre;
 
     private String rubrique; // Optionnel
+
+    private Langue langue; // Optionnel, FR par défaut
 }
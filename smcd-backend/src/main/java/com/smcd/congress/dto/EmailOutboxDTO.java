@@ -0,0 +1,46 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.model.EmailOutbox;
+import com.smcd.congress.model.enums.StatutEmail;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de suivi d'un email de l'outbox (sans le contenu)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxDTO {
+
+    private Long id;
+    private String destinataire;
+    private String sujet;
+    private StatutEmail statut;
+    private String statutLabel;
+    private Integer tentatives;
+    private String derniereErreur;
+    private LocalDateTime dateCreation;
+    private LocalDateTime prochaineTentative;
+    private LocalDateTime dateEnvoi;
+
+    public static EmailOutboxDTO fromEntity(EmailOutbox email) {
+        return EmailOutboxDTO.builder()
+                .id(email.getId())
+                .destinataire(email.getDestinataire())
+                .sujet(email.getSujet())
+                .statut(email.getStatut())
+                .statutLabel(email.getStatut().getLabel())
+                .tentatives(email.getTentatives())
+                .derniereErreur(email.getDerniereErreur())
+                .dateCreation(email.getDateCreation())
+                .prochaineTentative(email.getProchaineTentative())
+                .dateEnvoi(email.getDateEnvoi())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.model.enums.StatutIngestion;
+import com.smcd.congress.service.IngestJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de suivi d'une tâche d'ingestion de média
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestJobDTO {
+
+    private String jobId;
+    private String type;
+    private StatutIngestion statut;
+    private String statutLabel;
+    private String etape;
+    private Integer progression;
+    private Long entityId;
+    private String message;
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateFin;
+
+    public static IngestJobDTO fromJob(IngestJob job) {
+        return IngestJobDTO.builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .statut(job.getStatut())
+                .statutLabel(job.getStatut().getLabel())
+                .etape(job.getEtape())
+                .progression(job.getProgression())
+                .entityId(job.getEntityId())
+                .message(job.getMessage())
+                .dateCreation(job.getDateCreation())
+                .dateFin(job.getDateFin())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.smcd.congress.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de rédaction d'une campagne newsletter
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsletterCampaignCreateDTO {
+
+    @NotBlank(message = "Le sujet est obligatoire")
+    @Size(max = 500)
+    private String sujet;
+
+    // Corps HTML du message
+    @NotBlank(message = "Le contenu est obligatoire")
+    private String contenu;
+}
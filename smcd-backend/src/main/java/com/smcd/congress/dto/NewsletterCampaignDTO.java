@@ -0,0 +1,60 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.model.NewsletterCampaign;
+import com.smcd.congress.model.enums.StatutCampagne;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO d'une campagne newsletter avec l'avancement de l'envoi
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsletterCampaignDTO {
+
+    private Long id;
+    private String sujet;
+    private String contenu;
+    private StatutCampagne statut;
+    private String statutLabel;
+    private Long totalDestinataires;
+    private Long envoyes;
+    private Long echecs;
+    private Integer progression;
+    private String creePar;
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateLancement;
+    private LocalDateTime dateFin;
+
+    public static NewsletterCampaignDTO fromEntity(NewsletterCampaign campagne) {
+        Integer progression = null;
+        if (campagne.getStatut() == StatutCampagne.TERMINEE) {
+            progression = 100;
+        } else if (campagne.getTotalDestinataires() != null && campagne.getTotalDestinataires() > 0) {
+            long traites = campagne.getEnvoyes() + campagne.getEchecs();
+            progression = (int) Math.min(99, traites * 100 / campagne.getTotalDestinataires());
+        }
+
+        return NewsletterCampaignDTO.builder()
+                .id(campagne.getId())
+                .sujet(campagne.getSujet())
+                .contenu(campagne.getContenu())
+                .statut(campagne.getStatut())
+                .statutLabel(campagne.getStatut().getLabel())
+                .totalDestinataires(campagne.getTotalDestinataires())
+                .envoyes(campagne.getEnvoyes())
+                .echecs(campagne.getEchecs())
+                .progression(progression)
+                .creePar(campagne.getCreePar())
+                .dateCreation(campagne.getDateCreation())
+                .dateLancement(campagne.getDateLancement())
+                .dateFin(campagne.getDateFin())
+                .build();
+    }
+}
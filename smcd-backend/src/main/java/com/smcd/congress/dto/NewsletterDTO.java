@@ -1,5 +1,6 @@
 package com.smcd.congress.dto;
 
+import com.smcd.congress.model.enums.Langue;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -21,4 +22,6 @@ public class NewsletterDTO {
 
     @Size(max = 50)
     private String origine;
+
+    private Langue langue; // Optionnel, FR par défaut
 }
@@ -0,0 +1,42 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.model.NewsletterSubscriber;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pour la liste des abonnés à la newsletter (administration)
+ * Exclut le token de désinscription : quiconque le connaît peut désinscrire l'abonné
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsletterSubscriberDTO {
+
+    private Long id;
+    private String email;
+    private String nom;
+    private String prenom;
+    private Boolean actif;
+    private String origine;
+    private LocalDateTime dateInscription;
+    private LocalDateTime dateDesinscription;
+
+    public static NewsletterSubscriberDTO fromEntity(NewsletterSubscriber subscriber) {
+        return NewsletterSubscriberDTO.builder()
+                .id(subscriber.getId())
+                .email(subscriber.getEmail())
+                .nom(subscriber.getNom())
+                .prenom(subscriber.getPrenom())
+                .actif(subscriber.getActif())
+                .origine(subscriber.getOrigine())
+                .dateInscription(subscriber.getDateInscription())
+                .dateDesinscription(subscriber.getDateDesinscription())
+                .build();
+    }
+}
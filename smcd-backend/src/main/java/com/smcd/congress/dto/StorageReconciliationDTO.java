@@ -0,0 +1,39 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.service.StoredFileMetadata;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rapport d'une réconciliation entre la base de données et le stockage des médias
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageReconciliationDTO {
+
+    // EN_COURS, TERMINEE ou ECHEC
+    private String statut;
+    private boolean purge;
+    private LocalDateTime dateDebut;
+    private LocalDateTime dateFin;
+
+    private long fichiersAnalyses;
+    private long fichiersReferences;
+    // Fichiers trop récents pour être jugés (upload en cours ou pas encore confirmé)
+    private long fichiersRecents;
+    private long orphelins;
+    private long tailleOrphelins;
+    private long suppressionsPlanifiees;
+
+    private String message;
+
+    // Premiers fichiers orphelins trouvés (liste limitée)
+    private List<StoredFileMetadata> exemples;
+}
@@ -0,0 +1,45 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.model.enums.TypeUpload;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO pour l'ouverture d'une session d'upload reprenable ou la préparation d'un upload direct signé
+ * Seules les métadonnées correspondant au type sont lues (video, communication, eposter ou document)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionCreateDTO {
+
+    @NotNull(message = "Le type de média est obligatoire")
+    private TypeUpload type;
+
+    @NotBlank(message = "Le nom du fichier est obligatoire")
+    private String nomFichier;
+
+    private String contentType;
+
+    @NotNull(message = "La taille du fichier est obligatoire")
+    @Positive(message = "La taille du fichier doit être positive")
+    private Long taille;
+
+    private VideoDTO video;
+
+    @Valid
+    private CommunicationVideoUploadDTO communication;
+
+    @Valid
+    private EPosterUploadDTO eposter;
+
+    @Valid
+    private DocumentDTO document;
+}
@@ -0,0 +1,42 @@
+package com.smcd.congress.dto;
+
+import com.smcd.congress.model.enums.TypeUpload;
+import com.smcd.congress.service.UploadSession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO d'état d'une session d'upload reprenable
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDTO {
+
+    private String sessionId;
+    private TypeUpload type;
+    private String nomFichier;
+    private Long taille;
+    private Long offset;
+    private Boolean complete;
+    private String jobId;
+    private LocalDateTime dateExpiration;
+
+    public static UploadSessionDTO fromSession(UploadSession session) {
+        return UploadSessionDTO.builder()
+                .sessionId(session.getId())
+                .type(session.getType())
+                .nomFichier(session.getNomFichier())
+                .taille(session.getTaille())
+                .offset(session.getOffset())
+                .complete(session.isComplete())
+                .jobId(session.getJobId())
+                .dateExpiration(session.getDateExpiration())
+                .build();
+    }
+}
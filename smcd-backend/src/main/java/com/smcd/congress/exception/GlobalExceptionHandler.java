@@ -3,6 +3,7 @@ package com.smcd.congress.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -65,6 +66,74 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Gère les conflits d'offset des sessions d'upload reprenable (409)
+     * L'offset attendu est renvoyé dans l'en-tête Upload-Offset pour que le client reprenne au bon endroit
+     */
+    @ExceptionHandler(UploadOffsetException.class)
+    public ResponseEntity<ErrorResponse> handleUploadOffsetException(
+            UploadOffsetException ex, HttpServletRequest request) {
+        
+        logger.warn("Conflit d'offset d'upload: {}", ex.getMessage());
+        
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Conflict")
+                .message(ex.getMessage())
+                .status(HttpStatus.CONFLICT.value())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Upload-Offset", String.valueOf(ex.getOffset()))
+                .body(error);
+    }
+
+    /**
+     * Gère la saturation ou l'indisponibilité du stockage distant (503)
+     * Le délai conseillé avant un nouvel essai est renvoyé dans l'en-tête Retry-After
+     */
+    @ExceptionHandler(StorageUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleStorageUnavailableException(
+            StorageUnavailableException ex, HttpServletRequest request) {
+        
+        logger.warn("Stockage indisponible: {}", ex.getMessage());
+        
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(ex.getRetryAfter()))
+                .body(error);
+    }
+
+    /**
+     * Gère la saturation d'un pool de threads borné, par exemple trop d'exports simultanés (503)
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(
+            TaskRejectedException ex, HttpServletRequest request) {
+        
+        logger.warn("Pool de threads saturé: {}", ex.getMessage());
+        
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Service Unavailable")
+                .message("Serveur occupé, veuillez réessayer dans quelques instants")
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "30")
+                .body(error);
+    }
+
     /**
      * Gère les exceptions de credentials invalides (401)
      */
@@ -0,0 +1,18 @@
+package com.smcd.congress.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception levée quand le stockage distant est saturé ou indisponible (appel refusé sans attendre)
+ * Le client peut réessayer après le délai indiqué (en secondes)
+ */
+@Getter
+public class StorageUnavailableException extends RuntimeException {
+
+    private final long retryAfter;
+
+    public StorageUnavailableException(String message, long retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
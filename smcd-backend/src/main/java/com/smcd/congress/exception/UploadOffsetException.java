@@ -0,0 +1,17 @@
+package com.smcd.congress.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception levée quand un morceau envoyé ne commence pas à l'offset déjà reçu par le serveur
+ */
+@Getter
+public class UploadOffsetException extends RuntimeException {
+
+    private final long offset;
+
+    public UploadOffsetException(String message, long offset) {
+        super(message);
+        this.offset = offset;
+    }
+}
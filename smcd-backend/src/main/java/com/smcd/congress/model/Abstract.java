@@ -1,6 +1,8 @@
 package com.smcd.congress.model;
 
+import com.smcd.congress.model.enums.Langue;
 import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutDocument;
 import com.smcd.congress.model.enums.StatutSoumission;
 import com.smcd.congress.model.enums.TypeCommunication;
 import jakarta.persistence.*;
@@ -46,6 +48,11 @@ public class Abstract {
     @Column(nullable = false)
     private String email;
 
+    // Langue des emails envoyés à l'auteur (FR pour les soumissions antérieures)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 2)
+    private Langue langue;
+
     @Size(max = 20, message = "Le téléphone ne peut pas dépasser 20 caractères")
     @Column(length = 20)
     private String telephone;
@@ -124,6 +131,15 @@ public class Abstract {
     @Column(length = 500)
     private String wordFileUrl;
 
+    // Document Word généré en arrière-plan après la soumission (null pour les abstracts antérieurs)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private StatutDocument statutDocument = StatutDocument.EN_ATTENTE;
+
+    @Column(length = 1000)
+    private String erreurDocument;
+
     @Column(columnDefinition = "TEXT")
     private String commentairesComite;
 
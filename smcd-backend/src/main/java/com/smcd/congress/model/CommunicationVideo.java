@@ -82,6 +82,14 @@ public class CommunicationVideo {
     @Column
     private Integer duree; // en secondes
 
+    @Size(max = 20)
+    @Column(length = 20)
+    private String resolution; // 1080p, 720p, 4K
+
+    @Size(max = 10)
+    @Column(length = 10)
+    private String codec; // avc1, hvc1, av01...
+
     // ============ STATUT ============
     
     @Enumerated(EnumType.STRING)
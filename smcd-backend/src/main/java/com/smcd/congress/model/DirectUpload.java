@@ -0,0 +1,49 @@
+package com.smcd.congress.model;
+
+import com.smcd.congress.model.enums.TypeUpload;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Upload direct signé en attente de confirmation
+ * Conservé en base : la confirmation peut être reçue par n'importe quelle instance, et un fichier
+ * envoyé mais jamais confirmé est supprimé du stockage à l'expiration de la demande
+ */
+@Data
+@Entity
+@Table(name = "direct_uploads", indexes = {
+        @Index(name = "idx_direct_uploads_date_expiration", columnList = "dateExpiration")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUpload {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TypeUpload type;
+
+    @Column(nullable = false)
+    private String publicId;
+
+    @Column(nullable = false, length = 20)
+    private String resourceType;
+
+    // Demande d'origine (UploadSessionCreateDTO au format JSON)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String demande;
+
+    @Column(nullable = false)
+    private LocalDateTime dateExpiration;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime dateCreation;
+}
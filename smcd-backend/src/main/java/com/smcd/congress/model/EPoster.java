@@ -1,5 +1,6 @@
 package com.smcd.congress.model;
 
+import com.smcd.congress.model.enums.Langue;
 import com.smcd.congress.model.enums.Rubrique;
 import com.smcd.congress.model.enums.StatutEPoster;
 import jakarta.persistence.*;
@@ -45,6 +46,11 @@ public class EPoster {
     @Column(nullable = false)
     private String emailAuteur;
 
+    // Langue des emails envoyés à l'auteur (FR pour les dépôts antérieurs)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 2)
+    private Langue langue;
+
     @NotBlank(message = "Le titre est obligatoire")
     @Size(max = 300, message = "Le titre ne peut pas dépasser 300 caractères")
     @Column(nullable = false, length = 300)
@@ -0,0 +1,62 @@
+package com.smcd.congress.model;
+
+import com.smcd.congress.model.enums.StatutEmail;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email en attente d'envoi (outbox)
+ * Enregistré dans la même transaction que l'action qui le déclenche, puis envoyé après le commit
+ * par EmailDispatchService (réessais avec délai croissant, échec définitif après plusieurs tentatives)
+ */
+@Data
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_statut_prochaine_tentative", columnList = "statut, prochaineTentative")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 320)
+    private String destinataire;
+
+    @Column(nullable = false, length = 500)
+    private String sujet;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String contenu;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean html = false;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(nullable = false, length = 20)
+    private StatutEmail statut = StatutEmail.EN_ATTENTE;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer tentatives = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime prochaineTentative;
+
+    @Column(length = 1000)
+    private String derniereErreur;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime dateCreation;
+
+    private LocalDateTime dateEnvoi;
+}
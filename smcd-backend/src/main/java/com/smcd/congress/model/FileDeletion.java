@@ -0,0 +1,47 @@
+package com.smcd.congress.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Suppression de fichier en attente (outbox)
+ * Enregistrée dans la même transaction que la suppression de l'entité, puis exécutée
+ * après le commit par FileDeletionService (suppressions groupées, réessais avec délai croissant)
+ */
+@Data
+@Entity
+@Table(name = "file_deletion_outbox", indexes = {
+        @Index(name = "idx_file_deletion_prochaine_tentative", columnList = "prochaineTentative")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String publicId;
+
+    @Column(nullable = false, length = 20)
+    private String resourceType;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer tentatives = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime prochaineTentative;
+
+    @Column(length = 1000)
+    private String derniereErreur;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime dateCreation;
+}
@@ -0,0 +1,53 @@
+package com.smcd.congress.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fichier stocké (Cloudinary ou disque local) identifié par son contenu (SHA-256)
+ * Plusieurs entités peuvent référencer le même fichier : il n'est supprimé
+ * du stockage que lorsque la dernière référence disparaît
+ */
+@Data
+@Entity
+@Table(name = "media_blob", indexes = {
+        @Index(name = "idx_media_blob_public_id", columnList = "publicId")
+})
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Empreinte SHA-256 du contenu (hexadécimal)
+    @Column(nullable = false, unique = true, length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private String publicId;
+
+    @Column(nullable = false, length = 1000)
+    private String url;
+
+    @Column(length = 20)
+    private String resourceType;
+
+    private Long taille;
+
+    // Durée en secondes (vidéos)
+    private Integer duree;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer referenceCount = 0;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime dateCreation;
+}
@@ -0,0 +1,64 @@
+package com.smcd.congress.model;
+
+import com.smcd.congress.model.enums.StatutCampagne;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Campagne newsletter : un message envoyé à tous les abonnés actifs
+ * L'envoi parcourt les abonnés par identifiant croissant ; dernierAbonneId est le point de reprise
+ * enregistré après chaque page (un redémarrage reprend l'envoi à la page suivante)
+ */
+@Data
+@Entity
+@Table(name = "newsletter_campaigns")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsletterCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 500)
+    private String sujet;
+
+    // Corps HTML du message (inséré dans la mise en page de la newsletter)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String contenu;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(nullable = false, length = 20)
+    private StatutCampagne statut = StatutCampagne.BROUILLON;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long dernierAbonneId = 0L;
+
+    // Abonnés actifs au lancement (estimation : des abonnés peuvent s'inscrire pendant l'envoi)
+    private Long totalDestinataires;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long envoyes = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long echecs = 0L;
+
+    @Column(length = 255)
+    private String creePar;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime dateCreation;
+
+    private LocalDateTime dateLancement;
+
+    private LocalDateTime dateFin;
+}
@@ -1,5 +1,6 @@
 package com.smcd.congress.model;
 
+import com.smcd.congress.model.enums.Langue;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -43,6 +44,11 @@ public class NewsletterSubscriber {
     @Column(length = 50)
     private String origine;
 
+    // Langue de la newsletter (FR pour les abonnés antérieurs)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 2)
+    private Langue langue;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime dateInscription;
@@ -91,6 +91,10 @@ public class Video {
     @Column(length = 20)
     private String resolution; // 1080p, 720p, 4K
 
+    @Size(max = 10)
+    @Column(length = 10)
+    private String codec; // avc1, hvc1, av01...
+
     @Column
     private Long tailleFichier; // bytes
 
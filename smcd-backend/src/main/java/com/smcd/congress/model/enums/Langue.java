@@ -0,0 +1,18 @@
+package com.smcd.congress.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Langues des emails envoyés par la plateforme
+ */
+@Getter
+public enum Langue {
+    FR("Français"),
+    EN("English");
+
+    private final String label;
+
+    Langue(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,21 @@
+package com.smcd.congress.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Statuts d'une campagne newsletter
+ */
+@Getter
+public enum StatutCampagne {
+    BROUILLON("Brouillon"),
+    EN_COURS("Envoi en cours"),
+    EN_PAUSE("En pause"),
+    TERMINEE("Terminée"),
+    ANNULEE("Annulée");
+
+    private final String label;
+
+    StatutCampagne(String label) {
+        this.label = label;
+    }
+}
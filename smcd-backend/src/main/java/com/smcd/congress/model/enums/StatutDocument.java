@@ -0,0 +1,19 @@
+package com.smcd.congress.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Statuts de génération du document Word d'un abstract
+ */
+@Getter
+public enum StatutDocument {
+    EN_ATTENTE("En cours de génération"),
+    PRET("Disponible"),
+    ECHEC("Échec de la génération");
+
+    private final String label;
+
+    StatutDocument(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,20 @@
+package com.smcd.congress.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Statuts d'un email de l'outbox
+ */
+@Getter
+public enum StatutEmail {
+    EN_ATTENTE("En attente d'envoi"),
+    ENVOYE("Envoyé"),
+    // Abandonné après le nombre maximal de tentatives (à renvoyer manuellement)
+    ECHEC("Échec définitif");
+
+    private final String label;
+
+    StatutEmail(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,20 @@
+package com.smcd.congress.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Statuts possibles pour une tâche d'ingestion de média
+ */
+@Getter
+public enum StatutIngestion {
+    EN_ATTENTE("En attente de traitement"),
+    EN_COURS("En cours de traitement"),
+    TERMINE("Terminé"),
+    ECHEC("Échec");
+
+    private final String label;
+
+    StatutIngestion(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,21 @@
+package com.smcd.congress.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Types de médias acceptés par les sessions d'upload reprenable et les uploads directs signés
+ */
+@Getter
+public enum TypeUpload {
+    VIDEO("Vidéo chirurgicale"),
+    COMMUNICATION_VIDEO("Communication vidéo"),
+    EPOSTER("E-Poster"),
+    // Upload direct uniquement
+    DOCUMENT("Document");
+
+    private final String label;
+
+    TypeUpload(String label) {
+        this.label = label;
+    }
+}
@@ -2,17 +2,23 @@ package com.smcd.congress.repository;
 
 import com.smcd.congress.model.Abstract;
 import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutDocument;
 import com.smcd.congress.model.enums.StatutSoumission;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository pour l'entité Abstract
@@ -53,6 +59,14 @@ public interface AbstractRepository extends JpaRepository<Abstract, Long> {
      */
     List<Abstract> findByDateSoumissionBetweenAndDeletedFalse(LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Identifiants pour l'export (filtres facultatifs), dans l'ordre de /export
+     */
+    @Query("SELECT a.id FROM Abstract a WHERE a.deleted = false " +
+           "AND (:statut IS NULL OR a.statut = :statut) AND (:rubrique IS NULL OR a.rubrique = :rubrique) " +
+           "ORDER BY a.dateSoumission DESC")
+    List<Long> findIdsForExport(@Param("statut") StatutSoumission statut, @Param("rubrique") Rubrique rubrique);
+
     // ============ RECHERCHES PAGINÉES ============
     
     /**
@@ -92,13 +106,6 @@ public interface AbstractRepository extends JpaRepository<Abstract, Long> {
      */
     Long countByDeletedFalse();
 
-    /**
-     * Compter le dernier numéro de référence
-     */
-    @Query("SELECT MAX(CAST(SUBSTRING(a.numeroReference, 10, 3) AS int)) FROM Abstract a " +
-           "WHERE a.numeroReference LIKE 'SMCD2026-%'")
-    Integer findMaxReferenceNumber();
-
     /**
      * Statistiques par type de communication
      */
@@ -119,4 +126,36 @@ public interface AbstractRepository extends JpaRepository<Abstract, Long> {
            "GROUP BY DATE(date_soumission) " +
            "ORDER BY DATE(date_soumission)", nativeQuery = true)
     List<Object[]> countByDay(@Param("startDate") LocalDateTime startDate);
+
+    /**
+     * Abstracts dont le document Word attend sa génération depuis une date
+     */
+    @Query("SELECT a.id FROM Abstract a WHERE a.statutDocument = :statut AND a.deleted = false " +
+           "AND a.dateSoumission < :avant ORDER BY a.id")
+    List<Long> findIdsByStatutDocument(@Param("statut") StatutDocument statut, @Param("avant") LocalDateTime avant);
+
+    /**
+     * Enregistre le document généré (sans toucher à la date de révision ni aux autres colonnes)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Abstract a SET a.wordFileUrl = :url, a.statutDocument = :statut, a.erreurDocument = null " +
+           "WHERE a.id = :id")
+    int enregistrerDocument(@Param("id") Long id, @Param("statut") StatutDocument statut, @Param("url") String url);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Abstract a SET a.statutDocument = :statut, a.erreurDocument = :erreur WHERE a.id = :id")
+    int changerStatutDocument(@Param("id") Long id, @Param("statut") StatutDocument statut,
+                              @Param("erreur") String erreur);
+
+    /**
+     * Lecture en flux pour l'export (à consommer dans une transaction)
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT a FROM Abstract a WHERE a.deleted = false " +
+           "AND (:statut IS NULL OR a.statut = :statut) AND (:rubrique IS NULL OR a.rubrique = :rubrique) " +
+           "ORDER BY a.dateSoumission DESC")
+    Stream<Abstract> streamForExport(@Param("statut") StatutSoumission statut, @Param("rubrique") Rubrique rubrique);
 }
@@ -2,10 +2,14 @@ package com.smcd.congress.repository;
 
 import com.smcd.congress.model.CommunicationVideo;
 import com.smcd.congress.model.enums.StatutCommunication;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommunicationVideoRepository extends JpaRepository<CommunicationVideo, Long> {
@@ -19,4 +23,12 @@ public interface CommunicationVideoRepository extends JpaRepository<Communicatio
     Long countByStatut(StatutCommunication statut);
     
     Long countByAnnee(Integer annee);
+
+    /**
+     * Lecture en flux de toutes les vidéos (à consommer dans une transaction)
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT c FROM CommunicationVideo c ORDER BY c.id")
+    Stream<CommunicationVideo> streamAll();
 }
@@ -0,0 +1,31 @@
+package com.smcd.congress.repository;
+
+import com.smcd.congress.model.DirectUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository pour les uploads directs en attente de confirmation
+ */
+@Repository
+public interface DirectUploadRepository extends JpaRepository<DirectUpload, String> {
+
+    @Query("SELECT d FROM DirectUpload d WHERE d.dateExpiration < :maintenant ORDER BY d.dateExpiration")
+    List<DirectUpload> findExpirees(@Param("maintenant") LocalDateTime maintenant, Pageable pageable);
+
+    /**
+     * Retire une demande : une seule confirmation (ou une seule purge) obtient 1, même entre plusieurs instances
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DirectUpload d WHERE d.id = :id")
+    int retirer(@Param("id") String id);
+}
@@ -3,12 +3,15 @@ package com.smcd.congress.repository;
 import com.smcd.congress.model.Document;
 import com.smcd.congress.model.enums.TypeDocument;
 import com.smcd.congress.model.enums.VisibiliteDocument;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
@@ -32,4 +35,12 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
 
     @Query("SELECT SUM(d.nombreTelechargements) FROM Document d")
     Long sumTelechargements();
+
+    /**
+     * Lecture en flux de tous les documents (à consommer dans une transaction)
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT d FROM Document d ORDER BY d.id")
+    Stream<Document> streamAll();
 }
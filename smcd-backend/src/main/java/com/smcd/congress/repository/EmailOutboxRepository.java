@@ -0,0 +1,34 @@
+package com.smcd.congress.repository;
+
+import com.smcd.congress.model.EmailOutbox;
+import com.smcd.congress.model.enums.StatutEmail;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository pour l'outbox des emails
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e FROM EmailOutbox e WHERE e.statut = com.smcd.congress.model.enums.StatutEmail.EN_ATTENTE " +
+            "AND e.prochaineTentative <= :maintenant ORDER BY e.id")
+    List<EmailOutbox> findAEnvoyer(@Param("maintenant") LocalDateTime maintenant, Pageable pageable);
+
+    Page<EmailOutbox> findByStatutOrderByDateCreationDesc(StatutEmail statut, Pageable pageable);
+
+    long countByStatut(StatutEmail statut);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.statut = com.smcd.congress.model.enums.StatutEmail.ENVOYE " +
+            "AND e.dateEnvoi < :limite")
+    int supprimerEnvoyesAvant(@Param("limite") LocalDateTime limite);
+}
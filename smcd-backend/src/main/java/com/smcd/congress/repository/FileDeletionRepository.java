@@ -0,0 +1,21 @@
+package com.smcd.congress.repository;
+
+import com.smcd.congress.model.FileDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository pour l'outbox des suppressions de fichiers
+ */
+@Repository
+public interface FileDeletionRepository extends JpaRepository<FileDeletion, Long> {
+
+    @Query("SELECT d FROM FileDeletion d WHERE d.prochaineTentative <= :maintenant ORDER BY d.id")
+    List<FileDeletion> findAPlanifier(@Param("maintenant") LocalDateTime maintenant, Pageable pageable);
+}
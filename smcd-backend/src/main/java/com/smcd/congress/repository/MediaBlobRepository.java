@@ -0,0 +1,44 @@
+package com.smcd.congress.repository;
+
+import com.smcd.congress.model.MediaBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository pour les fichiers dédupliqués par contenu
+ */
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, Long> {
+
+    Optional<MediaBlob> findByHash(String hash);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MediaBlob b WHERE b.publicId = :publicId")
+    Optional<MediaBlob> findByPublicIdForUpdate(@Param("publicId") String publicId);
+
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.referenceCount = b.referenceCount + 1 WHERE b.publicId = :publicId")
+    int incrementerReferences(@Param("publicId") String publicId);
+
+    // Supprime un fichier encore jamais référencé (compensation d'un upload)
+    @Modifying
+    @Query("DELETE FROM MediaBlob b WHERE b.publicId = :publicId AND b.referenceCount = 0")
+    int supprimerSiNonReference(@Param("publicId") String publicId);
+
+    // Supprime les fichiers jamais référencés parmi des orphelins (réconciliation du stockage)
+    @Modifying
+    @Query("DELETE FROM MediaBlob b WHERE b.publicId IN :publicIds AND b.referenceCount = 0")
+    int supprimerNonReferences(@Param("publicIds") Collection<String> publicIds);
+
+    @Query("SELECT b.publicId FROM MediaBlob b WHERE b.publicId IN :publicIds")
+    List<String> findPublicIds(@Param("publicIds") Collection<String> publicIds);
+}
@@ -0,0 +1,57 @@
+package com.smcd.congress.repository;
+
+import com.smcd.congress.model.NewsletterCampaign;
+import com.smcd.congress.model.enums.StatutCampagne;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface NewsletterCampaignRepository extends JpaRepository<NewsletterCampaign, Long> {
+
+    Page<NewsletterCampaign> findAllByOrderByDateCreationDesc(Pageable pageable);
+
+    Optional<NewsletterCampaign> findFirstByStatutOrderByDateLancementAsc(StatutCampagne statut);
+
+    @Query("SELECT c.statut FROM NewsletterCampaign c WHERE c.id = :id")
+    Optional<StatutCampagne> findStatutById(@Param("id") Long id);
+
+    /**
+     * Point de reprise après une page : ne modifie ni le statut (pause ou annulation
+     * demandée pendant l'envoi) ni le contenu
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE NewsletterCampaign c SET c.dernierAbonneId = :dernierId, " +
+            "c.envoyes = c.envoyes + :envoyes, c.echecs = c.echecs + :echecs WHERE c.id = :id")
+    int enregistrerProgression(@Param("id") Long id, @Param("dernierId") Long dernierId,
+                               @Param("envoyes") long envoyes, @Param("echecs") long echecs);
+
+    /**
+     * Change le statut si la campagne est encore dans l'un des statuts attendus
+     *
+     * @return 0 si la campagne a changé de statut entre-temps
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE NewsletterCampaign c SET c.statut = :statut, c.dateFin = :dateFin " +
+            "WHERE c.id = :id AND c.statut IN :attendus")
+    int changerStatut(@Param("id") Long id, @Param("attendus") Collection<StatutCampagne> attendus,
+                      @Param("statut") StatutCampagne statut, @Param("dateFin") LocalDateTime dateFin);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NewsletterCampaign c SET c.statut = :statut, c.totalDestinataires = :total, " +
+            "c.dateLancement = :dateLancement WHERE c.id = :id AND c.statut = :attendu")
+    int lancer(@Param("id") Long id, @Param("attendu") StatutCampagne attendu, @Param("statut") StatutCampagne statut,
+               @Param("total") Long total, @Param("dateLancement") LocalDateTime dateLancement);
+}
@@ -1,14 +1,18 @@
 package com.smcd.congress.repository;
 
 import com.smcd.congress.model.NewsletterSubscriber;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NewsletterSubscriberRepository extends JpaRepository<NewsletterSubscriber, Long> {
@@ -21,8 +25,22 @@ public interface NewsletterSubscriberRepository extends JpaRepository<Newsletter
 
     Long countByActifTrue();
 
+    /**
+     * Page d'abonnés actifs après un identifiant (pagination par clé, sans OFFSET)
+     */
+    @Query("SELECT n FROM NewsletterSubscriber n WHERE n.actif = true AND n.id > :apresId ORDER BY n.id")
+    List<NewsletterSubscriber> findActifsApres(@Param("apresId") Long apresId, Pageable pageable);
+
     @Query("SELECT COUNT(n) FROM NewsletterSubscriber n WHERE n.actif = true AND n.dateInscription >= :since")
     Long countNewSubscribersSince(@Param("since") LocalDateTime since);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Lecture en flux des abonnés actifs (à consommer dans une transaction)
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT s FROM NewsletterSubscriber s WHERE s.actif = true ORDER BY s.dateInscription DESC")
+    Stream<NewsletterSubscriber> streamActifs();
 }
@@ -0,0 +1,142 @@
+package com.smcd.congress.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smcd.congress.exception.ErrorResponse;
+import com.smcd.congress.service.UploadAdmissionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filtre d'admission des uploads (multipart et morceaux des sessions d'upload reprenable)
+ * Placé juste après Spring Security (en-têtes CORS déjà posés, requêtes anonymes vers les endpoints
+ * protégés déjà refusées) et avant la lecture du corps par le DispatcherServlet : la taille annoncée
+ * (Content-Length) est réservée auprès d'UploadAdmissionService, la requête est refusée sans lire
+ * le fichier si le budget est atteint (503 ou 429 avec Retry-After)
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String CHEMIN_SESSIONS = "/api/uploads/sessions/**";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    private UploadAdmissionService uploadAdmissionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Endpoints publics soumis au budget par client
+    @Value("${app.upload.admission.public-paths:/api/eposters/upload,/api/videos/upload,/api/uploads/sessions/**}")
+    private List<String> cheminsPublics;
+
+    // Les petites requêtes (photos, formulaires) ne sont pas comptées
+    @Value("${app.upload.admission.min-bytes:1MB}")
+    private DataSize tailleMin;
+
+    // Taille réservée pour une requête sans Content-Length (envoi chunked)
+    @Value("${spring.servlet.multipart.max-request-size:100MB}")
+    private DataSize tailleInconnue;
+
+    @Value("${app.upload.admission.retry-after-seconds:30}")
+    private long retryAfter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String methode = request.getMethod();
+        if (!"POST".equals(methode) && !"PUT".equals(methode)) {
+            return true;
+        }
+        // Morceaux des sessions d'upload reprenable : corps binaire quel que soit son type (video/mp4, absent...)
+        if ("PUT".equals(methode) && pathMatcher.match(CHEMIN_SESSIONS, request.getRequestURI())) {
+            return false;
+        }
+        String contentType = request.getContentType();
+        return contentType == null
+                || !(contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+                || contentType.startsWith(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long octets = request.getContentLengthLong();
+        if (octets < 0) {
+            octets = tailleInconnue.toBytes();
+        }
+        if (octets < tailleMin.toBytes()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String client = estPublic(request.getRequestURI()) ? request.getRemoteAddr() : null;
+
+        UploadAdmissionService.Decision decision;
+        try {
+            decision = uploadAdmissionService.reserver(client, octets);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            decision = UploadAdmissionService.Decision.SATURE;
+        }
+
+        switch (decision) {
+            case SATURE -> refuser(request, response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Trop d'envois de fichiers en cours, réessayez dans quelques instants");
+            case QUOTA_CLIENT -> refuser(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                    "Trop d'envois de fichiers simultanés depuis votre connexion, attendez la fin des envois en cours");
+            case ADMIS -> {
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    uploadAdmissionService.liberer(client, octets);
+                }
+            }
+        }
+    }
+
+    private boolean estPublic(String uri) {
+        for (String chemin : cheminsPublics) {
+            if (pathMatcher.match(chemin.trim(), uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refuser(HttpServletRequest request, HttpServletResponse response,
+                         HttpStatus status, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .error(status.getReasonPhrase())
+                .message(message)
+                .status(status.value())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+
+        // Le corps n'est pas lu : la connexion ne doit pas être réutilisée
+        response.setHeader("Connection", "close");
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
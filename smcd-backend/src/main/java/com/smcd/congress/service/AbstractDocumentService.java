@@ -0,0 +1,132 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.AbstractResponseDTO;
+import com.smcd.congress.exception.ResourceNotFoundException;
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.StatutDocument;
+import com.smcd.congress.repository.AbstractRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Génération en arrière-plan des documents Word des abstracts
+ * La soumission enregistre l'abstract avec statutDocument = EN_ATTENTE ; après le commit, la génération
+ * (POI puis envoi au stockage) est confiée au pool abstractDocumentExecutor, en dehors de toute transaction.
+ * Un passage planifié reprend les générations perdues (pool saturé, redémarrage du serveur)
+ */
+@Slf4j
+@Service
+public class AbstractDocumentService {
+
+    // Délai avant qu'un abstract en attente soit considéré comme oublié par le passage planifié
+    private static final long DELAI_REPRISE_MINUTES = 2;
+
+    @Autowired
+    private AbstractRepository abstractRepository;
+
+    @Autowired
+    private WordGeneratorService wordGeneratorService;
+
+    @Autowired
+    @Qualifier("abstractDocumentExecutor")
+    private TaskExecutor abstractDocumentExecutor;
+
+    // Abstracts en file ou en cours de génération sur ce serveur
+    private final Set<Long> enCours = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Planifie la génération du document après le commit de la transaction courante
+     */
+    public void planifier(Long abstractId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    soumettre(abstractId);
+                }
+            });
+        } else {
+            soumettre(abstractId);
+        }
+    }
+
+    /**
+     * Relance la génération d'un document en échec (ou régénère un document existant)
+     */
+    public AbstractResponseDTO regenerer(Long abstractId) {
+        Abstract abstractEntity = abstractRepository.findById(abstractId)
+                .filter(a -> !Boolean.TRUE.equals(a.getDeleted()))
+                .orElseThrow(() -> new ResourceNotFoundException("Abstract non trouvé avec l'id: " + abstractId));
+        if (enCours.contains(abstractId)) {
+            throw new IllegalArgumentException("La génération du document est déjà en cours");
+        }
+
+        abstractRepository.changerStatutDocument(abstractId, StatutDocument.EN_ATTENTE, null);
+        log.info("Nouvelle génération du document Word demandée pour l'abstract {}", abstractEntity.getNumeroReference());
+        soumettre(abstractId);
+
+        abstractEntity.setStatutDocument(StatutDocument.EN_ATTENTE);
+        abstractEntity.setErreurDocument(null);
+        return AbstractResponseDTO.fromEntity(abstractEntity);
+    }
+
+    /**
+     * Reprend les générations restées en attente
+     */
+    @Scheduled(fixedDelayString = "${app.abstract.document.retry-interval-ms:300000}",
+            initialDelayString = "${app.abstract.document.retry-interval-ms:300000}")
+    public void reprendreEnAttente() {
+        List<Long> ids = abstractRepository.findIdsByStatutDocument(StatutDocument.EN_ATTENTE,
+                LocalDateTime.now().minusMinutes(DELAI_REPRISE_MINUTES));
+        if (!ids.isEmpty()) {
+            log.info("{} document(s) Word en attente de génération", ids.size());
+            ids.forEach(this::soumettre);
+        }
+    }
+
+    private void soumettre(Long abstractId) {
+        if (!enCours.add(abstractId)) {
+            return;
+        }
+        try {
+            abstractDocumentExecutor.execute(() -> generer(abstractId));
+        } catch (TaskRejectedException e) {
+            // File pleine : le document reste en attente et sera repris par le passage planifié
+            enCours.remove(abstractId);
+            log.warn("File de génération des documents Word pleine, abstract {} repris plus tard", abstractId);
+        }
+    }
+
+    private void generer(Long abstractId) {
+        try {
+            Abstract abstractEntity = abstractRepository.findById(abstractId).orElse(null);
+            if (abstractEntity == null || Boolean.TRUE.equals(abstractEntity.getDeleted())
+                    || abstractEntity.getStatutDocument() != StatutDocument.EN_ATTENTE) {
+                return;
+            }
+
+            String wordUrl = wordGeneratorService.generateAbstractDocument(abstractEntity);
+            abstractRepository.enregistrerDocument(abstractId, StatutDocument.PRET, wordUrl);
+            log.info("Document Word généré pour l'abstract {}: {}", abstractEntity.getNumeroReference(), wordUrl);
+        } catch (RuntimeException e) {
+            String erreur = e.getMessage() != null && e.getMessage().length() > 1000
+                    ? e.getMessage().substring(0, 1000) : e.getMessage();
+            abstractRepository.changerStatutDocument(abstractId, StatutDocument.ECHEC, erreur);
+            log.error("Échec de la génération du document Word pour l'abstract {}", abstractId, e);
+        } finally {
+            enCours.remove(abstractId);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.repository.AbstractRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Export groupé des documents Word des abstracts dans une archive ZIP écrite au fil de l'eau
+ * Les documents sont générés en parallèle sur le pool abstractExportExecutor et ajoutés à l'archive
+ * dans l'ordre où ils sont prêts. Au plus app.abstract.export.window documents sont en cours
+ * (générés ou en attente d'écriture) : la mémoire utilisée ne dépend pas du nombre d'abstracts exportés
+ */
+@Slf4j
+@Service
+public class AbstractExportService {
+
+    @Autowired
+    private AbstractRepository abstractRepository;
+
+    @Autowired
+    private WordGeneratorService wordGeneratorService;
+
+    @Autowired
+    private DocxTemplateService docxTemplateService;
+
+    @Autowired
+    @Qualifier("abstractExportExecutor")
+    private TaskExecutor abstractExportExecutor;
+
+    @Value("${app.abstract.export.window:8}")
+    private int fenetre;
+
+    /**
+     * Identifiants des abstracts exportés (mêmes filtres que /api/abstracts/export)
+     */
+    public List<Long> getIdsForExport(StatutSoumission statut, Rubrique rubrique) {
+        return abstractRepository.findIdsForExport(statut, rubrique);
+    }
+
+    /**
+     * Écrit l'archive ZIP dans le flux (le flux n'est pas fermé)
+     * Un abstract dont le document n'a pas pu être généré est signalé dans erreurs.txt à la fin de l'archive
+     *
+     * @param modele true pour le modèle templates/word/abstract.docx, false pour WordGeneratorService (POI)
+     */
+    public void exporterWord(List<Long> ids, boolean modele, OutputStream sortie) throws IOException {
+        CompletionService<Document> generations = new ExecutorCompletionService<>(abstractExportExecutor::execute);
+        List<Future<Document>> enVol = new ArrayList<>();
+        List<String> erreurs = new ArrayList<>();
+        Iterator<Long> restants = ids.iterator();
+        long debut = System.currentTimeMillis();
+
+        ZipOutputStream zip = new ZipOutputStream(sortie);
+        try {
+            while (enVol.size() < fenetre && restants.hasNext()) {
+                Long id = restants.next();
+                enVol.add(generations.submit(() -> generer(id, modele)));
+            }
+
+            while (!enVol.isEmpty()) {
+                Future<Document> prete = generations.take();
+                enVol.remove(prete);
+                // Un document écrit libère une place pour le suivant
+                if (restants.hasNext()) {
+                    Long id = restants.next();
+                    enVol.add(generations.submit(() -> generer(id, modele)));
+                }
+
+                Document document;
+                try {
+                    document = prete.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("Export Word: document non généré: {}", cause.getMessage());
+                    erreurs.add(cause.getMessage());
+                    continue;
+                }
+                ajouter(zip, document.nomFichier(), document.contenu());
+                // Chaque document part immédiatement vers le client
+                zip.flush();
+            }
+
+            if (!erreurs.isEmpty()) {
+                ajouter(zip, "erreurs.txt", String.join("\n", erreurs).getBytes(StandardCharsets.UTF_8));
+            }
+            zip.finish();
+            log.info("Export Word: {} document(s) en {} ms ({} erreur(s))", ids.size() - erreurs.size(),
+                    System.currentTimeMillis() - debut, erreurs.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export Word interrompu", e);
+        } finally {
+            // Client déconnecté ou erreur : les générations restantes sont abandonnées
+            enVol.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Document generer(Long id, boolean modele) {
+        Abstract abstractEntity = abstractRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Abstract " + id + " supprimé pendant l'export"));
+        try {
+            byte[] contenu = modele
+                    ? docxTemplateService.genererAbstractBytes(abstractEntity)
+                    : wordGeneratorService.generateAbstractDocumentBytes(abstractEntity);
+            return new Document(nomFichier(abstractEntity), contenu);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Abstract " + id + " (" + abstractEntity.getNumeroReference() + "): "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private String nomFichier(Abstract abstractEntity) {
+        if (abstractEntity.getNumeroReference() == null) {
+            return "SMCD2026_abstract-" + abstractEntity.getId() + ".docx";
+        }
+        return String.format("SMCD2026_%s.docx", abstractEntity.getNumeroReference().replace("SMCD2026-", ""));
+    }
+
+    /**
+     * Ajoute une entrée non recompressée (un .docx est déjà une archive compressée)
+     */
+    private void ajouter(ZipOutputStream zip, String nom, byte[] contenu) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(contenu);
+        ZipEntry entree = new ZipEntry(nom);
+        entree.setMethod(ZipEntry.STORED);
+        entree.setSize(contenu.length);
+        entree.setCompressedSize(contenu.length);
+        entree.setCrc(crc.getValue());
+        zip.putNextEntry(entree);
+        zip.write(contenu);
+        zip.closeEntry();
+    }
+
+    private record Document(String nomFichier, byte[] contenu) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.smcd.congress.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Attribution des numéros de référence des abstracts (SMCD2026-001, SMCD2026-002...)
+ * Chaque année de congrès a sa séquence PostgreSQL (abstract_reference_seq_2026), incrémentée par blocs :
+ * un nextval réserve app.abstract.reference.block-size numéros, distribués ensuite en mémoire sans accès
+ * à la base. Deux soumissions simultanées (ou deux serveurs) ne peuvent pas obtenir le même numéro ;
+ * les numéros d'un bloc non utilisés avant un redémarrage sont perdus (trous acceptés dans la numérotation).
+ * Le nextval passe par la transaction (et la connexion) de l'appelant : une séquence n'est jamais annulée,
+ * et le thread qui réserve un bloc n'attend pas une seconde connexion du pool pendant que les autres
+ * soumissions, bloquées derrière lui, gardent les leurs
+ */
+@Slf4j
+@Service
+public class AbstractReferenceAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Création de la séquence dans sa propre transaction : jamais annulée avec la soumission en cours
+    private final TransactionTemplate transactionSeparee;
+
+    @Value("${app.abstract.reference.annee:2026}")
+    private int annee;
+
+    @Value("${app.abstract.reference.block-size:20}")
+    private int tailleBloc;
+
+    // Bloc en cours par année
+    private final Map<Integer, Plage> plages = new ConcurrentHashMap<>();
+
+    // Incrément des séquences déjà vérifiées par année
+    private final Map<Integer, Long> increments = new ConcurrentHashMap<>();
+
+    public AbstractReferenceAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionSeparee = new TransactionTemplate(transactionManager);
+        this.transactionSeparee.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Crée (ou vérifie) la séquence de l'année du congrès au démarrage, hors de toute soumission
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        increment(annee);
+    }
+
+    /**
+     * Numéro de référence suivant pour l'année du congrès en cours
+     */
+    public String prochaineReference() {
+        return String.format("%s%03d", prefixe(annee), prochainNumero(annee));
+    }
+
+    /**
+     * Numéro suivant d'une année : pris dans le bloc en mémoire, un nouveau bloc est réservé quand il est épuisé
+     */
+    public long prochainNumero(int annee) {
+        while (true) {
+            Plage plage = plages.get(annee);
+            if (plage != null) {
+                long numero = plage.suivant.getAndIncrement();
+                if (numero <= plage.fin) {
+                    return numero;
+                }
+            }
+            long increment = increment(annee);
+            // Un seul thread réserve le bloc suivant, les autres reprennent dans le nouveau bloc
+            synchronized (this) {
+                if (plages.get(annee) == plage) {
+                    plages.put(annee, reserverBloc(annee, increment));
+                }
+            }
+        }
+    }
+
+    private Plage reserverBloc(int annee, long increment) {
+        Long debut = jdbcTemplate.queryForObject("SELECT nextval('" + sequence(annee) + "')", Long.class);
+        log.debug("Références {}: bloc {} à {} réservé", annee, debut, debut + increment - 1);
+        return new Plage(debut, debut + increment - 1);
+    }
+
+    /**
+     * Incrément de la séquence d'une année, créée au premier appel. Pour l'année du congrès c'est fait
+     * au démarrage ; une autre année est créée à la demande, dans une transaction séparée
+     */
+    private long increment(int annee) {
+        return increments.computeIfAbsent(annee, a ->
+                transactionSeparee.execute(status -> preparerSequence(a, sequence(a))));
+    }
+
+    /**
+     * Crée la séquence de l'année si besoin, en reprenant après la plus grande référence déjà attribuée.
+     * CREATE SEQUENCE IF NOT EXISTS n'est pas sûr entre sessions concurrentes (violation d'unicité dans
+     * pg_class) : la création est sérialisée par un verrou consultatif libéré à la fin de la transaction
+     *
+     * @return Incrément de la séquence (taille des blocs)
+     */
+    private long preparerSequence(int annee, String sequence) {
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, sequence)) {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, sequence);
+        }
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, sequence)) {
+            String prefixe = prefixe(annee);
+            Long max = jdbcTemplate.queryForObject(
+                    "SELECT MAX(CAST(SUBSTRING(numero_reference FROM ?) AS BIGINT)) FROM abstracts " +
+                    "WHERE numero_reference ~ ?",
+                    Long.class, prefixe.length() + 1, "^" + prefixe + "[0-9]+$");
+            long debut = (max == null ? 0 : max) + 1;
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+                    " START WITH " + debut + " INCREMENT BY " + tailleBloc);
+            log.info("Séquence {} créée (premier numéro {}, blocs de {})", sequence, debut, tailleBloc);
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+                Long.class, sequence);
+    }
+
+    private static String sequence(int annee) {
+        return "abstract_reference_seq_" + annee;
+    }
+
+    private static String prefixe(int annee) {
+        return "SMCD" + annee + "-";
+    }
+
+    /**
+     * Bloc de numéros réservé : suivant peut dépasser fin, le bloc est alors épuisé
+     */
+    private static final class Plage {
+        private final AtomicLong suivant;
+        private final long fin;
+
+        private Plage(long debut, long fin) {
+            this.suivant = new AtomicLong(debut);
+            this.fin = fin;
+        }
+    }
+}
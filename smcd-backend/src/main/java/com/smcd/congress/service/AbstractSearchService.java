@@ -0,0 +1,209 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.AbstractResponseDTO;
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.repository.AbstractRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recherche plein texte dans les abstracts (PostgreSQL)
+ * La colonne abstracts.recherche (tsvector générée par PostgreSQL, indexée en GIN) pondère :
+ * A = titre, B = mots-clés et auteurs, C = introduction, matériel et méthodes, résultats, discussion, conclusion.
+ * La configuration fr_unaccent (français, accents ignorés) est utilisée pour l'indexation et les requêtes.
+ *
+ * La recherche accepte la syntaxe web (mots, "expression exacte", -exclusion, or), se combine aux filtres
+ * statut / rubrique / dates, trie par pertinence et renvoie un extrait surligné (ts_headline) pour la page seulement.
+ * Si la colonne n'a pas pu être créée au démarrage, la recherche se rabat sur ILIKE (titre, auteurs, mots-clés),
+ * signalé à chaque recherche dans les logs ; app.abstract.search.full-text-required=true fait échouer le démarrage
+ */
+@Slf4j
+@Service
+public class AbstractSearchService {
+
+    private static final String CONFIG = "fr_unaccent";
+
+    // Texte des sections, échappé pour le HTML avant surlignage (seules les balises <mark> sont à interpréter)
+    private static final String TEXTE_EXTRAIT = "replace(replace(replace(concat_ws(' … ', a.titre, a.introduction, " +
+            "a.materiel_methodes, a.resultats, a.discussion, a.conclusion), '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+
+    private static final String OPTIONS_EXTRAIT =
+            "StartSel=<mark>, StopSel=</mark>, MaxFragments=3, MaxWords=25, MinWords=10, FragmentDelimiter=\" … \"";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private AbstractRepository abstractRepository;
+
+    @Value("${app.abstract.search.full-text-required:false}")
+    private boolean texteIntegralExige;
+
+    private volatile boolean texteIntegral = false;
+
+    /**
+     * Prépare la recherche au démarrage : extension unaccent, configuration fr_unaccent,
+     * colonne générée et index GIN. Seul ce qui manque est créé : l'ajout de la colonne réécrit la table
+     * sous verrou exclusif, il n'a lieu qu'une fois
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        boolean unaccent = true;
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+        } catch (RuntimeException e) {
+            unaccent = false;
+            log.warn("Extension unaccent indisponible (droits insuffisants ?), recherche sensible aux accents: {}",
+                    e.getMessage());
+        }
+
+        try {
+            jdbcTemplate.execute("DO $$ BEGIN " +
+                    "IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = '" + CONFIG + "' " +
+                    "AND cfgnamespace = (SELECT oid FROM pg_namespace WHERE nspname = current_schema())) THEN " +
+                    "CREATE TEXT SEARCH CONFIGURATION " + CONFIG + " (COPY = french); " +
+                    (unaccent ? "ALTER TEXT SEARCH CONFIGURATION " + CONFIG +
+                            " ALTER MAPPING FOR hword, hword_part, word WITH unaccent, french_stem; " : "") +
+                    "END IF; END $$");
+
+            if (colonneRechercheExiste()) {
+                log.debug("Colonne abstracts.recherche déjà présente");
+            } else {
+                log.info("Ajout de la colonne abstracts.recherche (réécriture de la table, une seule fois)");
+                jdbcTemplate.execute("ALTER TABLE abstracts ADD COLUMN IF NOT EXISTS recherche tsvector " +
+                        "GENERATED ALWAYS AS (" +
+                        "setweight(to_tsvector('" + CONFIG + "'::regconfig, coalesce(titre, '')), 'A') || " +
+                        "setweight(to_tsvector('" + CONFIG + "'::regconfig, coalesce(mots_cles, '') || ' ' || " +
+                        "coalesce(auteurs, '')), 'B') || " +
+                        "setweight(to_tsvector('" + CONFIG + "'::regconfig, coalesce(introduction, '') || ' ' || " +
+                        "coalesce(materiel_methodes, '') || ' ' || coalesce(resultats, '') || ' ' || " +
+                        "coalesce(discussion, '') || ' ' || coalesce(conclusion, '')), 'C')) STORED");
+            }
+
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_abstracts_recherche ON abstracts USING GIN (recherche)");
+            texteIntegral = true;
+            log.info("Recherche plein texte des abstracts prête (configuration {})", CONFIG);
+        } catch (RuntimeException e) {
+            if (texteIntegralExige) {
+                throw new IllegalStateException("Recherche plein texte des abstracts indisponible", e);
+            }
+            log.error("Recherche plein texte indisponible, recherche simple utilisée: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Vrai si la recherche plein texte est active, faux si elle se rabat sur ILIKE
+     */
+    public boolean isTexteIntegral() {
+        return texteIntegral;
+    }
+
+    private boolean colonneRechercheExiste() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM information_schema.columns WHERE table_schema = current_schema() " +
+                "AND table_name = 'abstracts' AND column_name = 'recherche')", Boolean.class));
+    }
+
+    /**
+     * Recherche paginée : pertinence décroissante si un texte est cherché, sinon date de soumission décroissante
+     */
+    public Page<AbstractResponseDTO> rechercher(StatutSoumission statut, Rubrique rubrique,
+                                                LocalDateTime dateDebut, LocalDateTime dateFin,
+                                                String search, Pageable pageable) {
+        boolean texte = search != null && !search.isBlank();
+        boolean plein = texte && texteIntegral;
+        MapSqlParameterSource parametres = new MapSqlParameterSource();
+
+        StringBuilder from = new StringBuilder(" FROM abstracts a");
+        StringBuilder where = new StringBuilder(" WHERE a.deleted = false");
+        if (plein) {
+            from.append(", websearch_to_tsquery('" + CONFIG + "', :search) q");
+            where.append(" AND a.recherche @@ q");
+            parametres.addValue("search", search.trim());
+        } else if (texte) {
+            log.warn("Recherche plein texte indisponible, recherche simple (ILIKE) utilisée");
+            where.append(" AND (a.titre ILIKE :motif OR a.auteurs ILIKE :motif OR a.mots_cles ILIKE :motif)");
+            parametres.addValue("motif", "%" + search.trim().replace("\\", "\\\\")
+                    .replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        if (statut != null) {
+            where.append(" AND a.statut = :statut");
+            parametres.addValue("statut", statut.name());
+        }
+        if (rubrique != null) {
+            where.append(" AND a.rubrique = :rubrique");
+            parametres.addValue("rubrique", rubrique.name());
+        }
+        if (dateDebut != null) {
+            where.append(" AND a.date_soumission >= :dateDebut");
+            parametres.addValue("dateDebut", Timestamp.valueOf(dateDebut));
+        }
+        if (dateFin != null) {
+            where.append(" AND a.date_soumission <= :dateFin");
+            parametres.addValue("dateFin", Timestamp.valueOf(dateFin));
+        }
+
+        Long total = namedJdbcTemplate.queryForObject("SELECT COUNT(*)" + from + where, parametres, Long.class);
+        if (total == null || total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total != null ? total : 0);
+        }
+
+        parametres.addValue("limite", pageable.getPageSize());
+        parametres.addValue("decalage", pageable.getOffset());
+        List<Resultat> resultats;
+        if (plein) {
+            // Extraits calculés sur la page seulement (ts_headline relit le texte complet)
+            resultats = namedJdbcTemplate.query(
+                    "SELECT p.id, p.rang, ts_headline('" + CONFIG + "', " + TEXTE_EXTRAIT + ", p.q, '" +
+                    OPTIONS_EXTRAIT.replace("'", "''") + "') AS extrait " +
+                    "FROM (SELECT a.id, q, ts_rank_cd(a.recherche, q) AS rang, a.date_soumission" + from + where +
+                    " ORDER BY rang DESC, a.date_soumission DESC LIMIT :limite OFFSET :decalage) p " +
+                    "JOIN abstracts a ON a.id = p.id ORDER BY p.rang DESC, p.date_soumission DESC",
+                    parametres,
+                    (rs, i) -> new Resultat(rs.getLong("id"), rs.getDouble("rang"), rs.getString("extrait")));
+        } else {
+            resultats = namedJdbcTemplate.query(
+                    "SELECT a.id" + from + where + " ORDER BY a.date_soumission DESC LIMIT :limite OFFSET :decalage",
+                    parametres, (rs, i) -> new Resultat(rs.getLong("id"), null, null));
+        }
+
+        Map<Long, Abstract> abstracts = abstractRepository.findAllById(resultats.stream().map(Resultat::id).toList())
+                .stream().collect(Collectors.toMap(Abstract::getId, Function.identity()));
+        List<AbstractResponseDTO> contenu = new ArrayList<>(resultats.size());
+        for (Resultat resultat : resultats) {
+            Abstract abstractEntity = abstracts.get(resultat.id());
+            if (abstractEntity == null) continue;
+            AbstractResponseDTO dto = AbstractResponseDTO.fromEntity(abstractEntity);
+            dto.setPertinence(resultat.rang());
+            dto.setExtrait(resultat.extrait());
+            contenu.add(dto);
+        }
+        return new PageImpl<>(contenu, pageable, total);
+    }
+
+    private record Resultat(long id, Double rang, String extrait) {
+    }
+}
@@ -3,6 +3,7 @@ package com.smcd.congress.service;
 import com.smcd.congress.dto.*;
 import com.smcd.congress.exception.ResourceNotFoundException;
 import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.Langue;
 import com.smcd.congress.model.enums.Rubrique;
 import com.smcd.congress.model.enums.StatutSoumission;
 import com.smcd.congress.model.enums.TypeCommunication;
@@ -14,11 +15,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service principal pour la gestion des abstracts
@@ -29,9 +33,13 @@ import java.util.stream.Collectors;
 public class AbstractService {
 
     private final AbstractRepository abstractRepository;
-    private final WordGeneratorService wordGeneratorService;
+    private final AbstractDocumentService abstractDocumentService;
+    private final AbstractReferenceAllocator referenceAllocator;
+    private final AbstractSearchService abstractSearchService;
     private final EmailService emailService;
-    private final CloudinaryService cloudinaryService;
+    private final StorageBackend storageBackend;
+    private final FileDeletionService fileDeletionService;
+    private final NdjsonWriter ndjsonWriter;
 
     /**
      * Soumet un nouvel abstract
@@ -40,14 +48,15 @@ public class AbstractService {
     public Abstract submitAbstract(AbstractSubmissionDTO dto) {
         log.info("Soumission d'un nouvel abstract par: {} {}", dto.getPrenom(), dto.getNom());
 
-        // Générer le numéro de référence unique
-        String numeroReference = generateReferenceNumber();
+        // Numéro de référence unique (séquence de l'année, sans lecture de la table)
+        String numeroReference = referenceAllocator.prochaineReference();
 
         // Créer l'entité Abstract
         Abstract abstractEntity = Abstract.builder()
                 .nom(dto.getNom())
                 .prenom(dto.getPrenom())
                 .email(dto.getEmail())
+                .langue(dto.getLangue() != null ? dto.getLangue() : Langue.FR)
                 .telephone(dto.getTelephone())
                 .auteurs(dto.getAuteurs())
                 .affiliation(dto.getAffiliation())
@@ -70,16 +79,8 @@ public class AbstractService {
         abstractEntity = abstractRepository.save(abstractEntity);
         log.info("Abstract sauvegardé avec le numéro de référence: {}", numeroReference);
 
-        // Générer le document Word
-        try {
-            String wordUrl = wordGeneratorService.generateAbstractDocument(abstractEntity);
-            abstractEntity.setWordFileUrl(wordUrl);
-            abstractEntity = abstractRepository.save(abstractEntity);
-            log.info("Document Word généré et sauvegardé: {}", wordUrl);
-        } catch (Exception e) {
-            log.error("Erreur lors de la génération du document Word", e);
-            // Continuer quand même, le Word n'est pas critique
-        }
+        // Le document Word est généré en arrière-plan après le commit
+        abstractDocumentService.planifier(abstractEntity.getId());
 
         // Envoyer l'email de confirmation
         try {
@@ -93,15 +94,6 @@ public class AbstractService {
         return abstractEntity;
     }
 
-    /**
-     * Génère un numéro de référence unique (SMCD2026-001, SMCD2026-002, etc.)
-     */
-    private String generateReferenceNumber() {
-        Integer maxNumber = abstractRepository.findMaxReferenceNumber();
-        int nextNumber = (maxNumber == null) ? 1 : maxNumber + 1;
-        return String.format("SMCD2026-%03d", nextNumber);
-    }
-
     /**
      * Récupère tous les abstracts avec filtres
      */
@@ -113,6 +105,11 @@ public class AbstractService {
             String search,
             Pageable pageable
     ) {
+        // Recherche texte ou filtre par dates : requête SQL dédiée (pertinence et extraits)
+        if ((search != null && !search.isBlank()) || dateDebut != null || dateFin != null) {
+            return abstractSearchService.rechercher(statut, rubrique, dateDebut, dateFin, search, pageable);
+        }
+
         Page<Abstract> abstracts;
 
         // Utiliser les méthodes de repository appropriées selon les filtres
@@ -200,15 +197,11 @@ public class AbstractService {
         abstractRepository.save(abstractEntity);
         log.info("Abstract {} supprimé (soft delete)", abstractEntity.getNumeroReference());
 
-        // Supprimer le fichier Word de Cloudinary
+        // Supprimer le fichier Word du stockage (après le commit)
         if (abstractEntity.getWordFileUrl() != null) {
-            try {
-                String publicId = cloudinaryService.extractPublicIdFromUrl(abstractEntity.getWordFileUrl());
-                if (publicId != null) {
-                    cloudinaryService.deleteFile(publicId);
-                }
-            } catch (Exception e) {
-                log.warn("Impossible de supprimer le fichier Word de Cloudinary", e);
+            String publicId = storageBackend.extractPublicIdFromUrl(abstractEntity.getWordFileUrl());
+            if (publicId != null) {
+                fileDeletionService.planifier(publicId, "raw");
             }
         }
     }
@@ -283,4 +276,14 @@ public class AbstractService {
                 .map(AbstractResponseDTO::fromEntity)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Export NDJSON (mêmes filtres que getAllForExport), écrit au fil de la lecture
+     */
+    @Transactional(readOnly = true)
+    public long exporterNdjson(StatutSoumission statut, Rubrique rubrique, OutputStream sortie) throws IOException {
+        try (Stream<Abstract> abstracts = abstractRepository.streamForExport(statut, rubrique)) {
+            return ndjsonWriter.ecrire(abstracts, AbstractResponseDTO::fromEntity, sortie);
+        }
+    }
 }
@@ -19,7 +19,8 @@ import java.util.List;
 public class ArchiveService {
 
     private final ArchiveRepository archiveRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadService mediaUploadService;
 
     public List<Archive> getAllArchives() {
         return archiveRepository.findAllByOrderByAnneeDesc();
@@ -35,56 +36,69 @@ public class ArchiveService {
                 .orElseThrow(() -> new ResourceNotFoundException("Archive non trouvée: " + id));
     }
 
-    @Transactional
+    /**
+     * Crée une archive : envoi de l'image hors transaction puis enregistrement dans une transaction courte
+     */
     public Archive creerArchive(ArchiveDTO dto, MultipartFile image) throws IOException {
         if (archiveRepository.existsByAnnee(dto.getAnnee())) {
             throw new IllegalArgumentException("Une archive existe déjà pour l'année " + dto.getAnnee());
         }
 
-        Archive archive = Archive.builder()
-                .annee(dto.getAnnee())
-                .theme(dto.getTheme())
-                .lieu(dto.getLieu())
-                .dateDebut(dto.getDateDebut())
-                .dateFin(dto.getDateFin())
-                .description(dto.getDescription())
-                .urlExterne(dto.getUrlExterne())
-                .nombreParticipants(dto.getNombreParticipants())
-                .nombreAbstracts(dto.getNombreAbstracts())
-                .build();
-
-        if (image != null && !image.isEmpty()) {
-            java.util.Map<String, String> uploadResult = cloudinaryService.uploadFile(image, "archives");
-            archive.setImageUrl(uploadResult.get("url"));
-            archive.setImagePublicId(uploadResult.get("publicId"));
-        }
-
-        return archiveRepository.save(archive);
+        return mediaUploadService.executer(
+                medias -> {
+                    if (image != null && !image.isEmpty()) {
+                        medias.ajouter("image", mediaBlobService.uploadFile(image, "archives"));
+                    }
+                },
+                medias -> archiveRepository.save(Archive.builder()
+                        .annee(dto.getAnnee())
+                        .theme(dto.getTheme())
+                        .lieu(dto.getLieu())
+                        .dateDebut(dto.getDateDebut())
+                        .dateFin(dto.getDateFin())
+                        .description(dto.getDescription())
+                        .urlExterne(dto.getUrlExterne())
+                        .nombreParticipants(dto.getNombreParticipants())
+                        .nombreAbstracts(dto.getNombreAbstracts())
+                        .imageUrl(medias.getUrl("image"))
+                        .imagePublicId(medias.getPublicId("image"))
+                        .build())
+        );
     }
 
-    @Transactional
+    /**
+     * Modifie une archive ; l'ancienne image n'est supprimée qu'une fois la modification enregistrée
+     */
     public Archive modifierArchive(Long id, ArchiveDTO dto, MultipartFile newImage) throws IOException {
-        Archive archive = getById(id);
-
-        archive.setTheme(dto.getTheme());
-        archive.setLieu(dto.getLieu());
-        archive.setDateDebut(dto.getDateDebut());
-        archive.setDateFin(dto.getDateFin());
-        archive.setDescription(dto.getDescription());
-        archive.setUrlExterne(dto.getUrlExterne());
-        archive.setNombreParticipants(dto.getNombreParticipants());
-        archive.setNombreAbstracts(dto.getNombreAbstracts());
-
-        if (newImage != null && !newImage.isEmpty()) {
-            if (archive.getImagePublicId() != null) {
-                cloudinaryService.deleteFile(archive.getImagePublicId());
-            }
-            java.util.Map<String, String> uploadResult = cloudinaryService.uploadFile(newImage, "archives");
-            archive.setImageUrl(uploadResult.get("url"));
-            archive.setImagePublicId(uploadResult.get("publicId"));
-        }
-
-        return archiveRepository.save(archive);
+        getById(id);
+
+        return mediaUploadService.executer(
+                medias -> {
+                    if (newImage != null && !newImage.isEmpty()) {
+                        medias.ajouter("image", mediaBlobService.uploadFile(newImage, "archives"));
+                    }
+                },
+                medias -> {
+                    Archive archive = getById(id);
+
+                    archive.setTheme(dto.getTheme());
+                    archive.setLieu(dto.getLieu());
+                    archive.setDateDebut(dto.getDateDebut());
+                    archive.setDateFin(dto.getDateFin());
+                    archive.setDescription(dto.getDescription());
+                    archive.setUrlExterne(dto.getUrlExterne());
+                    archive.setNombreParticipants(dto.getNombreParticipants());
+                    archive.setNombreAbstracts(dto.getNombreAbstracts());
+
+                    if (medias.contient("image")) {
+                        medias.remplacer(archive.getImagePublicId());
+                        archive.setImageUrl(medias.getUrl("image"));
+                        archive.setImagePublicId(medias.getPublicId("image"));
+                    }
+
+                    return archiveRepository.save(archive);
+                }
+        );
     }
 
     @Transactional
@@ -92,7 +106,7 @@ public class ArchiveService {
         Archive archive = getById(id);
 
         if (archive.getImagePublicId() != null) {
-            cloudinaryService.deleteFile(archive.getImagePublicId());
+            mediaBlobService.liberer(archive.getImagePublicId());
         }
 
         archiveRepository.delete(archive);
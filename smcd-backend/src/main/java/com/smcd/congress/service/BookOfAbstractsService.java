@@ -0,0 +1,453 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.BookOfAbstractsDTO;
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.repository.AbstractRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Génération du livre des abstracts (abstracts acceptés, par rubrique puis numéro de référence)
+ * Les abstracts sont lus en flux (curseur JDBC, entités détachées après écriture) et le corps du document
+ * (word/document.xml) est écrit au fil de la lecture dans l'archive .docx, sur disque :
+ * la mémoire utilisée ne dépend pas du nombre d'abstracts. Seul l'index des auteurs est gardé en mémoire.
+ *
+ * La table des matières est un champ Word (TOC) calculé par Word à l'ouverture du document,
+ * l'index des auteurs renvoie par lien à chaque abstract
+ */
+@Slf4j
+@Service
+public class BookOfAbstractsService {
+
+    private static final String NOM_FICHIER = "livre-des-abstracts.docx";
+
+    private static final String ENTETE_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String NS_W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String NS_R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AbstractRepository abstractRepository;
+
+    @Autowired
+    @Qualifier("bookOfAbstractsExecutor")
+    private TaskExecutor bookOfAbstractsExecutor;
+
+    private final TransactionTemplate lectureSeule;
+
+    @Value("${app.abstract.book.dir:${java.io.tmpdir}/smcd-book}")
+    private String dossier;
+
+    @Value("${app.abstract.book.titre:Congrès National de Chirurgie Digestive 2026}")
+    private String titreCongres;
+
+    private final AtomicBoolean enCours = new AtomicBoolean(false);
+    private volatile BookOfAbstractsDTO dernierRapport;
+
+    public BookOfAbstractsService(PlatformTransactionManager transactionManager) {
+        this.lectureSeule = new TransactionTemplate(transactionManager);
+        this.lectureSeule.setReadOnly(true);
+    }
+
+    /**
+     * Lance la génération en arrière-plan
+     *
+     * @return false si une génération est déjà en cours
+     */
+    public boolean lancer() {
+        if (enCours.get()) {
+            return false;
+        }
+        try {
+            bookOfAbstractsExecutor.execute(this::executer);
+            return true;
+        } catch (TaskRejectedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * État de la dernière génération (ou de celle en cours), null si aucune n'a été lancée
+     */
+    public BookOfAbstractsDTO getDernierRapport() {
+        return dernierRapport;
+    }
+
+    /**
+     * Dernier livre généré, null s'il n'existe pas encore
+     */
+    public Path getFichier() {
+        Path fichier = Paths.get(dossier, NOM_FICHIER);
+        return Files.isRegularFile(fichier) ? fichier : null;
+    }
+
+    private void executer() {
+        if (!enCours.compareAndSet(false, true)) {
+            log.warn("Génération du livre des abstracts déjà en cours");
+            return;
+        }
+
+        BookOfAbstractsDTO rapport = BookOfAbstractsDTO.builder()
+                .statut("EN_COURS")
+                .dateDebut(LocalDateTime.now())
+                .progression(0)
+                .build();
+        dernierRapport = rapport;
+        long debut = System.currentTimeMillis();
+
+        Path temporaire = null;
+        try {
+            Path repertoire = Files.createDirectories(Paths.get(dossier));
+            Path fichier = repertoire.resolve(NOM_FICHIER);
+            temporaire = Files.createTempFile(repertoire, "livre-", ".docx.tmp");
+            rapport.setTotal(abstractRepository.countByStatutAndDeletedFalse(StatutSoumission.ACCEPTE));
+
+            try (OutputStream sortie = new BufferedOutputStream(Files.newOutputStream(temporaire), 64 * 1024)) {
+                ecrireDocx(sortie, rapport);
+            }
+            // Le livre précédent reste disponible jusqu'à la fin de la génération
+            Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            temporaire = null;
+
+            rapport.setTailleFichier(Files.size(fichier));
+            rapport.setProgression(100);
+            rapport.setStatut("TERMINEE");
+            log.info("Livre des abstracts généré: {} abstract(s), {} auteur(s) indexé(s), {} octets en {} ms",
+                    rapport.getTraites(), rapport.getAuteursIndexes(), rapport.getTailleFichier(),
+                    System.currentTimeMillis() - debut);
+        } catch (Exception e) {
+            rapport.setStatut("ECHEC");
+            rapport.setMessage(e.getMessage());
+            log.error("Erreur lors de la génération du livre des abstracts: {}", e.getMessage(), e);
+        } finally {
+            if (temporaire != null) {
+                try {
+                    Files.deleteIfExists(temporaire);
+                } catch (IOException e) {
+                    log.warn("Fichier temporaire non supprimé: {}", temporaire);
+                }
+            }
+            rapport.setDateFin(LocalDateTime.now());
+            enCours.set(false);
+        }
+    }
+
+    // ============ DOCUMENT ============
+
+    private void ecrireDocx(OutputStream sortie, BookOfAbstractsDTO rapport) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(sortie);
+        zip.setLevel(Deflater.BEST_SPEED);
+        ajouter(zip, "[Content_Types].xml", CONTENT_TYPES);
+        ajouter(zip, "_rels/.rels", RELATIONS);
+        ajouter(zip, "word/_rels/document.xml.rels", RELATIONS_DOCUMENT);
+        ajouter(zip, "word/styles.xml", STYLES);
+        ajouter(zip, "word/settings.xml", SETTINGS);
+        ajouter(zip, "word/footer1.xml", PIED_DE_PAGE);
+
+        zip.putNextEntry(new ZipEntry("word/document.xml"));
+        // Le writer n'est pas fermé (il fermerait l'archive) : il est vidé à la fin de la partie
+        Writer xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        ecrireCorps(xml, rapport);
+        xml.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private void ecrireCorps(Writer xml, BookOfAbstractsDTO rapport) throws IOException {
+        StringBuilder tampon = new StringBuilder(8192);
+        // Clé de tri normalisée -> auteur et abstracts où il apparaît
+        Map<String, EntreeIndex> index = new TreeMap<>();
+
+        xml.write(ENTETE_XML);
+        xml.write("<w:document xmlns:w=\"" + NS_W + "\" xmlns:r=\"" + NS_R + "\"><w:body>");
+
+        paragraphe(tampon, "Title", titreCongres);
+        paragraphe(tampon, "Subtitle", "Livre des abstracts");
+        tampon.append("<w:p><w:pPr><w:pStyle w:val=\"TOCHeading\"/></w:pPr>");
+        run(tampon, "Table des matières", false, false);
+        tampon.append("</w:p>");
+        // Table des matières calculée par Word (settings.xml : updateFields)
+        tampon.append("<w:p><w:r><w:fldChar w:fldCharType=\"begin\" w:dirty=\"true\"/></w:r>")
+                .append("<w:r><w:instrText xml:space=\"preserve\"> TOC \\o \"1-2\" \\h \\z \\u </w:instrText></w:r>")
+                .append("<w:r><w:fldChar w:fldCharType=\"separate\"/></w:r>");
+        run(tampon, "Mettre à jour les champs (F9) pour afficher la table des matières.", false, true);
+        tampon.append("<w:r><w:fldChar w:fldCharType=\"end\"/></w:r></w:p>");
+        xml.append(tampon);
+
+        lectureSeule.executeWithoutResult(status -> {
+            Rubrique rubriqueCourante = null;
+            try (Stream<Abstract> abstracts = lireAcceptes()) {
+                for (Abstract a : (Iterable<Abstract>) abstracts::iterator) {
+                    tampon.setLength(0);
+                    if (a.getRubrique() != rubriqueCourante) {
+                        rubriqueCourante = a.getRubrique();
+                        paragraphe(tampon, "Heading1", rubriqueCourante != null ? rubriqueCourante.getLabel() : "Autres");
+                    }
+                    ecrireAbstract(a, tampon);
+                    indexer(a, index);
+                    xml.append(tampon);
+
+                    // Les entités déjà écrites ne restent pas dans le contexte de persistance
+                    entityManager.detach(a);
+                    rapport.setTraites(rapport.getTraites() + 1);
+                    if (rapport.getTotal() > 0) {
+                        rapport.setProgression((int) Math.min(99, rapport.getTraites() * 100 / rapport.getTotal()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Écriture du livre impossible: " + e.getMessage(), e);
+            }
+        });
+
+        tampon.setLength(0);
+        ecrireIndex(index, tampon);
+        rapport.setAuteursIndexes(index.size());
+        tampon.append("<w:sectPr><w:footerReference w:type=\"default\" r:id=\"rIdFooter1\"/>")
+                .append("<w:pgSz w:w=\"11906\" w:h=\"16838\"/>")
+                .append("<w:pgMar w:top=\"1134\" w:right=\"1134\" w:bottom=\"1134\" w:left=\"1134\" ")
+                .append("w:header=\"567\" w:footer=\"567\" w:gutter=\"0\"/></w:sectPr>");
+        tampon.append("</w:body></w:document>");
+        xml.append(tampon);
+    }
+
+    /**
+     * Abstracts acceptés par rubrique puis par numéro : à préfixe égal, une référence plus longue a un numéro
+     * plus grand (SMCD2026-999 avant SMCD2026-1000, que l'ordre alphabétique seul inverserait)
+     */
+    private Stream<Abstract> lireAcceptes() {
+        return entityManager.createQuery("SELECT a FROM Abstract a WHERE a.statut = :statut AND a.deleted = false " +
+                        "ORDER BY a.rubrique, LENGTH(a.numeroReference), a.numeroReference", Abstract.class)
+                .setParameter("statut", StatutSoumission.ACCEPTE)
+                .setHint("org.hibernate.fetchSize", 100)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    private void ecrireAbstract(Abstract a, StringBuilder tampon) {
+        String reference = a.getNumeroReference() != null ? a.getNumeroReference() : "";
+        String titre = a.getTitre() != null ? a.getTitre().toUpperCase() : "";
+
+        // Titre (niveau 2 de la table des matières) avec un signet pour les liens de l'index
+        tampon.append("<w:p><w:pPr><w:pStyle w:val=\"Heading2\"/></w:pPr>")
+                .append("<w:bookmarkStart w:id=\"").append(a.getId()).append("\" w:name=\"").append(signet(a))
+                .append("\"/>");
+        run(tampon, reference.isEmpty() ? titre : reference + " – " + titre, false, false);
+        tampon.append("<w:bookmarkEnd w:id=\"").append(a.getId()).append("\"/></w:p>");
+
+        tampon.append("<w:p><w:pPr><w:pStyle w:val=\"Auteurs\"/></w:pPr>");
+        run(tampon, a.getAuteurs(), false, true);
+        tampon.append("</w:p>");
+        paragraphe(tampon, "Affiliation", a.getAffiliation());
+
+        section(tampon, "Introduction", a.getIntroduction());
+        section(tampon, "Matériel et méthodes", a.getMaterielMethodes());
+        section(tampon, "Résultats", a.getResultats());
+        section(tampon, "Discussion", a.getDiscussion());
+        section(tampon, "Conclusion", a.getConclusion());
+        section(tampon, "Mots-clés", a.getMotsCles());
+    }
+
+    /**
+     * Index des auteurs : chaque auteur renvoie aux abstracts où il figure
+     */
+    private void ecrireIndex(Map<String, EntreeIndex> index, StringBuilder tampon) {
+        paragraphe(tampon, "Heading1", "Index des auteurs");
+        for (EntreeIndex entree : index.values()) {
+            tampon.append("<w:p><w:pPr><w:pStyle w:val=\"Index\"/></w:pPr>");
+            run(tampon, entree.nom, false, false);
+            tampon.append("<w:r><w:tab/></w:r>");
+            for (int i = 0; i < entree.renvois.size(); i++) {
+                Renvoi renvoi = entree.renvois.get(i);
+                if (i > 0) run(tampon, ", ", false, false);
+                tampon.append("<w:hyperlink w:anchor=\"").append(renvoi.signet()).append("\" w:history=\"1\">");
+                run(tampon, renvoi.reference(), false, false);
+                tampon.append("</w:hyperlink>");
+            }
+            tampon.append("</w:p>");
+        }
+    }
+
+    private void indexer(Abstract a, Map<String, EntreeIndex> index) {
+        List<String> noms = new ArrayList<>();
+        if (a.getAuteurs() != null) {
+            for (String auteur : a.getAuteurs().split("[,;\\n]")) {
+                noms.add(auteur.replaceAll("[*\\d]+$", "").trim());
+            }
+        }
+        if (a.getPrenom() != null && a.getNom() != null) {
+            noms.add(a.getPrenom().trim() + " " + a.getNom().trim());
+        }
+
+        Renvoi renvoi = new Renvoi(signet(a), a.getNumeroReference() != null ? a.getNumeroReference() : "#" + a.getId());
+        for (String nom : noms) {
+            String cle = cleTri(nom);
+            if (cle.isEmpty()) continue;
+            EntreeIndex entree = index.computeIfAbsent(cle, k -> new EntreeIndex(nom));
+            // Auteur principal aussi cité dans la liste des auteurs : un seul renvoi
+            if (entree.renvois.isEmpty() || !entree.renvois.get(entree.renvois.size() - 1).equals(renvoi)) {
+                entree.renvois.add(renvoi);
+            }
+        }
+    }
+
+    private static String cleTri(String nom) {
+        String sansAccents = Normalizer.normalize(nom, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sansAccents.toLowerCase().replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    private static String signet(Abstract a) {
+        return "abstract_" + a.getId();
+    }
+
+    // ============ WORDPROCESSINGML ============
+
+    private static void paragraphe(StringBuilder tampon, String style, String texte) {
+        tampon.append("<w:p><w:pPr><w:pStyle w:val=\"").append(style).append("\"/></w:pPr>");
+        run(tampon, texte, false, false);
+        tampon.append("</w:p>");
+    }
+
+    private static void section(StringBuilder tampon, String titre, String texte) {
+        if (texte == null || texte.isBlank()) return;
+        tampon.append("<w:p>");
+        run(tampon, titre + " : ", true, false);
+        run(tampon, texte, false, false);
+        tampon.append("</w:p>");
+    }
+
+    private static void run(StringBuilder tampon, String texte, boolean gras, boolean italique) {
+        if (texte == null || texte.isEmpty()) return;
+        tampon.append("<w:r>");
+        if (gras || italique) {
+            tampon.append("<w:rPr>").append(gras ? "<w:b/>" : "").append(italique ? "<w:i/>" : "").append("</w:rPr>");
+        }
+        tampon.append("<w:t xml:space=\"preserve\">");
+        DocxTemplateService.echapper(texte, tampon);
+        tampon.append("</w:t></w:r>");
+    }
+
+    private static void ajouter(ZipOutputStream zip, String nom, String contenu) throws IOException {
+        zip.putNextEntry(new ZipEntry(nom));
+        zip.write(contenu.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private record Renvoi(String signet, String reference) {
+    }
+
+    private static final class EntreeIndex {
+        private final String nom;
+        private final List<Renvoi> renvois = new ArrayList<>(2);
+
+        private EntreeIndex(String nom) {
+            this.nom = nom;
+        }
+    }
+
+    // ============ PARTIES FIXES DU PAQUET ============
+
+    private static final String CONTENT_TYPES = ENTETE_XML
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+            + "<Override PartName=\"/word/document.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/>"
+            + "<Override PartName=\"/word/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.styles+xml\"/>"
+            + "<Override PartName=\"/word/settings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.settings+xml\"/>"
+            + "<Override PartName=\"/word/footer1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.footer+xml\"/>"
+            + "</Types>";
+
+    private static final String RELATIONS = ENTETE_XML
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"word/document.xml\"/>"
+            + "</Relationships>";
+
+    private static final String RELATIONS_DOCUMENT = ENTETE_XML
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rIdStyles\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>"
+            + "<Relationship Id=\"rIdSettings\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/settings\" Target=\"settings.xml\"/>"
+            + "<Relationship Id=\"rIdFooter1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/footer\" Target=\"footer1.xml\"/>"
+            + "</Relationships>";
+
+    // Mise à jour des champs (table des matières) proposée à l'ouverture
+    private static final String SETTINGS = ENTETE_XML
+            + "<w:settings xmlns:w=\"" + NS_W + "\"><w:updateFields w:val=\"true\"/>"
+            + "<w:defaultTabStop w:val=\"708\"/></w:settings>";
+
+    private static final String PIED_DE_PAGE = ENTETE_XML
+            + "<w:ftr xmlns:w=\"" + NS_W + "\"><w:p><w:pPr><w:jc w:val=\"center\"/></w:pPr>"
+            + "<w:r><w:fldChar w:fldCharType=\"begin\"/></w:r><w:r><w:instrText xml:space=\"preserve\"> PAGE </w:instrText></w:r>"
+            + "<w:r><w:fldChar w:fldCharType=\"separate\"/></w:r><w:r><w:t>1</w:t></w:r>"
+            + "<w:r><w:fldChar w:fldCharType=\"end\"/></w:r></w:p></w:ftr>";
+
+    private static final String STYLES = ENTETE_XML
+            + "<w:styles xmlns:w=\"" + NS_W + "\">"
+            + "<w:docDefaults><w:rPrDefault><w:rPr><w:rFonts w:ascii=\"Calibri\" w:hAnsi=\"Calibri\" w:cs=\"Calibri\"/>"
+            + "<w:sz w:val=\"20\"/><w:lang w:val=\"fr-FR\"/></w:rPr></w:rPrDefault>"
+            + "<w:pPrDefault><w:pPr><w:spacing w:after=\"80\"/><w:jc w:val=\"both\"/></w:pPr></w:pPrDefault></w:docDefaults>"
+            + "<w:style w:type=\"paragraph\" w:default=\"1\" w:styleId=\"Normal\"><w:name w:val=\"Normal\"/></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Title\"><w:name w:val=\"Title\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:pPr><w:spacing w:before=\"2400\" w:after=\"240\"/><w:jc w:val=\"center\"/></w:pPr>"
+            + "<w:rPr><w:b/><w:color w:val=\"1F4E79\"/><w:sz w:val=\"48\"/></w:rPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Subtitle\"><w:name w:val=\"Subtitle\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:pPr><w:spacing w:after=\"1200\"/><w:jc w:val=\"center\"/></w:pPr>"
+            + "<w:rPr><w:color w:val=\"2E75B6\"/><w:sz w:val=\"36\"/></w:rPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"TOCHeading\"><w:name w:val=\"TOC Heading\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:pPr><w:pageBreakBefore/><w:spacing w:after=\"240\"/></w:pPr>"
+            + "<w:rPr><w:b/><w:color w:val=\"1F4E79\"/><w:sz w:val=\"32\"/></w:rPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Heading1\"><w:name w:val=\"heading 1\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:next w:val=\"Normal\"/><w:pPr><w:keepNext/><w:pageBreakBefore/><w:spacing w:after=\"360\"/>"
+            + "<w:jc w:val=\"left\"/><w:outlineLvl w:val=\"0\"/></w:pPr>"
+            + "<w:rPr><w:b/><w:color w:val=\"1F4E79\"/><w:sz w:val=\"36\"/></w:rPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Heading2\"><w:name w:val=\"heading 2\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:next w:val=\"Normal\"/><w:pPr><w:keepNext/><w:spacing w:before=\"480\" w:after=\"80\"/>"
+            + "<w:jc w:val=\"left\"/><w:outlineLvl w:val=\"1\"/></w:pPr>"
+            + "<w:rPr><w:b/><w:color w:val=\"2E75B6\"/><w:sz w:val=\"24\"/></w:rPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Auteurs\"><w:name w:val=\"Auteurs\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:pPr><w:keepNext/><w:spacing w:after=\"0\"/><w:jc w:val=\"left\"/></w:pPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Affiliation\"><w:name w:val=\"Affiliation\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:pPr><w:keepNext/><w:spacing w:after=\"160\"/><w:jc w:val=\"left\"/></w:pPr>"
+            + "<w:rPr><w:color w:val=\"595959\"/><w:sz w:val=\"18\"/></w:rPr></w:style>"
+            + "<w:style w:type=\"paragraph\" w:styleId=\"Index\"><w:name w:val=\"Index\"/><w:basedOn w:val=\"Normal\"/>"
+            + "<w:pPr><w:tabs><w:tab w:val=\"right\" w:leader=\"dot\" w:pos=\"9638\"/></w:tabs>"
+            + "<w:spacing w:after=\"0\"/><w:jc w:val=\"left\"/></w:pPr></w:style>"
+            + "<w:style w:type=\"character\" w:styleId=\"Hyperlink\"><w:name w:val=\"Hyperlink\"/>"
+            + "<w:rPr><w:color w:val=\"0563C1\"/></w:rPr></w:style>"
+            + "</w:styles>";
+}
@@ -1,36 +1,80 @@
 package com.smcd.congress.service;
 
 import com.cloudinary.Cloudinary;
+import com.cloudinary.api.exceptions.NotFound;
 import com.cloudinary.utils.ObjectUtils;
+import com.smcd.congress.exception.StorageUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Service pour la gestion des fichiers avec Cloudinary
  * Gère l'upload et la suppression de fichiers (images, vidéos, PDFs)
+ * Implémentation par défaut de StorageBackend (app.storage.backend=cloudinary)
+ * Chaque appel passe par StorageGuard (cloisonnement, quota, disjoncteur) et a un délai maximal
  */
 @Service
-public class CloudinaryService {
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryService implements StorageBackend {
 
     private static final Logger logger = LoggerFactory.getLogger(CloudinaryService.class);
 
+    // Taille des morceaux envoyés à Cloudinary (minimum imposé par l'API : 5 MB)
+    private static final int CHUNK_SIZE = 6 * 1024 * 1024;
+
     @Autowired
     private Cloudinary cloudinary;
 
+    @Autowired
+    private StorageGuard storageGuard;
+
+    // Délais par requête HTTP (pour un upload par morceaux : par morceau)
+    @Value("${app.storage.guard.timeout-ms:60000}")
+    private int timeoutMs;
+
+    @Value("${app.storage.guard.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    // Preset signé appliqué aux uploads directs (vide : aucun)
+    @Value("${app.upload.direct.preset:}")
+    private String presetDirect;
+
+    // Client des lectures par URL de diffusion (créé au premier usage)
+    private volatile HttpClient httpClient;
+
     /**
      * Upload un fichier vers Cloudinary (retourne URL et publicId)
      * 
      * @param file Le fichier à uploader
      * @param folder Le dossier de destination (ex: "abstracts", "videos", "posters")
-     * @return Map contenant "url" et "publicId"
+     * @return Map contenant "url", "publicId" et "resourceType"
      * @throws IOException Si une erreur survient pendant l'upload
      */
+    @Override
     public Map<String, String> uploadFile(MultipartFile file, String folder) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Le fichier ne peut pas être vide");
@@ -43,9 +87,8 @@ public class CloudinaryService {
                     "resource_type", "auto" // Détecte automatiquement le type (image, video, raw)
             );
 
-            // Uploader le fichier
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), options);
+            // Uploader le fichier par morceaux
+            Map<String, Object> uploadResult = uploadStream(file, options);
 
             // Récupérer l'URL sécurisée et le publicId
             String secureUrl = (String) uploadResult.get("secure_url");
@@ -53,7 +96,7 @@ public class CloudinaryService {
 
             logger.info("Fichier uploadé avec succès: {} -> {}", file.getOriginalFilename(), publicId);
 
-            return Map.of("url", secureUrl, "publicId", publicId);
+            return Map.of("url", secureUrl, "publicId", publicId, "resourceType", resourceType(uploadResult, "image"));
 
         } catch (IOException e) {
             logger.error("Erreur lors de l'upload du fichier: {}", e.getMessage());
@@ -66,9 +109,10 @@ public class CloudinaryService {
      * 
      * @param file Le fichier MultipartFile à uploader
      * @param folder Le dossier de destination
-     * @return Map contenant "url" et "publicId"
+     * @return Map contenant "url", "publicId" et "resourceType"
      * @throws IOException Si une erreur survient pendant l'upload
      */
+    @Override
     public Map<String, String> uploadRawFile(MultipartFile file, String folder) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Le fichier ne peut pas être vide");
@@ -81,9 +125,8 @@ public class CloudinaryService {
                     "resource_type", "raw" // Force le type raw pour les documents
             );
 
-            // Uploader le fichier
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), options);
+            // Uploader le fichier par morceaux
+            Map<String, Object> uploadResult = uploadStream(file, options);
 
             // Récupérer l'URL sécurisée et le publicId
             String secureUrl = (String) uploadResult.get("secure_url");
@@ -91,7 +134,7 @@ public class CloudinaryService {
 
             logger.info("Fichier raw uploadé avec succès: {} -> {}", file.getOriginalFilename(), publicId);
 
-            return Map.of("url", secureUrl, "publicId", publicId);
+            return Map.of("url", secureUrl, "publicId", publicId, "resourceType", "raw");
 
         } catch (IOException e) {
             logger.error("Erreur lors de l'upload du fichier raw: {}", e.getMessage());
@@ -121,7 +164,8 @@ public class CloudinaryService {
 
             // Uploader le fichier
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file, options);
+            Map<String, Object> uploadResult = storageGuard.executer(StorageGuard.Operation.UPLOAD,
+                    () -> cloudinary.uploader().upload(file, avecDelais(options)));
 
             // Récupérer l'URL sécurisée
             String secureUrl = (String) uploadResult.get("secure_url");
@@ -146,6 +190,7 @@ public class CloudinaryService {
      * @return L'URL publique du fichier uploadé
      * @throws IOException Si une erreur survient pendant l'upload
      */
+    @Override
     public String uploadFileWithName(java.io.File file, String folder, String publicId) throws IOException {
         if (file == null || !file.exists()) {
             throw new IllegalArgumentException("Le fichier ne peut pas être vide ou inexistant");
@@ -163,7 +208,8 @@ public class CloudinaryService {
 
             // Uploader le fichier
             @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file, options);
+            Map<String, Object> uploadResult = storageGuard.executer(StorageGuard.Operation.UPLOAD,
+                    () -> cloudinary.uploader().upload(file, avecDelais(options)));
 
             // Récupérer l'URL sécurisée
             String secureUrl = (String) uploadResult.get("secure_url");
@@ -184,14 +230,29 @@ public class CloudinaryService {
      * @param publicId L'identifiant public du fichier (ex: "smcd-congress/abstracts/abc123")
      * @return true si la suppression a réussi, false sinon
      */
+    @Override
     public boolean deleteFile(String publicId) {
+        return deleteFile(publicId, "image");
+    }
+
+    /**
+     * Supprime un fichier de Cloudinary en précisant son type de ressource
+     * 
+     * @param publicId L'identifiant public du fichier
+     * @param resourceType Le type de ressource Cloudinary ("image", "video" ou "raw")
+     * @return true si la suppression a réussi, false sinon
+     */
+    @Override
+    public boolean deleteFile(String publicId, String resourceType) {
         if (publicId == null || publicId.isEmpty()) {
             throw new IllegalArgumentException("Le publicId ne peut pas être vide");
         }
 
         try {
             @SuppressWarnings("unchecked")
-            Map<String, Object> result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            Map<String, Object> result = storageGuard.executer(StorageGuard.Operation.DELETE,
+                    () -> cloudinary.uploader().destroy(publicId, avecDelais(
+                            ObjectUtils.asMap("resource_type", resourceType != null ? resourceType : "image"))));
 
             String status = (String) result.get("result");
             boolean success = "ok".equals(status);
@@ -204,7 +265,7 @@ public class CloudinaryService {
 
             return success;
 
-        } catch (IOException e) {
+        } catch (IOException | StorageUnavailableException e) {
             logger.error("Erreur lors de la suppression du fichier: {}", e.getMessage());
             return false;
         }
@@ -216,6 +277,7 @@ public class CloudinaryService {
      * @param url L'URL complète du fichier
      * @return Le publicId extrait
      */
+    @Override
     public String extractPublicIdFromUrl(String url) {
         if (url == null || url.isEmpty()) {
             return null;
@@ -247,14 +309,41 @@ public class CloudinaryService {
      * 
      * @param file Le fichier vidéo
      * @param folder Le dossier de destination
-     * @return Map contenant "url", "publicId", et optionnellement "duration"
+     * @return Map contenant "url", "publicId", "resourceType" et optionnellement "duration"
      * @throws IOException Si une erreur survient
      */
+    @Override
     public Map<String, String> uploadVideo(MultipartFile file, String folder) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Le fichier vidéo ne peut pas être vide");
         }
 
+        return uploadVideo(file.getInputStream(), file.getOriginalFilename(), folder);
+    }
+
+    /**
+     * Upload une vidéo déjà stockée sur le disque local vers Cloudinary
+     * 
+     * @param path Le chemin du fichier vidéo
+     * @param folder Le dossier de destination
+     * @param progressListener Callback de progression (octets envoyés / total), peut être null
+     * @return Map contenant "url", "publicId", "resourceType" et optionnellement "duration"
+     * @throws IOException Si une erreur survient
+     */
+    @Override
+    public Map<String, String> uploadVideo(Path path, String folder, ProgressListener progressListener) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            throw new IllegalArgumentException("Le fichier vidéo ne peut pas être vide ou inexistant");
+        }
+
+        InputStream input = Files.newInputStream(path);
+        if (progressListener != null) {
+            input = new CompteurEnvoi(input, Files.size(path), progressListener);
+        }
+        return uploadVideo(input, path.getFileName().toString(), folder);
+    }
+
+    private Map<String, String> uploadVideo(InputStream input, String filename, String folder) throws IOException {
         try {
             Map<String, Object> options = ObjectUtils.asMap(
                     "folder", "smcd-congress/" + folder,
@@ -262,8 +351,7 @@ public class CloudinaryService {
                     // Retirer eager qui cause des problèmes de cast
             );
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), options);
+            Map<String, Object> uploadResult = uploadStream(input, filename, options);
 
             String secureUrl = (String) uploadResult.get("secure_url");
             String publicId = (String) uploadResult.get("public_id");
@@ -271,6 +359,7 @@ public class CloudinaryService {
             java.util.HashMap<String, String> result = new java.util.HashMap<>();
             result.put("url", secureUrl);
             result.put("publicId", publicId);
+            result.put("resourceType", "video");
             
             // Récupérer la durée si disponible
             Object durationObj = uploadResult.get("duration");
@@ -279,7 +368,7 @@ public class CloudinaryService {
             }
 
             logger.info("Vidéo uploadée: {} -> {} (durée: {}s)", 
-                    file.getOriginalFilename(), publicId, durationObj);
+                    filename, publicId, durationObj);
 
             return result;
 
@@ -289,12 +378,49 @@ public class CloudinaryService {
         }
     }
 
+    /**
+     * Upload un fichier déjà stocké sur le disque local vers Cloudinary (type détecté automatiquement)
+     * 
+     * @param path Le chemin du fichier
+     * @param folder Le dossier de destination
+     * @return Map contenant "url", "publicId" et "resourceType"
+     * @throws IOException Si une erreur survient pendant l'upload
+     */
+    @Override
+    public Map<String, String> uploadFile(Path path, String folder) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être vide ou inexistant");
+        }
+
+        try {
+            Map<String, Object> options = ObjectUtils.asMap(
+                    "folder", "smcd-congress/" + folder,
+                    "resource_type", "auto"
+            );
+
+            Map<String, Object> uploadResult = uploadStream(
+                    Files.newInputStream(path), path.getFileName().toString(), options);
+
+            String secureUrl = (String) uploadResult.get("secure_url");
+            String publicId = (String) uploadResult.get("public_id");
+
+            logger.info("Fichier uploadé avec succès: {} -> {}", path.getFileName(), publicId);
+
+            return Map.of("url", secureUrl, "publicId", publicId, "resourceType", resourceType(uploadResult, "image"));
+
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'upload du fichier: {}", e.getMessage());
+            throw new IOException("Erreur lors de l'upload du fichier vers Cloudinary", e);
+        }
+    }
+
     /**
      * Supprime une vidéo de Cloudinary
      * 
      * @param publicId L'identifiant public de la vidéo
      * @return true si succès
      */
+    @Override
     public boolean deleteVideo(String publicId) {
         if (publicId == null || publicId.isEmpty()) {
             return false;
@@ -302,10 +428,8 @@ public class CloudinaryService {
 
         try {
             @SuppressWarnings("unchecked")
-            Map<String, Object> result = cloudinary.uploader().destroy(
-                    publicId, 
-                    ObjectUtils.asMap("resource_type", "video")
-            );
+            Map<String, Object> result = storageGuard.executer(StorageGuard.Operation.DELETE,
+                    () -> cloudinary.uploader().destroy(publicId, avecDelais(ObjectUtils.asMap("resource_type", "video"))));
 
             String status = (String) result.get("result");
             boolean success = "ok".equals(status);
@@ -318,9 +442,354 @@ public class CloudinaryService {
 
             return success;
 
-        } catch (IOException e) {
+        } catch (IOException | StorageUnavailableException e) {
             logger.error("Erreur suppression vidéo: {}", e.getMessage());
             return false;
         }
     }
+
+    /**
+     * Suppression groupée (API Admin, 100 publicIds maximum par appel)
+     */
+    @Override
+    public Map<String, String> deleteFiles(Collection<String> publicIds, String resourceType) throws IOException {
+        if (publicIds.size() > 100) {
+            throw new IllegalArgumentException("100 fichiers au maximum par suppression groupée");
+        }
+
+        Map<?, ?> deleted = storageGuard.executer(StorageGuard.Operation.ADMIN, () -> {
+            try {
+                return (Map<?, ?>) cloudinary.api().deleteResources(publicIds,
+                        ObjectUtils.asMap("resource_type", resourceType != null ? resourceType : "image"))
+                        .get("deleted");
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Erreur lors de la suppression groupée: " + e.getMessage(), e);
+            }
+        });
+
+        Map<String, String> statuts = new HashMap<>();
+        if (deleted != null) {
+            deleted.forEach((publicId, status) -> statuts.put((String) publicId, String.valueOf(status)));
+        }
+        logger.info("Suppression groupée ({}): {} / {} fichiers supprimés", resourceType,
+                statuts.values().stream().filter(SUPPRIME::equals).count(), publicIds.size());
+        return statuts;
+    }
+
+    /**
+     * Signe un upload direct vers Cloudinary (calcul local, aucun appel réseau)
+     * Le public_id, les formats acceptés et le preset éventuel (app.upload.direct.preset, preset signé
+     * configuré dans la console Cloudinary) sont couverts par la signature : le navigateur ne peut pas les modifier
+     */
+    @Override
+    public Optional<SignedUpload> signUpload(String publicId, String resourceType, Collection<String> formats,
+                                             long timestamp) {
+        String type = resourceType != null ? resourceType : "image";
+        Map<String, Object> signes = new TreeMap<>();
+        signes.put("public_id", publicId);
+        signes.put("timestamp", timestamp);
+        if (formats != null && !formats.isEmpty()) {
+            signes.put("allowed_formats", String.join(",", formats));
+        }
+        if (presetDirect != null && !presetDirect.isBlank()) {
+            signes.put("upload_preset", presetDirect);
+        }
+
+        Map<String, Object> parametres = new HashMap<>(signes);
+        parametres.put("signature", cloudinary.apiSignRequest(signes, cloudinary.config.apiSecret));
+        parametres.put("api_key", cloudinary.config.apiKey);
+
+        return Optional.of(SignedUpload.builder()
+                .uploadUrl(cloudinary.cloudinaryApiUrl("upload", ObjectUtils.asMap("resource_type", type)))
+                .parametres(parametres)
+                .build());
+    }
+
+    /**
+     * Lit les premiers octets d'un fichier par son URL de diffusion (requête Range)
+     */
+    @Override
+    public byte[] readHead(String publicId, String resourceType, int taille) throws IOException {
+        HttpRequest requete = HttpRequest.newBuilder(URI.create(resolveUrl(publicId, resourceType)))
+                .header("Range", "bytes=0-" + (taille - 1))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> reponse = httpClient().send(requete, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream corps = reponse.body()) {
+                if (reponse.statusCode() != 200 && reponse.statusCode() != 206) {
+                    throw new IOException("Lecture de " + publicId + " impossible (HTTP " + reponse.statusCode() + ")");
+                }
+                // Le serveur peut ignorer Range : seuls les premiers octets sont lus
+                return corps.readNBytes(taille);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Lecture de " + publicId + " interrompue", e);
+        }
+    }
+
+    private HttpClient httpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            httpClient = client;
+        }
+        return client;
+    }
+
+    /**
+     * Vérifie la signature renvoyée par Cloudinary à la fin d'un upload direct (public_id + version)
+     */
+    @Override
+    public boolean verifyUploadSignature(String publicId, String version, String signature) {
+        if (publicId == null || version == null || signature == null) {
+            return false;
+        }
+        return cloudinary.verifyApiResponseSignature(publicId, version, signature);
+    }
+
+    /**
+     * Construit l'URL HTTPS d'un fichier Cloudinary
+     */
+    @Override
+    public String resolveUrl(String publicId, String resourceType) {
+        return cloudinary.url()
+                .resourceType(resourceType != null ? resourceType : "image")
+                .secure(true)
+                .generate(publicId);
+    }
+
+    /**
+     * Récupère les métadonnées d'un fichier via l'API d'administration Cloudinary
+     */
+    @Override
+    public Optional<StoredFileMetadata> getMetadata(String publicId, String resourceType) {
+        try {
+            String type = resourceType != null ? resourceType : "image";
+            Map<?, ?> resource = storageGuard.executer(StorageGuard.Operation.ADMIN, () -> {
+                try {
+                    return cloudinary.api().resource(publicId, ObjectUtils.asMap("resource_type", type));
+                } catch (NotFound e) {
+                    return null;
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            });
+            if (resource == null) {
+                return Optional.empty();
+            }
+
+            Object bytes = resource.get("bytes");
+            Object duration = resource.get("duration");
+            Object createdAt = resource.get("created_at");
+            return Optional.of(StoredFileMetadata.builder()
+                    .publicId(publicId)
+                    .resourceType(type)
+                    .format((String) resource.get("format"))
+                    .taille(bytes != null ? ((Number) bytes).longValue() : null)
+                    .duree(duration != null ? ((Number) duration).doubleValue() : null)
+                    .dateCreation(createdAt != null ? Instant.parse(createdAt.toString()) : null)
+                    .build());
+        } catch (StorageUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erreur lors de la lecture des métadonnées de {}: {}", publicId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Liste les fichiers d'un dossier via l'API d'administration Cloudinary (500 par page)
+     */
+    @Override
+    public StoredFilePage listFiles(String prefix, String resourceType, String cursor) throws IOException {
+        String type = resourceType != null ? resourceType : "image";
+        Map<String, Object> options = new HashMap<>();
+        options.put("type", "upload");
+        options.put("resource_type", type);
+        options.put("prefix", prefix);
+        options.put("max_results", 500);
+        if (cursor != null) {
+            options.put("next_cursor", cursor);
+        }
+
+        Map<?, ?> reponse = storageGuard.executer(StorageGuard.Operation.ADMIN, () -> {
+            try {
+                return cloudinary.api().resources(options);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        });
+
+        List<StoredFileMetadata> fichiers = new ArrayList<>();
+        Object resources = reponse.get("resources");
+        if (resources instanceof List<?> liste) {
+            for (Object element : liste) {
+                Map<?, ?> resource = (Map<?, ?>) element;
+                Object bytes = resource.get("bytes");
+                Object createdAt = resource.get("created_at");
+                fichiers.add(StoredFileMetadata.builder()
+                        .publicId((String) resource.get("public_id"))
+                        .resourceType(type)
+                        .format((String) resource.get("format"))
+                        .taille(bytes != null ? ((Number) bytes).longValue() : null)
+                        .dateCreation(createdAt != null ? Instant.parse(createdAt.toString()) : null)
+                        .build());
+            }
+        }
+
+        Object suivant = reponse.get("next_cursor");
+        return StoredFilePage.builder()
+                .fichiers(fichiers)
+                .nextCursor(suivant != null ? suivant.toString() : null)
+                .build();
+    }
+
+    /**
+     * Type de ressource retourné par Cloudinary (utile pour les uploads en "auto")
+     */
+    private String resourceType(Map<String, Object> uploadResult, String defaut) {
+        Object type = uploadResult.get("resource_type");
+        return type != null ? type.toString() : defaut;
+    }
+
+    /**
+     * Envoie le contenu d'un MultipartFile vers Cloudinary en streaming
+     *
+     * @param file Le fichier à envoyer
+     * @param options Les options d'upload Cloudinary
+     * @return La réponse de Cloudinary pour le dernier morceau
+     * @throws IOException Si une erreur survient pendant l'upload
+     */
+    private Map<String, Object> uploadStream(MultipartFile file, Map<String, Object> options) throws IOException {
+        return uploadStream(file.getInputStream(), file.getOriginalFilename(), options);
+    }
+
+    /**
+     * Envoie un flux vers Cloudinary
+     * Le flux est lu par morceaux de CHUNK_SIZE (protocole d'upload large de Cloudinary),
+     * la mémoire utilisée reste donc bornée quelle que soit la taille du fichier.
+     * Aucun ProgressCallback n'est transmis : le module cloudinary-http44 les refuse
+     * (IllegalArgumentException), la progression est comptée par CompteurEnvoi
+     *
+     * @param input Le flux à envoyer (fermé à la fin de l'envoi)
+     * @param filename Le nom du fichier d'origine, peut être null
+     * @param options Les options d'upload Cloudinary
+     * @return La réponse de Cloudinary pour le dernier morceau
+     * @throws IOException Si une erreur survient pendant l'upload
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> uploadStream(InputStream input, String filename, Map<String, Object> options)
+            throws IOException {
+        if (filename != null && !filename.isBlank()) {
+            options.put("filename", filename);
+        }
+        StorageGuard.Operation operation = "video".equals(options.get("resource_type"))
+                ? StorageGuard.Operation.VIDEO
+                : StorageGuard.Operation.UPLOAD;
+        try {
+            // uploadLarge ferme le flux à la fin de l'envoi
+            Map<String, Object> resultat = storageGuard.executer(operation,
+                    () -> cloudinary.uploader().uploadLarge(input, avecDelais(options), CHUNK_SIZE));
+            if (input instanceof CompteurEnvoi compteur) {
+                compteur.termine();
+            }
+            return resultat;
+        } catch (StorageUnavailableException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Flux qui signale la progression d'un upload par morceaux à mesure qu'il est lu.
+     * uploadLarge lit un morceau entier plus un octet d'avance (pour détecter la fin) avant de l'envoyer :
+     * une lecture qui commence au-delà de ce premier octet du morceau suivant prouve que les morceaux
+     * précédents sont envoyés. Le dernier morceau est signalé par termine()
+     */
+    static final class CompteurEnvoi extends FilterInputStream {
+
+        private final long total;
+        private final ProgressListener listener;
+        private long lus;
+        private long signales;
+
+        CompteurEnvoi(InputStream input, long total, ProgressListener listener) {
+            super(input);
+            this.total = total;
+            this.listener = listener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            signalerMorceauxEnvoyes();
+            int octet = super.read();
+            if (octet >= 0) {
+                compter(1);
+            }
+            return octet;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            signalerMorceauxEnvoyes();
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                compter(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            signalerMorceauxEnvoyes();
+            long sautes = super.skip(n);
+            compter(sautes);
+            return sautes;
+        }
+
+        private void compter(long n) {
+            lus += n;
+        }
+
+        private void signalerMorceauxEnvoyes() {
+            if (lus > 0) {
+                signaler((lus - 1) / CHUNK_SIZE * CHUNK_SIZE);
+            }
+        }
+
+        /**
+         * Dernier morceau accepté par Cloudinary : tout le fichier est envoyé
+         */
+        void termine() {
+            signaler(Math.max(lus, total));
+        }
+
+        private void signaler(long envoyes) {
+            if (envoyes > signales) {
+                signales = envoyes;
+                listener.onProgress(envoyes, total);
+            }
+        }
+    }
+
+    /**
+     * Ajoute les délais maximaux (en millisecondes) aux options d'un appel à l'API d'upload
+     */
+    private Map<String, Object> avecDelais(Map<String, Object> options) {
+        options.put("timeout", timeoutMs);
+        options.put("connect_timeout", connectTimeoutMs);
+        return options;
+    }
 }
@@ -11,10 +11,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service pour la gestion des Communications Vidéo
@@ -25,7 +27,9 @@ import java.util.Set;
 public class CommunicationVideoService {
 
     private final CommunicationVideoRepository repository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadService mediaUploadService;
+    private final NdjsonWriter ndjsonWriter;
 
     // Formats vidéo autorisés
     private static final Set<String> ALLOWED_VIDEO_FORMATS = Set.of(
@@ -37,43 +41,79 @@ public class CommunicationVideoService {
     private static final long MAX_VIDEO_SIZE = 500L * 1024 * 1024;
 
     /**
-     * Upload une nouvelle communication vidéo
+     * Vérifie le fichier avant la mise en file d'une communication vidéo
      */
-    @Transactional
-    public CommunicationVideo uploadVideo(MultipartFile file, CommunicationVideoUploadDTO dto) throws IOException {
+    public void validerUpload(MultipartFile file) {
+        validateVideoFile(file);
+    }
+
+    /**
+     * Vérifie le type et la taille annoncés à l'ouverture d'une session d'upload reprenable
+     */
+    public void validerUpload(String contentType, long taille) {
+        validateVideoFile(contentType, taille);
+    }
+
+    /**
+     * Upload une nouvelle communication vidéo à partir du fichier déposé sur le disque local
+     * Appelé par le pipeline d'ingestion : aucune transaction n'est ouverte pendant l'envoi vers Cloudinary
+     */
+    public CommunicationVideo uploadVideo(SpooledFile file, CommunicationVideoUploadDTO dto, IngestJob job) throws IOException {
         log.info("Upload d'une communication vidéo: {}", dto.getTitre());
 
-        // Validation du fichier
-        validateVideoFile(file);
+        CommunicationVideo saved = mediaUploadService.executer(
+                // Upload vers Cloudinary
+                medias -> {
+                    job.etape("Envoi de la vidéo");
+                    medias.ajouter("video", mediaBlobService.uploadVideo(file, "communications-videos/2026", job));
+                    job.etape("Enregistrement");
+                },
+                // Créer l'entité
+                medias -> creerCommunication(medias, dto, file.getContentType(), file.getSize())
+        );
+        log.info("Communication vidéo uploadée avec succès, ID: {}", saved.getId());
 
-        // Upload vers Cloudinary
-        Map<String, String> uploadResult = cloudinaryService.uploadFile(file, "communications-videos/2026");
-        String videoUrl = uploadResult.get("url");
-        String publicId = uploadResult.get("publicId");
+        return saved;
+    }
 
-        // Créer l'entité
-        CommunicationVideo video = CommunicationVideo.builder()
+    /**
+     * Crée une communication vidéo dont le fichier a été envoyé directement au stockage (upload signé)
+     * Si l'enregistrement échoue, le fichier est supprimé du stockage
+     */
+    public CommunicationVideo enregistrerVideo(Map<String, String> fichier, String contentType, long taille,
+                                               CommunicationVideoUploadDTO dto) throws IOException {
+        CommunicationVideo saved = mediaUploadService.executer(
+                medias -> medias.ajouter("video", fichier),
+                medias -> creerCommunication(medias, dto, contentType, taille)
+        );
+        log.info("Communication vidéo créée par upload direct, ID: {}", saved.getId());
+
+        return saved;
+    }
+
+    private CommunicationVideo creerCommunication(UploadedMedia medias, CommunicationVideoUploadDTO dto,
+                                                  String contentType, long taille) {
+        Map<String, String> video = medias.get("video");
+        return repository.save(CommunicationVideo.builder()
                 .nomAuteur(dto.getNomAuteur())
                 .prenomAuteur(dto.getPrenomAuteur())
                 .emailAuteur(dto.getEmailAuteur())
                 .titre(dto.getTitre())
                 .description(dto.getDescription())
                 .rubrique(dto.getRubrique())
-                .videoUrl(videoUrl)
-                .videoPublicId(publicId)
-                .tailleFichier(file.getSize())
-                .format(getFormatFromContentType(file.getContentType()))
+                .videoUrl(medias.getUrl("video"))
+                .videoPublicId(medias.getPublicId("video"))
+                .tailleFichier(taille)
+                .format(getFormatFromContentType(contentType))
+                .duree(video.containsKey("duration") ? Integer.valueOf(video.get("duration")) : null)
+                .resolution(VideoMetadata.resolution(video.get("width"), video.get("height")))
+                .codec(video.get("codec"))
                 .statut(StatutCommunication.EN_ATTENTE)
                 .annee(2026)
                 .actif(true)
                 .nombreVues(0)
                 .nombreTelechargements(0)
-                .build();
-
-        CommunicationVideo saved = repository.save(video);
-        log.info("Communication vidéo uploadée avec succès, ID: {}", saved.getId());
-
-        return saved;
+                .build());
     }
 
     /**
@@ -133,6 +173,16 @@ public class CommunicationVideoService {
         return repository.findAll();
     }
 
+    /**
+     * Export NDJSON de toutes les vidéos, écrit au fil de la lecture
+     */
+    @Transactional(readOnly = true)
+    public long exporterNdjson(OutputStream sortie) throws IOException {
+        try (Stream<CommunicationVideo> videos = repository.streamAll()) {
+            return ndjsonWriter.ecrire(videos, video -> video, sortie);
+        }
+    }
+
     /**
      * Récupère une vidéo par ID
      */
@@ -201,13 +251,9 @@ public class CommunicationVideoService {
         CommunicationVideo video = repository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Vidéo non trouvée"));
 
-        // Supprimer de Cloudinary
+        // Supprimer du stockage (après le commit)
         if (video.getVideoPublicId() != null) {
-            try {
-                cloudinaryService.deleteFile(video.getVideoPublicId());
-            } catch (Exception e) {
-                log.error("Erreur lors de la suppression du fichier Cloudinary: {}", e.getMessage());
-            }
+            mediaBlobService.liberer(video.getVideoPublicId());
         }
 
         repository.delete(video);
@@ -222,14 +268,18 @@ public class CommunicationVideoService {
             throw new IllegalArgumentException("Le fichier vidéo est obligatoire");
         }
 
-        String contentType = file.getContentType();
+        validateVideoFile(file.getContentType(), file.getSize());
+        ContentSniffer.verifierVideo(ContentSniffer.lireEntete(file));
+    }
+
+    private void validateVideoFile(String contentType, long size) {
         if (contentType == null || !ALLOWED_VIDEO_FORMATS.contains(contentType)) {
             throw new IllegalArgumentException(
                 "Format vidéo non supporté. Formats acceptés : MP4, MOV, AVI, WMV, FLV"
             );
         }
 
-        if (file.getSize() > MAX_VIDEO_SIZE) {
+        if (size > MAX_VIDEO_SIZE) {
             throw new IllegalArgumentException("La taille du fichier dépasse la limite de 500 MB");
         }
     }
@@ -0,0 +1,162 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.enums.TypeUpload;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Détection du type réel d'un fichier à partir de ses premiers octets (signatures / "magic bytes")
+ * Le Content-Type et l'extension sont fournis par le client : seuls les premiers Ko du fichier
+ * permettent de refuser un fichier d'un autre type avant de le stocker ou de l'envoyer au stockage
+ */
+public final class ContentSniffer {
+
+    // Nombre d'octets lus en tête de fichier
+    public static final int TAILLE_ENTETE = 8 * 1024;
+
+    private static final byte[] OLE2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] ZIP = {'P', 'K', 3, 4};
+    private static final byte[] EBML = {0x1A, 0x45, (byte) 0xDF, (byte) 0xA3};
+    private static final byte[] ASF = {0x30, 0x26, (byte) 0xB2, 0x75, (byte) 0x8E, 0x66, (byte) 0xCF, 0x11,
+            (byte) 0xA6, (byte) 0xD9, 0x00, (byte) 0xAA, 0x00, 0x62, (byte) 0xCE, 0x6C};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+
+    // Premières entrées possibles d'un paquet Office Open XML (.pptx)
+    private static final List<String> ENTREES_OOXML = List.of("[Content_Types].xml", "_rels/", "docProps/", "ppt/", "customXml/");
+
+    // Atomes de tête des anciens fichiers QuickTime sans "ftyp"
+    private static final List<String> ATOMES_QUICKTIME = List.of("moov", "mdat", "wide", "free", "skip", "pnot");
+
+    private ContentSniffer() {
+    }
+
+    /**
+     * Lit les premiers octets d'un fichier reçu
+     */
+    public static byte[] lireEntete(MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            return input.readNBytes(TAILLE_ENTETE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du fichier reçu impossible", e);
+        }
+    }
+
+    /**
+     * Vérifie les premiers octets selon le type de média d'une session d'upload
+     */
+    public static void verifier(TypeUpload type, byte[] entete) {
+        switch (type) {
+            case VIDEO, COMMUNICATION_VIDEO -> verifierVideo(entete);
+            case EPOSTER -> verifierPowerPoint(entete);
+            case DOCUMENT -> {
+                // Documents de tout format (administration)
+            }
+        }
+    }
+
+    /**
+     * PowerPoint : paquet ZIP Office Open XML (.pptx) ou document OLE2 (.ppt)
+     */
+    public static void verifierPowerPoint(byte[] entete) {
+        if (!estOoxml(entete) && !commencePar(entete, OLE2)) {
+            throw new IllegalArgumentException("Le contenu du fichier ne correspond pas à une présentation PowerPoint (.ppt, .pptx)");
+        }
+    }
+
+    /**
+     * Vidéo : conteneur ISO/QuickTime (ftyp), Matroska/WebM (EBML), AVI (RIFF), WMV (ASF) ou MPEG
+     */
+    public static void verifierVideo(byte[] entete) {
+        if (detecterVideo(entete) == null) {
+            throw new IllegalArgumentException("Le contenu du fichier ne correspond pas à un format vidéo accepté (MP4, MOV, AVI, WMV, WebM, MPEG)");
+        }
+    }
+
+    /**
+     * PDF : "%PDF-" dans le premier Ko (des octets parasites peuvent le précéder)
+     */
+    public static void verifierPdf(byte[] entete) {
+        String debut = new String(entete, 0, Math.min(entete.length, 1024), StandardCharsets.ISO_8859_1);
+        if (!debut.contains("%PDF-")) {
+            throw new IllegalArgumentException("Le contenu du fichier ne correspond pas à un document PDF");
+        }
+    }
+
+    /**
+     * Image : JPEG, PNG ou WebP
+     */
+    public static void verifierImage(byte[] entete) {
+        boolean webp = commencePar(entete, "RIFF".getBytes(StandardCharsets.US_ASCII)) && ascii(entete, 8, 4).equals("WEBP");
+        if (!commencePar(entete, JPEG) && !commencePar(entete, PNG) && !webp) {
+            throw new IllegalArgumentException("Le contenu du fichier ne correspond pas à une image (JPG, PNG, WebP)");
+        }
+    }
+
+    /**
+     * Format vidéo reconnu, null si aucun
+     */
+    public static String detecterVideo(byte[] entete) {
+        String atome = ascii(entete, 4, 4);
+        if (atome.equals("ftyp")) {
+            return ascii(entete, 8, 4).startsWith("qt") ? "MOV" : "MP4";
+        }
+        if (ATOMES_QUICKTIME.contains(atome)) {
+            return "MOV";
+        }
+        if (commencePar(entete, EBML)) {
+            return "WebM";
+        }
+        if (ascii(entete, 0, 4).equals("RIFF") && ascii(entete, 8, 4).equals("AVI ")) {
+            return "AVI";
+        }
+        if (commencePar(entete, ASF)) {
+            return "WMV";
+        }
+        // Flux programme (00 00 01 BA), flux vidéo (00 00 01 B3) ou transport (0x47 tous les 188 octets)
+        if (entete.length >= 4 && entete[0] == 0 && entete[1] == 0 && entete[2] == 1
+                && (entete[3] == (byte) 0xBA || entete[3] == (byte) 0xB3)) {
+            return "MPEG";
+        }
+        if (entete.length > 188 && entete[0] == 0x47 && entete[188] == 0x47) {
+            return "MPEG";
+        }
+        return null;
+    }
+
+    /**
+     * ZIP dont la première entrée est une partie d'un paquet Office Open XML
+     */
+    private static boolean estOoxml(byte[] entete) {
+        if (!commencePar(entete, ZIP) || entete.length < 30) {
+            return false;
+        }
+        int longueurNom = (entete[26] & 0xFF) | (entete[27] & 0xFF) << 8;
+        String nom = ascii(entete, 30, longueurNom);
+        return ENTREES_OOXML.stream().anyMatch(nom::startsWith);
+    }
+
+    private static boolean commencePar(byte[] entete, byte[] signature) {
+        if (entete.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (entete[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String ascii(byte[] entete, int debut, int longueur) {
+        if (entete.length < debut + longueur) {
+            return "";
+        }
+        return new String(entete, debut, longueur, StandardCharsets.US_ASCII);
+    }
+}
@@ -19,7 +19,8 @@ import java.util.List;
 public class ContenuService {
 
     private final ContenuStatiqueRepository contenuRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadService mediaUploadService;
 
     public ContenuStatique getContenu(String cle) {
         return contenuRepository.findByCle(cle)
@@ -30,27 +31,36 @@ public class ContenuService {
         return contenuRepository.findAll();
     }
 
-    @Transactional
+    /**
+     * Met à jour un contenu : envoi de l'image hors transaction puis enregistrement dans une transaction courte
+     * L'ancienne image n'est supprimée qu'une fois la modification enregistrée
+     */
     public ContenuStatique updateContenu(String cle, ContenuDTO dto, MultipartFile image, String modifiePar) throws IOException {
-        ContenuStatique contenu = contenuRepository.findByCle(cle)
-                .orElse(ContenuStatique.builder().cle(cle).build());
+        return mediaUploadService.executer(
+                medias -> {
+                    if (image != null && !image.isEmpty()) {
+                        medias.ajouter("image", mediaBlobService.uploadFile(image, "contenu"));
+                    }
+                },
+                medias -> {
+                    ContenuStatique contenu = contenuRepository.findByCle(cle)
+                            .orElse(ContenuStatique.builder().cle(cle).build());
 
-        contenu.setTitreFr(dto.getTitreFr());
-        contenu.setTitreEn(dto.getTitreEn());
-        contenu.setContenuFr(dto.getContenuFr());
-        contenu.setContenuEn(dto.getContenuEn());
-        contenu.setModifiePar(modifiePar);
+                    contenu.setTitreFr(dto.getTitreFr());
+                    contenu.setTitreEn(dto.getTitreEn());
+                    contenu.setContenuFr(dto.getContenuFr());
+                    contenu.setContenuEn(dto.getContenuEn());
+                    contenu.setModifiePar(modifiePar);
 
-        if (image != null && !image.isEmpty()) {
-            if (contenu.getImagePublicId() != null) {
-                cloudinaryService.deleteFile(contenu.getImagePublicId());
-            }
-            java.util.Map<String, String> uploadResult = cloudinaryService.uploadFile(image, "contenu");
-            contenu.setImageUrl(uploadResult.get("url"));
-            contenu.setImagePublicId(uploadResult.get("publicId"));
-        }
+                    if (medias.contient("image")) {
+                        medias.remplacer(contenu.getImagePublicId());
+                        contenu.setImageUrl(medias.getUrl("image"));
+                        contenu.setImagePublicId(medias.getPublicId("image"));
+                    }
 
-        return contenuRepository.save(contenu);
+                    return contenuRepository.save(contenu);
+                }
+        );
     }
 
     @Transactional
@@ -0,0 +1,277 @@
+package com.smcd.congress.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smcd.congress.dto.DirectUploadConfirmDTO;
+import com.smcd.congress.dto.DirectUploadDTO;
+import com.smcd.congress.dto.UploadSessionCreateDTO;
+import com.smcd.congress.exception.ResourceNotFoundException;
+import com.smcd.congress.model.DirectUpload;
+import com.smcd.congress.model.enums.TypeUpload;
+import com.smcd.congress.repository.DirectUploadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Uploads directs signés : le navigateur envoie le fichier au stockage (Cloudinary) sans passer par le serveur
+ * 1. preparer : vérifie la demande et renvoie des paramètres signés (public_id imposé, formats acceptés,
+ *    validité courte) ; la demande est enregistrée en base (table direct_uploads)
+ * 2. le navigateur envoie le fichier directement au stockage
+ * 3. confirmer : vérifie la signature de la réponse du stockage, relit sur le stockage la taille, le format,
+ *    la durée et les premiers octets du fichier (rien n'est repris de la réponse transmise par le navigateur),
+ *    puis crée l'entité (Video, CommunicationVideo, EPoster ou Document). Un fichier refusé est supprimé
+ * Une demande expirée sans confirmation est purgée avec son fichier éventuel
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectUploadService {
+
+    // Formats acceptés par type (extensions sans point), imposés par la signature et revérifiés à la confirmation
+    private static final Map<TypeUpload, List<String>> FORMATS = Map.of(
+            TypeUpload.VIDEO, List.of("mp4", "mov", "avi", "wmv", "webm", "mpeg", "mpg"),
+            TypeUpload.COMMUNICATION_VIDEO, List.of("mp4", "mov", "avi", "wmv", "flv", "webm", "mpeg", "mpg"),
+            TypeUpload.EPOSTER, List.of("ppt", "pptx"),
+            TypeUpload.DOCUMENT, List.of("pdf", "doc", "docx", "ppt", "pptx", "xls", "xlsx", "odt", "odp", "ods", "zip"));
+
+    // Nombre de demandes expirées purgées par passage
+    private static final int TAILLE_PAGE = 500;
+
+    private final StorageBackend storageBackend;
+    private final VideoService videoService;
+    private final CommunicationVideoService communicationVideoService;
+    private final EPosterService ePosterService;
+    private final DocumentService documentService;
+    private final FileDeletionService fileDeletionService;
+    private final DirectUploadRepository directUploadRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.upload.direct.expiration-minutes:30}")
+    private long dureeMinutes;
+
+    /**
+     * Vérifie la demande et signe l'envoi direct
+     */
+    public DirectUploadDTO preparer(UploadSessionCreateDTO dto) {
+        valider(dto, dto.getTaille());
+
+        String resourceType = resourceType(dto.getType());
+        String publicId = "smcd-congress/" + dossier(dto) + "/" + UUID.randomUUID()
+                + ("raw".equals(resourceType) ? extension(dto) : "");
+
+        SignedUpload signature = storageBackend.signUpload(publicId, resourceType, FORMATS.get(dto.getType()),
+                        Instant.now().getEpochSecond())
+                .orElseThrow(() -> new IllegalArgumentException("L'upload direct n'est pas disponible avec ce stockage"));
+
+        DirectUpload demande = directUploadRepository.save(DirectUpload.builder()
+                .id(UUID.randomUUID().toString())
+                .type(dto.getType())
+                .publicId(publicId)
+                .resourceType(resourceType)
+                .demande(ecrireDemande(dto))
+                .dateExpiration(LocalDateTime.now().plusMinutes(dureeMinutes))
+                .build());
+
+        log.info("Upload direct {} préparé: {} -> {}", dto.getType(), demande.getId(), publicId);
+
+        return DirectUploadDTO.builder()
+                .id(demande.getId())
+                .type(dto.getType())
+                .publicId(publicId)
+                .uploadUrl(signature.getUploadUrl())
+                .parametres(signature.getParametres())
+                .dateExpiration(demande.getDateExpiration())
+                .build();
+    }
+
+    /**
+     * Vérifie la réponse du stockage et le fichier stocké, puis crée l'entité correspondante
+     *
+     * @return L'identifiant de l'entité créée
+     */
+    public Long confirmer(String id, DirectUploadConfirmDTO confirmation) throws IOException {
+        DirectUpload demande = directUploadRepository.findById(id)
+                .filter(d -> LocalDateTime.now().isBefore(d.getDateExpiration()))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload direct non trouvé ou expiré: " + id));
+
+        String publicId = demande.getPublicId();
+        String resourceType = demande.getResourceType();
+        if (!publicId.equals(confirmation.getPublicId())
+                || !storageBackend.verifyUploadSignature(confirmation.getPublicId(), confirmation.getVersion(),
+                        confirmation.getSignature())) {
+            throw new IllegalArgumentException("Signature de l'upload invalide");
+        }
+
+        // Taille, format, durée et contenu lus sur le stockage (la signature ne couvre que public_id et version)
+        StoredFileMetadata stocke = storageBackend.getMetadata(publicId, resourceType)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Fichier introuvable sur le stockage, réessayez la confirmation dans quelques instants"));
+        byte[] entete = storageBackend.readHead(publicId, resourceType, ContentSniffer.TAILLE_ENTETE);
+
+        UploadSessionCreateDTO dto = lireDemande(demande);
+        RuntimeException refus = null;
+        try {
+            verifierFichier(dto, publicId, stocke, entete);
+        } catch (IllegalArgumentException | ResourceNotFoundException e) {
+            refus = e;
+        }
+
+        // Une seule confirmation par demande, même entre plusieurs instances
+        if (directUploadRepository.retirer(id) == 0) {
+            throw new ResourceNotFoundException("Upload direct déjà confirmé: " + id);
+        }
+
+        if (refus != null) {
+            // Fichier refusé (taille, format ou contenu réels) : il ne doit pas rester sur le stockage
+            log.warn("Upload direct {} refusé, fichier {} supprimé: {}", id, publicId, refus.getMessage());
+            fileDeletionService.planifier(publicId, resourceType);
+            throw refus;
+        }
+
+        long taille = stocke.getTaille();
+        Map<String, String> fichier = new HashMap<>();
+        fichier.put("url", storageBackend.resolveUrl(publicId, resourceType));
+        fichier.put("publicId", publicId);
+        fichier.put("resourceType", resourceType);
+        if (stocke.getDuree() != null) {
+            fichier.put("duration", String.valueOf(Math.round(stocke.getDuree())));
+        }
+
+        Long entiteId = switch (dto.getType()) {
+            case VIDEO -> videoService.enregistrerVideo(fichier, dto.getContentType(), taille, dto.getVideo()).getId();
+            case COMMUNICATION_VIDEO -> communicationVideoService.enregistrerVideo(
+                    fichier, dto.getContentType(), taille, dto.getCommunication()).getId();
+            case EPOSTER -> ePosterService.enregistrerEPoster(fichier, taille, dto.getNomFichier(), dto.getEposter()).getId();
+            case DOCUMENT -> documentService.enregistrerDocument(fichier, taille, dto.getNomFichier(), dto.getDocument()).getId();
+        };
+
+        log.info("Upload direct {} confirmé: {} (entité {})", dto.getType(), id, entiteId);
+        return entiteId;
+    }
+
+    /**
+     * Purge des demandes expirées sans confirmation : le fichier éventuellement envoyé est supprimé du stockage
+     */
+    @Scheduled(fixedDelayString = "${app.upload.direct.purge-interval-ms:600000}",
+            initialDelayString = "${app.upload.direct.purge-interval-ms:600000}")
+    public void purgerDemandesExpirees() {
+        List<DirectUpload> expirees = directUploadRepository.findExpirees(LocalDateTime.now(), PageRequest.of(0, TAILLE_PAGE));
+        int purgees = 0;
+        for (DirectUpload demande : expirees) {
+            if (directUploadRepository.retirer(demande.getId()) > 0) {
+                // Fichier absent si le navigateur ne l'a jamais envoyé : la suppression est alors sans effet
+                fileDeletionService.planifier(demande.getPublicId(), demande.getResourceType());
+                purgees++;
+            }
+        }
+        if (purgees > 0) {
+            log.info("{} upload(s) direct(s) expiré(s) purgé(s)", purgees);
+        }
+    }
+
+    /**
+     * Vérifie le fichier réellement stocké : format, taille (règles du type) et premiers octets
+     */
+    private void verifierFichier(UploadSessionCreateDTO dto, String publicId, StoredFileMetadata stocke, byte[] entete) {
+        if (stocke.getTaille() == null) {
+            throw new IllegalArgumentException("Taille du fichier stocké inconnue");
+        }
+        // Les fichiers raw n'ont pas de format détecté : c'est l'extension imposée au public_id
+        String format = stocke.getFormat() != null ? stocke.getFormat() : extension(publicId);
+        if (format == null || !FORMATS.get(dto.getType()).contains(format.toLowerCase())) {
+            throw new IllegalArgumentException("Format de fichier non accepté: " + format);
+        }
+        valider(dto, stocke.getTaille());
+        ContentSniffer.verifier(dto.getType(), entete);
+    }
+
+    private void valider(UploadSessionCreateDTO dto, long taille) {
+        switch (dto.getType()) {
+            case VIDEO -> {
+                if (dto.getVideo() == null) {
+                    throw new IllegalArgumentException("Les informations de la vidéo sont obligatoires");
+                }
+                videoService.validerUpload(dto.getContentType(), taille, dto.getVideo());
+            }
+            case COMMUNICATION_VIDEO -> {
+                if (dto.getCommunication() == null) {
+                    throw new IllegalArgumentException("Les informations de la communication sont obligatoires");
+                }
+                communicationVideoService.validerUpload(dto.getContentType(), taille);
+            }
+            case EPOSTER -> {
+                if (dto.getEposter() == null) {
+                    throw new IllegalArgumentException("Les informations de l'E-Poster sont obligatoires");
+                }
+                ePosterService.validerUpload(dto.getNomFichier(), dto.getContentType(), taille);
+            }
+            case DOCUMENT -> {
+                if (dto.getDocument() == null) {
+                    throw new IllegalArgumentException("Les informations du document sont obligatoires");
+                }
+            }
+        }
+    }
+
+    private String dossier(UploadSessionCreateDTO dto) {
+        return switch (dto.getType()) {
+            case VIDEO -> "videos/" + videoService.getAnneeChapitre(dto.getVideo().getChapterId());
+            case COMMUNICATION_VIDEO -> "communications-videos/2026";
+            case EPOSTER -> "eposters/2026";
+            case DOCUMENT -> "documents/" + (dto.getDocument().getAnnee() != null ? dto.getDocument().getAnnee() : 2026);
+        };
+    }
+
+    private String resourceType(TypeUpload type) {
+        return switch (type) {
+            case VIDEO, COMMUNICATION_VIDEO -> "video";
+            // Présentations et documents : stockés tels quels, l'extension fait partie du public_id
+            case EPOSTER, DOCUMENT -> "raw";
+        };
+    }
+
+    /**
+     * Extension du nom de fichier annoncé (avec le point), refusée si elle n'est pas acceptée pour le type
+     */
+    private String extension(UploadSessionCreateDTO dto) {
+        String extension = extension(dto.getNomFichier());
+        if (extension == null || !FORMATS.get(dto.getType()).contains(extension)) {
+            throw new IllegalArgumentException("Extension de fichier non acceptée pour " + dto.getType().getLabel()
+                    + " (" + String.join(", ", FORMATS.get(dto.getType())) + ")");
+        }
+        return "." + extension;
+    }
+
+    private String extension(String nomFichier) {
+        int dot = nomFichier.lastIndexOf('.');
+        return dot > 0 && dot > nomFichier.lastIndexOf('/') ? nomFichier.substring(dot + 1).toLowerCase() : null;
+    }
+
+    private String ecrireDemande(UploadSessionCreateDTO dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Demande d'upload invalide", e);
+        }
+    }
+
+    private UploadSessionCreateDTO lireDemande(DirectUpload demande) {
+        try {
+            return objectMapper.readValue(demande.getDemande(), UploadSessionCreateDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Demande d'upload direct illisible: " + demande.getId(), e);
+        }
+    }
+}
@@ -13,9 +13,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -23,76 +25,101 @@ import java.util.Map;
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadService mediaUploadService;
+    private final NdjsonWriter ndjsonWriter;
 
-    @Transactional
+    /**
+     * Upload un document : envoi hors transaction puis enregistrement dans une transaction courte
+     */
     public Document uploadDocument(MultipartFile file, DocumentDTO dto) throws IOException {
         log.info("Upload document: {}", dto.getTitre());
-
-        // Upload vers Cloudinary (raw pour les PDF/Word)
-        Map<String, String> uploadResult = cloudinaryService.uploadRawFile(file, "documents/" + dto.getAnnee());
-        String url = uploadResult.get("url");
-        String publicId = uploadResult.get("publicId");
-
-        // Déterminer le format
         String originalFilename = file.getOriginalFilename();
-        String format = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            format = originalFilename.substring(originalFilename.lastIndexOf(".") + 1).toUpperCase();
-        }
 
-        Document document = Document.builder()
-                .titre(dto.getTitre())
-                .description(dto.getDescription())
-                .descriptionCourte(dto.getDescriptionCourte())
-                .fichierUrl(url)
-                .fichierPublicId(publicId)
-                .tailleFichier(file.getSize())
-                .nomFichierOriginal(originalFilename)
-                .formatFichier(format)
-                .type(dto.getType())
-                .annee(dto.getAnnee() != null ? dto.getAnnee() : 2026)
-                .langue(dto.getLangue() != null ? dto.getLangue() : "FR")
-                .visibilite(dto.getVisibilite())
-                .publie(dto.getPublie() != null ? dto.getPublie() : true)
-                .ordre(dto.getOrdre() != null ? dto.getOrdre() : 0)
-                .featured(dto.getFeatured() != null ? dto.getFeatured() : false)
-                .build();
-
-        return documentRepository.save(document);
+        return creerDocument(
+                // Upload vers Cloudinary (raw pour les PDF/Word)
+                medias -> medias.ajouter("fichier", mediaBlobService.uploadRawFile(file, "documents/" + dto.getAnnee())),
+                file.getSize(), originalFilename, dto);
     }
 
-    @Transactional
-    public Document modifierDocument(Long id, DocumentDTO dto, MultipartFile newFile) throws IOException {
-        Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Document non trouvé: " + id));
+    /**
+     * Crée un document dont le fichier a été envoyé directement au stockage (upload signé)
+     * Si l'enregistrement échoue, le fichier est supprimé du stockage
+     */
+    public Document enregistrerDocument(Map<String, String> fichier, long taille, String nomFichier,
+                                        DocumentDTO dto) throws IOException {
+        log.info("Upload direct document: {}", dto.getTitre());
+        return creerDocument(medias -> medias.ajouter("fichier", fichier), taille, nomFichier, dto);
+    }
 
-        document.setTitre(dto.getTitre());
-        document.setDescription(dto.getDescription());
-        document.setDescriptionCourte(dto.getDescriptionCourte());
-        document.setType(dto.getType());
-        document.setAnnee(dto.getAnnee());
-        document.setLangue(dto.getLangue());
-        document.setVisibilite(dto.getVisibilite());
-        document.setPublie(dto.getPublie());
-        document.setOrdre(dto.getOrdre());
-        document.setFeatured(dto.getFeatured());
-
-        if (newFile != null && !newFile.isEmpty()) {
-            // Supprimer ancien fichier
-            if (document.getFichierPublicId() != null) {
-                cloudinaryService.deleteFile(document.getFichierPublicId());
-            }
-            
-            // Upload nouveau (raw pour les PDF/Word)
-            Map<String, String> uploadResult = cloudinaryService.uploadRawFile(newFile, "documents/" + dto.getAnnee());
-            document.setFichierUrl(uploadResult.get("url"));
-            document.setFichierPublicId(uploadResult.get("publicId"));
-            document.setTailleFichier(newFile.getSize());
-            document.setNomFichierOriginal(newFile.getOriginalFilename());
-        }
+    private Document creerDocument(MediaUploadService.PhaseUpload upload, long taille, String originalFilename,
+                                   DocumentDTO dto) throws IOException {
+        // Déterminer le format
+        String format = originalFilename != null && originalFilename.contains(".")
+                ? originalFilename.substring(originalFilename.lastIndexOf(".") + 1).toUpperCase()
+                : "";
+
+        return mediaUploadService.executer(
+                upload,
+                medias -> documentRepository.save(Document.builder()
+                        .titre(dto.getTitre())
+                        .description(dto.getDescription())
+                        .descriptionCourte(dto.getDescriptionCourte())
+                        .fichierUrl(medias.getUrl("fichier"))
+                        .fichierPublicId(medias.getPublicId("fichier"))
+                        .tailleFichier(taille)
+                        .nomFichierOriginal(originalFilename)
+                        .formatFichier(format)
+                        .type(dto.getType())
+                        .annee(dto.getAnnee() != null ? dto.getAnnee() : 2026)
+                        .langue(dto.getLangue() != null ? dto.getLangue() : "FR")
+                        .visibilite(dto.getVisibilite())
+                        .publie(dto.getPublie() != null ? dto.getPublie() : true)
+                        .ordre(dto.getOrdre() != null ? dto.getOrdre() : 0)
+                        .featured(dto.getFeatured() != null ? dto.getFeatured() : false)
+                        .build())
+        );
+    }
 
-        return documentRepository.save(document);
+    /**
+     * Modifie un document ; l'ancien fichier n'est supprimé qu'une fois la modification enregistrée
+     */
+    public Document modifierDocument(Long id, DocumentDTO dto, MultipartFile newFile) throws IOException {
+        getById(id);
+        boolean avecFichier = newFile != null && !newFile.isEmpty();
+
+        return mediaUploadService.executer(
+                medias -> {
+                    // Upload nouveau (raw pour les PDF/Word)
+                    if (avecFichier) {
+                        medias.ajouter("fichier", mediaBlobService.uploadRawFile(newFile, "documents/" + dto.getAnnee()));
+                    }
+                },
+                medias -> {
+                    Document document = getById(id);
+
+                    document.setTitre(dto.getTitre());
+                    document.setDescription(dto.getDescription());
+                    document.setDescriptionCourte(dto.getDescriptionCourte());
+                    document.setType(dto.getType());
+                    document.setAnnee(dto.getAnnee());
+                    document.setLangue(dto.getLangue());
+                    document.setVisibilite(dto.getVisibilite());
+                    document.setPublie(dto.getPublie());
+                    document.setOrdre(dto.getOrdre());
+                    document.setFeatured(dto.getFeatured());
+
+                    if (medias.contient("fichier")) {
+                        medias.remplacer(document.getFichierPublicId());
+                        document.setFichierUrl(medias.getUrl("fichier"));
+                        document.setFichierPublicId(medias.getPublicId("fichier"));
+                        document.setTailleFichier(newFile.getSize());
+                        document.setNomFichierOriginal(newFile.getOriginalFilename());
+                    }
+
+                    return documentRepository.save(document);
+                }
+        );
     }
 
     @Transactional
@@ -101,7 +128,7 @@ public class DocumentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Document non trouvé: " + id));
 
         if (document.getFichierPublicId() != null) {
-            cloudinaryService.deleteFile(document.getFichierPublicId());
+            mediaBlobService.liberer(document.getFichierPublicId());
         }
 
         documentRepository.delete(document);
@@ -136,6 +163,16 @@ public class DocumentService {
         return documentRepository.findAll();
     }
 
+    /**
+     * Export NDJSON de tous les documents, écrit au fil de la lecture
+     */
+    @Transactional(readOnly = true)
+    public long exporterNdjson(OutputStream sortie) throws IOException {
+        try (Stream<Document> documents = documentRepository.streamAll()) {
+            return ndjsonWriter.ecrire(documents, document -> document, sortie);
+        }
+    }
+
     public Map<String, Object> getStats() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("total", documentRepository.countByPublieTrue());
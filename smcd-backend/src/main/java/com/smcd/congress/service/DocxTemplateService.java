@@ -0,0 +1,321 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.Abstract;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Génération de documents Word à partir d'un modèle .docx (src/main/resources/templates/word)
+ * Alternative à WordGeneratorService (XWPF) sans arbre XML en mémoire :
+ * - au démarrage, les parties du modèle sont lues une fois ; word/document.xml (et en-têtes / pieds de page)
+ *   est découpé en segments : XML fixe (déjà encodé en UTF-8), variables {{nom}} et blocs {{#nom}}...{{/nom}}
+ * - à chaque document, les parties fixes sont recopiées telles quelles (non compressées, CRC précalculé)
+ *   et seules les parties à variables sont écrites, en un passage, directement dans le flux ZIP de sortie
+ *
+ * Dans le modèle, un bloc conditionnel est délimité par deux paragraphes ne contenant que {{#nom}} et {{/nom}} :
+ * ces paragraphes sont retirés et le contenu entre eux n'est écrit que si la variable est renseignée.
+ * Une variable peut être découpée en plusieurs "runs" par Word : les balises intérieures sont ignorées.
+ */
+@Service
+public class DocxTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocxTemplateService.class);
+
+    private static final String MODELE_ABSTRACT = "templates/word/abstract.docx";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm");
+
+    private static final Pattern PARTIE_A_VARIABLES = Pattern.compile("word/(document|header\\d*|footer\\d*)\\.xml");
+    private static final Pattern BALISE_XML = Pattern.compile("<[^>]*>");
+
+    // Rupture du texte d'un run pour un retour à la ligne ou une tabulation
+    private static final String SAUT_LIGNE = "</w:t><w:br/><w:t xml:space=\"preserve\">";
+    private static final String TABULATION = "</w:t><w:tab/><w:t xml:space=\"preserve\">";
+
+    private ModeleDocx modeleAbstract;
+
+    @PostConstruct
+    public void init() throws IOException {
+        try (InputStream input = new ClassPathResource(MODELE_ABSTRACT).getInputStream()) {
+            modeleAbstract = compiler(MODELE_ABSTRACT, input);
+        }
+        logger.info("Modèle Word compilé: {}", MODELE_ABSTRACT);
+    }
+
+    /**
+     * Écrit le document Word d'un abstract dans le flux (le flux n'est pas fermé)
+     */
+    public void genererAbstract(Abstract abstractEntity, OutputStream sortie) throws IOException {
+        modeleAbstract.ecrire(variablesAbstract(abstractEntity), sortie);
+    }
+
+    public byte[] genererAbstractBytes(Abstract abstractEntity) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(32 * 1024);
+        try {
+            genererAbstract(abstractEntity, baos);
+        } catch (IOException e) {
+            throw new RuntimeException("Erreur lors de la génération du document Word: " + e.getMessage(), e);
+        }
+        return baos.toByteArray();
+    }
+
+    private Map<String, String> variablesAbstract(Abstract a) {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("prenom", a.getPrenom());
+        variables.put("nom", a.getNom());
+        variables.put("email", a.getEmail());
+        variables.put("telephone", a.getTelephone());
+        variables.put("auteurs", a.getAuteurs());
+        variables.put("affiliation", a.getAffiliation());
+        variables.put("rubrique", a.getRubrique() != null ? a.getRubrique().getLabel() : null);
+        variables.put("type", a.getType() != null ? a.getType().getLabel() : null);
+        variables.put("urlVideo", a.getUrlVideo());
+        variables.put("reference", a.getNumeroReference());
+        variables.put("dateSoumission", a.getDateSoumission() != null ? a.getDateSoumission().format(DATE_FORMATTER) : null);
+        variables.put("titre", a.getTitre() != null ? a.getTitre().toUpperCase() : null);
+        variables.put("motsCles", a.getMotsCles());
+        variables.put("introduction", a.getIntroduction());
+        variables.put("materielMethodes", a.getMaterielMethodes());
+        variables.put("resultats", a.getResultats());
+        variables.put("discussion", a.getDiscussion());
+        variables.put("conclusion", a.getConclusion());
+        variables.put("references", a.getReferences());
+        variables.put("statut", a.getStatut() != null ? a.getStatut().getLabel() : null);
+        return variables;
+    }
+
+    // ============ COMPILATION DU MODÈLE ============
+
+    static ModeleDocx compiler(String nom, InputStream docx) throws IOException {
+        List<Partie> parties = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(docx)) {
+            ZipEntry entree;
+            while ((entree = zip.getNextEntry()) != null) {
+                if (entree.isDirectory()) continue;
+                byte[] contenu = zip.readAllBytes();
+                if (PARTIE_A_VARIABLES.matcher(entree.getName()).matches()) {
+                    String xml = new String(contenu, StandardCharsets.UTF_8);
+                    if (xml.contains("{{")) {
+                        parties.add(new Partie(entree.getName(), null, 0, analyser(nom, xml)));
+                        continue;
+                    }
+                }
+                CRC32 crc = new CRC32();
+                crc.update(contenu);
+                parties.add(new Partie(entree.getName(), contenu, crc.getValue(), null));
+            }
+        }
+        if (parties.stream().noneMatch(p -> p.name().equals("word/document.xml"))) {
+            throw new IllegalStateException("Modèle " + nom + ": word/document.xml introuvable");
+        }
+        return new ModeleDocx(nom, parties);
+    }
+
+    private static Segment[] analyser(String nom, String xml) {
+        Deque<String> ouvertes = new ArrayDeque<>();
+        Deque<List<Segment>> niveaux = new ArrayDeque<>();
+        niveaux.push(new ArrayList<>());
+
+        int position = 0;
+        while (true) {
+            int debut = xml.indexOf("{{", position);
+            if (debut < 0) break;
+            int fin = xml.indexOf("}}", debut + 2);
+            if (fin < 0) {
+                throw new IllegalStateException("Modèle " + nom + ": variable non fermée à la position " + debut);
+            }
+            // Word peut découper une variable en plusieurs runs : seul le texte compte
+            String balise = BALISE_XML.matcher(xml.substring(debut + 2, fin)).replaceAll("").trim();
+            fin += 2;
+
+            if (balise.startsWith("#") || balise.startsWith("/")) {
+                // Le paragraphe du marqueur est retiré en entier
+                debut = Math.max(xml.lastIndexOf("<w:p>", debut), xml.lastIndexOf("<w:p ", debut));
+                int finParagraphe = xml.indexOf("</w:p>", fin);
+                if (debut < position || finParagraphe < 0) {
+                    throw new IllegalStateException("Modèle " + nom + ": marqueur " + balise + " hors d'un paragraphe");
+                }
+                fin = finParagraphe + "</w:p>".length();
+            }
+            if (debut > position) {
+                niveaux.peek().add(new Texte(xml.substring(position, debut).getBytes(StandardCharsets.UTF_8)));
+            }
+            position = fin;
+
+            if (balise.startsWith("#")) {
+                ouvertes.push(nomValide(nom, balise.substring(1)));
+                niveaux.push(new ArrayList<>());
+            } else if (balise.startsWith("/")) {
+                String fermee = balise.substring(1);
+                if (ouvertes.isEmpty() || !ouvertes.peek().equals(fermee)) {
+                    throw new IllegalStateException("Modèle " + nom + ": fermeture inattendue {{/" + fermee + "}}");
+                }
+                Segment[] contenu = niveaux.pop().toArray(new Segment[0]);
+                niveaux.peek().add(new Section(ouvertes.pop(), contenu));
+            } else {
+                niveaux.peek().add(new Variable(nomValide(nom, balise)));
+            }
+        }
+        if (!ouvertes.isEmpty()) {
+            throw new IllegalStateException("Modèle " + nom + ": bloc non fermé {{#" + ouvertes.peek() + "}}");
+        }
+        niveaux.peek().add(new Texte(xml.substring(position).getBytes(StandardCharsets.UTF_8)));
+        return niveaux.pop().toArray(new Segment[0]);
+    }
+
+    private static String nomValide(String modele, String variable) {
+        if (variable.isEmpty() || !variable.chars().allMatch(Character::isLetterOrDigit)) {
+            throw new IllegalStateException("Modèle " + modele + ": nom de variable invalide \"" + variable + "\"");
+        }
+        return variable;
+    }
+
+    // ============ RENDU ============
+
+    /**
+     * Modèle compilé : parties du paquet dans l'ordre d'origine
+     */
+    static final class ModeleDocx {
+        private final String nom;
+        private final List<Partie> parties;
+
+        private ModeleDocx(String nom, List<Partie> parties) {
+            this.nom = nom;
+            this.parties = parties;
+        }
+
+        void ecrire(Map<String, String> variables, OutputStream sortie) throws IOException {
+            ZipOutputStream zip = new ZipOutputStream(new NonFermant(sortie));
+            zip.setLevel(Deflater.BEST_SPEED);
+            StringBuilder tampon = new StringBuilder(4096);
+
+            for (Partie partie : parties) {
+                ZipEntry entree = new ZipEntry(partie.name());
+                if (partie.contenu() != null) {
+                    // Partie fixe : recopiée sans recompression
+                    entree.setMethod(ZipEntry.STORED);
+                    entree.setSize(partie.contenu().length);
+                    entree.setCompressedSize(partie.contenu().length);
+                    entree.setCrc(partie.crc());
+                    zip.putNextEntry(entree);
+                    zip.write(partie.contenu());
+                } else {
+                    zip.putNextEntry(entree);
+                    ecrire(partie.segments(), variables, zip, tampon);
+                }
+                zip.closeEntry();
+            }
+            zip.finish();
+        }
+
+        private void ecrire(Segment[] segments, Map<String, String> variables, OutputStream sortie,
+                            StringBuilder tampon) throws IOException {
+            for (Segment segment : segments) {
+                if (segment instanceof Texte texte) {
+                    sortie.write(texte.xml());
+                } else if (segment instanceof Variable variable) {
+                    tampon.setLength(0);
+                    echapper(valeur(variables, variable.nom()), tampon);
+                    sortie.write(tampon.toString().getBytes(StandardCharsets.UTF_8));
+                } else if (segment instanceof Section section) {
+                    String valeur = valeur(variables, section.nom());
+                    if (valeur != null && !valeur.isBlank()) {
+                        ecrire(section.contenu(), variables, sortie, tampon);
+                    }
+                }
+            }
+        }
+
+        private String valeur(Map<String, String> variables, String variable) {
+            String valeur = variables.get(variable);
+            if (valeur == null && !variables.containsKey(variable)) {
+                throw new IllegalArgumentException("Modèle " + nom + ": variable manquante \"" + variable + "\"");
+            }
+            return valeur;
+        }
+    }
+
+    /**
+     * Échappement XML du texte d'un run ; les retours à la ligne et tabulations deviennent
+     * des éléments Word, les caractères interdits en XML 1.0 sont retirés
+     */
+    static void echapper(String valeur, StringBuilder sortie) {
+        if (valeur == null) return;
+        for (int i = 0; i < valeur.length(); i++) {
+            char c = valeur.charAt(i);
+            switch (c) {
+                case '&' -> sortie.append("&amp;");
+                case '<' -> sortie.append("&lt;");
+                case '>' -> sortie.append("&gt;");
+                case '\n' -> sortie.append(SAUT_LIGNE);
+                case '\t' -> sortie.append(TABULATION);
+                case '\r' -> {
+                    if (i + 1 >= valeur.length() || valeur.charAt(i + 1) != '\n') {
+                        sortie.append(SAUT_LIGNE);
+                    }
+                }
+                default -> {
+                    if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF) {
+                        sortie.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private record Partie(String name, byte[] contenu, long crc, Segment[] segments) {
+    }
+
+    private interface Segment {
+    }
+
+    private record Texte(byte[] xml) implements Segment {
+    }
+
+    private record Variable(String nom) implements Segment {
+    }
+
+    private record Section(String nom, Segment[] contenu) implements Segment {
+    }
+
+    /**
+     * Le flux de la réponse HTTP est fermé par l'appelant, pas par le ZipOutputStream
+     */
+    private static final class NonFermant extends java.io.FilterOutputStream {
+        private NonFermant(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.smcd.congress.service;
 import com.smcd.congress.dto.*;
 import com.smcd.congress.exception.ResourceNotFoundException;
 import com.smcd.congress.model.EPoster;
+import com.smcd.congress.model.enums.Langue;
 import com.smcd.congress.model.enums.Rubrique;
 import com.smcd.congress.model.enums.StatutEPoster;
 import com.smcd.congress.repository.EPosterRepository;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -41,23 +43,52 @@ public class EPosterService {
     private EPosterRepository ePosterRepository;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private MediaBlobService mediaBlobService;
 
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private MediaUploadService mediaUploadService;
+
     /**
      * Upload un nouvel E-Poster
+     * Le fichier est envoyé hors transaction, l'E-Poster est ensuite enregistré dans une transaction courte
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EPoster uploadEPoster(MultipartFile file, EPosterUploadDTO dto) throws IOException {
         // Valider le fichier
         validateFile(file);
 
-        // Upload vers Cloudinary
-        Map<String, String> uploadResult = cloudinaryService.uploadFile(file, "eposters/2026");
-        String fileUrl = uploadResult.get("url");
-        String publicId = uploadResult.get("publicId");
+        return creerEPoster(
+                medias -> medias.ajouter("fichier", mediaBlobService.uploadFile(file, "eposters/2026")),
+                file.getSize(), file.getOriginalFilename(), dto);
+    }
+
+    /**
+     * Crée un E-Poster à partir d'un fichier déjà assemblé sur le disque local (upload reprenable)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EPoster uploadEPoster(SpooledFile file, EPosterUploadDTO dto) throws IOException {
+        validateFile(file.getOriginalFilename(), file.getContentType(), file.getSize());
+
+        return creerEPoster(
+                medias -> medias.ajouter("fichier", mediaBlobService.uploadFile(file, "eposters/2026")),
+                file.getSize(), file.getOriginalFilename(), dto);
+    }
+
+    /**
+     * Crée un E-Poster dont le fichier a été envoyé directement au stockage (upload signé)
+     * Si l'enregistrement échoue, le fichier est supprimé du stockage
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EPoster enregistrerEPoster(Map<String, String> fichier, long taille, String nomFichier,
+                                      EPosterUploadDTO dto) throws IOException {
+        return creerEPoster(medias -> medias.ajouter("fichier", fichier), taille, nomFichier, dto);
+    }
 
+    private EPoster creerEPoster(MediaUploadService.PhaseUpload upload, long taille, String nomFichier,
+                                 EPosterUploadDTO dto) throws IOException {
         // Parser la rubrique si fournie
         Rubrique rubrique = null;
         if (dto.getRubrique() != null && !dto.getRubrique().isEmpty()) {
@@ -67,25 +98,29 @@ public class EPosterService {
                 logger.warn("Rubrique invalide: {}", dto.getRubrique());
             }
         }
-
-        // Créer l'entité
-        EPoster ePoster = EPoster.builder()
-                .nomAuteur(dto.getNomAuteur())
-                .prenomAuteur(dto.getPrenomAuteur())
-                .emailAuteur(dto.getEmailAuteur())
-                .titre(dto.getTitre())
-                .fichierUrl(fileUrl)
-                .fichierPublicId(publicId)
-                .tailleFichier(file.getSize())
-                .nomFichierOriginal(file.getOriginalFilename())
-                .rubrique(rubrique)
-                .annee(2026)
-                .statut(StatutEPoster.EN_ATTENTE)
-                .nombreTelechargements(0)
-                .nombreVues(0)
-                .build();
-
-        ePoster = ePosterRepository.save(ePoster);
+        Rubrique rubriqueFinale = rubrique;
+
+        EPoster ePoster = mediaUploadService.executer(
+                // Upload vers Cloudinary
+                upload,
+                // Créer l'entité
+                medias -> ePosterRepository.save(EPoster.builder()
+                        .nomAuteur(dto.getNomAuteur())
+                        .prenomAuteur(dto.getPrenomAuteur())
+                        .emailAuteur(dto.getEmailAuteur())
+                        .langue(dto.getLangue() != null ? dto.getLangue() : Langue.FR)
+                        .titre(dto.getTitre())
+                        .fichierUrl(medias.getUrl("fichier"))
+                        .fichierPublicId(medias.getPublicId("fichier"))
+                        .tailleFichier(taille)
+                        .nomFichierOriginal(nomFichier)
+                        .rubrique(rubriqueFinale)
+                        .annee(2026)
+                        .statut(StatutEPoster.EN_ATTENTE)
+                        .nombreTelechargements(0)
+                        .nombreVues(0)
+                        .build())
+        );
         logger.info("E-Poster créé avec succès: ID={}, Titre={}", ePoster.getId(), ePoster.getTitre());
 
         // Envoyer email de confirmation
@@ -98,6 +133,13 @@ public class EPosterService {
         return ePoster;
     }
 
+    /**
+     * Vérifie le nom, le type et la taille annoncés à l'ouverture d'une session d'upload reprenable
+     */
+    public void validerUpload(String nomFichier, String contentType, long taille) {
+        validateFile(nomFichier, contentType, taille);
+    }
+
     /**
      * Valide le fichier uploadé
      */
@@ -106,17 +148,20 @@ public class EPosterService {
             throw new IllegalArgumentException("Le fichier est obligatoire");
         }
 
+        validateFile(file.getOriginalFilename(), file.getContentType(), file.getSize());
+        ContentSniffer.verifierPowerPoint(ContentSniffer.lireEntete(file));
+    }
+
+    private void validateFile(String filename, String contentType, long size) {
         // Vérifier la taille
-        if (file.getSize() > MAX_FILE_SIZE) {
+        if (size > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("Le fichier ne doit pas dépasser 50 MB");
         }
 
         // Vérifier le type MIME
-        String contentType = file.getContentType();
         if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
             // Vérifier aussi l'extension
-            String filename = file.getOriginalFilename();
-            if (filename == null) {
+            if (filename == null || !filename.contains(".")) {
                 throw new IllegalArgumentException("Seuls les fichiers PowerPoint (.ppt, .pptx) sont autorisés");
             }
             String extension = filename.substring(filename.lastIndexOf('.')).toLowerCase();
@@ -178,13 +223,9 @@ public class EPosterService {
     public void supprimerEPoster(Long id) {
         EPoster ePoster = getEPosterById(id);
         
-        // Supprimer le fichier de Cloudinary
+        // Supprimer le fichier du stockage (après le commit)
         if (ePoster.getFichierPublicId() != null) {
-            try {
-                cloudinaryService.deleteFile(ePoster.getFichierPublicId());
-            } catch (Exception e) {
-                logger.error("Erreur lors de la suppression du fichier Cloudinary: {}", e.getMessage());
-            }
+            mediaBlobService.liberer(ePoster.getFichierPublicId());
         }
         
         ePosterRepository.delete(ePoster);
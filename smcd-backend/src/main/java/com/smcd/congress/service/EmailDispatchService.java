@@ -0,0 +1,299 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.EmailOutboxDTO;
+import com.smcd.congress.exception.ResourceNotFoundException;
+import com.smcd.congress.model.EmailOutbox;
+import com.smcd.congress.model.enums.StatutEmail;
+import com.smcd.congress.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Envoi des emails de l'outbox (table email_outbox)
+ * Les emails en attente sont lus par pages puis envoyés par lots sur le pool emailSendExecutor :
+ * chaque lot réutilise une seule connexion SMTP (JavaMailSender.send(MimeMessage...)).
+ * Un échec est réessayé avec un délai croissant ; après app.mail.outbox.max-tentatives,
+ * l'email passe en échec définitif et reste consultable (et renvoyable) par les administrateurs
+ */
+@Slf4j
+@Service
+public class EmailDispatchService {
+
+    private static final String SENDER_NAME = "SMCD Congrès";
+
+    // Nombre d'emails lus en base à chaque passage
+    private static final int TAILLE_PAGE = 100;
+
+    private static final Duration DELAI_INITIAL = Duration.ofMinutes(1);
+    private static final Duration DELAI_MAX = Duration.ofHours(6);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    @Qualifier("emailOutboxExecutor")
+    private TaskExecutor emailOutboxExecutor;
+
+    @Autowired
+    @Qualifier("emailSendExecutor")
+    private TaskExecutor emailSendExecutor;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    // Emails envoyés par connexion SMTP
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int tailleLot;
+
+    @Value("${app.mail.outbox.max-tentatives:8}")
+    private int maxTentatives;
+
+    @Value("${app.mail.outbox.retention-days:30}")
+    private int joursConservation;
+
+    // Un seul passage à la fois ; une demande reçue pendant un passage en relance un autre
+    private final AtomicBoolean enCours = new AtomicBoolean(false);
+    private final AtomicBoolean demande = new AtomicBoolean(false);
+
+    /**
+     * Lance un passage en arrière-plan (sans attendre le prochain passage planifié)
+     */
+    public void declencher() {
+        try {
+            emailOutboxExecutor.execute(this::traiter);
+        } catch (TaskRejectedException e) {
+            // Un passage est déjà prévu : il prendra en compte les nouveaux emails
+            demande.set(true);
+        }
+    }
+
+    /**
+     * Passage périodique : emails restés en attente et réessais arrivés à échéance
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.interval-ms:60000}",
+            initialDelayString = "${app.mail.outbox.interval-ms:60000}")
+    public void traiter() {
+        demande.set(true);
+        while (demande.get() && enCours.compareAndSet(false, true)) {
+            try {
+                demande.set(false);
+                traiterEnAttente();
+            } catch (RuntimeException e) {
+                log.error("Erreur lors du traitement de l'outbox des emails: {}", e.getMessage());
+            } finally {
+                enCours.set(false);
+            }
+        }
+    }
+
+    /**
+     * Supprime chaque nuit les emails envoyés depuis plus de app.mail.outbox.retention-days jours
+     */
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 15 4 * * *}")
+    @Transactional
+    public void purgerEnvoyes() {
+        int supprimes = emailOutboxRepository.supprimerEnvoyesAvant(LocalDateTime.now().minusDays(joursConservation));
+        if (supprimes > 0) {
+            log.info("{} email(s) envoyé(s) supprimé(s) de l'outbox", supprimes);
+        }
+    }
+
+    // ============ ADMINISTRATION ============
+
+    public Page<EmailOutboxDTO> getEmails(StatutEmail statut, Pageable pageable) {
+        return emailOutboxRepository.findByStatutOrderByDateCreationDesc(statut, pageable)
+                .map(EmailOutboxDTO::fromEntity);
+    }
+
+    public Map<String, Long> getStatistiques() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (StatutEmail statut : StatutEmail.values()) {
+            stats.put(statut.name(), emailOutboxRepository.countByStatut(statut));
+        }
+        return stats;
+    }
+
+    /**
+     * Remet un email en file d'envoi (après correction de l'adresse ou du serveur SMTP)
+     */
+    public EmailOutboxDTO renvoyer(Long id) {
+        EmailOutbox email = emailOutboxRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Email non trouvé avec l'ID: " + id));
+        if (email.getStatut() == StatutEmail.ENVOYE) {
+            throw new IllegalArgumentException("Cet email a déjà été envoyé");
+        }
+
+        email.setStatut(StatutEmail.EN_ATTENTE);
+        email.setTentatives(0);
+        email.setProchaineTentative(LocalDateTime.now());
+        EmailOutbox saved = emailOutboxRepository.save(email);
+        declencher();
+        return EmailOutboxDTO.fromEntity(saved);
+    }
+
+    public void supprimer(Long id) {
+        if (!emailOutboxRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Email non trouvé avec l'ID: " + id);
+        }
+        emailOutboxRepository.deleteById(id);
+    }
+
+    // ============ ENVOI ============
+
+    private void traiterEnAttente() {
+        List<EmailOutbox> page;
+        do {
+            page = emailOutboxRepository.findAEnvoyer(LocalDateTime.now(), PageRequest.of(0, TAILLE_PAGE));
+
+            // Les lots d'une page sont envoyés en parallèle, chacun sur sa propre connexion SMTP
+            List<CompletableFuture<Void>> envois = new ArrayList<>();
+            for (int i = 0; i < page.size(); i += tailleLot) {
+                List<EmailOutbox> lot = page.subList(i, Math.min(i + tailleLot, page.size()));
+                envois.add(CompletableFuture.runAsync(() -> envoyer(lot), emailSendExecutor));
+            }
+            CompletableFuture.allOf(envois.toArray(new CompletableFuture[0])).join();
+        } while (page.size() == TAILLE_PAGE);
+    }
+
+    /**
+     * Envoie un lot de l'outbox sur une seule connexion SMTP ; les emails en échec sont replanifiés
+     */
+    private void envoyer(List<EmailOutbox> lot) {
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        Map<EmailOutbox, String> echecs = new IdentityHashMap<>();
+
+        for (EmailOutbox email : lot) {
+            try {
+                messages.put(creerMessage(email.getDestinataire(), email.getSujet(), email.getContenu(),
+                        email.getHtml()), email);
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                echecs.put(email, e.getMessage());
+            }
+        }
+
+        envoyerMessages(messages.keySet()).echecs().forEach((message, erreur) -> echecs.put(messages.get(message), erreur));
+
+        LocalDateTime maintenant = LocalDateTime.now();
+        for (EmailOutbox email : lot) {
+            if (echecs.containsKey(email)) {
+                reporter(email, echecs.get(email));
+            } else {
+                email.setStatut(StatutEmail.ENVOYE);
+                email.setDateEnvoi(maintenant);
+                email.setDerniereErreur(null);
+            }
+        }
+        emailOutboxRepository.saveAll(lot);
+
+        int envoyes = lot.size() - echecs.size();
+        if (envoyes > 0) {
+            log.info("{} email(s) envoyé(s)", envoyes);
+        }
+        if (!echecs.isEmpty()) {
+            log.warn("{} email(s) reporté(s): {}", echecs.size(), echecs.values().iterator().next());
+        }
+    }
+
+    /**
+     * Prépare un message avec l'expéditeur du congrès
+     */
+    public MimeMessage creerMessage(String destinataire, String sujet, String contenu, boolean html)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, html, "UTF-8");
+        helper.setFrom(fromEmail, SENDER_NAME);
+        helper.setTo(destinataire);
+        helper.setSubject(sujet);
+        helper.setText(contenu, html);
+        return message;
+    }
+
+    /**
+     * Résultat de l'envoi d'un lot : messages non envoyés avec leur erreur (vide si tout est parti).
+     * echecTransport : aucun message n'a pu partir à cause du serveur SMTP (injoignable, authentification
+     * refusée...), par opposition aux refus propres à certains destinataires
+     */
+    public record ResultatEnvoi(Map<MimeMessage, String> echecs, boolean echecTransport) {
+    }
+
+    /**
+     * Envoie des messages sur une seule connexion SMTP
+     */
+    public ResultatEnvoi envoyerMessages(Collection<MimeMessage> messages) {
+        Map<MimeMessage, String> echecs = new IdentityHashMap<>();
+        if (messages.isEmpty()) {
+            return new ResultatEnvoi(echecs, false);
+        }
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.forEach(message -> echecs.put(message, e.getMessage()));
+                return new ResultatEnvoi(echecs, true);
+            }
+            e.getFailedMessages().forEach((message, erreur) -> {
+                if (message instanceof MimeMessage mime) {
+                    echecs.put(mime, erreur.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            // Authentification refusée, serveur injoignable... : tout le lot est en échec
+            messages.forEach(message -> echecs.put(message, e.getMessage()));
+            return new ResultatEnvoi(echecs, true);
+        }
+        return new ResultatEnvoi(echecs, false);
+    }
+
+    /**
+     * Replanifie un email avec un délai croissant (1 min, 2 min, 4 min... jusqu'à 6 h),
+     * ou le passe en échec définitif après le nombre maximal de tentatives
+     */
+    private void reporter(EmailOutbox email, String erreur) {
+        int tentatives = email.getTentatives() + 1;
+        email.setTentatives(tentatives);
+        email.setDerniereErreur(erreur != null && erreur.length() > 1000 ? erreur.substring(0, 1000) : erreur);
+
+        if (tentatives >= maxTentatives) {
+            email.setStatut(StatutEmail.ECHEC);
+            log.error("Email {} à {} abandonné après {} tentatives: {}", email.getId(), email.getDestinataire(),
+                    tentatives, erreur);
+            return;
+        }
+
+        Duration delai = DELAI_INITIAL.multipliedBy(1L << Math.min(tentatives - 1, 20));
+        if (delai.compareTo(DELAI_MAX) > 0) {
+            delai = DELAI_MAX;
+        }
+        email.setProchaineTentative(LocalDateTime.now().plus(delai));
+    }
+}
@@ -0,0 +1,278 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.enums.Langue;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Modèle d'email compilé : le texte est découpé une seule fois en segments
+ * (texte fixe, variables, sections conditionnelles), le rendu ne fait que les concaténer
+ *
+ * Syntaxe :
+ * - {{nom}} : valeur échappée pour le HTML (texte brut dans un modèle .txt)
+ * - {{nom|type}} : texte, multiligne (retours à la ligne en &lt;br&gt;), date, url ou html (inséré sans échappement)
+ * - {{#nom}}...{{/nom}} : bloc rendu si la valeur est renseignée (non nulle, non vide, différente de false)
+ * - {{^nom}}...{{/nom}} : bloc rendu si la valeur n'est pas renseignée
+ * Toute variable du modèle doit être fournie au rendu (éventuellement null)
+ */
+public final class EmailTemplate {
+
+    /**
+     * Types des variables
+     */
+    public enum TypeVariable { TEXTE, MULTILIGNE, DATE, URL, HTML }
+
+    private static final DateTimeFormatter DATE_FR = DateTimeFormatter.ofPattern("dd/MM/yyyy 'à' HH:mm", Locale.FRENCH);
+    private static final DateTimeFormatter DATE_EN = DateTimeFormatter.ofPattern("dd/MM/yyyy 'at' HH:mm", Locale.ENGLISH);
+
+    private final String nom;
+    private final Langue langue;
+    private final boolean html;
+    private final Segment[] sujet;
+    private final Segment[] corps;
+    private final int tailleEstimee;
+
+    private EmailTemplate(String nom, Langue langue, boolean html, Segment[] sujet, Segment[] corps, int tailleEstimee) {
+        this.nom = nom;
+        this.langue = langue;
+        this.html = html;
+        this.sujet = sujet;
+        this.corps = corps;
+        this.tailleEstimee = tailleEstimee;
+    }
+
+    /**
+     * Compile un modèle : la première ligne "sujet: ..." donne le sujet, la suite le corps
+     *
+     * @throws IllegalArgumentException si le modèle est mal formé
+     */
+    public static EmailTemplate compiler(String nom, Langue langue, boolean html, String source) {
+        int finLigne = source.indexOf('\n');
+        if (!source.startsWith("sujet:") || finLigne < 0) {
+            throw new IllegalArgumentException("Modèle " + nom + ": la première ligne doit être \"sujet: ...\"");
+        }
+        String sujet = source.substring("sujet:".length(), finLigne).trim();
+        String corps = source.substring(finLigne + 1);
+        return new EmailTemplate(nom, langue, html, analyser(nom, sujet), analyser(nom, corps), corps.length());
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public Langue getLangue() {
+        return langue;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public int getTailleEstimee() {
+        return tailleEstimee;
+    }
+
+    /**
+     * Écrit le sujet (jamais échappé : c'est un en-tête en texte brut)
+     */
+    public void rendreSujet(Map<String, ?> variables, StringBuilder sortie) {
+        rendre(sujet, variables, false, sortie);
+    }
+
+    /**
+     * Écrit le corps dans le tampon fourni
+     */
+    public void rendreCorps(Map<String, ?> variables, StringBuilder sortie) {
+        rendre(corps, variables, html, sortie);
+    }
+
+    // ============ RENDU ============
+
+    private void rendre(Segment[] segments, Map<String, ?> variables, boolean echapper, StringBuilder sortie) {
+        for (Segment segment : segments) {
+            if (segment instanceof Texte texte) {
+                sortie.append(texte.valeur);
+            } else if (segment instanceof Variable variable) {
+                ecrire(variable, valeur(variables, variable.nom), echapper, sortie);
+            } else if (segment instanceof Section section) {
+                if (renseignee(valeur(variables, section.nom)) != section.inverse) {
+                    rendre(section.contenu, variables, echapper, sortie);
+                }
+            }
+        }
+    }
+
+    private Object valeur(Map<String, ?> variables, String variable) {
+        Object valeur = variables.get(variable);
+        if (valeur == null && !variables.containsKey(variable)) {
+            throw new IllegalArgumentException("Modèle " + nom + ": variable manquante \"" + variable + "\"");
+        }
+        return valeur;
+    }
+
+    private void ecrire(Variable variable, Object valeur, boolean echapper, StringBuilder sortie) {
+        switch (variable.type) {
+            case HTML -> {
+                if (valeur != null) sortie.append(valeur);
+            }
+            case DATE -> {
+                if (valeur instanceof TemporalAccessor date) {
+                    (langue == Langue.EN ? DATE_EN : DATE_FR).formatTo(date, sortie);
+                } else {
+                    sortie.append("N/A");
+                }
+            }
+            case URL -> {
+                String url = valeur != null ? valeur.toString() : "";
+                // Seuls les liens web et mailto sont acceptés dans un attribut href
+                if (!url.startsWith("https://") && !url.startsWith("http://") && !url.startsWith("mailto:")) {
+                    url = "#";
+                }
+                echapper(url, echapper, false, sortie);
+            }
+            case MULTILIGNE -> echapper(valeur != null ? valeur.toString() : "", echapper, true, sortie);
+            case TEXTE -> echapper(valeur != null ? valeur.toString() : "", echapper, false, sortie);
+        }
+    }
+
+    /**
+     * Échappement HTML écrit caractère par caractère dans le tampon (sans chaîne intermédiaire)
+     */
+    private static void echapper(String valeur, boolean echapper, boolean multiligne, StringBuilder sortie) {
+        if (!echapper) {
+            sortie.append(valeur);
+            return;
+        }
+        int debut = 0;
+        for (int i = 0; i < valeur.length(); i++) {
+            String remplacement = switch (valeur.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                case '\n' -> multiligne ? "<br>\n" : null;
+                default -> null;
+            };
+            if (remplacement != null) {
+                sortie.append(valeur, debut, i).append(remplacement);
+                debut = i + 1;
+            }
+        }
+        sortie.append(valeur, debut, valeur.length());
+    }
+
+    private static boolean renseignee(Object valeur) {
+        if (valeur == null || Boolean.FALSE.equals(valeur)) return false;
+        if (valeur instanceof CharSequence texte) return !texte.toString().isBlank();
+        if (valeur instanceof Collection<?> collection) return !collection.isEmpty();
+        return true;
+    }
+
+    // ============ COMPILATION ============
+
+    private static Segment[] analyser(String nom, String source) {
+        Deque<Section> ouvertes = new ArrayDeque<>();
+        Deque<List<Segment>> niveaux = new ArrayDeque<>();
+        niveaux.push(new ArrayList<>());
+
+        int position = 0;
+        while (position < source.length()) {
+            int debut = source.indexOf("{{", position);
+            if (debut < 0) {
+                niveaux.peek().add(new Texte(source.substring(position)));
+                break;
+            }
+            if (debut > position) {
+                niveaux.peek().add(new Texte(source.substring(position, debut)));
+            }
+            int fin = source.indexOf("}}", debut + 2);
+            if (fin < 0) {
+                throw new IllegalArgumentException("Modèle " + nom + ": balise non fermée à la position " + debut);
+            }
+            String balise = source.substring(debut + 2, fin).trim();
+            position = fin + 2;
+
+            if (balise.startsWith("#") || balise.startsWith("^")) {
+                Section section = new Section(nomValide(nom, balise.substring(1).trim()), balise.startsWith("^"));
+                niveaux.peek().add(section);
+                ouvertes.push(section);
+                niveaux.push(new ArrayList<>());
+            } else if (balise.startsWith("/")) {
+                String fermee = balise.substring(1).trim();
+                if (ouvertes.isEmpty() || !ouvertes.peek().nom.equals(fermee)) {
+                    throw new IllegalArgumentException("Modèle " + nom + ": fermeture inattendue {{/" + fermee + "}}");
+                }
+                ouvertes.pop().contenu = fusionner(niveaux.pop());
+            } else {
+                int separateur = balise.indexOf('|');
+                String variable = separateur < 0 ? balise : balise.substring(0, separateur).trim();
+                TypeVariable type = TypeVariable.TEXTE;
+                if (separateur >= 0) {
+                    String typeNom = balise.substring(separateur + 1).trim().toUpperCase(Locale.ROOT);
+                    try {
+                        type = TypeVariable.valueOf(typeNom);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Modèle " + nom + ": type inconnu \"" + typeNom + "\"");
+                    }
+                }
+                niveaux.peek().add(new Variable(nomValide(nom, variable), type));
+            }
+        }
+        if (!ouvertes.isEmpty()) {
+            throw new IllegalArgumentException("Modèle " + nom + ": section non fermée {{#" + ouvertes.peek().nom + "}}");
+        }
+        return fusionner(niveaux.pop());
+    }
+
+    private static String nomValide(String modele, String variable) {
+        if (variable.isEmpty() || !variable.chars().allMatch(Character::isLetterOrDigit)) {
+            throw new IllegalArgumentException("Modèle " + modele + ": nom de variable invalide \"" + variable + "\"");
+        }
+        return variable;
+    }
+
+    /**
+     * Regroupe les textes consécutifs (une seule copie par bloc de texte fixe au rendu)
+     */
+    private static Segment[] fusionner(List<Segment> segments) {
+        List<Segment> resultat = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment instanceof Texte texte && !resultat.isEmpty()
+                    && resultat.get(resultat.size() - 1) instanceof Texte precedent) {
+                resultat.set(resultat.size() - 1, new Texte(precedent.valeur + texte.valeur));
+            } else {
+                resultat.add(segment);
+            }
+        }
+        return resultat.toArray(new Segment[0]);
+    }
+
+    private interface Segment {
+    }
+
+    private record Texte(String valeur) implements Segment {
+    }
+
+    private record Variable(String nom, TypeVariable type) implements Segment {
+    }
+
+    private static final class Section implements Segment {
+        private final String nom;
+        private final boolean inverse;
+        private Segment[] contenu = new Segment[0];
+
+        private Section(String nom, boolean inverse) {
+            this.nom = nom;
+            this.inverse = inverse;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.enums.Langue;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Modèles des emails (src/main/resources/templates/email/{nom}.{fr|en}.{html|txt})
+ * Les modèles sont lus et compilés au démarrage : un modèle mal formé empêche le démarrage.
+ * Le rendu écrit dans un tampon réutilisé par thread (pas de String.format ni de chaînes intermédiaires)
+ */
+@Service
+public class EmailTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateEngine.class);
+
+    private static final String EMPLACEMENT = "classpath*:templates/email/*.*";
+
+    // Un tampon plus grand n'est pas conservé après le rendu
+    private static final int TAMPON_MAX = 256 * 1024;
+
+    private final Map<String, EmailTemplate> modeles = new HashMap<>();
+
+    private final ThreadLocal<StringBuilder> tampon = ThreadLocal.withInitial(() -> new StringBuilder(16 * 1024));
+
+    /**
+     * Email rendu, prêt à être mis en file d'envoi
+     */
+    public record EmailRendu(String sujet, String corps, boolean html) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Resource[] fichiers = new PathMatchingResourcePatternResolver().getResources(EMPLACEMENT);
+        for (Resource fichier : fichiers) {
+            String[] parties = fichier.getFilename() != null ? fichier.getFilename().split("\\.") : new String[0];
+            if (parties.length != 3) {
+                throw new IllegalStateException("Nom de modèle d'email invalide: " + fichier.getFilename()
+                        + " (attendu: nom.fr.html, nom.en.txt...)");
+            }
+            Langue langue = Langue.valueOf(parties[1].toUpperCase(Locale.ROOT));
+            boolean html = parties[2].equals("html");
+
+            String source;
+            try (InputStream input = fichier.getInputStream()) {
+                source = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            modeles.put(cle(parties[0], langue), EmailTemplate.compiler(parties[0], langue, html, source));
+        }
+        logger.info("{} modèle(s) d'email compilé(s)", modeles.size());
+    }
+
+    /**
+     * Rend un modèle dans la langue demandée (français si le modèle n'existe pas dans cette langue)
+     */
+    public EmailRendu rendre(String nom, Langue langue, Map<String, ?> variables) {
+        EmailTemplate modele = getModele(nom, langue);
+        StringBuilder sortie = tampon.get();
+        try {
+            sortie.setLength(0);
+            modele.rendreSujet(variables, sortie);
+            String sujet = sortie.toString();
+
+            sortie.setLength(0);
+            sortie.ensureCapacity(modele.getTailleEstimee() + 1024);
+            modele.rendreCorps(variables, sortie);
+            return new EmailRendu(sujet, sortie.toString(), modele.isHtml());
+        } finally {
+            if (sortie.capacity() > TAMPON_MAX) {
+                tampon.remove();
+            }
+        }
+    }
+
+    /**
+     * Écrit le corps d'un modèle dans un tampon fourni par l'appelant
+     */
+    public void rendreCorps(String nom, Langue langue, Map<String, ?> variables, StringBuilder sortie) {
+        getModele(nom, langue).rendreCorps(variables, sortie);
+    }
+
+    /**
+     * Variables d'un rendu à partir de paires clé / valeur (les valeurs null sont acceptées)
+     */
+    public static Map<String, Object> variables(Object... clesValeurs) {
+        if (clesValeurs.length % 2 != 0) {
+            throw new IllegalArgumentException("Les variables doivent être des paires clé / valeur");
+        }
+        Map<String, Object> variables = new HashMap<>(clesValeurs.length);
+        for (int i = 0; i < clesValeurs.length; i += 2) {
+            variables.put((String) clesValeurs[i], clesValeurs[i + 1]);
+        }
+        return variables;
+    }
+
+    private EmailTemplate getModele(String nom, Langue langue) {
+        EmailTemplate modele = modeles.get(cle(nom, langue != null ? langue : Langue.FR));
+        if (modele == null) {
+            modele = modeles.get(cle(nom, Langue.FR));
+        }
+        if (modele == null) {
+            throw new IllegalArgumentException("Modèle d'email inconnu: " + nom);
+        }
+        return modele;
+    }
+
+    private static String cle(String nom, Langue langue) {
+        return nom + "." + langue.name().toLowerCase(Locale.ROOT);
+    }
+}
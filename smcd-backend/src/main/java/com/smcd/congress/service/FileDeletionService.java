@@ -0,0 +1,230 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.FileDeletion;
+import com.smcd.congress.repository.FileDeletionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Suppression des fichiers du stockage via une outbox (table file_deletion_outbox)
+ * Les suppressions sont enregistrées dans la transaction qui supprime l'entité, puis envoyées
+ * après le commit par lots de 100 publicIds (un seul appel au stockage par lot).
+ * Un échec est réessayé avec un délai croissant : aucun fichier n'est oublié sur le stockage
+ */
+@Slf4j
+@Service
+public class FileDeletionService {
+
+    // Nombre maximal de publicIds par appel de suppression groupée (limite de l'API Cloudinary)
+    private static final int TAILLE_LOT = 100;
+
+    // Nombre de suppressions lues en base à chaque passage
+    private static final int TAILLE_PAGE = 500;
+
+    // Type de ressource d'un fichier antérieur à la déduplication (non enregistré) : chaque type est essayé
+    public static final String TYPE_INCONNU = "inconnu";
+    private static final List<String> TYPES = List.of("image", "raw", "video");
+
+    private static final Duration DELAI_INITIAL = Duration.ofMinutes(1);
+    private static final Duration DELAI_MAX = Duration.ofHours(6);
+
+    @Autowired
+    private FileDeletionRepository fileDeletionRepository;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    @Qualifier("fileDeletionExecutor")
+    private TaskExecutor fileDeletionExecutor;
+
+    @Value("${app.storage.deletion.alerte-tentatives:10}")
+    private int alerteTentatives;
+
+    // Un seul passage à la fois ; une demande reçue pendant un passage en relance un autre
+    private final AtomicBoolean enCours = new AtomicBoolean(false);
+    private final AtomicBoolean demande = new AtomicBoolean(false);
+
+    /**
+     * Enregistre la suppression d'un fichier dans la transaction courante (ou dans une nouvelle)
+     * Le fichier est supprimé du stockage après le commit ; rien n'est supprimé si la transaction est annulée
+     *
+     * @param resourceType Type de ressource enregistré à l'upload, null s'il n'est pas connu
+     */
+    @Transactional
+    public void planifier(String publicId, String resourceType) {
+        if (publicId == null || publicId.isEmpty()) return;
+
+        fileDeletionRepository.save(FileDeletion.builder()
+                .publicId(publicId)
+                .resourceType(resourceType != null ? resourceType : TYPE_INCONNU)
+                .prochaineTentative(LocalDateTime.now())
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                declencher();
+            }
+        });
+    }
+
+    /**
+     * Enregistre la suppression de plusieurs fichiers du même type dans une seule transaction
+     */
+    @Transactional
+    public void planifierTous(Collection<String> publicIds, String resourceType) {
+        LocalDateTime maintenant = LocalDateTime.now();
+        fileDeletionRepository.saveAll(publicIds.stream()
+                .map(publicId -> FileDeletion.builder()
+                        .publicId(publicId)
+                        .resourceType(resourceType)
+                        .prochaineTentative(maintenant)
+                        .build())
+                .toList());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                declencher();
+            }
+        });
+    }
+
+    /**
+     * Lance un passage en arrière-plan (sans attendre le prochain passage planifié)
+     */
+    public void declencher() {
+        try {
+            fileDeletionExecutor.execute(this::traiter);
+        } catch (TaskRejectedException e) {
+            // Un passage est déjà prévu : il prendra en compte les nouvelles suppressions
+            demande.set(true);
+        }
+    }
+
+    /**
+     * Passage périodique : suppressions restées en attente et réessais arrivés à échéance
+     */
+    @Scheduled(fixedDelayString = "${app.storage.deletion.interval-ms:60000}",
+            initialDelayString = "${app.storage.deletion.interval-ms:60000}")
+    public void traiter() {
+        demande.set(true);
+        while (demande.get() && enCours.compareAndSet(false, true)) {
+            try {
+                demande.set(false);
+                traiterEnAttente();
+            } catch (RuntimeException e) {
+                log.error("Erreur lors du traitement des suppressions de fichiers: {}", e.getMessage());
+            } finally {
+                enCours.set(false);
+            }
+        }
+    }
+
+    private void traiterEnAttente() {
+        List<FileDeletion> page;
+        do {
+            page = fileDeletionRepository.findAPlanifier(LocalDateTime.now(), PageRequest.of(0, TAILLE_PAGE));
+
+            Map<String, List<FileDeletion>> parType = page.stream()
+                    .collect(Collectors.groupingBy(FileDeletion::getResourceType, LinkedHashMap::new, Collectors.toList()));
+
+            parType.forEach((resourceType, suppressions) -> {
+                for (int i = 0; i < suppressions.size(); i += TAILLE_LOT) {
+                    envoyer(resourceType, suppressions.subList(i, Math.min(i + TAILLE_LOT, suppressions.size())));
+                }
+            });
+        } while (page.size() == TAILLE_PAGE);
+    }
+
+    /**
+     * Supprime un lot de fichiers en un seul appel par type essayé ; les fichiers non confirmés sont replanifiés
+     * Un fichier absent n'est considéré comme supprimé que pour son type connu, ou s'il est absent sous tous les types
+     */
+    private void envoyer(String resourceType, List<FileDeletion> lot) {
+        List<FileDeletion> restants = lot;
+        List<FileDeletion> terminees = new ArrayList<>();
+        List<FileDeletion> echecs = new ArrayList<>();
+
+        for (String type : TYPE_INCONNU.equals(resourceType) ? TYPES : List.of(resourceType)) {
+            if (restants.isEmpty()) break;
+            Set<String> publicIds = restants.stream().map(FileDeletion::getPublicId).collect(Collectors.toSet());
+
+            Map<String, String> statuts;
+            try {
+                statuts = storageBackend.deleteFiles(publicIds, type);
+            } catch (IOException | RuntimeException e) {
+                restants.forEach(suppression -> echecs.add(reporter(suppression, e.getMessage())));
+                restants = List.of();
+                break;
+            }
+
+            List<FileDeletion> absents = new ArrayList<>();
+            for (FileDeletion suppression : restants) {
+                String statut = statuts.get(suppression.getPublicId());
+                if (StorageBackend.SUPPRIME.equals(statut)) {
+                    terminees.add(suppression);
+                } else if (StorageBackend.NON_TROUVE.equals(statut)) {
+                    absents.add(suppression);
+                } else {
+                    echecs.add(reporter(suppression, "Suppression non confirmée par le stockage"
+                            + (statut != null ? " (" + statut + ")" : "")));
+                }
+            }
+            restants = absents;
+        }
+        // Absents sous le type connu, ou sous tous les types essayés : plus rien à supprimer
+        terminees.addAll(restants);
+
+        if (!terminees.isEmpty()) {
+            fileDeletionRepository.deleteAllInBatch(terminees);
+        }
+        if (!echecs.isEmpty()) {
+            fileDeletionRepository.saveAll(echecs);
+            log.warn("{} suppression(s) de fichiers {} reportée(s): {}", echecs.size(), resourceType, echecs.get(0).getDerniereErreur());
+        }
+    }
+
+    /**
+     * Replanifie une suppression avec un délai croissant (1 min, 2 min, 4 min... jusqu'à 6 h)
+     */
+    private FileDeletion reporter(FileDeletion suppression, String erreur) {
+        int tentatives = suppression.getTentatives() + 1;
+        Duration delai = DELAI_INITIAL.multipliedBy(1L << Math.min(tentatives - 1, 20));
+        if (delai.compareTo(DELAI_MAX) > 0) {
+            delai = DELAI_MAX;
+        }
+
+        suppression.setTentatives(tentatives);
+        suppression.setProchaineTentative(LocalDateTime.now().plus(delai));
+        suppression.setDerniereErreur(erreur != null && erreur.length() > 1000 ? erreur.substring(0, 1000) : erreur);
+
+        if (tentatives == alerteTentatives) {
+            log.error("Le fichier {} n'a pas pu être supprimé après {} tentatives", suppression.getPublicId(), tentatives);
+        }
+        return suppression;
+    }
+}
@@ -0,0 +1,94 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.enums.StatutIngestion;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tâche d'ingestion d'un média (upload Cloudinary puis enregistrement en base)
+ * L'état est mis à jour par le worker et lu par l'endpoint de suivi.
+ * Les octets du fichier principal (callback du stockage, thread de l'upload) et ceux des fichiers annexes
+ * (miniature envoyée en parallèle) sont comptés séparément : la progression est leur somme
+ */
+@Getter
+public class IngestJob implements StorageBackend.ProgressListener {
+
+    private final String id;
+    private final String type;
+    private final long tailleTotale;
+    private final LocalDateTime dateCreation = LocalDateTime.now();
+
+    private volatile StatutIngestion statut = StatutIngestion.EN_ATTENTE;
+    private volatile String etape = "En file d'attente";
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong octetsPrincipal = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong octetsAnnexes = new AtomicLong();
+    private volatile Long entityId;
+    private volatile String message;
+    private volatile LocalDateTime dateFin;
+
+    public IngestJob(String id, String type, long tailleTotale) {
+        this.id = id;
+        this.type = type;
+        this.tailleTotale = tailleTotale;
+    }
+
+    /**
+     * Progression en pourcentage (0 à 100)
+     */
+    public int getProgression() {
+        if (statut == StatutIngestion.TERMINE) return 100;
+        if (tailleTotale <= 0) return 0;
+        // 99 au maximum tant que l'entité n'est pas enregistrée
+        return (int) Math.min(99, getOctetsEnvoyes() * 100 / tailleTotale);
+    }
+
+    public long getOctetsEnvoyes() {
+        return octetsPrincipal.get() + octetsAnnexes.get();
+    }
+
+    public void demarrer() {
+        this.statut = StatutIngestion.EN_COURS;
+    }
+
+    public void etape(String etape) {
+        this.etape = etape;
+    }
+
+    /**
+     * Ajoute des octets envoyés hors callback Cloudinary (ex: miniature)
+     */
+    public void ajouterOctets(long octets) {
+        octetsAnnexes.addAndGet(octets);
+    }
+
+    /**
+     * Octets du fichier principal déjà envoyés (la progression ne recule jamais)
+     */
+    @Override
+    public void onProgress(long bytesUploaded, long totalBytes) {
+        octetsPrincipal.accumulateAndGet(bytesUploaded, Math::max);
+    }
+
+    // Le statut est écrit en dernier : une tâche vue comme finie (purge, suivi) a déjà sa date de fin
+    public void terminer(Long entityId) {
+        this.entityId = entityId;
+        this.etape = "Terminé";
+        this.dateFin = LocalDateTime.now();
+        this.statut = StatutIngestion.TERMINE;
+    }
+
+    public void echouer(String message) {
+        this.message = message;
+        this.dateFin = LocalDateTime.now();
+        this.statut = StatutIngestion.ECHEC;
+    }
+
+    public boolean isFini() {
+        return statut == StatutIngestion.TERMINE || statut == StatutIngestion.ECHEC;
+    }
+}
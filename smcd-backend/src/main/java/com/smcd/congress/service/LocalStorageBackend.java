@@ -0,0 +1,411 @@
+package com.smcd.congress.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stockage des fichiers sur le disque local (app.storage.backend=local)
+ * Permet de tester les uploads sans Cloudinary et d'héberger les médias sur nos propres disques.
+ * L'écriture utilise FileChannel.transferFrom, la lecture est servie par FileController
+ * (sendfile de Tomcat ou FileChannel.transferTo)
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageBackend.class);
+
+    // Préfixe des URLs publiques servies par FileController
+    public static final String URL_PREFIX = "/api/files/";
+
+    // Taille maximale d'un appel à transferFrom (permet de suivre la progression)
+    private static final long TRANSFER_CHUNK = 8 * 1024 * 1024;
+
+    // Extensions conservées dans les identifiants et type MIME servi pour chacune ;
+    // toute autre extension (.html, .svg, .js...) est retirée et le fichier est servi en application/octet-stream
+    private static final Map<String, String> TYPES_MIME = Map.ofEntries(
+            Map.entry(".jpg", "image/jpeg"),
+            Map.entry(".jpeg", "image/jpeg"),
+            Map.entry(".png", "image/png"),
+            Map.entry(".gif", "image/gif"),
+            Map.entry(".webp", "image/webp"),
+            Map.entry(".mp4", "video/mp4"),
+            Map.entry(".m4v", "video/mp4"),
+            Map.entry(".mov", "video/quicktime"),
+            Map.entry(".webm", "video/webm"),
+            Map.entry(".mkv", "video/x-matroska"),
+            Map.entry(".avi", "video/x-msvideo"),
+            Map.entry(".wmv", "video/x-ms-wmv"),
+            Map.entry(".pdf", "application/pdf"),
+            Map.entry(".ppt", "application/vnd.ms-powerpoint"),
+            Map.entry(".pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation"),
+            Map.entry(".doc", "application/msword"),
+            Map.entry(".docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+            Map.entry(".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+
+    private static final String TYPE_PAR_DEFAUT = "application/octet-stream";
+
+    // Nom des fichiers dont l'identifiant est généré par newPublicId
+    private static final Pattern NOM_GENERE =
+            Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    @Value("${app.storage.local.root:./storage}")
+    private String rootDir;
+
+    @Value("${app.storage.local.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        logger.info("Stockage local des médias: {}", root);
+    }
+
+    @Override
+    public Map<String, String> uploadFile(MultipartFile file, String folder) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être vide");
+        }
+        return store(file.getInputStream(), file.getSize(), file.getOriginalFilename(), folder,
+                resourceType(file.getContentType()), null);
+    }
+
+    @Override
+    public Map<String, String> uploadFile(Path path, String folder) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être vide ou inexistant");
+        }
+        return store(path, folder, resourceType(contentType(path.getFileName().toString())), null);
+    }
+
+    @Override
+    public Map<String, String> uploadRawFile(MultipartFile file, String folder) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être vide");
+        }
+        return store(file.getInputStream(), file.getSize(), file.getOriginalFilename(), folder, "raw", null);
+    }
+
+    @Override
+    public String uploadFileWithName(File file, String folder, String publicId) throws IOException {
+        if (file == null || !file.exists()) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être vide ou inexistant");
+        }
+
+        String id = "smcd-congress/" + folder + "/" + publicId + extensionAutorisee(file.getName(), "raw");
+        try (FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            write(source, source.size(), resolve(id), null);
+        }
+
+        logger.info("Fichier stocké avec nom personnalisé: {}", id);
+        return resolveUrl(id, "raw");
+    }
+
+    @Override
+    public Map<String, String> uploadVideo(MultipartFile file, String folder) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Le fichier vidéo ne peut pas être vide");
+        }
+        return store(file.getInputStream(), file.getSize(), file.getOriginalFilename(), folder, "video", null);
+    }
+
+    @Override
+    public Map<String, String> uploadVideo(Path path, String folder, ProgressListener progressListener) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            throw new IllegalArgumentException("Le fichier vidéo ne peut pas être vide ou inexistant");
+        }
+        return store(path, folder, "video", progressListener);
+    }
+
+    @Override
+    public boolean deleteFile(String publicId) {
+        return deleteFile(publicId, null);
+    }
+
+    @Override
+    public boolean deleteFile(String publicId, String resourceType) {
+        if (publicId == null || publicId.isEmpty()) {
+            throw new IllegalArgumentException("Le publicId ne peut pas être vide");
+        }
+
+        try {
+            boolean success = Files.deleteIfExists(resolve(publicId));
+            if (success) {
+                logger.info("Fichier supprimé avec succès: {}", publicId);
+            } else {
+                logger.warn("Fichier introuvable lors de la suppression: {}", publicId);
+            }
+            return success;
+        } catch (IOException e) {
+            logger.error("Erreur lors de la suppression du fichier: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteVideo(String publicId) {
+        if (publicId == null || publicId.isEmpty()) {
+            return false;
+        }
+        return deleteFile(publicId, "video");
+    }
+
+    @Override
+    public Map<String, String> deleteFiles(Collection<String> publicIds, String resourceType) throws IOException {
+        // Un seul espace de noms sur disque : un fichier absent l'est quel que soit le type demandé
+        Map<String, String> statuts = new HashMap<>();
+        for (String publicId : publicIds) {
+            boolean supprime = false;
+            try {
+                supprime = Files.deleteIfExists(resolve(publicId));
+            } catch (IllegalArgumentException e) {
+                // Identifiant hors du répertoire de stockage : rien à supprimer
+                logger.warn(e.getMessage());
+            }
+            statuts.put(publicId, supprime ? SUPPRIME : NON_TROUVE);
+        }
+        logger.info("Suppression groupée: {} fichiers", statuts.size());
+        return statuts;
+    }
+
+    /**
+     * Pas d'envoi direct vers le disque local : les fichiers passent par les sessions d'upload
+     */
+    @Override
+    public Optional<SignedUpload> signUpload(String publicId, String resourceType, Collection<String> formats,
+                                             long timestamp) {
+        return Optional.empty();
+    }
+
+    @Override
+    public byte[] readHead(String publicId, String resourceType, int taille) throws IOException {
+        try (InputStream input = Files.newInputStream(resolve(publicId))) {
+            return input.readNBytes(taille);
+        }
+    }
+
+    @Override
+    public boolean verifyUploadSignature(String publicId, String version, String signature) {
+        return false;
+    }
+
+    @Override
+    public String resolveUrl(String publicId, String resourceType) {
+        return baseUrl + URL_PREFIX + publicId;
+    }
+
+    @Override
+    public String extractPublicIdFromUrl(String url) {
+        if (url == null || url.isEmpty()) {
+            return null;
+        }
+        int index = url.indexOf(URL_PREFIX);
+        return index >= 0 ? url.substring(index + URL_PREFIX.length()) : null;
+    }
+
+    @Override
+    public Optional<StoredFileMetadata> getMetadata(String publicId, String resourceType) {
+        try {
+            Path path = resolve(publicId);
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            String extension = extension(publicId);
+            return Optional.of(StoredFileMetadata.builder()
+                    .publicId(publicId)
+                    .resourceType(resourceType != null ? resourceType : resourceType(contentType(publicId)))
+                    .format(extension.isEmpty() ? null : extension.substring(1))
+                    .taille(Files.size(path))
+                    .dateCreation(Files.getLastModifiedTime(path).toInstant())
+                    .build());
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Erreur lors de la lecture des métadonnées de {}: {}", publicId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Liste les fichiers du répertoire correspondant au préfixe (une seule page)
+     */
+    @Override
+    public StoredFilePage listFiles(String prefix, String resourceType, String cursor) throws IOException {
+        Path dossier = root.resolve(prefix).normalize();
+        if (!dossier.startsWith(root)) {
+            throw new IllegalArgumentException("Préfixe invalide: " + prefix);
+        }
+
+        List<StoredFileMetadata> fichiers = new ArrayList<>();
+        if (cursor == null && Files.isDirectory(dossier)) {
+            try (Stream<Path> chemins = Files.walk(dossier)) {
+                for (Path path : (Iterable<Path>) chemins.filter(Files::isRegularFile)::iterator) {
+                    String publicId = root.relativize(path).toString().replace(File.separatorChar, '/');
+                    // Fichiers temporaires d'un upload en cours
+                    if (publicId.endsWith(".tmp")) continue;
+                    String type = resourceType(contentType(publicId));
+                    if (resourceType != null && !resourceType.equals(type)) continue;
+
+                    String extension = extension(publicId);
+                    fichiers.add(StoredFileMetadata.builder()
+                            .publicId(publicId)
+                            .resourceType(type)
+                            .format(extension.isEmpty() ? null : extension.substring(1))
+                            .taille(Files.size(path))
+                            .dateCreation(Files.getLastModifiedTime(path).toInstant())
+                            .build());
+                }
+            }
+        }
+        return StoredFilePage.builder().fichiers(fichiers).build();
+    }
+
+    /**
+     * Chemin du fichier correspondant à un publicId (refuse toute sortie du répertoire racine)
+     */
+    public Path resolve(String publicId) {
+        Path path = root.resolve(publicId).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Identifiant de fichier invalide: " + publicId);
+        }
+        return path;
+    }
+
+    private Map<String, String> store(InputStream input, long size, String filename, String folder,
+                                      String resourceType, ProgressListener progressListener) throws IOException {
+        String publicId = newPublicId(folder, filename, resourceType);
+        try (ReadableByteChannel source = Channels.newChannel(input)) {
+            write(source, size, resolve(publicId), progressListener);
+        }
+        return result(publicId, resourceType, filename);
+    }
+
+    private Map<String, String> store(Path path, String folder, String resourceType,
+                                      ProgressListener progressListener) throws IOException {
+        String filename = path.getFileName().toString();
+        String publicId = newPublicId(folder, filename, resourceType);
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+            write(source, source.size(), resolve(publicId), progressListener);
+        }
+        return result(publicId, resourceType, filename);
+    }
+
+    /**
+     * Recopie le flux dans un fichier temporaire via transferFrom, puis le renomme atomiquement
+     * (un fichier partiel n'est jamais visible sous son nom définitif)
+     */
+    private void write(ReadableByteChannel source, long size, Path target,
+                       ProgressListener progressListener) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long position = 0;
+                while (position < size) {
+                    long transferes = channel.transferFrom(source, position, Math.min(TRANSFER_CHUNK, size - position));
+                    if (transferes <= 0) {
+                        break;
+                    }
+                    position += transferes;
+                    if (progressListener != null) {
+                        progressListener.onProgress(position, size);
+                    }
+                }
+                if (position != size) {
+                    throw new IOException("Fichier incomplet: " + position + " octets reçus sur " + size);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Map<String, String> result(String publicId, String resourceType, String filename) {
+        logger.info("Fichier stocké avec succès: {} -> {}", filename, publicId);
+
+        Map<String, String> result = new HashMap<>();
+        result.put("url", resolveUrl(publicId, resourceType));
+        result.put("publicId", publicId);
+        result.put("resourceType", resourceType);
+        return result;
+    }
+
+    /**
+     * Type MIME servi pour un fichier, déduit de son extension (liste blanche)
+     */
+    public String contentType(String publicId) {
+        return TYPES_MIME.getOrDefault(extension(publicId), TYPE_PAR_DEFAUT);
+    }
+
+    /**
+     * Vrai si l'identifiant a été généré au stockage (nom aléatoire, contenu jamais remplacé) ;
+     * faux pour un identifiant choisi par l'appelant (uploadFileWithName), réécrit à chaque génération
+     */
+    public boolean identifiantGenere(String publicId) {
+        String nom = publicId.substring(publicId.lastIndexOf('/') + 1);
+        int point = nom.indexOf('.');
+        return NOM_GENERE.matcher(point >= 0 ? nom.substring(0, point) : nom).matches();
+    }
+
+    private String newPublicId(String folder, String filename, String resourceType) {
+        return "smcd-congress/" + folder + "/" + UUID.randomUUID() + extensionAutorisee(filename, resourceType);
+    }
+
+    /**
+     * Extension du nom d'origine si elle est dans la liste blanche et cohérente avec le type de ressource
+     * (une image ne garde qu'une extension d'image, une vidéo qu'une extension de vidéo), sinon aucune
+     */
+    private String extensionAutorisee(String filename, String resourceType) {
+        String extension = extension(filename);
+        String type = TYPES_MIME.get(extension);
+        if (type == null) return "";
+        if ("image".equals(resourceType) && !type.startsWith("image/")) return "";
+        if ("video".equals(resourceType) && !type.startsWith("video/")) return "";
+        return extension;
+    }
+
+    private String extension(String filename) {
+        if (filename == null) return "";
+        String name = filename.substring(filename.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(dot).toLowerCase() : "";
+    }
+
+    private String resourceType(String contentType) {
+        if (contentType == null) return "raw";
+        if (contentType.startsWith("image/")) return "image";
+        if (contentType.startsWith("video/")) return "video";
+        return "raw";
+    }
+}
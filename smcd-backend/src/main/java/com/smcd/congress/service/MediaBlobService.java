@@ -0,0 +1,231 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.MediaBlob;
+import com.smcd.congress.repository.MediaBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Déduplication des fichiers par contenu (SHA-256)
+ * Un fichier déjà stocké n'est pas renvoyé : l'entité est liée au fichier existant (table media_blob).
+ * Chaque entité qui référence un fichier incrémente son compteur ; le fichier n'est supprimé
+ * du stockage que lorsque la dernière référence disparaît
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaBlobService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final StorageBackend storageBackend;
+    private final FileDeletionService fileDeletionService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Upload d'un fichier vers le stockage
+     */
+    @FunctionalInterface
+    private interface Upload {
+        Map<String, String> executer() throws IOException;
+    }
+
+    // ============ UPLOADS DÉDUPLIQUÉS (phase 1, hors transaction) ============
+
+    public Map<String, String> uploadFile(MultipartFile file, String folder) throws IOException {
+        return upload(sha256(file), file.getSize(), () -> storageBackend.uploadFile(file, folder));
+    }
+
+    public Map<String, String> uploadRawFile(MultipartFile file, String folder) throws IOException {
+        return upload(sha256(file), file.getSize(), () -> storageBackend.uploadRawFile(file, folder));
+    }
+
+    public Map<String, String> uploadFile(SpooledFile file, String folder) throws IOException {
+        return upload(sha256(file), file.getSize(), () -> storageBackend.uploadFile(file.getPath(), folder));
+    }
+
+    public Map<String, String> uploadVideo(SpooledFile file, String folder,
+                                           StorageBackend.ProgressListener progressListener) throws IOException {
+        // Durée, dimensions et codec lus localement : ne dépendent pas de la réponse du stockage
+        Optional<VideoMetadata> metadata = Mp4Probe.analyser(file.getPath());
+
+        Map<String, String> result = new HashMap<>(upload(sha256(file), file.getSize(), () -> {
+            Map<String, String> envoi = new HashMap<>(storageBackend.uploadVideo(file.getPath(), folder, progressListener));
+            metadata.ifPresent(m -> m.completer(envoi));
+            return envoi;
+        }));
+        metadata.ifPresent(m -> m.completer(result));
+        if (progressListener != null && result.containsKey("reutilise")) {
+            progressListener.onProgress(file.getSize(), file.getSize());
+        }
+        return result;
+    }
+
+    // ============ RÉFÉRENCES (phase 2, dans la transaction de l'entité) ============
+
+    /**
+     * Ajoute une référence vers un fichier dédupliqué
+     */
+    public void referencer(String publicId) {
+        if (mediaBlobRepository.incrementerReferences(publicId) == 0) {
+            throw new IllegalStateException("Le fichier " + publicId + " a été supprimé pendant l'enregistrement");
+        }
+    }
+
+    // ============ SUPPRESSIONS ============
+
+    /**
+     * Libère le fichier d'une entité supprimée ou remplacée (dans la transaction courante, ou dans une nouvelle)
+     * Le fichier n'est supprimé du stockage que s'il n'est plus référencé, via l'outbox après le commit,
+     * avec le type de ressource enregistré à l'upload (inconnu pour les fichiers antérieurs à la déduplication)
+     */
+    public void liberer(String publicId) {
+        if (publicId == null || publicId.isEmpty()) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Optional<MediaBlob> blob = mediaBlobRepository.findByPublicIdForUpdate(publicId);
+            if (blob.isEmpty()) {
+                fileDeletionService.planifier(publicId, null);
+            } else if (dereferencer(blob.get())) {
+                fileDeletionService.planifier(publicId, blob.get().getResourceType());
+            }
+        });
+    }
+
+    /**
+     * Annule un upload de phase 1 dont l'entité n'a pas pu être enregistrée
+     * Un fichier réutilisé n'est jamais supprimé ; un fichier nouveau ne l'est que s'il n'a pas été référencé entre-temps
+     */
+    public void abandonner(Map<String, String> fichier) {
+        String publicId = fichier.get("publicId");
+        if (publicId == null || fichier.containsKey("reutilise")) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!fichier.containsKey("hash") || mediaBlobRepository.supprimerSiNonReference(publicId) > 0) {
+                fileDeletionService.planifier(publicId, fichier.get("resourceType"));
+            }
+        });
+    }
+
+    // ============ INTERNE ============
+
+    /**
+     * Retire une référence vers un fichier
+     *
+     * @return true si le fichier n'est plus référencé et doit être supprimé du stockage
+     */
+    private boolean dereferencer(MediaBlob mediaBlob) {
+        if (mediaBlob.getReferenceCount() <= 1) {
+            mediaBlobRepository.delete(mediaBlob);
+            return true;
+        }
+
+        mediaBlob.setReferenceCount(mediaBlob.getReferenceCount() - 1);
+        mediaBlobRepository.save(mediaBlob);
+        log.info("Fichier {} conservé, encore {} référence(s)", mediaBlob.getPublicId(), mediaBlob.getReferenceCount());
+        return false;
+    }
+
+    private Map<String, String> upload(String hash, long taille, Upload upload) throws IOException {
+        Optional<MediaBlob> existant = mediaBlobRepository.findByHash(hash);
+        if (existant.isPresent()) {
+            log.info("Contenu déjà stocké ({}), transfert évité: {}", hash, existant.get().getPublicId());
+            return resultat(existant.get(), true);
+        }
+
+        Map<String, String> result = new HashMap<>(upload.executer());
+        result.put("hash", hash);
+
+        MediaBlob blob = MediaBlob.builder()
+                .hash(hash)
+                .publicId(result.get("publicId"))
+                .url(result.get("url"))
+                .resourceType(result.get("resourceType"))
+                .taille(taille)
+                .duree(result.containsKey("duration") ? Integer.valueOf(result.get("duration")) : null)
+                .build();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> mediaBlobRepository.save(blob));
+        } catch (DataIntegrityViolationException e) {
+            // Même contenu envoyé en parallèle : on garde le fichier déjà enregistré
+            fileDeletionService.planifier(result.get("publicId"), result.get("resourceType"));
+            return mediaBlobRepository.findByHash(hash)
+                    .map(b -> resultat(b, true))
+                    .orElseThrow(() -> e);
+        }
+
+        return result;
+    }
+
+    private Map<String, String> resultat(MediaBlob blob, boolean reutilise) {
+        Map<String, String> result = new HashMap<>();
+        result.put("url", blob.getUrl());
+        result.put("publicId", blob.getPublicId());
+        result.put("resourceType", blob.getResourceType() != null ? blob.getResourceType() : "image");
+        result.put("hash", blob.getHash());
+        if (blob.getDuree() != null) {
+            result.put("duration", String.valueOf(blob.getDuree()));
+        }
+        if (reutilise) {
+            result.put("reutilise", "true");
+        }
+        return result;
+    }
+
+    private String sha256(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Le fichier ne peut pas être vide");
+        }
+        try (InputStream input = file.getInputStream()) {
+            return sha256(input);
+        }
+    }
+
+    private String sha256(SpooledFile file) throws IOException {
+        if (file.getSha256() != null) {
+            return file.getSha256();
+        }
+        try (InputStream input = Files.newInputStream(file.getPath())) {
+            return sha256(input);
+        }
+    }
+
+    private String sha256(InputStream input) throws IOException {
+        MessageDigest digest = newDigest();
+        try (DigestInputStream digestInput = new DigestInputStream(input, digest)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (digestInput.read(buffer) != -1) {
+                // Le digest est mis à jour au fil de la lecture
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Nouveau calcul SHA-256 (utilisé aussi par les sessions d'upload reprenable)
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
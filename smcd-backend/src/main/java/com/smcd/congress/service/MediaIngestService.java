@@ -0,0 +1,217 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.CommunicationVideoUploadDTO;
+import com.smcd.congress.dto.EPosterUploadDTO;
+import com.smcd.congress.dto.VideoDTO;
+import com.smcd.congress.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pipeline d'ingestion asynchrone des médias
+ * La requête HTTP dépose le fichier sur le disque local et rend la main immédiatement ;
+ * un pool de workers borné envoie ensuite la vidéo, puis la miniature, puis enregistre l'entité
+ * Les fichiers assemblés par les sessions d'upload reprenable passent par le même pool
+ */
+@Service
+public class MediaIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaIngestService.class);
+
+    // Durée de conservation des tâches terminées pour le suivi
+    private static final long RETENTION_HEURES = 6;
+
+    @Autowired
+    private VideoService videoService;
+
+    @Autowired
+    private CommunicationVideoService communicationVideoService;
+
+    @Autowired
+    private EPosterService ePosterService;
+
+    @Autowired
+    @Qualifier("mediaIngestExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${app.ingest.spool-dir:${java.io.tmpdir}/smcd-ingest}")
+    private String spoolDir;
+
+    private final Map<String, IngestJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Traitement exécuté par un worker, retourne l'ID de l'entité créée
+     */
+    @FunctionalInterface
+    private interface Traitement {
+        Long executer(IngestJob job) throws Exception;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(Paths.get(spoolDir));
+        logger.info("Répertoire d'ingestion des médias: {}", spoolDir);
+    }
+
+    /**
+     * Met en file l'upload d'une vidéo chirurgicale (admin)
+     *
+     * @return La tâche créée, à suivre via son identifiant
+     */
+    public IngestJob soumettreVideo(MultipartFile videoFile, MultipartFile thumbnail, VideoDTO dto) throws IOException {
+        videoService.validerUpload(videoFile, dto);
+
+        List<SpooledFile> fichiers = new ArrayList<>();
+        SpooledFile video = spool(videoFile, fichiers);
+        SpooledFile miniature = (thumbnail != null && !thumbnail.isEmpty()) ? spool(thumbnail, fichiers) : null;
+
+        return lancerOuSupprimer("VIDEO", fichiers, job -> videoService.uploadVideo(video, miniature, dto, job).getId());
+    }
+
+    /**
+     * Met en file une vidéo chirurgicale déjà assemblée sur le disque local (upload reprenable)
+     * En cas de refus (file pleine), le fichier est conservé pour permettre une nouvelle tentative
+     */
+    public IngestJob soumettreVideo(SpooledFile video, VideoDTO dto) {
+        return lancer("VIDEO", List.of(video), job -> videoService.uploadVideo(video, null, dto, job).getId());
+    }
+
+    /**
+     * Met en file l'upload d'une communication vidéo (public)
+     *
+     * @return La tâche créée, à suivre via son identifiant
+     */
+    public IngestJob soumettreCommunicationVideo(MultipartFile file, CommunicationVideoUploadDTO dto) throws IOException {
+        communicationVideoService.validerUpload(file);
+
+        List<SpooledFile> fichiers = new ArrayList<>();
+        SpooledFile video = spool(file, fichiers);
+
+        return lancerOuSupprimer("COMMUNICATION_VIDEO", fichiers,
+                job -> communicationVideoService.uploadVideo(video, dto, job).getId());
+    }
+
+    /**
+     * Met en file une communication vidéo déjà assemblée sur le disque local (upload reprenable)
+     */
+    public IngestJob soumettreCommunicationVideo(SpooledFile video, CommunicationVideoUploadDTO dto) {
+        return lancer("COMMUNICATION_VIDEO", List.of(video),
+                job -> communicationVideoService.uploadVideo(video, dto, job).getId());
+    }
+
+    /**
+     * Met en file un E-Poster déjà assemblé sur le disque local (upload reprenable)
+     */
+    public IngestJob soumettreEPoster(SpooledFile fichier, EPosterUploadDTO dto) {
+        return lancer("EPOSTER", List.of(fichier), job -> {
+            job.etape("Envoi du fichier");
+            Long id = ePosterService.uploadEPoster(fichier, dto).getId();
+            job.ajouterOctets(fichier.getSize());
+            return id;
+        });
+    }
+
+    /**
+     * Récupère une tâche par son identifiant
+     */
+    public IngestJob getJob(String jobId) {
+        IngestJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Tâche d'ingestion non trouvée: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Enregistre la tâche et la confie au pool de workers
+     */
+    private IngestJob lancer(String type, List<SpooledFile> fichiers, Traitement traitement) {
+        purgerTachesTerminees();
+
+        long tailleTotale = fichiers.stream().mapToLong(SpooledFile::getSize).sum();
+        IngestJob job = new IngestJob(UUID.randomUUID().toString(), type, tailleTotale);
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> executer(job, fichiers, traitement));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            logger.warn("File d'ingestion pleine, tâche {} refusée", type);
+            throw e;
+        }
+
+        logger.info("Tâche d'ingestion {} créée: {} ({} octets)", type, job.getId(), tailleTotale);
+        return job;
+    }
+
+    /**
+     * Comme lancer, mais supprime les fichiers déposés si la tâche est refusée
+     */
+    private IngestJob lancerOuSupprimer(String type, List<SpooledFile> fichiers, Traitement traitement) {
+        try {
+            return lancer(type, fichiers, traitement);
+        } catch (TaskRejectedException e) {
+            fichiers.forEach(SpooledFile::delete);
+            throw e;
+        }
+    }
+
+    private void executer(IngestJob job, List<SpooledFile> fichiers, Traitement traitement) {
+        job.demarrer();
+        try {
+            Long entityId = traitement.executer(job);
+            job.terminer(entityId);
+            logger.info("Tâche d'ingestion {} terminée: entité {}", job.getId(), entityId);
+        } catch (Exception e) {
+            logger.error("Échec de la tâche d'ingestion {}", job.getId(), e);
+            job.echouer(e.getMessage());
+        } finally {
+            fichiers.forEach(SpooledFile::delete);
+        }
+    }
+
+    /**
+     * Recopie le fichier multipart dans le répertoire d'ingestion
+     * (simple déplacement du fichier temporaire lorsque c'est possible)
+     */
+    private SpooledFile spool(MultipartFile file, List<SpooledFile> fichiers) throws IOException {
+        String original = file.getOriginalFilename() != null ? file.getOriginalFilename() : "fichier";
+        String extension = original.contains(".") ? original.substring(original.lastIndexOf('.')) : "";
+        Path path = Paths.get(spoolDir, UUID.randomUUID() + extension);
+
+        try {
+            file.transferTo(path);
+        } catch (IOException e) {
+            fichiers.forEach(SpooledFile::delete);
+            throw e;
+        }
+
+        SpooledFile spooled = new SpooledFile(path, original, file.getContentType(), file.getSize());
+        fichiers.add(spooled);
+        return spooled;
+    }
+
+    private void purgerTachesTerminees() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(RETENTION_HEURES);
+        jobs.values().removeIf(job -> job.isFini() && job.getDateFin().isBefore(limite));
+    }
+}
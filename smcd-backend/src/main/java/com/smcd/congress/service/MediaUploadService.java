@@ -0,0 +1,163 @@
+package com.smcd.congress.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Upload des médias en deux phases
+ * Phase 1 : envoi des fichiers vers le stockage (StorageBackend), sans transaction ouverte (aucune connexion JDBC retenue)
+ * Phase 2 : transaction courte qui enregistre l'entité
+ * Si la phase 2 échoue, les fichiers envoyés en phase 1 sont supprimés du stockage (compensation) ;
+ * les anciens fichiers remplacés ne sont supprimés qu'après le commit.
+ * Les fichiers sont dédupliqués par contenu (MediaBlobService) : la phase 2 ajoute une référence
+ * au fichier et n'en retire qu'une aux anciens fichiers, supprimés seulement s'ils ne sont plus utilisés.
+ * Les envois indépendants d'une même opération (vidéo et miniature, photo et CV) peuvent être
+ * exécutés en parallèle (enParallele) : la durée de la phase 1 est alors celle de l'envoi le plus long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaUploadService {
+
+    private final MediaBlobService mediaBlobService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("mediaUploadExecutor")
+    private Executor mediaUploadExecutor;
+
+    /**
+     * Envoi des fichiers (phase 1)
+     */
+    @FunctionalInterface
+    public interface PhaseUpload {
+        void executer(UploadedMedia medias) throws IOException;
+
+        default PhaseUpload andThen(PhaseUpload suite) {
+            return medias -> {
+                executer(medias);
+                suite.executer(medias);
+            };
+        }
+    }
+
+    /**
+     * Regroupe des envois indépendants exécutés en parallèle (le premier dans le thread appelant)
+     * Tous les envois sont attendus avant de continuer, même en cas d'échec : les fichiers déjà envoyés
+     * sont ainsi connus de la compensation. La première erreur est ensuite propagée
+     */
+    public PhaseUpload enParallele(PhaseUpload... envois) {
+        return medias -> {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 1; i < envois.length; i++) {
+                PhaseUpload envoi = envois[i];
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        envoi.executer(medias);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, mediaUploadExecutor));
+            }
+
+            Throwable erreur = null;
+            if (envois.length > 0) {
+                try {
+                    envois[0].executer(medias);
+                } catch (IOException | RuntimeException e) {
+                    erreur = e;
+                }
+            }
+            for (CompletableFuture<Void> future : futures) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    if (erreur == null) {
+                        erreur = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+                    }
+                }
+            }
+
+            if (erreur instanceof IOException io) throw io;
+            if (erreur instanceof RuntimeException re) throw re;
+            if (erreur instanceof Error err) throw err;
+        };
+    }
+
+    /**
+     * Exécute un upload en deux phases
+     *
+     * @param upload Envoi des fichiers vers Cloudinary (hors transaction)
+     * @param enregistrement Écriture en base, exécutée dans une transaction courte
+     * @return Le résultat de l'enregistrement
+     * @throws IOException Si l'envoi d'un fichier échoue
+     */
+    public <T> T executer(PhaseUpload upload, Function<UploadedMedia, T> enregistrement) throws IOException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.warn("Upload en deux phases appelé depuis une transaction ouverte : la connexion reste retenue pendant l'envoi");
+        }
+
+        UploadedMedia medias = new UploadedMedia();
+
+        // Phase 1 : envoi vers Cloudinary
+        try {
+            upload.executer(medias);
+        } catch (IOException | RuntimeException e) {
+            compenser(medias);
+            throw e;
+        }
+
+        // Phase 2 : transaction courte
+        T resultat;
+        try {
+            resultat = transactionTemplate.execute(status -> {
+                for (Map<String, String> fichier : medias.getFichiers()) {
+                    if (fichier.containsKey("hash")) {
+                        mediaBlobService.referencer(fichier.get("publicId"));
+                    }
+                }
+                T enregistre = enregistrement.apply(medias);
+                // Anciens fichiers remplacés (déclarés par l'enregistrement) : suppression enregistrée
+                // dans l'outbox, exécutée après le commit
+                for (String ancien : medias.getRemplaces()) {
+                    mediaBlobService.liberer(ancien);
+                }
+                return enregistre;
+            });
+        } catch (RuntimeException e) {
+            log.error("Échec de l'enregistrement après upload, suppression des fichiers envoyés: {}", e.getMessage());
+            compenser(medias);
+            throw e;
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Supprime du stockage les fichiers envoyés pendant la phase 1 (sauf ceux déjà référencés ailleurs)
+     */
+    private void compenser(UploadedMedia medias) {
+        for (Map<String, String> fichier : medias.getFichiers()) {
+            try {
+                mediaBlobService.abandonner(fichier);
+            } catch (Exception e) {
+                log.error("Erreur lors de l'annulation du fichier {}: {}", fichier.get("publicId"), e.getMessage());
+            }
+        }
+    }
+}
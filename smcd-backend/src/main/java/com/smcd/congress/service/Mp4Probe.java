@@ -0,0 +1,229 @@
+package com.smcd.congress.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Lecture des métadonnées d'un fichier MP4/MOV (format ISO-BMFF) sans décoder la vidéo
+ * Seules les boîtes utiles sont lues, par lectures positionnelles :
+ * - en-têtes des boîtes de moov, trak, mdia, minf et stbl (mdat et les index d'échantillons - stts, stsz,
+ *   stco... - sont sautés par leur taille, sans être lus)
+ * - moov/mvhd : durée totale
+ * - moov/trak/tkhd : dimensions d'affichage de la piste vidéo
+ * - moov/trak/mdia/hdlr et stsd : type de piste et codec
+ */
+public final class Mp4Probe {
+
+    private static final Logger logger = LoggerFactory.getLogger(Mp4Probe.class);
+
+    // Octets lus au plus dans une boîte d'en-tête (mvhd, tkhd : une centaine d'octets)
+    private static final int MAX_ENTETE = 256;
+
+    private Mp4Probe() {
+    }
+
+    /**
+     * Analyse un fichier local
+     *
+     * @return Les métadonnées, vide si le fichier n'est pas un MP4/MOV lisible
+     */
+    public static Optional<VideoMetadata> analyser(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // moov parmi les boîtes de premier niveau (en tête ou en fin de fichier)
+            Boite moov = chercher(channel, 0, channel.size(), "moov");
+            if (moov == null) {
+                return Optional.empty();
+            }
+            VideoMetadata metadata = new VideoMetadata();
+            parcourirMoov(channel, moov, metadata);
+            return Optional.of(metadata);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Métadonnées vidéo illisibles pour {}: {}", path.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void parcourirMoov(FileChannel channel, Boite moov, VideoMetadata metadata) throws IOException {
+        long position = moov.debut();
+        Boite boite;
+        while ((boite = boite(channel, position, moov.fin())) != null) {
+            if (boite.type().equals("mvhd")) {
+                lireMvhd(charger(channel, boite, MAX_ENTETE), metadata);
+            } else if (boite.type().equals("trak")) {
+                lireTrak(channel, boite, metadata);
+            }
+            position = boite.fin();
+        }
+    }
+
+    /**
+     * mvhd : version, flags, dates, timescale puis durée (32 ou 64 bits selon la version)
+     */
+    private static void lireMvhd(ByteBuffer mvhd, VideoMetadata metadata) {
+        int version = mvhd.get() & 0xFF;
+        mvhd.position(mvhd.position() + 3);
+        long timescale;
+        long duree;
+        if (version == 1) {
+            mvhd.position(mvhd.position() + 16);
+            timescale = mvhd.getInt() & 0xFFFFFFFFL;
+            duree = mvhd.getLong();
+        } else {
+            mvhd.position(mvhd.position() + 8);
+            timescale = mvhd.getInt() & 0xFFFFFFFFL;
+            duree = mvhd.getInt() & 0xFFFFFFFFL;
+        }
+        // Durée inconnue (0 ou tous les bits à 1) : fichiers fragmentés ou en cours d'écriture
+        if (timescale > 0 && duree > 0 && duree != 0xFFFFFFFFL && duree != -1L) {
+            metadata.setDureeMs(duree * 1000 / timescale);
+        }
+    }
+
+    /**
+     * trak : seule la première piste vidéo (hdlr = "vide") fournit dimensions et codec
+     */
+    private static void lireTrak(FileChannel channel, Boite trak, VideoMetadata metadata) throws IOException {
+        if (metadata.getLargeur() != null) return;
+
+        Integer largeur = null;
+        Integer hauteur = null;
+        Boite mdia = null;
+        long position = trak.debut();
+        Boite boite;
+        while ((boite = boite(channel, position, trak.fin())) != null) {
+            position = boite.fin();
+            if (boite.type().equals("tkhd")) {
+                ByteBuffer tkhd = charger(channel, boite, MAX_ENTETE);
+                int version = tkhd.get() & 0xFF;
+                // flags (3), dates, identifiant, réservé, durée, réservé (8), couche, groupe, volume, réservé, matrice (36)
+                int saut = 3 + (version == 1 ? 32 : 20) + 8 + 8 + 36;
+                if (tkhd.remaining() < saut + 8) continue;
+                tkhd.position(tkhd.position() + saut);
+                // Dimensions en virgule fixe 16.16
+                largeur = tkhd.getInt() >>> 16;
+                hauteur = tkhd.getInt() >>> 16;
+            } else if (boite.type().equals("mdia")) {
+                mdia = boite;
+            }
+        }
+        if (mdia == null || largeur == null) return;
+
+        String handler = null;
+        String codec = null;
+        position = mdia.debut();
+        while ((boite = boite(channel, position, mdia.fin())) != null) {
+            position = boite.fin();
+            if (boite.type().equals("hdlr")) {
+                // version/flags (4), pré-défini (4), type de piste (4)
+                ByteBuffer hdlr = charger(channel, boite, 12);
+                if (hdlr.remaining() >= 12) {
+                    hdlr.position(8);
+                    handler = type(hdlr);
+                }
+            } else if (boite.type().equals("minf")) {
+                codec = lireCodec(channel, boite);
+            }
+        }
+
+        if ("vide".equals(handler) && largeur > 0 && hauteur > 0) {
+            metadata.setLargeur(largeur);
+            metadata.setHauteur(hauteur);
+            metadata.setCodec(codec);
+        }
+    }
+
+    /**
+     * minf/stbl/stsd : format de la première description d'échantillons
+     */
+    private static String lireCodec(FileChannel channel, Boite minf) throws IOException {
+        Boite stbl = chercher(channel, minf.debut(), minf.fin(), "stbl");
+        Boite stsd = stbl != null ? chercher(channel, stbl.debut(), stbl.fin(), "stsd") : null;
+        if (stsd == null) return null;
+        // version/flags (4), nombre d'entrées (4), taille de la première entrée (4), format (4)
+        ByteBuffer entree = charger(channel, stsd, 16);
+        if (entree.remaining() < 16) return null;
+        entree.position(12);
+        return type(entree).trim();
+    }
+
+    /**
+     * Première boîte d'un type entre deux positions, les autres sont sautées sans être lues
+     */
+    private static Boite chercher(FileChannel channel, long debut, long fin, String recherche) throws IOException {
+        long position = debut;
+        Boite boite;
+        while ((boite = boite(channel, position, fin)) != null) {
+            if (boite.type().equals(recherche)) return boite;
+            position = boite.fin();
+        }
+        return null;
+    }
+
+    /**
+     * Lit l'en-tête de la boîte commençant à position (taille 32 bits, type, taille 64 bits éventuelle)
+     *
+     * @param fin Fin du contenu du parent (ou du fichier)
+     * @return La boîte, null s'il n'y en a plus ou si l'en-tête est invalide
+     */
+    private static Boite boite(FileChannel channel, long position, long fin) throws IOException {
+        if (position + 8 > fin) return null;
+
+        ByteBuffer entete = ByteBuffer.allocate((int) Math.min(16, fin - position));
+        lireComplet(channel, entete, position);
+        entete.flip();
+
+        long taille = entete.getInt() & 0xFFFFFFFFL;
+        String type = type(entete);
+        int tailleEntete = 8;
+        if (taille == 1) {
+            if (entete.remaining() < 8) return null;
+            taille = entete.getLong();
+            tailleEntete = 16;
+        } else if (taille == 0) {
+            taille = fin - position;
+        }
+        if (taille < tailleEntete) return null;
+        // Boîte tronquée (fichier incomplet) : limitée à son parent
+        return new Boite(type, position + tailleEntete, Math.min(position + taille, fin));
+    }
+
+    /**
+     * Charge au plus max octets du contenu d'une boîte
+     */
+    private static ByteBuffer charger(FileChannel channel, Boite boite, int max) throws IOException {
+        ByteBuffer contenu = ByteBuffer.allocate((int) Math.max(0, Math.min(max, boite.fin() - boite.debut())));
+        lireComplet(channel, contenu, boite.debut());
+        contenu.flip();
+        return contenu;
+    }
+
+    private static String type(ByteBuffer buffer) {
+        byte[] type = new byte[4];
+        buffer.get(type);
+        return new String(type, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void lireComplet(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int lus = channel.read(buffer, position);
+            if (lus < 0) {
+                throw new IOException("Fin de fichier inattendue");
+            }
+            position += lus;
+        }
+    }
+
+    /**
+     * Boîte située dans le fichier : type et plage de son contenu (après l'en-tête)
+     */
+    private record Boite(String type, long debut, long fin) {
+    }
+}
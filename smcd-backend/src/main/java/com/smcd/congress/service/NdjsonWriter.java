@@ -0,0 +1,66 @@
+package com.smcd.congress.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Écriture d'un flux d'entités au format NDJSON (un objet JSON par ligne)
+ * Chaque objet est sérialisé directement dans la réponse par le générateur Jackson (sans liste intermédiaire) ;
+ * toutes les app.export.ndjson.clear-every lignes, la réponse est vidée et le contexte de persistance est
+ * nettoyé. À appeler dans une transaction en lecture seule, avec un Stream issu d'un repository
+ */
+@Component
+public class NdjsonWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.ndjson.clear-every:200}")
+    private int frequenceNettoyage;
+
+    /**
+     * @param conversion entité -> objet sérialisé (DTO ou l'entité elle-même)
+     * @return Nombre de lignes écrites
+     */
+    public <T> long ecrire(Stream<T> entites, Function<T, ?> conversion, OutputStream sortie) throws IOException {
+        // Pas de flush après chaque objet : la réponse est vidée par blocs
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long lignes = 0;
+
+        try (JsonGenerator generateur = objectMapper.getFactory().createGenerator(sortie)) {
+            generateur.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generateur.setRootValueSeparator(null);
+
+            Iterator<T> iterator = entites.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generateur, conversion.apply(iterator.next()));
+                generateur.writeRaw('\n');
+
+                if (++lignes % frequenceNettoyage == 0) {
+                    generateur.flush();
+                    // Entités en lecture seule : rien à synchroniser, tout peut être détaché
+                    entityManager.clear();
+                }
+            }
+        }
+        return lignes;
+    }
+}
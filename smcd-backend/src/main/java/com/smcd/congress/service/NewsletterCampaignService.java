@@ -0,0 +1,361 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.NewsletterCampaignCreateDTO;
+import com.smcd.congress.dto.NewsletterCampaignDTO;
+import com.smcd.congress.exception.ResourceNotFoundException;
+import com.smcd.congress.model.NewsletterCampaign;
+import com.smcd.congress.model.NewsletterSubscriber;
+import com.smcd.congress.model.enums.StatutCampagne;
+import com.smcd.congress.repository.NewsletterCampaignRepository;
+import com.smcd.congress.repository.NewsletterSubscriberRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Envoi des campagnes newsletter
+ * Une seule campagne est envoyée à la fois, sur le thread newsletterCampaignExecutor :
+ * - les abonnés actifs sont lus par pages, par identifiant croissant (la liste n'est jamais chargée en entier)
+ * - chaque abonné reçoit le modèle newsletter-campagne avec son lien de désinscription
+ * - chaque page est découpée en lots envoyés sur une connexion SMTP du pool emailSendExecutor,
+ *   au débit maximal app.newsletter.campaign.max-per-minute (limite par minute de Gmail)
+ * - l'avancement est enregistré après chaque page : après un redémarrage, l'envoi reprend à la page suivante
+ *   (les emails d'une page interrompue peuvent être envoyés deux fois)
+ * Les emails refusés pour un abonné sont confiés à l'outbox, qui les réessaie
+ */
+@Slf4j
+@Service
+public class NewsletterCampaignService {
+
+    private static final int TAILLE_PAGE = 100;
+
+    // Pages entièrement en échec (serveur SMTP indisponible) avant la mise en pause de la campagne
+    private static final int MAX_PAGES_EN_ECHEC = 5;
+
+    @Autowired
+    private NewsletterCampaignRepository campaignRepository;
+
+    @Autowired
+    private NewsletterSubscriberRepository subscriberRepository;
+
+    @Autowired
+    private EmailDispatchService emailDispatchService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailTemplateEngine emailTemplateEngine;
+
+    @Autowired
+    @Qualifier("newsletterCampaignExecutor")
+    private TaskExecutor newsletterCampaignExecutor;
+
+    @Autowired
+    @Qualifier("emailSendExecutor")
+    private TaskExecutor emailSendExecutor;
+
+    @Value("${app.frontend.url:http://localhost:3000}")
+    private String frontendUrl;
+
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int tailleLot;
+
+    @Value("${app.newsletter.campaign.max-per-minute:60}")
+    private int maxParMinute;
+
+    private LimiteDebit limiteDebit;
+
+    private final AtomicBoolean enCours = new AtomicBoolean(false);
+    private final AtomicBoolean demande = new AtomicBoolean(false);
+
+    /**
+     * Reprend après un redémarrage les campagnes restées en cours
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reprendreAuDemarrage() {
+        if (campaignRepository.findFirstByStatutOrderByDateLancementAsc(StatutCampagne.EN_COURS).isPresent()) {
+            log.info("Reprise de l'envoi des campagnes newsletter en cours");
+            declencher();
+        }
+    }
+
+    // ============ ADMINISTRATION ============
+
+    public NewsletterCampaignDTO creer(NewsletterCampaignCreateDTO dto, String creePar) {
+        NewsletterCampaign campagne = NewsletterCampaign.builder()
+                .sujet(dto.getSujet())
+                .contenu(dto.getContenu())
+                .creePar(creePar)
+                .build();
+        return NewsletterCampaignDTO.fromEntity(campaignRepository.save(campagne));
+    }
+
+    public NewsletterCampaignDTO modifier(Long id, NewsletterCampaignCreateDTO dto) {
+        NewsletterCampaign campagne = getCampagne(id);
+        if (campagne.getStatut() != StatutCampagne.BROUILLON) {
+            throw new IllegalArgumentException("Seule une campagne en brouillon peut être modifiée");
+        }
+        campagne.setSujet(dto.getSujet());
+        campagne.setContenu(dto.getContenu());
+        return NewsletterCampaignDTO.fromEntity(campaignRepository.save(campagne));
+    }
+
+    public Page<NewsletterCampaignDTO> getCampagnes(Pageable pageable) {
+        return campaignRepository.findAllByOrderByDateCreationDesc(pageable).map(NewsletterCampaignDTO::fromEntity);
+    }
+
+    public NewsletterCampaignDTO getCampagneDTO(Long id) {
+        return NewsletterCampaignDTO.fromEntity(getCampagne(id));
+    }
+
+    /**
+     * Lance l'envoi d'une campagne en brouillon (après les campagnes déjà en cours)
+     */
+    public NewsletterCampaignDTO lancer(Long id) {
+        getCampagne(id);
+        int modifiees = campaignRepository.lancer(id, StatutCampagne.BROUILLON, StatutCampagne.EN_COURS,
+                subscriberRepository.countByActifTrue(), LocalDateTime.now());
+        if (modifiees == 0) {
+            throw new IllegalArgumentException("Seule une campagne en brouillon peut être lancée");
+        }
+        log.info("Campagne newsletter {} lancée", id);
+        declencher();
+        return getCampagneDTO(id);
+    }
+
+    /**
+     * Suspend l'envoi à la fin de la page en cours
+     */
+    public NewsletterCampaignDTO suspendre(Long id) {
+        changerStatut(id, Set.of(StatutCampagne.EN_COURS), StatutCampagne.EN_PAUSE, null,
+                "Seule une campagne en cours d'envoi peut être suspendue");
+        return getCampagneDTO(id);
+    }
+
+    public NewsletterCampaignDTO reprendre(Long id) {
+        changerStatut(id, Set.of(StatutCampagne.EN_PAUSE), StatutCampagne.EN_COURS, null,
+                "Seule une campagne en pause peut être reprise");
+        declencher();
+        return getCampagneDTO(id);
+    }
+
+    public NewsletterCampaignDTO annuler(Long id) {
+        changerStatut(id, Set.of(StatutCampagne.BROUILLON, StatutCampagne.EN_COURS, StatutCampagne.EN_PAUSE),
+                StatutCampagne.ANNULEE, LocalDateTime.now(), "Cette campagne est déjà terminée ou annulée");
+        return getCampagneDTO(id);
+    }
+
+    public void supprimer(Long id) {
+        NewsletterCampaign campagne = getCampagne(id);
+        if (campagne.getStatut() == StatutCampagne.EN_COURS) {
+            throw new IllegalArgumentException("Une campagne en cours d'envoi doit être annulée avant d'être supprimée");
+        }
+        campaignRepository.delete(campagne);
+    }
+
+    private NewsletterCampaign getCampagne(Long id) {
+        return campaignRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Campagne non trouvée avec l'ID: " + id));
+    }
+
+    private void changerStatut(Long id, Set<StatutCampagne> attendus, StatutCampagne statut,
+                               LocalDateTime dateFin, String erreur) {
+        getCampagne(id);
+        if (campaignRepository.changerStatut(id, attendus, statut, dateFin) == 0) {
+            throw new IllegalArgumentException(erreur);
+        }
+        log.info("Campagne newsletter {}: {}", id, statut.getLabel());
+    }
+
+    // ============ ENVOI ============
+
+    private void declencher() {
+        try {
+            newsletterCampaignExecutor.execute(this::traiter);
+        } catch (TaskRejectedException e) {
+            // Un passage est déjà prévu : il prendra en compte la campagne
+            demande.set(true);
+        }
+    }
+
+    private void traiter() {
+        demande.set(true);
+        while (demande.get() && enCours.compareAndSet(false, true)) {
+            try {
+                demande.set(false);
+                Optional<NewsletterCampaign> campagne;
+                while ((campagne = campaignRepository.findFirstByStatutOrderByDateLancementAsc(StatutCampagne.EN_COURS))
+                        .isPresent()) {
+                    if (!envoyerCampagne(campagne.get())) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Arrêt du serveur : l'envoi reprendra au prochain démarrage
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erreur lors de l'envoi des campagnes newsletter: {}", e.getMessage());
+                return;
+            } finally {
+                enCours.set(false);
+            }
+        }
+    }
+
+    /**
+     * Envoie une campagne depuis son point de reprise
+     *
+     * @return false si l'envoi doit s'arrêter (serveur SMTP indisponible)
+     */
+    private boolean envoyerCampagne(NewsletterCampaign campagne) throws InterruptedException {
+        Long id = campagne.getId();
+        long dernierId = campagne.getDernierAbonneId();
+        int pagesEnEchec = 0;
+
+        while (true) {
+            StatutCampagne statut = campaignRepository.findStatutById(id).orElse(StatutCampagne.ANNULEE);
+            if (statut != StatutCampagne.EN_COURS) {
+                log.info("Envoi de la campagne newsletter {} arrêté: {}", id, statut.getLabel());
+                return true;
+            }
+
+            List<NewsletterSubscriber> page = subscriberRepository.findActifsApres(dernierId, PageRequest.of(0, TAILLE_PAGE));
+            if (page.isEmpty()) {
+                campaignRepository.changerStatut(id, Set.of(StatutCampagne.EN_COURS), StatutCampagne.TERMINEE,
+                        LocalDateTime.now());
+                log.info("Campagne newsletter {} terminée", id);
+                return true;
+            }
+
+            int[] resultat = envoyerPage(campagne, page);
+            if (resultat == null) {
+                // Serveur SMTP indisponible, aucun email parti : la page est réessayée plutôt que confiée à l'outbox
+                if (++pagesEnEchec >= MAX_PAGES_EN_ECHEC) {
+                    campaignRepository.changerStatut(id, Set.of(StatutCampagne.EN_COURS), StatutCampagne.EN_PAUSE, null);
+                    log.error("Campagne newsletter {} mise en pause: le serveur SMTP refuse tous les envois", id);
+                    return false;
+                }
+                Thread.sleep(60_000L * pagesEnEchec);
+                continue;
+            }
+            pagesEnEchec = 0;
+
+            // Refus propres aux destinataires (adresse invalide...) : comptés en échec, la campagne avance
+            dernierId = page.get(page.size() - 1).getId();
+            campaignRepository.enregistrerProgression(id, dernierId, resultat[0], resultat[1]);
+        }
+    }
+
+    /**
+     * Envoie une page d'abonnés par lots, au débit autorisé
+     *
+     * @return {envoyés, échecs}, ou null si aucun email n'est parti à cause du serveur SMTP (page à réessayer)
+     */
+    private int[] envoyerPage(NewsletterCampaign campagne, List<NewsletterSubscriber> page) throws InterruptedException {
+        Map<String, Object> variables = EmailTemplateEngine.variables(
+                "sujet", campagne.getSujet(), "contenu", campagne.getContenu(), "lienDesinscription", null);
+        Map<MimeMessage, String[]> messages = new IdentityHashMap<>();
+        List<MimeMessage> ordre = new ArrayList<>();
+        int invalides = 0;
+
+        for (NewsletterSubscriber abonne : page) {
+            String url = frontendUrl + "/newsletter/unsubscribe?token=" + abonne.getTokenDesinscription();
+            variables.put("lienDesinscription", url);
+            EmailTemplateEngine.EmailRendu email = emailTemplateEngine.rendre("newsletter-campagne", abonne.getLangue(), variables);
+            try {
+                MimeMessage message = emailDispatchService.creerMessage(abonne.getEmail(), email.sujet(), email.corps(), true);
+                message.setHeader("List-Unsubscribe", "<" + url + ">");
+                messages.put(message, new String[]{abonne.getEmail(), email.sujet(), email.corps()});
+                ordre.add(message);
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                log.warn("Email newsletter non créé pour {}: {}", abonne.getEmail(), e.getMessage());
+                invalides++;
+            }
+        }
+
+        List<CompletableFuture<EmailDispatchService.ResultatEnvoi>> envois = new ArrayList<>();
+        for (int i = 0; i < ordre.size(); i += tailleLot) {
+            List<MimeMessage> lot = ordre.subList(i, Math.min(i + tailleLot, ordre.size()));
+            long attente = getLimiteDebit().reserver(lot.size());
+            if (attente > 0) {
+                Thread.sleep(attente);
+            }
+            envois.add(CompletableFuture.supplyAsync(() -> emailDispatchService.envoyerMessages(lot), emailSendExecutor));
+        }
+
+        Map<MimeMessage, String> echecs = new IdentityHashMap<>();
+        boolean echecTransport = false;
+        for (CompletableFuture<EmailDispatchService.ResultatEnvoi> envoi : envois) {
+            EmailDispatchService.ResultatEnvoi resultat = envoi.join();
+            echecs.putAll(resultat.echecs());
+            echecTransport |= resultat.echecTransport();
+        }
+
+        int envoyes = ordre.size() - echecs.size();
+        if (envoyes == 0 && echecTransport) {
+            return null;
+        }
+        // Les emails refusés sont confiés à l'outbox (réessais espacés, puis échec définitif)
+        echecs.keySet().forEach(message -> {
+            String[] destinataire = messages.get(message);
+            emailService.sendHtmlEmail(destinataire[0], destinataire[1], destinataire[2]);
+        });
+        return new int[]{envoyes, echecs.size() + invalides};
+    }
+
+    private synchronized LimiteDebit getLimiteDebit() {
+        if (limiteDebit == null) {
+            limiteDebit = new LimiteDebit(maxParMinute);
+        }
+        return limiteDebit;
+    }
+
+    /**
+     * Débit d'envoi par minute (seau à jetons) : une réservation au-delà des jetons disponibles
+     * retourne l'attente nécessaire avant l'envoi
+     */
+    private static class LimiteDebit {
+        private final double capacite;
+        private final double parMs;
+        private double jetons;
+        private long derniereRecharge = System.nanoTime();
+
+        LimiteDebit(int parMinute) {
+            this.capacite = parMinute;
+            this.parMs = parMinute / 60_000.0;
+            this.jetons = parMinute;
+        }
+
+        synchronized long reserver(int nombre) {
+            long maintenant = System.nanoTime();
+            jetons = Math.min(capacite, jetons + (maintenant - derniereRecharge) / 1_000_000.0 * parMs);
+            derniereRecharge = maintenant;
+            jetons -= nombre;
+            return jetons >= 0 ? 0 : (long) Math.ceil(-jetons / parMs);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.smcd.congress.service;
 import com.smcd.congress.dto.RoomDTO;
 import com.smcd.congress.dto.RoomResponseDTO;
 import com.smcd.congress.exception.ResourceNotFoundException;
+import com.smcd.congress.exception.StorageUnavailableException;
 import com.smcd.congress.model.Room;
 import com.smcd.congress.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.text.Normalizer;
 import java.util.List;
 import java.util.Map;
@@ -25,7 +27,8 @@ import java.util.regex.Pattern;
 public class RoomService {
 
     private final RoomRepository roomRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadService mediaUploadService;
 
     /**
      * Génère un slug à partir d'un texte
@@ -64,43 +67,36 @@ public class RoomService {
 
     /**
      * Crée une nouvelle salle
+     * L'image est envoyée hors transaction, la salle est ensuite enregistrée dans une transaction courte
      */
-    @Transactional
-    public Room creerRoom(RoomDTO dto, MultipartFile image) {
+    public Room creerRoom(RoomDTO dto, MultipartFile image) throws IOException {
         log.info("Création d'une nouvelle salle : {}", dto.getNom());
+        Integer annee = dto.getAnnee() != null ? dto.getAnnee() : 2026;
 
-        Room room = Room.builder()
-                .nom(dto.getNom())
-                .nomCourt(dto.getNomCourt())
-                .slug(generateUniqueSlug(dto.getNom()))
-                .description(dto.getDescription())
-                .descriptionCourte(dto.getDescriptionCourte())
-                .couleur(dto.getCouleur())
-                .icone(dto.getIcone())
-                .annee(dto.getAnnee() != null ? dto.getAnnee() : 2026)
-                .active(dto.getActive() != null ? dto.getActive() : true)
-                .build();
-
-        // Déterminer l'ordre
-        Integer maxOrdre = roomRepository.findMaxOrdreByAnnee(room.getAnnee());
-        room.setOrdre(maxOrdre + 1);
+        Room savedRoom = mediaUploadService.executer(
+                medias -> uploadImage(medias, image, annee),
+                medias -> {
+                    Room room = Room.builder()
+                            .nom(dto.getNom())
+                            .nomCourt(dto.getNomCourt())
+                            .slug(generateUniqueSlug(dto.getNom()))
+                            .description(dto.getDescription())
+                            .descriptionCourte(dto.getDescriptionCourte())
+                            .couleur(dto.getCouleur())
+                            .icone(dto.getIcone())
+                            .annee(annee)
+                            .active(dto.getActive() != null ? dto.getActive() : true)
+                            .imageUrl(medias.getUrl("image"))
+                            .imagePublicId(medias.getPublicId("image"))
+                            .build();
 
-        // Upload image si fournie
-        if (image != null && !image.isEmpty()) {
-            try {
-                Map<String, String> uploadResult = cloudinaryService.uploadFile(
-                        image, 
-                        "rooms/" + room.getAnnee()
-                );
-                room.setImageUrl(uploadResult.get("url"));
-                room.setImagePublicId(uploadResult.get("publicId"));
-                log.info("Image uploadée pour la salle : {}", uploadResult.get("url"));
-            } catch (Exception e) {
-                log.error("Erreur lors de l'upload de l'image de la salle", e);
-            }
-        }
+                    // Déterminer l'ordre
+                    Integer maxOrdre = roomRepository.findMaxOrdreByAnnee(room.getAnnee());
+                    room.setOrdre(maxOrdre + 1);
 
-        Room savedRoom = roomRepository.save(room);
+                    return roomRepository.save(room);
+                }
+        );
         log.info("Salle créée avec l'ID : {}", savedRoom.getId());
         
         return savedRoom;
@@ -108,45 +104,55 @@ public class RoomService {
 
     /**
      * Modifie une salle existante
+     * L'ancienne image n'est supprimée qu'une fois la modification enregistrée
      */
-    @Transactional
-    public Room modifierRoom(Long id, RoomDTO dto, MultipartFile newImage) {
-        Room room = roomRepository.findById(id)
+    public Room modifierRoom(Long id, RoomDTO dto, MultipartFile newImage) throws IOException {
+        Room existante = roomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Salle non trouvée avec l'ID : " + id));
 
         log.info("Modification de la salle ID {} : {}", id, dto.getNom());
 
-        // Mise à jour des champs
-        room.setNom(dto.getNom());
-        room.setNomCourt(dto.getNomCourt());
-        room.setDescription(dto.getDescription());
-        room.setDescriptionCourte(dto.getDescriptionCourte());
-        room.setCouleur(dto.getCouleur());
-        room.setIcone(dto.getIcone());
-        if (dto.getActive() != null) room.setActive(dto.getActive());
+        return mediaUploadService.executer(
+                medias -> uploadImage(medias, newImage, existante.getAnnee()),
+                medias -> {
+                    Room room = roomRepository.findById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("Salle non trouvée avec l'ID : " + id));
+
+                    // Mise à jour des champs
+                    room.setNom(dto.getNom());
+                    room.setNomCourt(dto.getNomCourt());
+                    room.setDescription(dto.getDescription());
+                    room.setDescriptionCourte(dto.getDescriptionCourte());
+                    room.setCouleur(dto.getCouleur());
+                    room.setIcone(dto.getIcone());
+                    if (dto.getActive() != null) room.setActive(dto.getActive());
 
-        // Upload nouvelle image si fournie
-        if (newImage != null && !newImage.isEmpty()) {
-            try {
-                // Supprimer l'ancienne image
-                if (room.getImagePublicId() != null) {
-                    cloudinaryService.deleteFile(room.getImagePublicId());
+                    if (medias.contient("image")) {
+                        medias.remplacer(room.getImagePublicId());
+                        room.setImageUrl(medias.getUrl("image"));
+                        room.setImagePublicId(medias.getPublicId("image"));
+                    }
+
+                    return roomRepository.save(room);
                 }
+        );
+    }
 
-                // Upload nouvelle image
-                Map<String, String> uploadResult = cloudinaryService.uploadFile(
-                        newImage, 
-                        "rooms/" + room.getAnnee()
-                );
-                room.setImageUrl(uploadResult.get("url"));
-                room.setImagePublicId(uploadResult.get("publicId"));
-                log.info("Nouvelle image uploadée pour la salle : {}", uploadResult.get("url"));
-            } catch (Exception e) {
-                log.error("Erreur lors de l'upload de la nouvelle image", e);
-            }
+    /**
+     * Upload l'image d'une salle si fournie ; un échec n'empêche pas l'enregistrement de la salle,
+     * sauf un refus du stockage (saturé ou indisponible) que le client doit réessayer
+     */
+    private void uploadImage(UploadedMedia medias, MultipartFile image, Integer annee) {
+        if (image == null || image.isEmpty()) return;
+        try {
+            Map<String, String> uploadResult = mediaBlobService.uploadFile(image, "rooms/" + annee);
+            medias.ajouter("image", uploadResult);
+            log.info("Image uploadée pour la salle : {}", uploadResult.get("url"));
+        } catch (StorageUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Erreur lors de l'upload de l'image de la salle", e);
         }
-
-        return roomRepository.save(room);
     }
 
     /**
@@ -164,13 +170,9 @@ public class RoomService {
 
         log.info("Suppression de la salle ID {} : {}", id, room.getNom());
 
-        // Supprimer l'image de Cloudinary
+        // Supprimer l'image du stockage (après le commit)
         if (room.getImagePublicId() != null) {
-            try {
-                cloudinaryService.deleteFile(room.getImagePublicId());
-            } catch (Exception e) {
-                log.error("Erreur lors de la suppression de l'image", e);
-            }
+            mediaBlobService.liberer(room.getImagePublicId());
         }
 
         roomRepository.delete(room);
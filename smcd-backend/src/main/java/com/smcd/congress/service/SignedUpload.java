@@ -0,0 +1,22 @@
+package com.smcd.congress.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Paramètres signés d'un envoi direct du navigateur vers le stockage
+ * Le navigateur poste le fichier sur uploadUrl avec les paramètres fournis (multipart/form-data)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignedUpload {
+
+    private String uploadUrl;
+    private Map<String, Object> parametres;
+}
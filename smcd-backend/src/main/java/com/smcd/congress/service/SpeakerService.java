@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -41,64 +42,69 @@ public class SpeakerService {
     private SpeakerRepository speakerRepository;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private MediaBlobService mediaBlobService;
+
+    @Autowired
+    private MediaUploadService mediaUploadService;
 
     /**
      * Crée un nouveau Speaker
+     * Les fichiers sont envoyés hors transaction, le Speaker est ensuite enregistré dans une transaction courte
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Speaker creerSpeaker(SpeakerDTO dto, MultipartFile photo, MultipartFile cv) throws IOException {
-        // Valider et uploader la photo (obligatoire)
+        // Valider la photo (obligatoire) et le CV (optionnel)
         if (photo == null || photo.isEmpty()) {
             throw new IllegalArgumentException("La photo est obligatoire");
         }
         validatePhoto(photo);
-        Map<String, String> photoResult = cloudinaryService.uploadFile(photo, "speakers/photos");
-        String photoUrl = photoResult.get("url");
-        String photoPublicId = photoResult.get("publicId");
-
-        // Uploader le CV (optionnel)
-        String cvUrl = null;
-        String cvPublicId = null;
-        if (cv != null && !cv.isEmpty()) {
+        boolean avecCv = cv != null && !cv.isEmpty();
+        if (avecCv) {
             validateCV(cv);
-            Map<String, String> cvResult = cloudinaryService.uploadFile(cv, "speakers/cv");
-            cvUrl = cvResult.get("url");
-            cvPublicId = cvResult.get("publicId");
         }
 
-        // Déterminer l'ordre automatiquement
-        Integer annee = dto.getAnnee() != null ? dto.getAnnee() : 2026;
-        Integer maxOrdre = speakerRepository.findMaxOrdreByAnnee(annee);
-        Integer ordre = (maxOrdre != null ? maxOrdre : 0) + 1;
-
-        // Créer l'entité
-        Speaker speaker = Speaker.builder()
-                .titre(dto.getTitre())
-                .nom(dto.getNom())
-                .prenom(dto.getPrenom())
-                .specialite(dto.getSpecialite())
-                .institution(dto.getInstitution())
-                .pays(dto.getPays())
-                .ville(dto.getVille())
-                .bioCourteFr(dto.getBioCourteFr())
-                .bioCompleteFr(dto.getBioCompleteFr())
-                .bioCourteEn(dto.getBioCourteEn())
-                .bioCompleteEn(dto.getBioCompleteEn())
-                .photoUrl(photoUrl)
-                .photoPublicId(photoPublicId)
-                .cvUrl(cvUrl)
-                .cvPublicId(cvPublicId)
-                .email(dto.getEmail())
-                .telephone(dto.getTelephone())
-                .siteWeb(dto.getSiteWeb())
-                .linkedinUrl(dto.getLinkedinUrl())
-                .researchGateUrl(dto.getResearchGateUrl())
-                .featured(dto.getFeatured() != null ? dto.getFeatured() : false)
-                .annee(annee)
-                .ordre(ordre)
-                .build();
-
-        speaker = speakerRepository.save(speaker);
+        Speaker speaker = mediaUploadService.executer(
+                // Photo et CV envoyés en parallèle
+                mediaUploadService.enParallele(
+                        medias -> medias.ajouter("photo", mediaBlobService.uploadFile(photo, "speakers/photos")),
+                        medias -> {
+                            if (avecCv) medias.ajouter("cv", mediaBlobService.uploadFile(cv, "speakers/cv"));
+                        }
+                ),
+                medias -> {
+                    // Déterminer l'ordre automatiquement
+                    Integer annee = dto.getAnnee() != null ? dto.getAnnee() : 2026;
+                    Integer maxOrdre = speakerRepository.findMaxOrdreByAnnee(annee);
+                    Integer ordre = (maxOrdre != null ? maxOrdre : 0) + 1;
+
+                    // Créer l'entité
+                    return speakerRepository.save(Speaker.builder()
+                            .titre(dto.getTitre())
+                            .nom(dto.getNom())
+                            .prenom(dto.getPrenom())
+                            .specialite(dto.getSpecialite())
+                            .institution(dto.getInstitution())
+                            .pays(dto.getPays())
+                            .ville(dto.getVille())
+                            .bioCourteFr(dto.getBioCourteFr())
+                            .bioCompleteFr(dto.getBioCompleteFr())
+                            .bioCourteEn(dto.getBioCourteEn())
+                            .bioCompleteEn(dto.getBioCompleteEn())
+                            .photoUrl(medias.getUrl("photo"))
+                            .photoPublicId(medias.getPublicId("photo"))
+                            .cvUrl(medias.getUrl("cv"))
+                            .cvPublicId(medias.getPublicId("cv"))
+                            .email(dto.getEmail())
+                            .telephone(dto.getTelephone())
+                            .siteWeb(dto.getSiteWeb())
+                            .linkedinUrl(dto.getLinkedinUrl())
+                            .researchGateUrl(dto.getResearchGateUrl())
+                            .featured(dto.getFeatured() != null ? dto.getFeatured() : false)
+                            .annee(annee)
+                            .ordre(ordre)
+                            .build());
+                }
+        );
         logger.info("Speaker créé avec succès: ID={}, Nom={}", speaker.getId(), speaker.getNomComplet());
 
         return speaker;
@@ -106,71 +112,68 @@ public class SpeakerService {
 
     /**
      * Modifie un Speaker existant
+     * Les anciens fichiers ne sont supprimés de Cloudinary qu'une fois la modification enregistrée
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Speaker modifierSpeaker(Long id, SpeakerDTO dto, MultipartFile newPhoto, MultipartFile newCv) throws IOException {
-        Speaker speaker = getSpeakerById(id);
-
-        // Mise à jour de la photo si fournie
-        if (newPhoto != null && !newPhoto.isEmpty()) {
-            validatePhoto(newPhoto);
-            
-            // Supprimer l'ancienne photo
-            if (speaker.getPhotoPublicId() != null) {
-                try {
-                    cloudinaryService.deleteFile(speaker.getPhotoPublicId());
-                } catch (Exception e) {
-                    logger.error("Erreur lors de la suppression de l'ancienne photo: {}", e.getMessage());
+        getSpeakerById(id);
+
+        boolean avecPhoto = newPhoto != null && !newPhoto.isEmpty();
+        boolean avecCv = newCv != null && !newCv.isEmpty();
+        if (avecPhoto) validatePhoto(newPhoto);
+        if (avecCv) validateCV(newCv);
+
+        Speaker resultat = mediaUploadService.executer(
+                mediaUploadService.enParallele(
+                        medias -> {
+                            if (avecPhoto) medias.ajouter("photo", mediaBlobService.uploadFile(newPhoto, "speakers/photos"));
+                        },
+                        medias -> {
+                            if (avecCv) medias.ajouter("cv", mediaBlobService.uploadFile(newCv, "speakers/cv"));
+                        }
+                ),
+                medias -> {
+                    Speaker speaker = getSpeakerById(id);
+
+                    // Mise à jour de la photo si fournie
+                    if (medias.contient("photo")) {
+                        medias.remplacer(speaker.getPhotoPublicId());
+                        speaker.setPhotoUrl(medias.getUrl("photo"));
+                        speaker.setPhotoPublicId(medias.getPublicId("photo"));
+                    }
+
+                    // Mise à jour du CV si fourni
+                    if (medias.contient("cv")) {
+                        medias.remplacer(speaker.getCvPublicId());
+                        speaker.setCvUrl(medias.getUrl("cv"));
+                        speaker.setCvPublicId(medias.getPublicId("cv"));
+                    }
+
+                    // Mise à jour des autres champs
+                    if (dto.getTitre() != null) speaker.setTitre(dto.getTitre());
+                    if (dto.getNom() != null) speaker.setNom(dto.getNom());
+                    if (dto.getPrenom() != null) speaker.setPrenom(dto.getPrenom());
+                    if (dto.getSpecialite() != null) speaker.setSpecialite(dto.getSpecialite());
+                    if (dto.getInstitution() != null) speaker.setInstitution(dto.getInstitution());
+                    if (dto.getPays() != null) speaker.setPays(dto.getPays());
+                    if (dto.getVille() != null) speaker.setVille(dto.getVille());
+                    if (dto.getBioCourteFr() != null) speaker.setBioCourteFr(dto.getBioCourteFr());
+                    if (dto.getBioCompleteFr() != null) speaker.setBioCompleteFr(dto.getBioCompleteFr());
+                    if (dto.getBioCourteEn() != null) speaker.setBioCourteEn(dto.getBioCourteEn());
+                    if (dto.getBioCompleteEn() != null) speaker.setBioCompleteEn(dto.getBioCompleteEn());
+                    if (dto.getEmail() != null) speaker.setEmail(dto.getEmail());
+                    if (dto.getTelephone() != null) speaker.setTelephone(dto.getTelephone());
+                    if (dto.getSiteWeb() != null) speaker.setSiteWeb(dto.getSiteWeb());
+                    if (dto.getLinkedinUrl() != null) speaker.setLinkedinUrl(dto.getLinkedinUrl());
+                    if (dto.getResearchGateUrl() != null) speaker.setResearchGateUrl(dto.getResearchGateUrl());
+                    if (dto.getFeatured() != null) speaker.setFeatured(dto.getFeatured());
+
+                    return speakerRepository.save(speaker);
                 }
-            }
-            
-            // Uploader la nouvelle
-            Map<String, String> photoResult = cloudinaryService.uploadFile(newPhoto, "speakers/photos");
-            speaker.setPhotoUrl(photoResult.get("url"));
-            speaker.setPhotoPublicId(photoResult.get("publicId"));
-        }
-
-        // Mise à jour du CV si fourni
-        if (newCv != null && !newCv.isEmpty()) {
-            validateCV(newCv);
-            
-            // Supprimer l'ancien CV
-            if (speaker.getCvPublicId() != null) {
-                try {
-                    cloudinaryService.deleteFile(speaker.getCvPublicId());
-                } catch (Exception e) {
-                    logger.error("Erreur lors de la suppression de l'ancien CV: {}", e.getMessage());
-                }
-            }
-            
-            // Uploader le nouveau
-            Map<String, String> cvResult = cloudinaryService.uploadFile(newCv, "speakers/cv");
-            speaker.setCvUrl(cvResult.get("url"));
-            speaker.setCvPublicId(cvResult.get("publicId"));
-        }
-
-        // Mise à jour des autres champs
-        if (dto.getTitre() != null) speaker.setTitre(dto.getTitre());
-        if (dto.getNom() != null) speaker.setNom(dto.getNom());
-        if (dto.getPrenom() != null) speaker.setPrenom(dto.getPrenom());
-        if (dto.getSpecialite() != null) speaker.setSpecialite(dto.getSpecialite());
-        if (dto.getInstitution() != null) speaker.setInstitution(dto.getInstitution());
-        if (dto.getPays() != null) speaker.setPays(dto.getPays());
-        if (dto.getVille() != null) speaker.setVille(dto.getVille());
-        if (dto.getBioCourteFr() != null) speaker.setBioCourteFr(dto.getBioCourteFr());
-        if (dto.getBioCompleteFr() != null) speaker.setBioCompleteFr(dto.getBioCompleteFr());
-        if (dto.getBioCourteEn() != null) speaker.setBioCourteEn(dto.getBioCourteEn());
-        if (dto.getBioCompleteEn() != null) speaker.setBioCompleteEn(dto.getBioCompleteEn());
-        if (dto.getEmail() != null) speaker.setEmail(dto.getEmail());
-        if (dto.getTelephone() != null) speaker.setTelephone(dto.getTelephone());
-        if (dto.getSiteWeb() != null) speaker.setSiteWeb(dto.getSiteWeb());
-        if (dto.getLinkedinUrl() != null) speaker.setLinkedinUrl(dto.getLinkedinUrl());
-        if (dto.getResearchGateUrl() != null) speaker.setResearchGateUrl(dto.getResearchGateUrl());
-        if (dto.getFeatured() != null) speaker.setFeatured(dto.getFeatured());
-
-        speaker = speakerRepository.save(speaker);
+        );
         logger.info("Speaker modifié avec succès: ID={}", id);
 
-        return speaker;
+        return resultat;
     }
 
     /**
@@ -179,22 +182,14 @@ public class SpeakerService {
     public void supprimerSpeaker(Long id) {
         Speaker speaker = getSpeakerById(id);
         
-        // Supprimer la photo de Cloudinary
+        // Supprimer la photo du stockage (après le commit)
         if (speaker.getPhotoPublicId() != null) {
-            try {
-                cloudinaryService.deleteFile(speaker.getPhotoPublicId());
-            } catch (Exception e) {
-                logger.error("Erreur lors de la suppression de la photo: {}", e.getMessage());
-            }
+            mediaBlobService.liberer(speaker.getPhotoPublicId());
         }
         
-        // Supprimer le CV de Cloudinary
+        // Supprimer le CV du stockage (après le commit)
         if (speaker.getCvPublicId() != null) {
-            try {
-                cloudinaryService.deleteFile(speaker.getCvPublicId());
-            } catch (Exception e) {
-                logger.error("Erreur lors de la suppression du CV: {}", e.getMessage());
-            }
+            mediaBlobService.liberer(speaker.getCvPublicId());
         }
         
         speakerRepository.delete(speaker);
@@ -338,6 +333,7 @@ public class SpeakerService {
         if (contentType == null || !ALLOWED_IMAGE_TYPES.contains(contentType)) {
             throw new IllegalArgumentException("Seuls les fichiers image (JPG, PNG, WebP) sont autorisés pour la photo");
         }
+        ContentSniffer.verifierImage(ContentSniffer.lireEntete(photo));
     }
 
     /**
@@ -352,5 +348,6 @@ public class SpeakerService {
         if (contentType == null || !ALLOWED_CV_TYPES.contains(contentType)) {
             throw new IllegalArgumentException("Seuls les fichiers PDF sont autorisés pour le CV");
         }
+        ContentSniffer.verifierPdf(ContentSniffer.lireEntete(cv));
     }
 }
@@ -21,7 +21,8 @@ import java.util.stream.Collectors;
 public class SponsorService {
 
     private final SponsorRepository sponsorRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadService mediaUploadService;
 
     /**
      * Génère un slug unique à partir du nom
@@ -43,64 +44,75 @@ public class SponsorService {
         return slug;
     }
 
-    @Transactional
+    /**
+     * Crée un sponsor : envoi du logo hors transaction puis enregistrement dans une transaction courte
+     */
     public Sponsor creerSponsor(SponsorDTO dto, MultipartFile logo) throws IOException {
         log.info("Création sponsor: {}", dto.getNom());
 
-        java.util.Map<String, String> uploadResult = cloudinaryService.uploadFile(logo, "sponsors");
-        String logoUrl = uploadResult.get("url");
-
-        // Générer un slug unique
-        String uniqueSlug = generateUniqueSlug(dto.getNom());
-
-        Sponsor sponsor = Sponsor.builder()
-                .nom(dto.getNom())
-                .nomCourt(dto.getNomCourt())
-                .description(dto.getDescription())
-                .descriptionCourte(dto.getDescriptionCourte())
-                .logoUrl(logoUrl)
-                .niveau(dto.getNiveau() != null ? dto.getNiveau() : NiveauSponsor.BRONZE)
-                .categorie(dto.getCategorie())
-                .annee(dto.getAnnee() != null ? dto.getAnnee() : 2026)
-                .siteWeb(dto.getSiteWeb())
-                .email(dto.getEmail())
-                .telephone(dto.getTelephone())
-                .ordre(dto.getOrdre() != null ? dto.getOrdre() : 0)
-                .active(dto.getActive() != null ? dto.getActive() : true)
-                .slug(uniqueSlug)
-                .build();
-
-        return sponsorRepository.save(sponsor);
+        return mediaUploadService.executer(
+                medias -> medias.ajouter("logo", mediaBlobService.uploadFile(logo, "sponsors")),
+                medias -> sponsorRepository.save(Sponsor.builder()
+                        .nom(dto.getNom())
+                        .nomCourt(dto.getNomCourt())
+                        .description(dto.getDescription())
+                        .descriptionCourte(dto.getDescriptionCourte())
+                        .logoUrl(medias.getUrl("logo"))
+                        .logoPublicId(medias.getPublicId("logo"))
+                        .niveau(dto.getNiveau() != null ? dto.getNiveau() : NiveauSponsor.BRONZE)
+                        .categorie(dto.getCategorie())
+                        .annee(dto.getAnnee() != null ? dto.getAnnee() : 2026)
+                        .siteWeb(dto.getSiteWeb())
+                        .email(dto.getEmail())
+                        .telephone(dto.getTelephone())
+                        .ordre(dto.getOrdre() != null ? dto.getOrdre() : 0)
+                        .active(dto.getActive() != null ? dto.getActive() : true)
+                        // Générer un slug unique
+                        .slug(generateUniqueSlug(dto.getNom()))
+                        .build())
+        );
     }
 
-    @Transactional
+    /**
+     * Modifie un sponsor ; l'ancien logo n'est supprimé qu'une fois la modification enregistrée
+     */
     public Sponsor modifierSponsor(Long id, SponsorDTO dto, MultipartFile newLogo) throws IOException {
-        Sponsor sponsor = sponsorRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Sponsor non trouvé: " + id));
-
-        sponsor.setNom(dto.getNom());
-        sponsor.setNomCourt(dto.getNomCourt());
-        sponsor.setDescription(dto.getDescription());
-        sponsor.setDescriptionCourte(dto.getDescriptionCourte());
-        sponsor.setNiveau(dto.getNiveau());
-        sponsor.setCategorie(dto.getCategorie());
-        sponsor.setAnnee(dto.getAnnee());
-        sponsor.setSiteWeb(dto.getSiteWeb());
-        sponsor.setEmail(dto.getEmail());
-        sponsor.setTelephone(dto.getTelephone());
-        sponsor.setOrdre(dto.getOrdre());
-        sponsor.setActive(dto.getActive());
-
-        if (newLogo != null && !newLogo.isEmpty()) {
-            if (sponsor.getLogoPublicId() != null) {
-                cloudinaryService.deleteFile(sponsor.getLogoPublicId());
-            }
-            java.util.Map<String, String> uploadResult = cloudinaryService.uploadFile(newLogo, "sponsors");
-            sponsor.setLogoUrl(uploadResult.get("url"));
-            sponsor.setLogoPublicId(uploadResult.get("publicId"));
+        if (!sponsorRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Sponsor non trouvé: " + id);
         }
 
-        return sponsorRepository.save(sponsor);
+        return mediaUploadService.executer(
+                medias -> {
+                    if (newLogo != null && !newLogo.isEmpty()) {
+                        medias.ajouter("logo", mediaBlobService.uploadFile(newLogo, "sponsors"));
+                    }
+                },
+                medias -> {
+                    Sponsor sponsor = sponsorRepository.findById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("Sponsor non trouvé: " + id));
+
+                    sponsor.setNom(dto.getNom());
+                    sponsor.setNomCourt(dto.getNomCourt());
+                    sponsor.setDescription(dto.getDescription());
+                    sponsor.setDescriptionCourte(dto.getDescriptionCourte());
+                    sponsor.setNiveau(dto.getNiveau());
+                    sponsor.setCategorie(dto.getCategorie());
+                    sponsor.setAnnee(dto.getAnnee());
+                    sponsor.setSiteWeb(dto.getSiteWeb());
+                    sponsor.setEmail(dto.getEmail());
+                    sponsor.setTelephone(dto.getTelephone());
+                    sponsor.setOrdre(dto.getOrdre());
+                    sponsor.setActive(dto.getActive());
+
+                    if (medias.contient("logo")) {
+                        medias.remplacer(sponsor.getLogoPublicId());
+                        sponsor.setLogoUrl(medias.getUrl("logo"));
+                        sponsor.setLogoPublicId(medias.getPublicId("logo"));
+                    }
+
+                    return sponsorRepository.save(sponsor);
+                }
+        );
     }
 
     @Transactional
@@ -109,7 +121,7 @@ public class SponsorService {
                 .orElseThrow(() -> new ResourceNotFoundException("Sponsor non trouvé: " + id));
 
         if (sponsor.getLogoPublicId() != null) {
-            cloudinaryService.deleteFile(sponsor.getLogoPublicId());
+            mediaBlobService.liberer(sponsor.getLogoPublicId());
         }
 
         sponsorRepository.delete(sponsor);
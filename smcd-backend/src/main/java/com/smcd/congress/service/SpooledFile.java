@@ -0,0 +1,43 @@
+package com.smcd.congress.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Fichier uploadé recopié sur le disque local en attendant son traitement
+ */
+@Getter
+@AllArgsConstructor
+public class SpooledFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpooledFile.class);
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    // Empreinte SHA-256 déjà calculée pendant la réception, null sinon
+    private final String sha256;
+
+    public SpooledFile(Path path, String originalFilename, String contentType, long size) {
+        this(path, originalFilename, contentType, size, null);
+    }
+
+    /**
+     * Supprime le fichier du disque local
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Impossible de supprimer le fichier temporaire: {}", path);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.smcd.congress.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stockage des fichiers médias (images, vidéos, documents)
+ * Implémentations : Cloudinary (par défaut) et système de fichiers local,
+ * choisies par la propriété app.storage.backend ("cloudinary" ou "local")
+ *
+ * Les uploads retournent une Map contenant "url", "publicId", "resourceType"
+ * et, pour les vidéos, éventuellement "duration" (en secondes)
+ */
+public interface StorageBackend {
+
+    // Statuts d'une suppression groupée (valeurs de l'API Cloudinary)
+    String SUPPRIME = "deleted";
+    String NON_TROUVE = "not_found";
+
+    /**
+     * Callback de progression d'un upload (octets envoyés / total)
+     */
+    @FunctionalInterface
+    interface ProgressListener {
+        void onProgress(long bytesUploaded, long totalBytes);
+    }
+
+    /**
+     * Upload un fichier, type détecté automatiquement
+     */
+    Map<String, String> uploadFile(MultipartFile file, String folder) throws IOException;
+
+    /**
+     * Upload un fichier déjà stocké sur le disque local, type détecté automatiquement
+     */
+    Map<String, String> uploadFile(Path path, String folder) throws IOException;
+
+    /**
+     * Upload un document (PDF, Word, etc.)
+     */
+    Map<String, String> uploadRawFile(MultipartFile file, String folder) throws IOException;
+
+    /**
+     * Upload un document avec un nom imposé (remplace le fichier existant du même nom)
+     *
+     * @return L'URL publique du fichier
+     */
+    String uploadFileWithName(File file, String folder, String publicId) throws IOException;
+
+    /**
+     * Upload une vidéo
+     */
+    Map<String, String> uploadVideo(MultipartFile file, String folder) throws IOException;
+
+    /**
+     * Upload une vidéo déjà stockée sur le disque local
+     *
+     * @param progressListener Callback de progression, peut être null
+     */
+    Map<String, String> uploadVideo(Path path, String folder, ProgressListener progressListener) throws IOException;
+
+    /**
+     * Supprime un fichier de type image
+     */
+    boolean deleteFile(String publicId);
+
+    /**
+     * Supprime un fichier en précisant son type de ressource ("image", "video" ou "raw")
+     */
+    boolean deleteFile(String publicId, String resourceType);
+
+    /**
+     * Supprime une vidéo
+     */
+    boolean deleteVideo(String publicId);
+
+    /**
+     * Supprime plusieurs fichiers du même type en un seul appel
+     * Un fichier absent (NON_TROUVE) peut exister sous un autre type de ressource : ce statut ne vaut
+     * suppression que si le type demandé est bien celui du fichier
+     *
+     * @return Statut par publicId : SUPPRIME, NON_TROUVE ou un autre statut (échec, à réessayer)
+     * @throws IOException Si l'appel au stockage échoue (les fichiers seront réessayés)
+     */
+    Map<String, String> deleteFiles(Collection<String> publicIds, String resourceType) throws IOException;
+
+    /**
+     * Signe un envoi direct du navigateur vers le stockage (le fichier ne transite pas par le serveur)
+     *
+     * @param publicId L'identifiant imposé au fichier envoyé
+     * @param resourceType Le type de ressource ("image", "video" ou "raw")
+     * @param formats Formats acceptés par le stockage (extensions sans point), null pour tous
+     * @param timestamp Horodatage de la signature (secondes epoch)
+     * @return Les paramètres signés, vide si le stockage ne permet pas l'envoi direct
+     */
+    Optional<SignedUpload> signUpload(String publicId, String resourceType, Collection<String> formats, long timestamp);
+
+    /**
+     * Lit les premiers octets d'un fichier stocké (vérification du contenu d'un envoi direct)
+     *
+     * @throws IOException Si le fichier ne peut pas être lu
+     */
+    byte[] readHead(String publicId, String resourceType, int taille) throws IOException;
+
+    /**
+     * Vérifie la signature de la réponse du stockage à un envoi direct
+     */
+    boolean verifyUploadSignature(String publicId, String version, String signature);
+
+    /**
+     * Construit l'URL publique d'un fichier
+     */
+    String resolveUrl(String publicId, String resourceType);
+
+    /**
+     * Extrait le publicId d'une URL publique
+     */
+    String extractPublicIdFromUrl(String url);
+
+    /**
+     * Métadonnées d'un fichier stocké, vide si le fichier n'existe pas
+     */
+    Optional<StoredFileMetadata> getMetadata(String publicId, String resourceType);
+
+    /**
+     * Liste les fichiers stockés sous un préfixe, page par page
+     *
+     * @param prefix Préfixe des publicIds (ex: "smcd-congress/videos/2026/")
+     * @param resourceType Le type de ressource ("image", "video" ou "raw")
+     * @param cursor Curseur retourné par la page précédente, null pour la première page
+     */
+    StoredFilePage listFiles(String prefix, String resourceType, String cursor) throws IOException;
+}
@@ -0,0 +1,323 @@
+package com.smcd.congress.service;
+
+import com.cloudinary.api.exceptions.ApiException;
+import com.cloudinary.api.exceptions.GeneralError;
+import com.cloudinary.api.exceptions.RateLimited;
+import com.smcd.congress.exception.StorageUnavailableException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Protection des appels au stockage distant (Cloudinary)
+ * - cloisonnement : nombre d'appels simultanés limité par type d'opération, attente bornée
+ * - limitation de débit : seau à jetons par type d'opération (quota de l'API)
+ * - disjoncteur : après plusieurs défaillances consécutives du stockage (réseau, délai, 5xx, quota),
+ *   les appels sont refusés immédiatement pendant un délai, puis un seul appel d'essai est autorisé.
+ *   Les erreurs dues à la requête (fichier invalide ou trop gros...) ne comptent pas
+ * Un appel refusé lève StorageUnavailableException (réponse 503 avec Retry-After) au lieu
+ * de retenir un thread Tomcat : un ralentissement du stockage ne bloque pas le site public
+ */
+@Component
+public class StorageGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageGuard.class);
+
+    // Réponse HTTP non prévue par l'uploader Cloudinary (502, 503, 504, 429...)
+    private static final Pattern CODE_INATTENDU = Pattern.compile("unexpected status code - (\\d{3})");
+
+    /**
+     * Types d'opérations, chacun avec son propre cloisonnement et son propre quota
+     */
+    public enum Operation {
+        UPLOAD(8, 600),
+        VIDEO(3, 60),
+        DELETE(4, 300),
+        // API d'administration Cloudinary (quota horaire : 500 appels)
+        ADMIN(2, 8);
+
+        private final int maxConcurrentParDefaut;
+        private final int parMinuteParDefaut;
+
+        Operation(int maxConcurrentParDefaut, int parMinuteParDefaut) {
+            this.maxConcurrentParDefaut = maxConcurrentParDefaut;
+            this.parMinuteParDefaut = parMinuteParDefaut;
+        }
+    }
+
+    /**
+     * Appel au stockage protégé
+     */
+    @FunctionalInterface
+    public interface Appel<T> {
+        T executer() throws IOException;
+    }
+
+    private enum EtatCircuit { FERME, OUVERT, SEMI_OUVERT }
+
+    private final Environment environment;
+    private final Map<Operation, Compartiment> compartiments = new EnumMap<>(Operation.class);
+
+    private long attenteMaxMs;
+    private int seuilEchecs;
+    private long dureeOuvertureMs;
+
+    // Disjoncteur commun à toutes les opérations (même fournisseur)
+    private volatile EtatCircuit etat = EtatCircuit.FERME;
+    private volatile long ouvertJusqua;
+    private final AtomicInteger echecsConsecutifs = new AtomicInteger();
+    private final AtomicLong ouvertures = new AtomicLong();
+
+    public StorageGuard(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void init() {
+        attenteMaxMs = environment.getProperty("app.storage.guard.acquire-timeout-ms", Long.class, 2000L);
+        seuilEchecs = environment.getProperty("app.storage.guard.circuit.failure-threshold", Integer.class, 5);
+        dureeOuvertureMs = environment.getProperty("app.storage.guard.circuit.open-seconds", Long.class, 30L) * 1000;
+
+        for (Operation operation : Operation.values()) {
+            String prefixe = "app.storage.guard." + operation.name().toLowerCase() + ".";
+            int maxConcurrent = environment.getProperty(prefixe + "max-concurrent", Integer.class,
+                    operation.maxConcurrentParDefaut);
+            int parMinute = environment.getProperty(prefixe + "per-minute", Integer.class,
+                    operation.parMinuteParDefaut);
+            compartiments.put(operation, new Compartiment(maxConcurrent, parMinute));
+        }
+    }
+
+    /**
+     * Exécute un appel au stockage en appliquant le disjoncteur, le quota et le cloisonnement
+     *
+     * @throws StorageUnavailableException Si l'appel est refusé (circuit ouvert, quota atteint ou file saturée)
+     * @throws IOException Si l'appel lui-même échoue
+     */
+    public <T> T executer(Operation operation, Appel<T> appel) throws IOException {
+        Compartiment compartiment = compartiments.get(operation);
+
+        boolean essai = autoriserCircuit(compartiment);
+
+        // Cloisonnement d'abord : un appel refusé faute de place ne consomme pas de jeton du quota
+        compartiment.enAttente.incrementAndGet();
+        boolean acquis;
+        try {
+            acquis = compartiment.semaphore.tryAcquire(attenteMaxMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquis = false;
+        } finally {
+            compartiment.enAttente.decrementAndGet();
+        }
+        if (!acquis) {
+            compartiment.refuser();
+            libererEssai(essai);
+            throw new StorageUnavailableException("Stockage saturé, réessayez dans quelques instants", 5);
+        }
+
+        if (!compartiment.seau.prendre()) {
+            compartiment.semaphore.release();
+            compartiment.refuser();
+            libererEssai(essai);
+            throw new StorageUnavailableException("Quota d'appels au stockage atteint, réessayez plus tard",
+                    compartiment.seau.secondesAvantJeton());
+        }
+
+        compartiment.appels.incrementAndGet();
+        compartiment.actifs.incrementAndGet();
+        try {
+            T resultat = appel.executer();
+            succes();
+            return resultat;
+        } catch (IOException | RuntimeException e) {
+            if (defaillanceStockage(e)) {
+                echec(operation, compartiment, e);
+            } else {
+                libererEssai(essai);
+            }
+            throw e;
+        } finally {
+            compartiment.actifs.decrementAndGet();
+            compartiment.semaphore.release();
+        }
+    }
+
+    /**
+     * Indicateurs par type d'opération et état du disjoncteur
+     */
+    public Map<String, Object> getMetriques() {
+        Map<String, Object> metriques = new LinkedHashMap<>();
+        metriques.put("circuit", etat.name());
+        metriques.put("echecsConsecutifs", echecsConsecutifs.get());
+        metriques.put("ouvertures", ouvertures.get());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        compartiments.forEach((operation, compartiment) -> {
+            Map<String, Object> valeurs = new LinkedHashMap<>();
+            valeurs.put("maxConcurrent", compartiment.maxConcurrent);
+            valeurs.put("actifs", compartiment.actifs.get());
+            valeurs.put("enAttente", compartiment.enAttente.get());
+            valeurs.put("appels", compartiment.appels.get());
+            valeurs.put("echecs", compartiment.echecs.get());
+            valeurs.put("rejets", compartiment.rejets.get());
+            valeurs.put("jetonsDisponibles", compartiment.seau.disponibles());
+            operations.put(operation.name(), valeurs);
+        });
+        metriques.put("operations", operations);
+        return metriques;
+    }
+
+    // ============ DISJONCTEUR ============
+
+    /**
+     * Vrai si l'échec vient du stockage lui-même : erreur réseau ou délai dépassé, réponse 5xx, quota (420/429).
+     * L'uploader Cloudinary signale les erreurs de l'API par une RuntimeException portant le seul message
+     * (fichier invalide, trop gros...) : elles sont propagées sans toucher au disjoncteur, comme les erreurs
+     * d'argument et de lecture d'un fichier local. Les erreurs de l'API d'administration arrivent en cause
+     */
+    static boolean defaillanceStockage(Exception e) {
+        if (e instanceof IllegalArgumentException || e instanceof FileSystemException) {
+            return false;
+        }
+        if (e.getCause() instanceof ApiException api) {
+            return api instanceof RateLimited || api instanceof GeneralError;
+        }
+        if (e instanceof IOException) {
+            return true;
+        }
+        Matcher code = CODE_INATTENDU.matcher(String.valueOf(e.getMessage()));
+        if (code.find()) {
+            int statut = Integer.parseInt(code.group(1));
+            return statut >= 500 || statut == 429 || statut == 420;
+        }
+        return e.getCause() instanceof IOException;
+    }
+
+    /**
+     * @return true si l'appel est l'appel d'essai d'un circuit semi-ouvert
+     */
+    private synchronized boolean autoriserCircuit(Compartiment compartiment) {
+        if (etat == EtatCircuit.FERME) {
+            return false;
+        }
+
+        long maintenant = System.currentTimeMillis();
+        if (etat == EtatCircuit.OUVERT && maintenant >= ouvertJusqua) {
+            etat = EtatCircuit.SEMI_OUVERT;
+            logger.info("Disjoncteur du stockage semi-ouvert : appel d'essai autorisé");
+            return true;
+        }
+
+        compartiment.refuser();
+        long attente = Math.max(1, (ouvertJusqua - maintenant + 999) / 1000);
+        throw new StorageUnavailableException("Stockage temporairement indisponible, réessayez plus tard",
+                etat == EtatCircuit.OUVERT ? attente : 1);
+    }
+
+    private synchronized void libererEssai(boolean essai) {
+        // L'appel d'essai n'a pas eu lieu : un autre appel pourra le faire
+        if (essai && etat == EtatCircuit.SEMI_OUVERT) {
+            etat = EtatCircuit.OUVERT;
+            ouvertJusqua = System.currentTimeMillis();
+        }
+    }
+
+    private synchronized void succes() {
+        echecsConsecutifs.set(0);
+        if (etat != EtatCircuit.FERME) {
+            etat = EtatCircuit.FERME;
+            logger.info("Disjoncteur du stockage refermé");
+        }
+    }
+
+    private synchronized void echec(Operation operation, Compartiment compartiment, Exception e) {
+        compartiment.echecs.incrementAndGet();
+        int echecs = echecsConsecutifs.incrementAndGet();
+        if (etat == EtatCircuit.SEMI_OUVERT || (etat == EtatCircuit.FERME && echecs >= seuilEchecs)) {
+            etat = EtatCircuit.OUVERT;
+            ouvertJusqua = System.currentTimeMillis() + dureeOuvertureMs;
+            ouvertures.incrementAndGet();
+            logger.error("Disjoncteur du stockage ouvert pour {} s après {} échec(s) ({}): {}",
+                    dureeOuvertureMs / 1000, echecs, operation, e.getMessage());
+        }
+    }
+
+    // ============ COMPARTIMENTS ============
+
+    private static class Compartiment {
+        private final int maxConcurrent;
+        private final Semaphore semaphore;
+        private final SeauJetons seau;
+        private final AtomicInteger actifs = new AtomicInteger();
+        private final AtomicInteger enAttente = new AtomicInteger();
+        private final AtomicLong appels = new AtomicLong();
+        private final AtomicLong echecs = new AtomicLong();
+        private final AtomicLong rejets = new AtomicLong();
+
+        Compartiment(int maxConcurrent, int parMinute) {
+            this.maxConcurrent = maxConcurrent;
+            this.semaphore = new Semaphore(maxConcurrent, true);
+            this.seau = new SeauJetons(parMinute);
+        }
+
+        void refuser() {
+            rejets.incrementAndGet();
+        }
+    }
+
+    /**
+     * Seau à jetons : capacité d'une minute de quota, remplissage continu
+     */
+    private static class SeauJetons {
+        private final double capacite;
+        private final double parMs;
+        private double jetons;
+        private long derniereRecharge = System.nanoTime();
+
+        SeauJetons(int parMinute) {
+            this.capacite = parMinute;
+            this.parMs = parMinute / 60_000.0;
+            this.jetons = parMinute;
+        }
+
+        synchronized boolean prendre() {
+            recharger();
+            if (jetons >= 1) {
+                jetons -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized long secondesAvantJeton() {
+            recharger();
+            return Math.max(1, (long) Math.ceil((1 - jetons) / parMs / 1000));
+        }
+
+        synchronized long disponibles() {
+            recharger();
+            return (long) jetons;
+        }
+
+        private void recharger() {
+            long maintenant = System.nanoTime();
+            jetons = Math.min(capacite, jetons + (maintenant - derniereRecharge) / 1_000_000.0 * parMs);
+            derniereRecharge = maintenant;
+        }
+    }
+}
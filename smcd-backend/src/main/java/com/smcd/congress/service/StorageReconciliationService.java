@@ -0,0 +1,331 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.StorageReconciliationDTO;
+import com.smcd.congress.exception.StorageUnavailableException;
+import com.smcd.congress.repository.MediaBlobRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Réconciliation entre la base de données et le stockage des médias
+ * Les fichiers présents sur le stockage mais référencés par aucune entité (suppression échouée,
+ * transaction annulée après l'upload, upload direct jamais confirmé) sont signalés dans un rapport
+ * et, en mode purge, supprimés par lots via l'outbox des suppressions.
+ *
+ * Les publicIds connus sont lus en flux depuis chaque table dans un ensemble en mémoire,
+ * puis le stockage est parcouru page par page, dossier par dossier.
+ * Les fichiers récents (délai de grâce) ne sont jamais considérés comme orphelins. Un fichier dédupliqué
+ * dont aucune entité n'a pris de référence (upload interrompu entre les deux phases) est orphelin :
+ * sa ligne media_blob est supprimée avec la purge
+ */
+@Slf4j
+@Service
+public class StorageReconciliationService {
+
+    private static final String[] RESOURCE_TYPES = {"image", "video", "raw"};
+
+    // Colonnes contenant un publicId
+    private static final List<String> COLONNES_PUBLIC_ID = List.of(
+            "Video.videoPublicId", "Video.thumbnailPublicId",
+            "CommunicationVideo.videoPublicId",
+            "EPoster.fichierPublicId",
+            "Document.fichierPublicId",
+            "Archive.imagePublicId",
+            "ContenuStatique.imagePublicId",
+            "Room.imagePublicId",
+            "Speaker.photoPublicId", "Speaker.cvPublicId",
+            "Sponsor.logoPublicId",
+            // Déjà en cours de suppression
+            "FileDeletion.publicId");
+
+    // Colonnes contenant une URL (anciennes lignes sans publicId, document Word des abstracts)
+    private static final List<String> COLONNES_URL = List.of(
+            "Video.videoUrl", "Video.thumbnailUrl", "Video.sousTitresUrl",
+            "CommunicationVideo.videoUrl",
+            "EPoster.fichierUrl",
+            "Document.fichierUrl",
+            "Archive.imageUrl",
+            "ContenuStatique.imageUrl",
+            "Room.imageUrl",
+            "Speaker.photoUrl", "Speaker.cvUrl",
+            "Sponsor.logoUrl",
+            "Abstract.wordFileUrl");
+
+    private static final int MAX_EXEMPLES = 200;
+    private static final int MAX_ATTENTES_QUOTA = 20;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private FileDeletionService fileDeletionService;
+
+    @Autowired
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Autowired
+    @Qualifier("storageReconciliationExecutor")
+    private TaskExecutor storageReconciliationExecutor;
+
+    private final TransactionTemplate lectureSeule;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.storage.reconciliation.prefixes:smcd-congress/}")
+    private List<String> prefixes;
+
+    @Value("${app.storage.reconciliation.grace-hours:24}")
+    private long delaiGraceHeures;
+
+    @Value("${app.storage.reconciliation.purge:false}")
+    private boolean purgeAutomatique;
+
+    // Au-delà, la purge est refusée (probable erreur de lecture de la base plutôt que de vraies fuites)
+    @Value("${app.storage.reconciliation.max-purge:2000}")
+    private int maxPurge;
+
+    private final AtomicBoolean enCours = new AtomicBoolean(false);
+    private volatile StorageReconciliationDTO dernierRapport;
+
+    public StorageReconciliationService(PlatformTransactionManager transactionManager) {
+        this.lectureSeule = new TransactionTemplate(transactionManager);
+        this.lectureSeule.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Lance une réconciliation en arrière-plan
+     *
+     * @param purge true pour supprimer les orphelins, false pour un simple rapport
+     * @return false si une réconciliation est déjà en cours
+     */
+    public boolean lancer(boolean purge) {
+        if (enCours.get()) {
+            return false;
+        }
+        try {
+            storageReconciliationExecutor.execute(() -> executer(purge));
+            return true;
+        } catch (TaskRejectedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Réconciliation planifiée (rapport seul, sauf si app.storage.reconciliation.purge=true)
+     */
+    @Scheduled(cron = "${app.storage.reconciliation.cron:0 30 3 * * SUN}")
+    public void planifiee() {
+        executer(purgeAutomatique);
+    }
+
+    /**
+     * Rapport de la dernière réconciliation (ou de celle en cours), null si aucune n'a été lancée
+     */
+    public StorageReconciliationDTO getDernierRapport() {
+        return dernierRapport;
+    }
+
+    private void executer(boolean purge) {
+        if (!enCours.compareAndSet(false, true)) {
+            log.warn("Réconciliation du stockage déjà en cours");
+            return;
+        }
+
+        StorageReconciliationDTO rapport = StorageReconciliationDTO.builder()
+                .statut("EN_COURS")
+                .purge(purge)
+                .dateDebut(LocalDateTime.now())
+                .exemples(new CopyOnWriteArrayList<>())
+                .build();
+        dernierRapport = rapport;
+
+        try {
+            Set<String> connus = chargerPublicIdsConnus();
+            log.info("Réconciliation du stockage: {} publicIds référencés en base", connus.size());
+
+            Instant limite = Instant.now().minus(Duration.ofHours(delaiGraceHeures));
+            Map<String, List<String>> orphelinsParType = new LinkedHashMap<>();
+
+            for (String resourceType : RESOURCE_TYPES) {
+                List<String> orphelins = new ArrayList<>();
+                for (String prefix : prefixes) {
+                    parcourir(prefix.trim(), resourceType, connus, limite, orphelins, rapport);
+                }
+                orphelinsParType.put(resourceType, orphelins);
+            }
+
+            if (purge) {
+                purger(orphelinsParType, rapport);
+            }
+
+            rapport.setStatut("TERMINEE");
+            log.info("Réconciliation du stockage terminée: {} fichiers analysés, {} orphelins ({} octets), {} suppressions planifiées",
+                    rapport.getFichiersAnalyses(), rapport.getOrphelins(), rapport.getTailleOrphelins(),
+                    rapport.getSuppressionsPlanifiees());
+        } catch (Exception e) {
+            rapport.setStatut("ECHEC");
+            rapport.setMessage(e.getMessage());
+            log.error("Erreur lors de la réconciliation du stockage: {}", e.getMessage(), e);
+        } finally {
+            rapport.setDateFin(LocalDateTime.now());
+            enCours.set(false);
+        }
+    }
+
+    /**
+     * Lit en flux les publicIds de toutes les tables qui référencent des fichiers
+     */
+    private Set<String> chargerPublicIdsConnus() {
+        Set<String> connus = new HashSet<>();
+        lectureSeule.executeWithoutResult(status -> {
+            for (String colonne : COLONNES_PUBLIC_ID) {
+                try (Stream<String> valeurs = lire(colonne)) {
+                    valeurs.forEach(connus::add);
+                }
+            }
+            // Fichiers dédupliqués : connus seulement s'ils sont référencés par au moins une entité
+            try (Stream<String> valeurs = entityManager
+                    .createQuery("SELECT b.publicId FROM MediaBlob b WHERE b.referenceCount > 0", String.class)
+                    .setHint("org.hibernate.fetchSize", 1000)
+                    .setHint("org.hibernate.readOnly", true)
+                    .getResultStream()) {
+                valeurs.forEach(connus::add);
+            }
+            for (String colonne : COLONNES_URL) {
+                try (Stream<String> valeurs = lire(colonne)) {
+                    valeurs.map(storageBackend::extractPublicIdFromUrl)
+                            .filter(publicId -> publicId != null)
+                            .forEach(connus::add);
+                }
+            }
+        });
+        return connus;
+    }
+
+    private Stream<String> lire(String colonne) {
+        String[] parties = colonne.split("\\.");
+        String jpql = "SELECT e." + parties[1] + " FROM " + parties[0] + " e WHERE e." + parties[1] + " IS NOT NULL";
+        return entityManager.createQuery(jpql, String.class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    /**
+     * Parcourt un dossier du stockage page par page et relève les fichiers non référencés
+     */
+    private void parcourir(String prefix, String resourceType, Set<String> connus, Instant limite,
+                           List<String> orphelins, StorageReconciliationDTO rapport) throws IOException {
+        String cursor = null;
+        do {
+            StoredFilePage page = listerAvecAttente(prefix, resourceType, cursor);
+            for (StoredFileMetadata fichier : page.getFichiers()) {
+                rapport.setFichiersAnalyses(rapport.getFichiersAnalyses() + 1);
+
+                if (estReference(fichier.getPublicId(), connus)) {
+                    rapport.setFichiersReferences(rapport.getFichiersReferences() + 1);
+                } else if (fichier.getDateCreation() == null || fichier.getDateCreation().isAfter(limite)) {
+                    rapport.setFichiersRecents(rapport.getFichiersRecents() + 1);
+                } else {
+                    orphelins.add(fichier.getPublicId());
+                    rapport.setOrphelins(rapport.getOrphelins() + 1);
+                    if (fichier.getTaille() != null) {
+                        rapport.setTailleOrphelins(rapport.getTailleOrphelins() + fichier.getTaille());
+                    }
+                    if (rapport.getExemples().size() < MAX_EXEMPLES) {
+                        rapport.getExemples().add(fichier);
+                    }
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    /**
+     * Les URLs ne contiennent pas toujours l'extension des fichiers "raw" : les deux formes sont acceptées
+     */
+    private boolean estReference(String publicId, Set<String> connus) {
+        if (connus.contains(publicId)) {
+            return true;
+        }
+        int dot = publicId.lastIndexOf('.');
+        return dot > publicId.lastIndexOf('/') && connus.contains(publicId.substring(0, dot));
+    }
+
+    /**
+     * Liste une page en attendant la fin du quota de l'API d'administration si nécessaire
+     */
+    private StoredFilePage listerAvecAttente(String prefix, String resourceType, String cursor) throws IOException {
+        for (int attente = 0; ; attente++) {
+            try {
+                return storageBackend.listFiles(prefix, resourceType, cursor);
+            } catch (StorageUnavailableException e) {
+                if (attente >= MAX_ATTENTES_QUOTA) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(Math.min(e.getRetryAfter(), 120) * 1000);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Planifie la suppression des orphelins via l'outbox (envoyés par lots de 100)
+     */
+    private void purger(Map<String, List<String>> orphelinsParType, StorageReconciliationDTO rapport) {
+        if (rapport.getOrphelins() > maxPurge) {
+            rapport.setMessage("Purge refusée : " + rapport.getOrphelins() + " orphelins dépassent la limite de "
+                    + maxPurge + " (app.storage.reconciliation.max-purge)");
+            log.error(rapport.getMessage());
+            return;
+        }
+
+        orphelinsParType.forEach((resourceType, publicIds) -> {
+            if (publicIds.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                // Les lignes media_blob sans référence partent avec le fichier (sinon la déduplication
+                // réutiliserait un fichier supprimé) ; un fichier référencé entre-temps est conservé
+                mediaBlobRepository.supprimerNonReferences(publicIds);
+                List<String> aSupprimer = new ArrayList<>(publicIds);
+                aSupprimer.removeAll(new HashSet<>(mediaBlobRepository.findPublicIds(publicIds)));
+                if (!aSupprimer.isEmpty()) {
+                    fileDeletionService.planifierTous(aSupprimer, resourceType);
+                    rapport.setSuppressionsPlanifiees(rapport.getSuppressionsPlanifiees() + aSupprimer.size());
+                }
+            });
+        });
+    }
+}
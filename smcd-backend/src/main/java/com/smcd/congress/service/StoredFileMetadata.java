@@ -0,0 +1,26 @@
+package com.smcd.congress.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Métadonnées d'un fichier stocké par un StorageBackend
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFileMetadata {
+
+    private String publicId;
+    private String resourceType;
+    private String format;
+    private Long taille;
+    // Durée en secondes (vidéos), si le stockage la fournit
+    private Double duree;
+    private Instant dateCreation;
+}
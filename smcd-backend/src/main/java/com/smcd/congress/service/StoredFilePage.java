@@ -0,0 +1,23 @@
+package com.smcd.congress.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page de fichiers retournée par StorageBackend.listFiles
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFilePage {
+
+    private List<StoredFileMetadata> fichiers;
+
+    // Curseur de la page suivante, null pour la dernière page
+    private String nextCursor;
+}
@@ -0,0 +1,169 @@
+package com.smcd.congress.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contrôle d'admission des uploads par volume d'octets en cours de réception
+ * Chaque upload réserve sa taille (Content-Length) avant la lecture du corps de la requête :
+ * - budget global : au-delà, l'upload attend qu'une place se libère (attente bornée) puis est refusé (503)
+ * - budget par adresse IP sur les endpoints publics : un même client ne peut pas occuper tout le budget (429)
+ * Le disque temporaire et la mémoire ne peuvent donc pas être saturés par des uploads simultanés
+ */
+@Slf4j
+@Service
+public class UploadAdmissionService {
+
+    /**
+     * Résultat d'une demande d'admission
+     */
+    public enum Decision { ADMIS, SATURE, QUOTA_CLIENT }
+
+    private final long budget;
+    private final long budgetParClient;
+    private final int maxUploadsParClient;
+    private final long attenteMaxNanos;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition placeLiberee = lock.newCondition();
+
+    // Protégés par lock
+    private long octetsEnCours;
+    private int uploadsEnCours;
+    private int uploadsEnAttente;
+    private final Map<String, Reservation> parClient = new HashMap<>();
+
+    private final AtomicLong admis = new AtomicLong();
+    private final AtomicLong refusesSature = new AtomicLong();
+    private final AtomicLong refusesClient = new AtomicLong();
+
+    private static class Reservation {
+        long octets;
+        int uploads;
+    }
+
+    public UploadAdmissionService(
+            @Value("${app.upload.admission.max-bytes-in-flight:1GB}") DataSize budget,
+            @Value("${app.upload.admission.max-bytes-per-client:300MB}") DataSize budgetParClient,
+            @Value("${app.upload.admission.max-uploads-per-client:3}") int maxUploadsParClient,
+            @Value("${app.upload.admission.queue-timeout-ms:10000}") long attenteMaxMs) {
+        this.budget = budget.toBytes();
+        this.budgetParClient = budgetParClient.toBytes();
+        this.maxUploadsParClient = maxUploadsParClient;
+        this.attenteMaxNanos = TimeUnit.MILLISECONDS.toNanos(attenteMaxMs);
+    }
+
+    /**
+     * Réserve la place d'un upload, en attendant au plus queue-timeout-ms si le budget global est atteint
+     * Un upload plus grand que le budget entier est admis seul
+     *
+     * @param client Adresse du client pour l'équité entre clients, null pour un endpoint administrateur
+     * @param octets Taille annoncée de la requête
+     */
+    public Decision reserver(String client, long octets) throws InterruptedException {
+        lock.lock();
+        try {
+            if (client != null && !accepterClient(client, octets)) {
+                refusesClient.incrementAndGet();
+                return Decision.QUOTA_CLIENT;
+            }
+
+            long restant = attenteMaxNanos;
+            uploadsEnAttente++;
+            try {
+                while (octetsEnCours > 0 && octetsEnCours + octets > budget) {
+                    if (restant <= 0) {
+                        refusesSature.incrementAndGet();
+                        log.warn("Upload refusé: {} Mo en cours de réception, budget de {} Mo atteint",
+                                octetsEnCours / (1024 * 1024), budget / (1024 * 1024));
+                        return Decision.SATURE;
+                    }
+                    restant = placeLiberee.awaitNanos(restant);
+                }
+            } finally {
+                uploadsEnAttente--;
+            }
+
+            // Le quota du client a pu être consommé pendant l'attente
+            if (client != null && !accepterClient(client, octets)) {
+                refusesClient.incrementAndGet();
+                return Decision.QUOTA_CLIENT;
+            }
+
+            octetsEnCours += octets;
+            uploadsEnCours++;
+            if (client != null) {
+                Reservation reservation = parClient.computeIfAbsent(client, c -> new Reservation());
+                reservation.octets += octets;
+                reservation.uploads++;
+            }
+            admis.incrementAndGet();
+            return Decision.ADMIS;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libère la place réservée par un upload terminé (avec ou sans succès)
+     */
+    public void liberer(String client, long octets) {
+        lock.lock();
+        try {
+            octetsEnCours -= octets;
+            uploadsEnCours--;
+            if (client != null) {
+                Reservation reservation = parClient.get(client);
+                if (reservation != null) {
+                    reservation.octets -= octets;
+                    reservation.uploads--;
+                    if (reservation.uploads <= 0) {
+                        parClient.remove(client);
+                    }
+                }
+            }
+            placeLiberee.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indicateurs du contrôle d'admission
+     */
+    public Map<String, Object> getMetriques() {
+        Map<String, Object> metriques = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            metriques.put("budgetOctets", budget);
+            metriques.put("octetsEnCours", octetsEnCours);
+            metriques.put("uploadsEnCours", uploadsEnCours);
+            metriques.put("uploadsEnAttente", uploadsEnAttente);
+            metriques.put("clientsActifs", parClient.size());
+        } finally {
+            lock.unlock();
+        }
+        metriques.put("admis", admis.get());
+        metriques.put("refusesSature", refusesSature.get());
+        metriques.put("refusesClient", refusesClient.get());
+        return metriques;
+    }
+
+    private boolean accepterClient(String client, long octets) {
+        Reservation reservation = parClient.get(client);
+        if (reservation == null) {
+            return true;
+        }
+        return reservation.uploads < maxUploadsParClient && reservation.octets + octets <= budgetParClient;
+    }
+}
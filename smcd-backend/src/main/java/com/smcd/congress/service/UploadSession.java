@@ -0,0 +1,81 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.UploadSessionCreateDTO;
+import com.smcd.congress.model.enums.TypeUpload;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Session d'upload reprenable (dans l'esprit du protocole tus)
+ * Le fichier est assemblé sur le disque local ; l'offset est le nombre d'octets contigus déjà reçus
+ */
+@Getter
+public class UploadSession {
+
+    private final String id;
+    private final TypeUpload type;
+    private final String nomFichier;
+    private final String contentType;
+    private final long taille;
+    private final Path path;
+    private final UploadSessionCreateDTO demande;
+
+    private volatile long offset;
+    private volatile String jobId;
+    private volatile LocalDateTime derniereActivite = LocalDateTime.now();
+    private volatile LocalDateTime dateExpiration;
+
+    // Empreinte SHA-256 calculée au fil de la réception (déduplication sans relire le fichier)
+    private final MessageDigest empreinte = MediaBlobService.newDigest();
+    private String sha256;
+
+    // Un seul envoi à la fois par session
+    private final ReentrantLock verrou = new ReentrantLock();
+
+    public UploadSession(String id, UploadSessionCreateDTO demande, Path path, long dureeHeures) {
+        this.id = id;
+        this.type = demande.getType();
+        this.nomFichier = demande.getNomFichier();
+        this.contentType = demande.getContentType();
+        this.taille = demande.getTaille();
+        this.path = path;
+        this.demande = demande;
+        this.dateExpiration = derniereActivite.plusHours(dureeHeures);
+    }
+
+    public boolean isComplete() {
+        return offset >= taille;
+    }
+
+    public boolean isExpiree() {
+        return LocalDateTime.now().isAfter(dateExpiration);
+    }
+
+    /**
+     * Enregistre les octets reçus et repousse l'expiration
+     */
+    public void avancer(long nouvelOffset, long dureeHeures) {
+        this.offset = nouvelOffset;
+        this.derniereActivite = LocalDateTime.now();
+        this.dateExpiration = derniereActivite.plusHours(dureeHeures);
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    /**
+     * Le fichier assemblé, prêt pour le pipeline d'ingestion
+     */
+    public SpooledFile toSpooledFile() {
+        if (sha256 == null && isComplete()) {
+            sha256 = HexFormat.of().formatHex(empreinte.digest());
+        }
+        return new SpooledFile(path, nomFichier, contentType, taille, sha256);
+    }
+}
@@ -0,0 +1,311 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.UploadSessionCreateDTO;
+import com.smcd.congress.exception.ResourceNotFoundException;
+import com.smcd.congress.exception.UploadOffsetException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sessions d'upload reprenable pour les gros fichiers (vidéos, E-Posters)
+ * Le client ouvre une session, envoie le fichier par plages d'octets (PUT) et peut demander
+ * à tout moment l'offset déjà reçu pour reprendre après une coupure.
+ * Les morceaux sont écrits à leur position dans le fichier via FileChannel ; une fois le fichier
+ * complet, il est confié au pipeline d'ingestion
+ */
+@Service
+public class UploadSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionService.class);
+
+    // Taille du tampon de recopie requête -> fichier
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private VideoService videoService;
+
+    @Autowired
+    private CommunicationVideoService communicationVideoService;
+
+    @Autowired
+    private EPosterService ePosterService;
+
+    @Autowired
+    private MediaIngestService mediaIngestService;
+
+    @Value("${app.ingest.spool-dir:${java.io.tmpdir}/smcd-ingest}")
+    private String spoolDir;
+
+    @Value("${app.upload.session-expiration-hours:24}")
+    private long dureeHeures;
+
+    private Path sessionsDir;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        sessionsDir = Paths.get(spoolDir, "sessions");
+        Files.createDirectories(sessionsDir);
+
+        // Les sessions sont gardées en mémoire : les fichiers partiels d'un démarrage précédent sont orphelins
+        try (DirectoryStream<Path> orphelins = Files.newDirectoryStream(sessionsDir)) {
+            for (Path orphelin : orphelins) {
+                Files.deleteIfExists(orphelin);
+            }
+        }
+        logger.info("Répertoire des sessions d'upload reprenable: {}", sessionsDir);
+    }
+
+    /**
+     * Ouvre une session d'upload ; le type, la taille et les métadonnées sont vérifiés avant tout envoi
+     */
+    public UploadSession creer(UploadSessionCreateDTO dto) throws IOException {
+        purgerSessionsExpirees();
+        valider(dto);
+
+        String id = UUID.randomUUID().toString();
+        String nomFichier = dto.getNomFichier();
+        String extension = nomFichier.contains(".") ? nomFichier.substring(nomFichier.lastIndexOf('.')) : "";
+        Path path = Files.createFile(sessionsDir.resolve(id + extension));
+
+        UploadSession session = new UploadSession(id, dto, path, dureeHeures);
+        sessions.put(id, session);
+
+        logger.info("Session d'upload {} ouverte: {} ({} octets)", dto.getType(), id, dto.getTaille());
+        return session;
+    }
+
+    /**
+     * Récupère une session par son identifiant
+     */
+    public UploadSession getSession(String id) {
+        UploadSession session = sessions.get(id);
+        if (session == null) {
+            throw new ResourceNotFoundException("Session d'upload non trouvée: " + id);
+        }
+        return session;
+    }
+
+    /**
+     * Écrit une plage d'octets du fichier
+     * La plage doit commencer à l'offset déjà reçu ; en cas de coupure, les octets reçus restent acquis
+     * Le premier morceau est refusé si ses premiers octets ne correspondent pas au type de média de la session
+     *
+     * @param debut Premier octet de la plage
+     * @param fin Dernier octet de la plage (inclus)
+     * @param total Taille totale annoncée par le client
+     * @param input Le corps de la requête
+     * @return La session, avec son nouvel offset
+     */
+    public UploadSession ecrire(String id, long debut, long fin, long total, InputStream input) throws IOException {
+        UploadSession session = getSession(id);
+
+        if (total != session.getTaille()) {
+            throw new IllegalArgumentException("La taille totale ne correspond pas à celle de la session");
+        }
+        if (fin < debut || fin >= total) {
+            throw new IllegalArgumentException("Plage d'octets invalide");
+        }
+        if (!session.getVerrou().tryLock()) {
+            throw new UploadOffsetException("Un envoi est déjà en cours pour cette session", session.getOffset());
+        }
+
+        try {
+            verifierActive(session);
+            if (session.getJobId() != null || debut != session.getOffset()) {
+                throw new UploadOffsetException(
+                        "La plage doit commencer à l'octet " + session.getOffset(), session.getOffset());
+            }
+
+            // Premier morceau : le type réel du fichier est vérifié avant d'écrire quoi que ce soit
+            if (debut == 0) {
+                byte[] entete = input.readNBytes((int) Math.min(ContentSniffer.TAILLE_ENTETE, fin + 1));
+                ContentSniffer.verifier(session.getType(), entete);
+                input = new SequenceInputStream(new ByteArrayInputStream(entete), input);
+            }
+
+            long limite = fin + 1;
+            long position = debut;
+            // Octets écrits et pris en compte dans l'empreinte SHA-256 : c'est l'offset retenu
+            long recus = debut;
+            try (FileChannel channel = FileChannel.open(session.getPath(), StandardOpenOption.WRITE);
+                 ReadableByteChannel source = Channels.newChannel(input)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                try {
+                    while (position < limite) {
+                        buffer.clear();
+                        buffer.limit((int) Math.min(BUFFER_SIZE, limite - position));
+                        if (source.read(buffer) < 0) {
+                            break;
+                        }
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                        buffer.rewind();
+                        session.getEmpreinte().update(buffer);
+                        recus = position;
+                    }
+                } finally {
+                    // Les octets écrits sont conservés même si la connexion a été coupée
+                    channel.force(false);
+                    session.avancer(recus, dureeHeures);
+                }
+            }
+
+            logger.debug("Session {}: {} / {} octets reçus", id, recus, session.getTaille());
+
+            if (session.isComplete()) {
+                soumettre(session);
+            }
+            return session;
+        } finally {
+            session.getVerrou().unlock();
+        }
+    }
+
+    /**
+     * Relance la mise en file d'une session complète (par exemple après un refus pour file pleine)
+     */
+    public UploadSession finaliser(String id) {
+        UploadSession session = getSession(id);
+        if (!session.getVerrou().tryLock()) {
+            throw new UploadOffsetException("Un envoi est déjà en cours pour cette session", session.getOffset());
+        }
+
+        try {
+            verifierActive(session);
+            if (!session.isComplete()) {
+                throw new UploadOffsetException("Le fichier n'est pas encore complet", session.getOffset());
+            }
+            if (session.getJobId() == null) {
+                soumettre(session);
+            }
+            return session;
+        } finally {
+            session.getVerrou().unlock();
+        }
+    }
+
+    /**
+     * Abandonne une session et supprime le fichier partiel
+     * Refusé (409) pendant un envoi ou une finalisation : le fichier est en cours d'écriture ou confié à l'ingestion
+     */
+    public void annuler(String id) {
+        UploadSession session = getSession(id);
+        if (!session.getVerrou().tryLock()) {
+            throw new UploadOffsetException("Un envoi est en cours pour cette session, réessayez après sa fin",
+                    session.getOffset());
+        }
+
+        try {
+            verifierActive(session);
+            sessions.remove(id, session);
+            if (session.getJobId() == null) {
+                supprimerFichier(session);
+            }
+        } finally {
+            session.getVerrou().unlock();
+        }
+        logger.info("Session d'upload {} annulée", id);
+    }
+
+    /**
+     * Vérifie, verrou pris, que la session n'a pas été annulée ou purgée entre sa lecture et le verrouillage
+     */
+    private void verifierActive(UploadSession session) {
+        if (sessions.get(session.getId()) != session) {
+            throw new ResourceNotFoundException("Session d'upload non trouvée: " + session.getId());
+        }
+    }
+
+    /**
+     * Confie le fichier complet au pipeline d'ingestion
+     * Si la file est pleine, l'exception remonte et le fichier est conservé pour une nouvelle tentative
+     */
+    private void soumettre(UploadSession session) {
+        SpooledFile fichier = session.toSpooledFile();
+        UploadSessionCreateDTO demande = session.getDemande();
+
+        IngestJob job = switch (session.getType()) {
+            case VIDEO -> mediaIngestService.soumettreVideo(fichier, demande.getVideo());
+            case COMMUNICATION_VIDEO -> mediaIngestService.soumettreCommunicationVideo(fichier, demande.getCommunication());
+            case EPOSTER -> mediaIngestService.soumettreEPoster(fichier, demande.getEposter());
+            case DOCUMENT -> throw new IllegalStateException("Type non supporté par les sessions d'upload");
+        };
+
+        session.setJobId(job.getId());
+        logger.info("Session d'upload {} complète, tâche d'ingestion {}", session.getId(), job.getId());
+    }
+
+    private void valider(UploadSessionCreateDTO dto) {
+        switch (dto.getType()) {
+            case VIDEO -> {
+                if (dto.getVideo() == null) {
+                    throw new IllegalArgumentException("Les informations de la vidéo sont obligatoires");
+                }
+                videoService.validerUpload(dto.getContentType(), dto.getTaille(), dto.getVideo());
+            }
+            case COMMUNICATION_VIDEO -> {
+                if (dto.getCommunication() == null) {
+                    throw new IllegalArgumentException("Les informations de la communication sont obligatoires");
+                }
+                communicationVideoService.validerUpload(dto.getContentType(), dto.getTaille());
+            }
+            case EPOSTER -> {
+                if (dto.getEposter() == null) {
+                    throw new IllegalArgumentException("Les informations de l'E-Poster sont obligatoires");
+                }
+                ePosterService.validerUpload(dto.getNomFichier(), dto.getContentType(), dto.getTaille());
+            }
+            case DOCUMENT -> throw new IllegalArgumentException("Les documents ne passent pas par les sessions d'upload");
+        }
+    }
+
+    private void purgerSessionsExpirees() {
+        for (UploadSession session : sessions.values()) {
+            // Une session verrouillée est en cours d'envoi : elle sera examinée à la purge suivante
+            if (!session.isExpiree() || !session.getVerrou().tryLock()) {
+                continue;
+            }
+            try {
+                if (session.isExpiree() && sessions.remove(session.getId(), session) && session.getJobId() == null) {
+                    supprimerFichier(session);
+                    logger.info("Session d'upload {} expirée", session.getId());
+                }
+            } finally {
+                session.getVerrou().unlock();
+            }
+        }
+    }
+
+    private void supprimerFichier(UploadSession session) {
+        try {
+            Files.deleteIfExists(session.getPath());
+        } catch (IOException e) {
+            logger.warn("Impossible de supprimer le fichier de la session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.smcd.congress.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fichiers envoyés vers Cloudinary pendant la première phase d'un upload en deux phases
+ * Conserve aussi les anciens fichiers remplacés, à supprimer une fois la transaction validée
+ */
+public class UploadedMedia {
+
+    private final Map<String, Map<String, String>> fichiers = new ConcurrentHashMap<>();
+    private final List<String> remplaces = new CopyOnWriteArrayList<>();
+
+    /**
+     * Enregistre le résultat d'un upload Cloudinary sous un nom ("photo", "cv", ...)
+     */
+    public void ajouter(String nom, Map<String, String> uploadResult) {
+        fichiers.put(nom, uploadResult);
+    }
+
+    public boolean contient(String nom) {
+        return fichiers.containsKey(nom);
+    }
+
+    public String getUrl(String nom) {
+        Map<String, String> fichier = fichiers.get(nom);
+        return fichier != null ? fichier.get("url") : null;
+    }
+
+    public String getPublicId(String nom) {
+        Map<String, String> fichier = fichiers.get(nom);
+        return fichier != null ? fichier.get("publicId") : null;
+    }
+
+    public Map<String, String> get(String nom) {
+        return fichiers.get(nom);
+    }
+
+    /**
+     * Signale un ancien fichier remplacé ; il ne sera supprimé qu'après le commit
+     */
+    public void remplacer(String publicId) {
+        if (publicId != null && !publicId.isEmpty()) {
+            remplaces.add(publicId);
+        }
+    }
+
+    Collection<Map<String, String>> getFichiers() {
+        return new ArrayList<>(fichiers.values());
+    }
+
+    List<String> getRemplaces() {
+        return remplaces;
+    }
+}
@@ -0,0 +1,61 @@
+package com.smcd.congress.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Métadonnées d'une vidéo lues localement dans le conteneur MP4/MOV (sans décodage)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoMetadata {
+
+    private Long dureeMs;
+    private Integer largeur;
+    private Integer hauteur;
+    // Code du format d'échantillon (avc1, hvc1, av01...)
+    private String codec;
+
+    /**
+     * Ajoute les métadonnées au résultat d'un upload ("duration" en secondes, "width", "height", "codec")
+     */
+    public void completer(Map<String, String> result) {
+        if (dureeMs != null) {
+            result.put("duration", String.valueOf(Math.round(dureeMs / 1000.0)));
+        }
+        if (largeur != null && hauteur != null) {
+            result.put("width", String.valueOf(largeur));
+            result.put("height", String.valueOf(hauteur));
+        }
+        if (codec != null) {
+            result.put("codec", codec);
+        }
+    }
+
+    /**
+     * Libellé de résolution (720p, 1080p, 4K) à partir des dimensions, null si inconnues
+     * Le plus petit côté est retenu pour que les vidéos verticales aient le même libellé
+     */
+    public static String resolution(String largeur, String hauteur) {
+        if (largeur == null || hauteur == null) return null;
+        int cote;
+        try {
+            cote = Math.min(Integer.parseInt(largeur), Integer.parseInt(hauteur));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (cote <= 0) return null;
+        if (cote >= 2160) return "4K";
+        if (cote >= 1440) return "1440p";
+        if (cote >= 1080) return "1080p";
+        if (cote >= 720) return "720p";
+        if (cote >= 480) return "480p";
+        return cote + "p";
+    }
+}
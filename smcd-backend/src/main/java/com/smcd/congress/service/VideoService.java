@@ -15,8 +15,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.text.Normalizer;
 import java.util.*;
 import java.util.regex.Pattern;
@@ -32,7 +34,9 @@ public class VideoService {
     private final VideoRepository videoRepository;
     private final ChapterRepository chapterRepository;
     private final RoomRepository roomRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadService mediaUploadService;
+    private final TransactionTemplate transactionTemplate;
 
     // Formats vidéo autorisés
     private static final Set<String> ALLOWED_VIDEO_FORMATS = Set.of(
@@ -81,12 +85,16 @@ public class VideoService {
             throw new IllegalArgumentException("Le fichier vidéo est obligatoire");
         }
 
-        String contentType = file.getContentType();
+        validateVideoFile(file.getContentType(), file.getSize());
+        ContentSniffer.verifierVideo(ContentSniffer.lireEntete(file));
+    }
+
+    private void validateVideoFile(String contentType, long size) {
         if (contentType == null || !ALLOWED_VIDEO_FORMATS.contains(contentType)) {
             throw new IllegalArgumentException("Format vidéo non supporté. Formats acceptés : MP4, MOV, AVI, WMV, WebM, MPEG");
         }
 
-        if (file.getSize() > MAX_VIDEO_SIZE) {
+        if (size > MAX_VIDEO_SIZE) {
             throw new IllegalArgumentException("La taille du fichier dépasse la limite de 500 MB");
         }
     }
@@ -108,18 +116,105 @@ public class VideoService {
     }
 
     /**
-     * Upload une nouvelle vidéo
+     * Vérifie le fichier et le chapitre avant la mise en file d'une vidéo
      */
-    @Transactional
-    public Video uploadVideo(MultipartFile videoFile, MultipartFile thumbnail, VideoDTO dto) {
-        // Validation
+    public void validerUpload(MultipartFile videoFile, VideoDTO dto) {
         validateVideoFile(videoFile);
+        validerChapitre(dto);
+    }
+
+    /**
+     * Vérifie le type et la taille annoncés à l'ouverture d'une session d'upload reprenable
+     */
+    public void validerUpload(String contentType, long taille, VideoDTO dto) {
+        validateVideoFile(contentType, taille);
+        validerChapitre(dto);
+    }
+
+    private void validerChapitre(VideoDTO dto) {
+        if (dto.getChapterId() == null || !chapterRepository.existsById(dto.getChapterId())) {
+            throw new ResourceNotFoundException("Chapitre non trouvé avec l'ID : " + dto.getChapterId());
+        }
+    }
+
+    /**
+     * Upload une nouvelle vidéo à partir des fichiers déposés sur le disque local
+     * Appelé par le pipeline d'ingestion : aucune transaction n'est ouverte pendant l'envoi vers Cloudinary
+     */
+    public Video uploadVideo(SpooledFile videoFile, SpooledFile thumbnail, VideoDTO dto, IngestJob job) throws IOException {
+        String annee = transactionTemplate.execute(status -> {
+            Chapter chapter = chapterRepository.findById(dto.getChapterId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Chapitre non trouvé avec l'ID : " + dto.getChapterId()));
+            log.info("Upload d'une nouvelle vidéo dans le chapitre {} : {}", chapter.getTitre(), dto.getTitre());
+            return chapter.getRoom() != null ? String.valueOf(chapter.getRoom().getAnnee()) : "2026";
+        });
+
+        Video savedVideo = mediaUploadService.executer(
+                mediaUploadService.enParallele(
+                        medias -> {
+                            // Upload vidéo vers Cloudinary
+                            try {
+                                job.etape(thumbnail != null ? "Envoi de la vidéo et de la miniature" : "Envoi de la vidéo");
+                                medias.ajouter("video", mediaBlobService.uploadVideo(videoFile, "videos/" + annee, job));
+                                log.info("Vidéo uploadée : {}", medias.getUrl("video"));
+                            } catch (Exception e) {
+                                log.error("Erreur lors de l'upload de la vidéo", e);
+                                throw new RuntimeException("Erreur lors de l'upload de la vidéo : " + e.getMessage());
+                            }
+                        },
+                        medias -> {
+                            // Upload thumbnail si fourni (en parallèle de la vidéo)
+                            if (thumbnail == null) return;
+                            try {
+                                medias.ajouter("thumbnail", mediaBlobService.uploadFile(thumbnail, "videos/" + annee + "/thumbnails"));
+                                log.info("Thumbnail uploadé : {}", medias.getUrl("thumbnail"));
+                            } catch (Exception e) {
+                                log.error("Erreur lors de l'upload du thumbnail", e);
+                            }
+                            job.ajouterOctets(thumbnail.getSize());
+                        }
+                ).andThen(medias -> job.etape("Enregistrement")),
+                medias -> creerVideo(medias, dto, videoFile.getContentType(), videoFile.getSize())
+        );
+        log.info("Vidéo créée avec l'ID : {}", savedVideo.getId());
+        
+        return savedVideo;
+    }
+
+    /**
+     * Année du congrès d'un chapitre (dossier de stockage de ses vidéos)
+     */
+    public String getAnneeChapitre(Long chapterId) {
+        return transactionTemplate.execute(status -> {
+            Chapter chapter = chapterRepository.findById(chapterId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Chapitre non trouvé avec l'ID : " + chapterId));
+            return chapter.getRoom() != null ? String.valueOf(chapter.getRoom().getAnnee()) : "2026";
+        });
+    }
+
+    /**
+     * Crée une vidéo dont le fichier a été envoyé directement au stockage par le navigateur (upload signé)
+     * Si l'enregistrement échoue, le fichier est supprimé du stockage
+     */
+    public Video enregistrerVideo(Map<String, String> fichier, String contentType, long taille, VideoDTO dto) throws IOException {
+        validerChapitre(dto);
+        Video savedVideo = mediaUploadService.executer(
+                medias -> medias.ajouter("video", fichier),
+                medias -> creerVideo(medias, dto, contentType, taille)
+        );
+        log.info("Vidéo créée par upload direct avec l'ID : {}", savedVideo.getId());
+        return savedVideo;
+    }
+
+    /**
+     * Enregistre la vidéo (phase 2, dans la transaction courte)
+     */
+    private Video creerVideo(UploadedMedia medias, VideoDTO dto, String contentType, long taille) {
+        Map<String, String> videoResult = medias.get("video");
 
         Chapter chapter = chapterRepository.findById(dto.getChapterId())
                 .orElseThrow(() -> new ResourceNotFoundException("Chapitre non trouvé avec l'ID : " + dto.getChapterId()));
 
-        log.info("Upload d'une nouvelle vidéo dans le chapitre {} : {}", chapter.getTitre(), dto.getTitre());
-
         Video video = Video.builder()
                 .titre(dto.getTitre())
                 .slug(generateUniqueSlug(dto.getTitre()))
@@ -132,103 +227,86 @@ public class VideoService {
                 .visibilite(dto.getVisibilite() != null ? dto.getVisibilite() : VisibiliteVideo.PUBLIC)
                 .publie(false) // Brouillon par défaut
                 .chapter(chapter)
-                .format(getFormatFromContentType(videoFile.getContentType()))
-                .tailleFichier(videoFile.getSize())
+                .format(getFormatFromContentType(contentType))
+                .tailleFichier(taille)
+                .videoUrl(videoResult.get("url"))
+                .videoPublicId(videoResult.get("publicId"))
                 .build();
 
-        // Déterminer l'ordre dans le chapitre
-        Integer maxOrdre = videoRepository.findMaxOrdreByChapterId(chapter.getId());
-        video.setOrdre(maxOrdre + 1);
-
-        // Upload vidéo vers Cloudinary
-        try {
-            String annee = chapter.getRoom() != null ? String.valueOf(chapter.getRoom().getAnnee()) : "2026";
-            Map<String, String> videoResult = cloudinaryService.uploadVideo(
-                    videoFile,
-                    "videos/" + annee
-            );
-            video.setVideoUrl(videoResult.get("url"));
-            video.setVideoPublicId(videoResult.get("publicId"));
-            
-            // Extraire la durée si disponible
-            if (videoResult.containsKey("duration")) {
-                try {
-                    video.setDuree(Integer.parseInt(videoResult.get("duration")));
-                } catch (NumberFormatException e) {
-                    log.warn("Impossible de parser la durée de la vidéo");
-                }
+        // Extraire la durée si disponible
+        if (videoResult.containsKey("duration")) {
+            try {
+                video.setDuree(Integer.parseInt(videoResult.get("duration")));
+            } catch (NumberFormatException e) {
+                log.warn("Impossible de parser la durée de la vidéo");
             }
-            
-            log.info("Vidéo uploadée : {}", videoResult.get("url"));
-        } catch (Exception e) {
-            log.error("Erreur lors de l'upload de la vidéo", e);
-            throw new RuntimeException("Erreur lors de l'upload de la vidéo : " + e.getMessage());
         }
+        video.setResolution(VideoMetadata.resolution(videoResult.get("width"), videoResult.get("height")));
+        video.setCodec(videoResult.get("codec"));
 
-        // Upload thumbnail si fourni
-        if (thumbnail != null && !thumbnail.isEmpty()) {
-            try {
-                String annee = chapter.getRoom() != null ? String.valueOf(chapter.getRoom().getAnnee()) : "2026";
-                Map<String, String> thumbResult = cloudinaryService.uploadFile(
-                        thumbnail,
-                        "videos/" + annee + "/thumbnails"
-                );
-                video.setThumbnailUrl(thumbResult.get("url"));
-                video.setThumbnailPublicId(thumbResult.get("publicId"));
-                log.info("Thumbnail uploadé : {}", thumbResult.get("url"));
-            } catch (Exception e) {
-                log.error("Erreur lors de l'upload du thumbnail", e);
-            }
+        if (medias.contient("thumbnail")) {
+            video.setThumbnailUrl(medias.getUrl("thumbnail"));
+            video.setThumbnailPublicId(medias.getPublicId("thumbnail"));
         }
 
-        Video savedVideo = videoRepository.save(video);
-        log.info("Vidéo créée avec l'ID : {}", savedVideo.getId());
-        
-        return savedVideo;
+        // Déterminer l'ordre dans le chapitre
+        Integer maxOrdre = videoRepository.findMaxOrdreByChapterId(chapter.getId());
+        video.setOrdre(maxOrdre + 1);
+
+        return videoRepository.save(video);
     }
 
     /**
      * Modifie une vidéo existante
+     * Le nouveau thumbnail est envoyé hors transaction, l'ancien n'est supprimé qu'une fois la modification enregistrée
      */
-    @Transactional
-    public Video modifierVideo(Long id, VideoDTO dto, MultipartFile newThumbnail) {
-        Video video = videoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Vidéo non trouvée avec l'ID : " + id));
+    public Video modifierVideo(Long id, VideoDTO dto, MultipartFile newThumbnail) throws IOException {
+        String annee = transactionTemplate.execute(status -> {
+            Video video = videoRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Vidéo non trouvée avec l'ID : " + id));
+            return video.getChapter().getRoom() != null
+                    ? String.valueOf(video.getChapter().getRoom().getAnnee()) : "2026";
+        });
 
         log.info("Modification de la vidéo ID {} : {}", id, dto.getTitre());
 
-        video.setTitre(dto.getTitre());
-        video.setDescription(dto.getDescription());
-        video.setDescriptionCourte(dto.getDescriptionCourte());
-        video.setIntervenant(dto.getIntervenant());
-        video.setCoIntervenants(dto.getCoIntervenants());
-        video.setTags(dto.getTags());
-        if (dto.getLangue() != null) video.setLangue(dto.getLangue());
-        if (dto.getVisibilite() != null) video.setVisibilite(dto.getVisibilite());
-
-        // Upload nouveau thumbnail si fourni
-        if (newThumbnail != null && !newThumbnail.isEmpty()) {
-            try {
-                // Supprimer l'ancien thumbnail
-                if (video.getThumbnailPublicId() != null) {
-                    cloudinaryService.deleteFile(video.getThumbnailPublicId());
+        return mediaUploadService.executer(
+                medias -> {
+                    // Upload nouveau thumbnail si fourni
+                    if (newThumbnail != null && !newThumbnail.isEmpty()) {
+                        try {
+                            medias.ajouter("thumbnail", mediaBlobService.uploadFile(
+                                    newThumbnail,
+                                    "videos/" + annee + "/thumbnails"
+                            ));
+                            log.info("Nouveau thumbnail uploadé : {}", medias.getUrl("thumbnail"));
+                        } catch (Exception e) {
+                            log.error("Erreur lors de l'upload du nouveau thumbnail", e);
+                        }
+                    }
+                },
+                medias -> {
+                    Video video = videoRepository.findById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("Vidéo non trouvée avec l'ID : " + id));
+
+                    video.setTitre(dto.getTitre());
+                    video.setDescription(dto.getDescription());
+                    video.setDescriptionCourte(dto.getDescriptionCourte());
+                    video.setIntervenant(dto.getIntervenant());
+                    video.setCoIntervenants(dto.getCoIntervenants());
+                    video.setTags(dto.getTags());
+                    if (dto.getLangue() != null) video.setLangue(dto.getLangue());
+                    if (dto.getVisibilite() != null) video.setVisibilite(dto.getVisibilite());
+
+                    if (medias.contient("thumbnail")) {
+                        medias.remplacer(video.getThumbnailPublicId());
+                        video.setThumbnailUrl(medias.getUrl("thumbnail"));
+                        video.setThumbnailPublicId(medias.getPublicId("thumbnail"));
+                    }
+
+                    return videoRepository.save(video);
                 }
-
-                String annee = video.getChapter().getRoom() != null 
-                        ? String.valueOf(video.getChapter().getRoom().getAnnee()) : "2026";
-                Map<String, String> thumbResult = cloudinaryService.uploadFile(
-                        newThumbnail,
-                        "videos/" + annee + "/thumbnails"
-                );
-                video.setThumbnailUrl(thumbResult.get("url"));
-                video.setThumbnailPublicId(thumbResult.get("publicId"));
-                log.info("Nouveau thumbnail uploadé : {}", thumbResult.get("url"));
-            } catch (Exception e) {
-                log.error("Erreur lors de l'upload du nouveau thumbnail", e);
-            }
-        }
-
-        return videoRepository.save(video);
+        );
     }
 
     /**
@@ -269,22 +347,14 @@ public class VideoService {
 
         log.info("Suppression de la vidéo ID {} : {}", id, video.getTitre());
 
-        // Supprimer la vidéo de Cloudinary
+        // Supprimer la vidéo du stockage (après le commit)
         if (video.getVideoPublicId() != null) {
-            try {
-                cloudinaryService.deleteVideo(video.getVideoPublicId());
-            } catch (Exception e) {
-                log.error("Erreur lors de la suppression de la vidéo sur Cloudinary", e);
-            }
+            mediaBlobService.liberer(video.getVideoPublicId());
         }
 
-        // Supprimer le thumbnail de Cloudinary
+        // Supprimer le thumbnail du stockage (après le commit)
         if (video.getThumbnailPublicId() != null) {
-            try {
-                cloudinaryService.deleteFile(video.getThumbnailPublicId());
-            } catch (Exception e) {
-                log.error("Erreur lors de la suppression du thumbnail", e);
-            }
+            mediaBlobService.liberer(video.getThumbnailPublicId());
         }
 
         videoRepository.delete(video);
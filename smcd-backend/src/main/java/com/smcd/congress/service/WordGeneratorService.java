@@ -23,7 +23,7 @@ import java.time.format.DateTimeFormatter;
 @RequiredArgsConstructor
 public class WordGeneratorService {
 
-    private final CloudinaryService cloudinaryService;
+    private final StorageBackend storageBackend;
 
     private static final String FONT_NAME = "Times New Roman";
     private static final int FONT_SIZE_TITLE = 16;
@@ -84,7 +84,7 @@ public class WordGeneratorService {
 
             // Upload vers Cloudinary avec nom personnalisé (sans .docx, Cloudinary l'ajoute automatiquement)
             String publicIdName = fileName.replace(".docx", "");
-            String cloudinaryUrl = cloudinaryService.uploadFileWithName(tempFile, "abstracts/2026", publicIdName);
+            String cloudinaryUrl = storageBackend.uploadFileWithName(tempFile, "abstracts/2026", publicIdName);
             log.info("Document Word uploadé avec succès: {}", cloudinaryUrl);
 
             return cloudinaryUrl;
@@ -0,0 +1,275 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.CommunicationVideo;
+import com.smcd.congress.model.EPoster;
+import com.smcd.congress.model.NewsletterSubscriber;
+import com.smcd.congress.model.Speaker;
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Exports Excel (.xlsx) générés côté serveur avec SXSSF
+ * Les lignes sont lues en flux (curseur JDBC, app.export.fetch-size lignes par aller-retour, entités détachées
+ * après écriture) et seules les app.export.xlsx.row-window dernières lignes restent en mémoire :
+ * les précédentes sont écrites dans un fichier temporaire compressé, recopié dans la réponse à la fin.
+ * La mémoire utilisée ne dépend donc pas du nombre de lignes exportées
+ */
+@Slf4j
+@Service
+public class XlsxExportService {
+
+    // Taille maximale du texte d'une cellule Excel
+    private static final int MAX_TEXTE_CELLULE = 32767;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate lectureSeule;
+
+    @Value("${app.export.xlsx.row-window:100}")
+    private int fenetreLignes;
+
+    @Value("${app.export.fetch-size:500}")
+    private int fetchSize;
+
+    public XlsxExportService(PlatformTransactionManager transactionManager) {
+        this.lectureSeule = new TransactionTemplate(transactionManager);
+        this.lectureSeule.setReadOnly(true);
+    }
+
+    /**
+     * Colonne d'un export : titre, largeur (en caractères) et valeur extraite de l'entité
+     */
+    private record Colonne<T>(String titre, int largeur, Function<T, Object> valeur) {
+    }
+
+    // ============ EXPORTS ============
+
+    public void exporterAbstracts(StatutSoumission statut, Rubrique rubrique, OutputStream sortie) throws IOException {
+        List<Colonne<Abstract>> colonnes = List.of(
+                new Colonne<>("Référence", 16, Abstract::getNumeroReference),
+                new Colonne<>("Date de soumission", 18, Abstract::getDateSoumission),
+                new Colonne<>("Statut", 22, a -> a.getStatut() != null ? a.getStatut().getLabel() : null),
+                new Colonne<>("Rubrique", 30, a -> a.getRubrique() != null ? a.getRubrique().getLabel() : null),
+                new Colonne<>("Type", 22, a -> a.getType() != null ? a.getType().getLabel() : null),
+                new Colonne<>("Nom", 18, Abstract::getNom),
+                new Colonne<>("Prénom", 18, Abstract::getPrenom),
+                new Colonne<>("Email", 28, Abstract::getEmail),
+                new Colonne<>("Téléphone", 16, Abstract::getTelephone),
+                new Colonne<>("Auteurs", 40, Abstract::getAuteurs),
+                new Colonne<>("Affiliation", 30, Abstract::getAffiliation),
+                new Colonne<>("Titre", 50, Abstract::getTitre),
+                new Colonne<>("Mots-clés", 30, Abstract::getMotsCles),
+                new Colonne<>("Introduction", 60, Abstract::getIntroduction),
+                new Colonne<>("Matériel et méthodes", 60, Abstract::getMaterielMethodes),
+                new Colonne<>("Résultats", 60, Abstract::getResultats),
+                new Colonne<>("Discussion", 60, Abstract::getDiscussion),
+                new Colonne<>("Conclusion", 60, Abstract::getConclusion),
+                new Colonne<>("Références", 60, Abstract::getReferences),
+                new Colonne<>("URL vidéo", 30, Abstract::getUrlVideo),
+                new Colonne<>("Commentaires du comité", 40, Abstract::getCommentairesComite),
+                new Colonne<>("Date de révision", 18, Abstract::getDateRevision));
+
+        Map<String, Object> parametres = new HashMap<>();
+        parametres.put("statut", statut);
+        parametres.put("rubrique", rubrique);
+        exporter("Abstracts", colonnes, Abstract.class,
+                "SELECT a FROM Abstract a WHERE a.deleted = false " +
+                "AND (:statut IS NULL OR a.statut = :statut) AND (:rubrique IS NULL OR a.rubrique = :rubrique) " +
+                "ORDER BY a.dateSoumission DESC",
+                parametres, sortie);
+    }
+
+    public void exporterEPosters(OutputStream sortie) throws IOException {
+        List<Colonne<EPoster>> colonnes = List.of(
+                new Colonne<>("ID", 8, EPoster::getId),
+                new Colonne<>("Date d'envoi", 18, EPoster::getDateUpload),
+                new Colonne<>("Statut", 20, e -> e.getStatut() != null ? e.getStatut().getLabel() : null),
+                new Colonne<>("Rubrique", 30, e -> e.getRubrique() != null ? e.getRubrique().getLabel() : null),
+                new Colonne<>("Nom", 18, EPoster::getNomAuteur),
+                new Colonne<>("Prénom", 18, EPoster::getPrenomAuteur),
+                new Colonne<>("Email", 28, EPoster::getEmailAuteur),
+                new Colonne<>("Titre", 50, EPoster::getTitre),
+                new Colonne<>("Fichier", 30, EPoster::getNomFichierOriginal),
+                new Colonne<>("Taille (octets)", 14, EPoster::getTailleFichier),
+                new Colonne<>("Vues", 8, EPoster::getNombreVues),
+                new Colonne<>("Téléchargements", 14, EPoster::getNombreTelechargements),
+                new Colonne<>("Année", 8, EPoster::getAnnee),
+                new Colonne<>("Commentaires", 40, EPoster::getCommentairesAdmin),
+                new Colonne<>("Date de validation", 18, EPoster::getDateValidation));
+
+        exporter("E-posters", colonnes, EPoster.class,
+                "SELECT e FROM EPoster e ORDER BY e.dateUpload DESC", Map.of(), sortie);
+    }
+
+    public void exporterCommunicationsVideos(OutputStream sortie) throws IOException {
+        List<Colonne<CommunicationVideo>> colonnes = List.of(
+                new Colonne<>("ID", 8, CommunicationVideo::getId),
+                new Colonne<>("Date d'envoi", 18, CommunicationVideo::getDateUpload),
+                new Colonne<>("Statut", 20, c -> c.getStatut() != null ? c.getStatut().getLabel() : null),
+                new Colonne<>("Rubrique", 30, c -> c.getRubrique() != null ? c.getRubrique().getLabel() : null),
+                new Colonne<>("Nom", 18, CommunicationVideo::getNomAuteur),
+                new Colonne<>("Prénom", 18, CommunicationVideo::getPrenomAuteur),
+                new Colonne<>("Email", 28, CommunicationVideo::getEmailAuteur),
+                new Colonne<>("Titre", 50, CommunicationVideo::getTitre),
+                new Colonne<>("Description", 60, CommunicationVideo::getDescription),
+                new Colonne<>("Format", 8, CommunicationVideo::getFormat),
+                new Colonne<>("Durée (s)", 10, CommunicationVideo::getDuree),
+                new Colonne<>("Résolution", 12, CommunicationVideo::getResolution),
+                new Colonne<>("Codec", 8, CommunicationVideo::getCodec),
+                new Colonne<>("Taille (octets)", 14, CommunicationVideo::getTailleFichier),
+                new Colonne<>("Actif", 8, CommunicationVideo::getActif),
+                new Colonne<>("Vues", 8, CommunicationVideo::getNombreVues),
+                new Colonne<>("Téléchargements", 14, CommunicationVideo::getNombreTelechargements),
+                new Colonne<>("Année", 8, CommunicationVideo::getAnnee),
+                new Colonne<>("Commentaires", 40, CommunicationVideo::getCommentairesAdmin),
+                new Colonne<>("Date de validation", 18, CommunicationVideo::getDateValidation));
+
+        exporter("Communications vidéo", colonnes, CommunicationVideo.class,
+                "SELECT c FROM CommunicationVideo c ORDER BY c.dateUpload DESC", Map.of(), sortie);
+    }
+
+    public void exporterSpeakers(OutputStream sortie) throws IOException {
+        List<Colonne<Speaker>> colonnes = List.of(
+                new Colonne<>("ID", 8, Speaker::getId),
+                new Colonne<>("Titre", 8, Speaker::getTitre),
+                new Colonne<>("Nom", 18, Speaker::getNom),
+                new Colonne<>("Prénom", 18, Speaker::getPrenom),
+                new Colonne<>("Spécialité", 25, Speaker::getSpecialite),
+                new Colonne<>("Institution", 30, Speaker::getInstitution),
+                new Colonne<>("Ville", 16, Speaker::getVille),
+                new Colonne<>("Pays", 16, Speaker::getPays),
+                new Colonne<>("Email", 28, Speaker::getEmail),
+                new Colonne<>("Téléphone", 16, Speaker::getTelephone),
+                new Colonne<>("Site web", 30, Speaker::getSiteWeb),
+                new Colonne<>("LinkedIn", 30, Speaker::getLinkedinUrl),
+                new Colonne<>("ResearchGate", 30, Speaker::getResearchGateUrl),
+                new Colonne<>("Président", 10, Speaker::getIsPresident),
+                new Colonne<>("À la une", 10, Speaker::getFeatured),
+                new Colonne<>("Ordre", 8, Speaker::getOrdre),
+                new Colonne<>("Année", 8, Speaker::getAnnee),
+                new Colonne<>("Bio courte (FR)", 50, Speaker::getBioCourteFr),
+                new Colonne<>("Bio courte (EN)", 50, Speaker::getBioCourteEn),
+                new Colonne<>("Date d'ajout", 18, Speaker::getDateAjout));
+
+        exporter("Intervenants", colonnes, Speaker.class,
+                "SELECT s FROM Speaker s ORDER BY s.ordre, s.nom", Map.of(), sortie);
+    }
+
+    public void exporterAbonnes(OutputStream sortie) throws IOException {
+        List<Colonne<NewsletterSubscriber>> colonnes = List.of(
+                new Colonne<>("Email", 32, NewsletterSubscriber::getEmail),
+                new Colonne<>("Nom", 18, NewsletterSubscriber::getNom),
+                new Colonne<>("Prénom", 18, NewsletterSubscriber::getPrenom),
+                new Colonne<>("Actif", 8, NewsletterSubscriber::getActif),
+                new Colonne<>("Origine", 16, NewsletterSubscriber::getOrigine),
+                new Colonne<>("Date d'inscription", 18, NewsletterSubscriber::getDateInscription),
+                new Colonne<>("Date de désinscription", 18, NewsletterSubscriber::getDateDesinscription));
+
+        exporter("Abonnés", colonnes, NewsletterSubscriber.class,
+                "SELECT n FROM NewsletterSubscriber n ORDER BY n.id", Map.of(), sortie);
+    }
+
+    // ============ ÉCRITURE ============
+
+    private <T> void exporter(String nomFeuille, List<Colonne<T>> colonnes, Class<T> type, String jpql,
+                              Map<String, Object> parametres, OutputStream sortie) throws IOException {
+        long debut = System.currentTimeMillis();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(fenetreLignes);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet feuille = workbook.createSheet(nomFeuille);
+            CellStyle styleEntete = styleEntete(workbook);
+            CellStyle styleDate = workbook.createCellStyle();
+            styleDate.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+
+            Row entete = feuille.createRow(0);
+            for (int i = 0; i < colonnes.size(); i++) {
+                Cell cell = entete.createCell(i);
+                cell.setCellValue(colonnes.get(i).titre());
+                cell.setCellStyle(styleEntete);
+                feuille.setColumnWidth(i, colonnes.get(i).largeur() * 256);
+            }
+            feuille.createFreezePane(0, 1);
+
+            int lignes = lectureSeule.execute(status -> {
+                TypedQuery<T> query = entityManager.createQuery(jpql, type)
+                        .setHint("org.hibernate.fetchSize", fetchSize)
+                        .setHint("org.hibernate.readOnly", true);
+                parametres.forEach(query::setParameter);
+
+                int numero = 0;
+                try (Stream<T> entites = query.getResultStream()) {
+                    for (T entite : (Iterable<T>) entites::iterator) {
+                        Row row = feuille.createRow(++numero);
+                        for (int i = 0; i < colonnes.size(); i++) {
+                            ecrire(row, i, colonnes.get(i).valeur().apply(entite), styleDate);
+                        }
+                        // Les lignes écrites ne restent pas dans le contexte de persistance
+                        entityManager.detach(entite);
+                    }
+                }
+                return numero;
+            });
+
+            if (lignes > 0) {
+                feuille.setAutoFilter(new CellRangeAddress(0, lignes, 0, colonnes.size() - 1));
+            }
+            workbook.write(sortie);
+            log.info("Export Excel \"{}\": {} ligne(s) en {} ms", nomFeuille, lignes, System.currentTimeMillis() - debut);
+        } finally {
+            // Suppression des fichiers temporaires de SXSSF
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void ecrire(Row row, int colonne, Object valeur, CellStyle styleDate) {
+        if (valeur == null) return;
+        Cell cell = row.createCell(colonne);
+        if (valeur instanceof Number nombre) {
+            cell.setCellValue(nombre.doubleValue());
+        } else if (valeur instanceof LocalDateTime date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(styleDate);
+        } else if (valeur instanceof Boolean booleen) {
+            cell.setCellValue(booleen ? "Oui" : "Non");
+        } else {
+            String texte = valeur.toString();
+            cell.setCellValue(texte.length() > MAX_TEXTE_CELLULE ? texte.substring(0, MAX_TEXTE_CELLULE) : texte);
+        }
+    }
+
+    private CellStyle styleEntete(SXSSFWorkbook workbook) {
+        Font gras = workbook.createFont();
+        gras.setBold(true);
+        CellStyle style = workbook.createCellStyle();
+        style.setFont(gras);
+        return style;
+    }
+}
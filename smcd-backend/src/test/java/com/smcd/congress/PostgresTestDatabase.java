@@ -0,0 +1,81 @@
+package com.smcd.congress;
+
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+/**
+ * Base PostgreSQL des tests d'intégration (séquences, recherche plein texte : rien de simulable en H2)
+ * SMCD_TEST_DB_URL (ou -Dsmcd.test.db.url, avec SMCD_TEST_DB_USERNAME / SMCD_TEST_DB_PASSWORD) désigne
+ * une base existante ; sinon un conteneur PostgreSQL est démarré par Testcontainers, une seule fois
+ * pour tous les tests. Sans base ni Docker, les tests qui en dépendent sont ignorés
+ */
+public final class PostgresTestDatabase {
+
+    private static final String IMAGE = "postgres:16-alpine";
+
+    private static PostgreSQLContainer<?> conteneur;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static synchronized String url() {
+        String url = parametre("smcd.test.db.url", "SMCD_TEST_DB_URL");
+        if (url != null) {
+            return url;
+        }
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                "Ni SMCD_TEST_DB_URL ni Docker : test PostgreSQL ignoré");
+        if (conteneur == null) {
+            conteneur = new PostgreSQLContainer<>(IMAGE);
+            conteneur.start();
+        }
+        return conteneur.getJdbcUrl();
+    }
+
+    public static String username() {
+        url();
+        return conteneur != null ? conteneur.getUsername()
+                : valeurOuDefaut(parametre("smcd.test.db.username", "SMCD_TEST_DB_USERNAME"), "postgres");
+    }
+
+    public static String password() {
+        url();
+        return conteneur != null ? conteneur.getPassword()
+                : valeurOuDefaut(parametre("smcd.test.db.password", "SMCD_TEST_DB_PASSWORD"), "");
+    }
+
+    /**
+     * URL JDBC dont le schéma courant est imposé (créé s'il n'existe pas)
+     */
+    public static String url(String schema) {
+        new JdbcTemplate(new DriverManagerDataSource(url(), username(), password()))
+                .execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+        return url() + (url().contains("?") ? "&" : "?") + "currentSchema=" + schema;
+    }
+
+    /**
+     * Connexions sans pool sur un schéma (voir url(String))
+     */
+    public static DataSource dataSource(String schema) {
+        DriverManagerDataSource schemaSource = new DriverManagerDataSource(url(schema), username(), password());
+        schemaSource.setDriverClassName("org.postgresql.Driver");
+        return schemaSource;
+    }
+
+    private static String parametre(String propriete, String variable) {
+        String valeur = System.getProperty(propriete);
+        if (valeur == null || valeur.isBlank()) {
+            valeur = System.getenv(variable);
+        }
+        return valeur != null && !valeur.isBlank() ? valeur : null;
+    }
+
+    private static String valeurOuDefaut(String valeur, String defaut) {
+        return valeur != null && !valeur.isBlank() ? valeur : defaut;
+    }
+}
@@ -0,0 +1,114 @@
+package com.smcd.congress.controller;
+
+import com.smcd.congress.service.LocalStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Diffusion des fichiers locaux : en-têtes de cache selon que l'identifiant peut être réécrit ou non
+ */
+class FileControllerTest {
+
+    @TempDir
+    Path racine;
+
+    private LocalStorageBackend localStorageBackend;
+    private FileController fileController;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        localStorageBackend = new LocalStorageBackend();
+        ReflectionTestUtils.setField(localStorageBackend, "rootDir", racine.toString());
+        ReflectionTestUtils.setField(localStorageBackend, "baseUrl", "http://localhost:8080");
+        localStorageBackend.init();
+        fileController = new FileController(localStorageBackend);
+    }
+
+    @Test
+    void identifiantGenere_cacheImmutable() throws IOException {
+        String publicId = "smcd-congress/speakers/3f2b8c1e-9d4a-4b6f-8e2a-1c5d7e9f0a12.jpg";
+        ecrire(publicId, "photo");
+
+        MockHttpServletResponse response = servir(publicId, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("public, max-age=31536000, immutable");
+        assertThat(response.getHeader("ETag")).isNotBlank();
+    }
+
+    @Test
+    void identifiantChoisi_revalideEtRenvoyeApresRegeneration() throws IOException {
+        String publicId = "smcd-congress/abstracts/2026/SMCD2026-042_Alaoui.docx";
+        Path fichier = ecrire(publicId, "version 1");
+        Files.setLastModifiedTime(fichier, FileTime.fromMillis(1_700_000_000_000L));
+
+        MockHttpServletResponse premiere = servir(publicId, null);
+        assertThat(premiere.getHeader("Cache-Control")).isEqualTo("no-cache");
+        String etag = premiere.getHeader("ETag");
+
+        MockHttpServletResponse revalidation = servir(publicId, etag);
+        assertThat(revalidation.getStatus()).isEqualTo(304);
+
+        // Régénération au même identifiant : l'ancienne version en cache n'est plus valide
+        Files.writeString(fichier, "version 2 plus longue", StandardCharsets.UTF_8);
+        MockHttpServletResponse apresRegeneration = servir(publicId, etag);
+        assertThat(apresRegeneration.getStatus()).isEqualTo(200);
+        assertThat(apresRegeneration.getHeader("ETag")).isNotEqualTo(etag);
+        assertThat(apresRegeneration.getContentAsString()).isEqualTo("version 2 plus longue");
+    }
+
+    @Test
+    void plageMalFormee_416SansErreurServeur() throws IOException {
+        String publicId = "smcd-congress/speakers/3f2b8c1e-9d4a-4b6f-8e2a-1c5d7e9f0a12.jpg";
+        ecrire(publicId, "photo");
+
+        for (String range : new String[] {"bytes=5", "bytes=", "bytes=-", "bytes=a-b"}) {
+            MockHttpServletRequest request = requete(publicId);
+            request.addHeader("Range", range);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            fileController.servir(request, response);
+
+            assertThat(response.getStatus()).as(range).isEqualTo(416);
+            assertThat(response.getHeader("Content-Range")).as(range).isEqualTo("bytes */5");
+        }
+
+        MockHttpServletRequest request = requete(publicId);
+        request.addHeader("Range", "bytes=1-3");
+        MockHttpServletResponse partielle = new MockHttpServletResponse();
+        fileController.servir(request, partielle);
+        assertThat(partielle.getStatus()).isEqualTo(206);
+        assertThat(partielle.getContentAsString()).isEqualTo("hot");
+    }
+
+    private Path ecrire(String publicId, String contenu) throws IOException {
+        Path fichier = localStorageBackend.resolve(publicId);
+        Files.createDirectories(fichier.getParent());
+        return Files.writeString(fichier, contenu, StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletResponse servir(String publicId, String ifNoneMatch) throws IOException {
+        MockHttpServletRequest request = requete(publicId);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileController.servir(request, response);
+        return response;
+    }
+
+    private MockHttpServletRequest requete(String publicId) {
+        return new MockHttpServletRequest("GET", LocalStorageBackend.URL_PREFIX + publicId);
+    }
+}
@@ -0,0 +1,87 @@
+package com.smcd.congress.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.smcd.congress.service.UploadAdmissionService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admission des morceaux de session d'upload : comptés dans le budget quel que soit leur Content-Type
+ */
+class UploadAdmissionFilterTest {
+
+    private static final long MORCEAU = 8L * 1024 * 1024;
+
+    private UploadAdmissionService uploadAdmissionService;
+    private UploadAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Budget par client : deux morceaux de 8 Mo au plus
+        uploadAdmissionService = new UploadAdmissionService(
+                DataSize.ofMegabytes(100), DataSize.ofMegabytes(16), 3, 0);
+        filter = new UploadAdmissionFilter();
+        ReflectionTestUtils.setField(filter, "uploadAdmissionService", uploadAdmissionService);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(filter, "cheminsPublics", List.of("/api/uploads/sessions/**"));
+        ReflectionTestUtils.setField(filter, "tailleMin", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(filter, "tailleInconnue", DataSize.ofMegabytes(100));
+        ReflectionTestUtils.setField(filter, "retryAfter", 30L);
+    }
+
+    @Test
+    void morceauVideoMp4OuSansType_soumisAuBudgetParClient() throws Exception {
+        // Deux morceaux en cours de réception occupent le budget du client
+        assertThat(uploadAdmissionService.reserver("10.0.0.1", MORCEAU)).isEqualTo(UploadAdmissionService.Decision.ADMIS);
+        assertThat(uploadAdmissionService.reserver("10.0.0.1", MORCEAU)).isEqualTo(UploadAdmissionService.Decision.ADMIS);
+
+        for (String contentType : new String[] {"video/mp4", null}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = envoyer(morceau(contentType), chain);
+
+            assertThat(response.getStatus()).as(String.valueOf(contentType)).isEqualTo(429);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+            assertThat(chain.getRequest()).isNull();
+        }
+    }
+
+    @Test
+    void morceauVideoMp4_admisPuisLibere() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = envoyer(morceau("video/mp4"), chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        // La réservation est rendue à la fin de la requête : le budget du client est de nouveau entier
+        assertThat(uploadAdmissionService.reserver("10.0.0.1", 2 * MORCEAU))
+                .isEqualTo(UploadAdmissionService.Decision.ADMIS);
+    }
+
+    private MockHttpServletRequest morceau(String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/uploads/sessions/3f2b8c1e");
+        request.setRemoteAddr("10.0.0.1");
+        request.setContent(new byte[(int) MORCEAU]);
+        if (contentType != null) {
+            request.setContentType(contentType);
+        }
+        request.addHeader("Content-Range", "bytes 0-" + (MORCEAU - 1) + "/" + (4 * MORCEAU));
+        return request;
+    }
+
+    private MockHttpServletResponse envoyer(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
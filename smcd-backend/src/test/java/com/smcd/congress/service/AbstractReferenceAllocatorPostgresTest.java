@@ -0,0 +1,148 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.PostgresTestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Attribution des références sur une vraie séquence PostgreSQL, par plusieurs serveurs à la fois
+ */
+class AbstractReferenceAllocatorPostgresTest {
+
+    private static final int TAILLE_BLOC = 20;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = PostgresTestDatabase.dataSource("allocation_test");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS abstract_reference_seq_2026");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS abstracts");
+        jdbcTemplate.execute("CREATE TABLE abstracts (numero_reference VARCHAR(20) UNIQUE)");
+        // Références déjà attribuées avant la création de la séquence
+        jdbcTemplate.update("INSERT INTO abstracts (numero_reference) VALUES ('SMCD2026-041'), ('SMCD2025-900')");
+    }
+
+    @Test
+    void soumissionsParallelesSurPlusieursServeurs_aucuneCollision() throws Exception {
+        List<AbstractReferenceAllocator> serveurs = List.of(allocator(), allocator(), allocator(), allocator());
+        int soumissions = 400;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch depart = new CountDownLatch(1);
+        try {
+            List<Future<String>> references = new ArrayList<>();
+            for (int i = 0; i < soumissions; i++) {
+                AbstractReferenceAllocator serveur = serveurs.get(i % serveurs.size());
+                references.add(executor.submit(() -> {
+                    depart.await();
+                    String reference = serveur.prochaineReference();
+                    // La contrainte d'unicité détecterait une collision à l'insertion
+                    jdbcTemplate.update("INSERT INTO abstracts (numero_reference) VALUES (?)", reference);
+                    return reference;
+                }));
+            }
+            depart.countDown();
+
+            Set<String> attribuees = new HashSet<>();
+            for (Future<String> reference : references) {
+                assertThat(attribuees.add(reference.get(60, TimeUnit.SECONDS))).isTrue();
+            }
+
+            assertThat(attribuees).hasSize(soumissions)
+                    .allSatisfy(reference -> assertThat(reference).matches("SMCD2026-\\d{3,}"))
+                    .allSatisfy(reference -> assertThat(Long.parseLong(reference.substring(9))).isGreaterThan(41));
+            // Chaque serveur entame au plus un bloc qu'il n'épuise pas
+            Long dernier = jdbcTemplate.queryForObject("SELECT last_value FROM abstract_reference_seq_2026", Long.class);
+            assertThat(dernier).isLessThanOrEqualTo(42L + soumissions + (long) TAILLE_BLOC * (serveurs.size() - 1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void soumissionsDansDesTransactions_petitPool_sansAttenteDeConnexion() throws Exception {
+        // Comme submitAbstract : chaque référence est prise dans la transaction de la soumission, qui garde
+        // sa connexion. Un bloc épuisé ne doit pas demander une seconde connexion à un pool déjà vide
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(PostgresTestDatabase.url("allocation_test"));
+        pool.setUsername(PostgresTestDatabase.username());
+        pool.setPassword(PostgresTestDatabase.password());
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(5000);
+        int soumissions = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch depart = new CountDownLatch(1);
+        try {
+            JdbcTemplate jdbcPool = new JdbcTemplate(pool);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(pool);
+            AbstractReferenceAllocator serveur = new AbstractReferenceAllocator(jdbcPool, transactionManager);
+            ReflectionTestUtils.setField(serveur, "annee", 2026);
+            ReflectionTestUtils.setField(serveur, "tailleBloc", TAILLE_BLOC);
+            serveur.initialiser();
+            TransactionTemplate soumission = new TransactionTemplate(transactionManager);
+
+            List<Future<String>> references = new ArrayList<>();
+            for (int i = 0; i < soumissions; i++) {
+                references.add(executor.submit(() -> {
+                    depart.await();
+                    return soumission.execute(status -> {
+                        String reference = serveur.prochaineReference();
+                        jdbcPool.update("INSERT INTO abstracts (numero_reference) VALUES (?)", reference);
+                        return reference;
+                    });
+                }));
+            }
+            depart.countDown();
+
+            Set<String> attribuees = new HashSet<>();
+            for (Future<String> reference : references) {
+                assertThat(attribuees.add(reference.get(60, TimeUnit.SECONDS))).isTrue();
+            }
+            assertThat(attribuees).hasSize(soumissions);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM abstracts", Long.class))
+                    .isEqualTo(soumissions + 2L);
+        } finally {
+            executor.shutdownNow();
+            pool.close();
+        }
+    }
+
+    @Test
+    void sequenceExistante_repriseSansChevauchement() {
+        AbstractReferenceAllocator premier = allocator();
+        assertThat(premier.prochaineReference()).isEqualTo("SMCD2026-042");
+
+        // Redémarrage : le bloc entamé est abandonné, le nouveau serveur repart après lui
+        AbstractReferenceAllocator apresRedemarrage = allocator();
+        assertThat(apresRedemarrage.prochaineReference()).isEqualTo(String.format("SMCD2026-%03d", 42 + TAILLE_BLOC));
+        assertThat(premier.prochaineReference()).isEqualTo("SMCD2026-043");
+    }
+
+    private AbstractReferenceAllocator allocator() {
+        AbstractReferenceAllocator allocator =
+                new AbstractReferenceAllocator(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(allocator, "annee", 2026);
+        ReflectionTestUtils.setField(allocator, "tailleBloc", TAILLE_BLOC);
+        return allocator;
+    }
+}
@@ -0,0 +1,98 @@
+package com.smcd.congress.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Distribution des numéros par blocs : séquence PostgreSQL simulée (nextval incrémenté de la taille d'un bloc)
+ */
+class AbstractReferenceAllocatorTest {
+
+    private static final int TAILLE_BLOC = 20;
+
+    private final AtomicLong sequence = new AtomicLong(1);
+    private final AtomicInteger appelsNextval = new AtomicInteger();
+
+    private AbstractReferenceAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(eq("SELECT to_regclass(?) IS NULL"), eq(Boolean.class), any(Object[].class)))
+                .thenReturn(false);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn((long) TAILLE_BLOC);
+        when(jdbcTemplate.queryForObject("SELECT nextval('abstract_reference_seq_2026')", Long.class))
+                .thenAnswer(invocation -> {
+                    appelsNextval.incrementAndGet();
+                    return sequence.getAndAdd(TAILLE_BLOC);
+                });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        allocator = new AbstractReferenceAllocator(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(allocator, "annee", 2026);
+        ReflectionTestUtils.setField(allocator, "tailleBloc", TAILLE_BLOC);
+    }
+
+    @Test
+    void soumissionsParalleles_numerosUniquesSansReessai() throws Exception {
+        int soumissions = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch depart = new CountDownLatch(1);
+        try {
+            List<Future<Long>> numeros = new ArrayList<>();
+            for (int i = 0; i < soumissions; i++) {
+                numeros.add(executor.submit(() -> {
+                    depart.await();
+                    return allocator.prochainNumero(2026);
+                }));
+            }
+            depart.countDown();
+
+            Set<Long> attribues = ConcurrentHashMap.newKeySet();
+            for (Future<Long> numero : numeros) {
+                assertThat(attribues.add(numero.get(30, TimeUnit.SECONDS))).isTrue();
+            }
+
+            // Aucun trou ni doublon, et un seul nextval par bloc consommé
+            assertThat(attribues).isEqualTo(LongStream.rangeClosed(1, soumissions).boxed().collect(Collectors.toSet()));
+            assertThat(appelsNextval.get()).isEqualTo(soumissions / TAILLE_BLOC);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void prochaineReference_formatAnneeEtNumero() {
+        assertThat(allocator.prochaineReference()).isEqualTo("SMCD2026-001");
+        assertThat(allocator.prochaineReference()).isEqualTo("SMCD2026-002");
+        assertThat(appelsNextval.get()).isEqualTo(1);
+    }
+}
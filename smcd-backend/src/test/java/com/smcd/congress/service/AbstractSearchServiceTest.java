@@ -0,0 +1,161 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.PostgresTestDatabase;
+import com.smcd.congress.dto.AbstractResponseDTO;
+import com.smcd.congress.model.Abstract;
+import com.smcd.congress.model.enums.Rubrique;
+import com.smcd.congress.model.enums.StatutSoumission;
+import com.smcd.congress.model.enums.TypeCommunication;
+import com.smcd.congress.repository.AbstractRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recherche plein texte des abstracts sur PostgreSQL : initialisation, classement par pertinence, filtres
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AbstractSearchService.class)
+class AbstractSearchServiceTest {
+
+    @Autowired
+    private AbstractSearchService abstractSearchService;
+
+    @Autowired
+    private AbstractRepository abstractRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void base(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PostgresTestDatabase.url("recherche_test"));
+        registry.add("spring.datasource.username", PostgresTestDatabase::username);
+        registry.add("spring.datasource.password", PostgresTestDatabase::password);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @BeforeAll
+    static void postgres() {
+        // Ignore la classe avant le chargement du contexte si aucune base n'est disponible
+        PostgresTestDatabase.url();
+    }
+
+    @BeforeEach
+    void setUp() {
+        abstractSearchService.initialiser();
+    }
+
+    @Test
+    void initialiser_colonneCreeeUneSeuleFois() {
+        assertThat(abstractSearchService.isTexteIntegral()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = 'abstracts' AND column_name = 'recherche'",
+                Integer.class)).isEqualTo(1);
+
+        abstractSearchService.initialiser();
+
+        assertThat(abstractSearchService.isTexteIntegral()).isTrue();
+    }
+
+    @Test
+    void rechercheClassee_titreAvantCorpsAccentsIgnoresExtraitSurligne() {
+        Abstract corps = enregistrer(abstrait("Prise en charge des tumeurs du foie",
+                "L'hépatectomie reste discutée chez ces patients", Rubrique.CHIRURGIE_HEPATO_BILIAIRE));
+        Abstract titre = enregistrer(abstrait("Hépatectomie laparoscopique : résultats à un an",
+                "Série rétrospective <script>alert(1)</script>", Rubrique.CHIRURGIE_HEPATO_BILIAIRE));
+        enregistrer(abstrait("Sleeve gastrectomie et reflux", "Suivi à cinq ans", Rubrique.CHIRURGIE_BARIATRIQUE));
+
+        Page<AbstractResponseDTO> page = abstractSearchService.rechercher(null, null, null, null,
+                "hepatectomie", PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(AbstractResponseDTO::getId)
+                .containsExactly(titre.getId(), corps.getId());
+        assertThat(page.getContent().get(0).getPertinence())
+                .isGreaterThan(page.getContent().get(1).getPertinence());
+        assertThat(page.getContent().get(0).getExtrait())
+                .contains("<mark>Hépatectomie</mark>")
+                .doesNotContain("<script>");
+
+        Page<AbstractResponseDTO> exclusion = abstractSearchService.rechercher(null, null, null, null,
+                "hépatectomie -laparoscopique", PageRequest.of(0, 10));
+        assertThat(exclusion.getContent()).extracting(AbstractResponseDTO::getId).containsExactly(corps.getId());
+    }
+
+    @Test
+    void rechercheFiltree_statutRubriqueEtDates() {
+        Abstract ancien = enregistrer(abstrait("Hernie inguinale : voie ouverte", "Discussion",
+                Rubrique.CHIRURGIE_PARIETALE));
+        Abstract recent = enregistrer(abstrait("Hernie inguinale : TEP ou TAPP", "Discussion",
+                Rubrique.CHIRURGIE_PARIETALE));
+        Abstract horsPeriode = enregistrer(abstrait("Hernie ombilicale", "Discussion", Rubrique.CHIRURGIE_PARIETALE));
+        Abstract autreStatut = enregistrer(abstrait("Éventration", "Discussion", Rubrique.CHIRURGIE_PARIETALE));
+        enregistrer(abstrait("Cholécystectomie", "Discussion", Rubrique.CHIRURGIE_HEPATO_BILIAIRE));
+
+        dater(ancien, LocalDateTime.of(2026, 3, 1, 10, 0));
+        dater(recent, LocalDateTime.of(2026, 3, 20, 10, 0));
+        dater(horsPeriode, LocalDateTime.of(2026, 5, 1, 10, 0));
+        dater(autreStatut, LocalDateTime.of(2026, 3, 10, 10, 0));
+        jdbcTemplate.update("UPDATE abstracts SET statut = 'REFUSE' WHERE id = ?", autreStatut.getId());
+        jdbcTemplate.update("UPDATE abstracts SET statut = 'ACCEPTE' WHERE id <> ?", autreStatut.getId());
+
+        Page<AbstractResponseDTO> page = abstractSearchService.rechercher(StatutSoumission.ACCEPTE,
+                Rubrique.CHIRURGIE_PARIETALE, LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 3, 31, 23, 59),
+                null, PageRequest.of(0, 10));
+
+        // Sans texte cherché : date de soumission décroissante, ni pertinence ni extrait
+        assertThat(page.getContent()).extracting(AbstractResponseDTO::getId)
+                .containsExactly(recent.getId(), ancien.getId());
+        assertThat(page.getContent()).allSatisfy(dto -> assertThat(dto.getExtrait()).isNull());
+
+        Page<AbstractResponseDTO> secondePage = abstractSearchService.rechercher(StatutSoumission.ACCEPTE,
+                Rubrique.CHIRURGIE_PARIETALE, LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 3, 31, 23, 59),
+                "hernie", PageRequest.of(1, 1));
+        assertThat(secondePage.getTotalElements()).isEqualTo(2);
+        assertThat(secondePage.getContent()).hasSize(1);
+    }
+
+    private Abstract enregistrer(Abstract abstractEntity) {
+        return abstractRepository.saveAndFlush(abstractEntity);
+    }
+
+    private void dater(Abstract abstractEntity, LocalDateTime date) {
+        jdbcTemplate.update("UPDATE abstracts SET date_soumission = ? WHERE id = ?",
+                Timestamp.valueOf(date), abstractEntity.getId());
+    }
+
+    private static Abstract abstrait(String titre, String discussion, Rubrique rubrique) {
+        return Abstract.builder()
+                .nom("Alaoui")
+                .prenom("Sara")
+                .email("sara.alaoui@example.org")
+                .auteurs("S. Alaoui, K. Bennani")
+                .affiliation("CHU Ibn Rochd, Casablanca")
+                .type(TypeCommunication.COMMUNICATION_ORALE)
+                .rubrique(rubrique)
+                .titre(titre)
+                .introduction("Introduction")
+                .materielMethodes("Étude monocentrique")
+                .resultats("Résultats")
+                .discussion(discussion)
+                .conclusion("Conclusion")
+                .build();
+    }
+}
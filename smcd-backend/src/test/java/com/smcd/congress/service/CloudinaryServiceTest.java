@@ -0,0 +1,107 @@
+package com.smcd.congress.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upload par morceaux avec le vrai Uploader Cloudinary (module http44) contre un serveur HTTP local
+ */
+class CloudinaryServiceTest {
+
+    private static final int MORCEAU = 6 * 1024 * 1024;
+
+    @TempDir
+    Path dossier;
+
+    private HttpServer serveur;
+    private final AtomicInteger requetes = new AtomicInteger();
+    private CloudinaryService cloudinaryService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serveur = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serveur.createContext("/v1_1/demo/video/upload", echange -> {
+            try (InputStream corps = echange.getRequestBody()) {
+                corps.transferTo(OutputStream.nullOutputStream());
+            }
+            requetes.incrementAndGet();
+            byte[] reponse = ("{\"public_id\":\"smcd-congress/videos/essai\",\"resource_type\":\"video\"," +
+                    "\"secure_url\":\"https://res.cloudinary.com/demo/video/upload/essai.mp4\",\"duration\":12.5}")
+                    .getBytes(StandardCharsets.UTF_8);
+            echange.getResponseHeaders().add("Content-Type", "application/json");
+            echange.sendResponseHeaders(200, reponse.length);
+            try (OutputStream sortie = echange.getResponseBody()) {
+                sortie.write(reponse);
+            }
+        });
+        serveur.start();
+
+        Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", "demo",
+                "api_key", "cle",
+                "api_secret", "secret",
+                "upload_prefix", "http://127.0.0.1:" + serveur.getAddress().getPort()));
+        StorageGuard storageGuard = new StorageGuard(new MockEnvironment());
+        storageGuard.init();
+
+        cloudinaryService = new CloudinaryService();
+        ReflectionTestUtils.setField(cloudinaryService, "cloudinary", cloudinary);
+        ReflectionTestUtils.setField(cloudinaryService, "storageGuard", storageGuard);
+        ReflectionTestUtils.setField(cloudinaryService, "timeoutMs", 10000);
+        ReflectionTestUtils.setField(cloudinaryService, "connectTimeoutMs", 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serveur.stop(0);
+    }
+
+    @Test
+    void uploadVideo_avecListener_progressionParMorceau() throws IOException {
+        long taille = 2L * MORCEAU + 1000;
+        Path video = dossier.resolve("essai.mp4");
+        Files.write(video, new byte[(int) taille]);
+        List<long[]> progression = new CopyOnWriteArrayList<>();
+
+        Map<String, String> resultat = cloudinaryService.uploadVideo(video, "videos",
+                (envoyes, total) -> progression.add(new long[]{envoyes, total}));
+
+        assertThat(resultat).containsEntry("publicId", "smcd-congress/videos/essai")
+                .containsEntry("resourceType", "video")
+                .containsEntry("duration", "12");
+        assertThat(requetes.get()).isEqualTo(3);
+        // Un signalement par morceau envoyé, croissant, jusqu'à la taille totale
+        assertThat(progression).extracting(p -> p[0]).containsExactly((long) MORCEAU, 2L * MORCEAU, taille);
+        assertThat(progression).allSatisfy(p -> assertThat(p[1]).isEqualTo(taille));
+    }
+
+    @Test
+    void uploadVideo_sansListener() throws IOException {
+        Path video = dossier.resolve("court.mp4");
+        Files.write(video, new byte[1000]);
+
+        assertThat(cloudinaryService.uploadVideo(video, "videos", null)).containsEntry("resourceType", "video");
+        assertThat(requetes.get()).isEqualTo(1);
+    }
+}
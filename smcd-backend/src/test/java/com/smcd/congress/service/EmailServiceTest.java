@@ -0,0 +1,68 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.model.EPoster;
+import com.smcd.congress.model.EmailOutbox;
+import com.smcd.congress.model.enums.Langue;
+import com.smcd.congress.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Langue des emails : celle choisie par l'auteur, français pour les entités antérieures
+ */
+class EmailServiceTest {
+
+    private EmailOutboxRepository emailOutboxRepository;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        EmailTemplateEngine emailTemplateEngine = new EmailTemplateEngine();
+        emailTemplateEngine.init();
+        emailOutboxRepository = mock(EmailOutboxRepository.class);
+
+        emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "emailOutboxRepository", emailOutboxRepository);
+        ReflectionTestUtils.setField(emailService, "emailDispatchService", mock(EmailDispatchService.class));
+        ReflectionTestUtils.setField(emailService, "emailTemplateEngine", emailTemplateEngine);
+    }
+
+    @Test
+    void auteurAnglophone_emailEnAnglais() {
+        emailService.sendEPosterRejection(ePoster(Langue.EN));
+
+        assertThat(emailEnFile().getSujet()).isEqualTo("E-Poster not accepted - SMCD 2026");
+    }
+
+    @Test
+    void langueAbsente_emailEnFrancais() {
+        emailService.sendEPosterRejection(ePoster(null));
+
+        assertThat(emailEnFile().getSujet()).isEqualTo("E-Poster non retenu - SMCD 2026");
+    }
+
+    private EPoster ePoster(Langue langue) {
+        return EPoster.builder()
+                .nomAuteur("Alaoui")
+                .prenomAuteur("Sara")
+                .emailAuteur("sara.alaoui@example.com")
+                .titre("Cholécystectomie <laparoscopique>")
+                .commentairesAdmin("Hors sujet")
+                .langue(langue)
+                .build();
+    }
+
+    private EmailOutbox emailEnFile() {
+        ArgumentCaptor<EmailOutbox> email = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(email.capture());
+        return email.getValue();
+    }
+}
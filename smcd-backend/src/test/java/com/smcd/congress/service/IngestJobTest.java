@@ -0,0 +1,65 @@
+package com.smcd.congress.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Progression d'une ingestion : vidéo (callback du stockage) et miniature envoyées en parallèle
+ */
+class IngestJobTest {
+
+    @Test
+    void videoEtMiniatureEnParallele_octetsAdditionnesSansRecul() throws Exception {
+        long video = 200_000;
+        int miniature = 50_000;
+        IngestJob job = new IngestJob("job", "VIDEO", video + miniature);
+        CountDownLatch depart = new CountDownLatch(1);
+
+        CompletableFuture<Void> upload = CompletableFuture.runAsync(() -> {
+            attendre(depart);
+            for (long envoyes = 1; envoyes <= video; envoyes++) {
+                job.onProgress(envoyes, video);
+            }
+        });
+        CompletableFuture<Void> annexe = CompletableFuture.runAsync(() -> {
+            attendre(depart);
+            for (int i = 0; i < miniature; i++) {
+                job.ajouterOctets(1);
+            }
+        });
+
+        depart.countDown();
+        int precedente = 0;
+        while (!upload.isDone() || !annexe.isDone()) {
+            int progression = job.getProgression();
+            assertThat(progression).isGreaterThanOrEqualTo(precedente);
+            precedente = progression;
+        }
+        upload.get();
+        annexe.get();
+
+        assertThat(job.getOctetsEnvoyes()).isEqualTo(video + miniature);
+        assertThat(job.getProgression()).isEqualTo(99);
+    }
+
+    @Test
+    void callbackEnRetard_progressionNeReculePas() {
+        IngestJob job = new IngestJob("job", "VIDEO", 1000);
+        job.onProgress(600, 1000);
+        job.onProgress(400, 1000);
+
+        assertThat(job.getOctetsEnvoyes()).isEqualTo(600);
+    }
+
+    private static void attendre(CountDownLatch depart) {
+        try {
+            depart.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.smcd.congress.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Upload en deux phases : références des nouveaux fichiers et libération des fichiers remplacés
+ */
+class MediaUploadServiceTest {
+
+    private final Map<String, String> photo = Map.of("url", "https://cdn/photo-nouvelle.jpg",
+            "publicId", "smcd-congress/speakers/photo-nouvelle", "resourceType", "image", "hash", "abc");
+
+    private MediaBlobService mediaBlobService;
+    private MediaUploadService mediaUploadService;
+
+    @BeforeEach
+    void setUp() {
+        mediaBlobService = mock(MediaBlobService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        mediaUploadService = new MediaUploadService(mediaBlobService, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void remplacementDeclareDansLEnregistrement_ancienFichierLibere() throws Exception {
+        String resultat = mediaUploadService.executer(
+                medias -> medias.ajouter("photo", photo),
+                medias -> {
+                    medias.remplacer("smcd-congress/speakers/photo-ancienne");
+                    return medias.getUrl("photo");
+                });
+
+        assertThat(resultat).isEqualTo("https://cdn/photo-nouvelle.jpg");
+        InOrder ordre = inOrder(mediaBlobService);
+        ordre.verify(mediaBlobService).referencer("smcd-congress/speakers/photo-nouvelle");
+        ordre.verify(mediaBlobService).liberer("smcd-congress/speakers/photo-ancienne");
+    }
+
+    @Test
+    void echecDeLEnregistrement_rienNEstLibereEtLUploadEstCompense() {
+        assertThatThrownBy(() -> mediaUploadService.executer(
+                medias -> medias.ajouter("photo", photo),
+                medias -> {
+                    medias.remplacer("smcd-congress/speakers/photo-ancienne");
+                    throw new IllegalStateException("contrainte violée");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(mediaBlobService, never()).liberer(anyString());
+        verify(mediaBlobService).abandonner(photo);
+    }
+}
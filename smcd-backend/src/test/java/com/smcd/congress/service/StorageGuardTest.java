@@ -0,0 +1,83 @@
+package com.smcd.congress.service;
+
+import com.cloudinary.api.exceptions.BadRequest;
+import com.cloudinary.api.exceptions.RateLimited;
+import com.smcd.congress.exception.StorageUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.NoSuchFileException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Disjoncteur du stockage : seules les défaillances du stockage l'ouvrent
+ */
+class StorageGuardTest {
+
+    private StorageGuard storageGuard;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.storage.guard.circuit.failure-threshold", "5");
+        // Quotas hors de portée du test (l'API d'administration n'a que 8 appels par minute par défaut)
+        for (StorageGuard.Operation operation : StorageGuard.Operation.values()) {
+            environment.setProperty("app.storage.guard." + operation.name().toLowerCase() + ".per-minute", "10000");
+        }
+        storageGuard = new StorageGuard(environment);
+        storageGuard.init();
+    }
+
+    @Test
+    void erreursDuClient_circuitResteFerme() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            echouer(StorageGuard.Operation.UPLOAD, new RuntimeException("Invalid image file"));
+            echouer(StorageGuard.Operation.UPLOAD, new RuntimeException("File size too large. Got 120000000."));
+            echouer(StorageGuard.Operation.ADMIN, new IOException("Bad request", new BadRequest("invalid prefix")));
+            echouer(StorageGuard.Operation.VIDEO, new NoSuchFileException("/spool/absent.mp4"));
+        }
+
+        assertThat(storageGuard.getMetriques()).containsEntry("circuit", "FERME");
+        assertThat(storageGuard.executer(StorageGuard.Operation.DELETE, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void defaillancesDuStockage_circuitOuvertPourToutesLesOperations() {
+        echouer(StorageGuard.Operation.UPLOAD, new SocketTimeoutException("Read timed out"));
+        echouer(StorageGuard.Operation.UPLOAD,
+                new RuntimeException("Server returned unexpected status code - 502 - Bad Gateway"));
+        echouer(StorageGuard.Operation.VIDEO, new RuntimeException("Server returned unexpected status code - 429"));
+        echouer(StorageGuard.Operation.ADMIN, new IOException("Rate limited", new RateLimited("quota")));
+        // Une erreur du client entre deux défaillances ne remet pas le compteur à zéro
+        echouer(StorageGuard.Operation.UPLOAD, new RuntimeException("Invalid image file"));
+        echouer(StorageGuard.Operation.DELETE, new IOException("Connection reset"));
+
+        assertThat(storageGuard.getMetriques()).containsEntry("circuit", "OUVERT");
+        assertThatThrownBy(() -> storageGuard.executer(StorageGuard.Operation.DELETE, () -> "ok"))
+                .isInstanceOf(StorageUnavailableException.class);
+    }
+
+    @Test
+    void classification() {
+        assertThat(StorageGuard.defaillanceStockage(new IOException("Connection refused"))).isTrue();
+        assertThat(StorageGuard.defaillanceStockage(
+                new RuntimeException("Server returned unexpected status code - 503 - Service Unavailable"))).isTrue();
+        assertThat(StorageGuard.defaillanceStockage(
+                new RuntimeException("Server returned unexpected status code - 413 - Request Entity Too Large")))
+                .isFalse();
+        assertThat(StorageGuard.defaillanceStockage(new RuntimeException("Invalid video file"))).isFalse();
+        assertThat(StorageGuard.defaillanceStockage(new IllegalArgumentException("vide"))).isFalse();
+    }
+
+    private void echouer(StorageGuard.Operation operation, Exception erreur) {
+        assertThatThrownBy(() -> storageGuard.executer(operation, () -> {
+            if (erreur instanceof IOException io) throw io;
+            throw (RuntimeException) erreur;
+        })).isSameAs(erreur);
+    }
+}
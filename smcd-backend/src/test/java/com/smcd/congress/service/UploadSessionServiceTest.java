@@ -0,0 +1,82 @@
+package com.smcd.congress.service;
+
+import com.smcd.congress.dto.UploadSessionCreateDTO;
+import com.smcd.congress.exception.ResourceNotFoundException;
+import com.smcd.congress.exception.UploadOffsetException;
+import com.smcd.congress.model.enums.TypeUpload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Annulation d'une session d'upload reprenable pendant qu'un envoi est en cours
+ */
+class UploadSessionServiceTest {
+
+    @TempDir
+    Path dossier;
+
+    private UploadSessionService uploadSessionService;
+    private UploadSession session;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        uploadSessionService = new UploadSessionService();
+        UploadSessionCreateDTO demande = UploadSessionCreateDTO.builder()
+                .type(TypeUpload.VIDEO).nomFichier("essai.mp4").taille(1000L).build();
+        session = new UploadSession("session", demande, Files.createFile(dossier.resolve("session.mp4")), 24);
+        ((Map<String, UploadSession>) ReflectionTestUtils.getField(uploadSessionService, "sessions"))
+                .put(session.getId(), session);
+    }
+
+    @Test
+    void envoiEnCours_annulationRefuseeEtFichierConserve() throws Exception {
+        CountDownLatch verrouille = new CountDownLatch(1);
+        CountDownLatch fin = new CountDownLatch(1);
+        CompletableFuture<Void> envoi = CompletableFuture.runAsync(() -> {
+            session.getVerrou().lock();
+            try {
+                verrouille.countDown();
+                fin.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.getVerrou().unlock();
+            }
+        });
+        verrouille.await();
+
+        assertThatThrownBy(() -> uploadSessionService.annuler("session"))
+                .isInstanceOf(UploadOffsetException.class);
+        assertThat(Files.exists(session.getPath())).isTrue();
+        assertThat(uploadSessionService.getSession("session")).isSameAs(session);
+
+        fin.countDown();
+        envoi.get();
+        uploadSessionService.annuler("session");
+
+        assertThat(Files.exists(session.getPath())).isFalse();
+        assertThatThrownBy(() -> uploadSessionService.getSession("session"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void sessionAnnulee_envoiSuivantRefuse() {
+        uploadSessionService.annuler("session");
+
+        assertThatThrownBy(() -> uploadSessionService.finaliser("session"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}